@@ -1,40 +1,76 @@
 package br.gov.seplag.musicapi.api.v1;
 
+import br.gov.seplag.musicapi.api.v1.dto.AlbumRelacionadoResponse;
 import br.gov.seplag.musicapi.api.v1.dto.AlbumRequest;
 import br.gov.seplag.musicapi.api.v1.dto.AlbumResponse;
 import br.gov.seplag.musicapi.api.v1.dto.CapaUrlResponse;
 import br.gov.seplag.musicapi.api.v1.dto.CapaUrlsResponse;
+import br.gov.seplag.musicapi.api.v1.dto.CapasAlbunsRequest;
+import br.gov.seplag.musicapi.api.v1.dto.CapasAlbunsResponse;
+import br.gov.seplag.musicapi.api.v1.dto.LoteJobResponse;
+import br.gov.seplag.musicapi.api.v1.dto.SugestaoResponse;
+import br.gov.seplag.musicapi.api.v1.dto.PaginaCursorResponse;
+import br.gov.seplag.musicapi.domain.TamanhoCapa;
 import br.gov.seplag.musicapi.service.AlbumService;
 import br.gov.seplag.musicapi.service.CapaAlbumService;
+import br.gov.seplag.musicapi.service.ExportacaoCatalogoService;
+import br.gov.seplag.musicapi.service.GrafoColaboracaoService;
+import br.gov.seplag.musicapi.service.ProcessamentoLoteService;
+import br.gov.seplag.musicapi.service.SugestoesService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.data.domain.Page;
+import java.net.URI;
+import java.util.List;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/v1/albuns")
 @SecurityRequirement(name = "bearerAuth")
 @Tag(name = "Álbuns", description = "Operações de cadastro, consulta e upload de capas de álbuns.")
 public class AlbumController {
+	private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
 	private final AlbumService albumService;
 	private final CapaAlbumService capaAlbumService;
+	private final ExportacaoCatalogoService exportacaoCatalogoService;
+	private final ProcessamentoLoteService processamentoLoteService;
+	private final SugestoesService sugestoesService;
+	private final GrafoColaboracaoService grafoColaboracaoService;
 
-	public AlbumController(AlbumService albumService, CapaAlbumService capaAlbumService) {
+	public AlbumController(
+		AlbumService albumService,
+		CapaAlbumService capaAlbumService,
+		ExportacaoCatalogoService exportacaoCatalogoService,
+		ProcessamentoLoteService processamentoLoteService,
+		SugestoesService sugestoesService,
+		GrafoColaboracaoService grafoColaboracaoService
+	) {
 		this.albumService = albumService;
 		this.capaAlbumService = capaAlbumService;
+		this.exportacaoCatalogoService = exportacaoCatalogoService;
+		this.processamentoLoteService = processamentoLoteService;
+		this.sugestoesService = sugestoesService;
+		this.grafoColaboracaoService = grafoColaboracaoService;
 	}
 
 	@PostMapping
@@ -44,6 +80,24 @@ public class AlbumController {
 		return albumService.criar(request);
 	}
 
+	@PostMapping("/lote")
+	@Operation(
+		summary = "Criar álbuns em lote",
+		description = "Cria vários álbuns e retorna o resultado de cada item. "
+			+ "Com assincrono=true o lote é processado em segundo plano e a situação é consultada em /v1/lotes/{id} "
+			+ "na mesma instância; com a fila de lotes cheia retorna 503. Apenas cadastro: atualização em lote não é suportada."
+	)
+	public ResponseEntity<?> criarEmLote(
+		@RequestBody List<AlbumRequest> requests,
+		@RequestParam(name = "assincrono", defaultValue = "false") boolean assincrono
+	) {
+		if (assincrono) {
+			LoteJobResponse job = processamentoLoteService.agendarAlbuns(requests);
+			return ResponseEntity.accepted().location(URI.create("/v1/lotes/" + job.getId())).body(job);
+		}
+		return ResponseEntity.ok(processamentoLoteService.processarAlbuns(requests));
+	}
+
 	@PutMapping("/{id}")
 	@Operation(summary = "Atualizar álbum", description = "Atualiza os dados de um álbum pelo id.")
 	public AlbumResponse atualizar(@PathVariable Long id, @RequestBody AlbumRequest request) {
@@ -51,17 +105,50 @@ public class AlbumController {
 	}
 
 	@GetMapping("/{id}")
-	@Operation(summary = "Buscar álbum por id", description = "Retorna um álbum pelo id.")
-	public AlbumResponse buscarPorId(@PathVariable Long id) {
-		return albumService.buscarPorId(id);
+	@Operation(
+		summary = "Buscar álbum por id",
+		description = "Retorna um álbum pelo id. Com incluirCapa=true inclui a URL pré-assinada da capa mais recente "
+			+ "no tamanho tamanhoCapa=thumb|medio|original (padrão original)."
+	)
+	public ResponseEntity<AlbumResponse> buscarPorId(
+		@PathVariable Long id,
+		@RequestParam(name = "incluirCapa", defaultValue = "false") boolean incluirCapa,
+		@RequestParam(name = "tamanhoCapa", required = false) String tamanhoCapa,
+		WebRequest webRequest
+	) {
+		if (incluirCapa) {
+			TamanhoCapa tamanho = capaAlbumService.parseTamanho(tamanhoCapa);
+			return albumService.buscarVersao(id)
+				.map(versao -> RespostaCondicional.responder(
+					webRequest,
+					RespostaCondicional.etag(
+						"album", id, versao, "capa", tamanho, albumService.versaoListagem(), capaAlbumService.janelaUrlAtual()
+					),
+					CACHE_CONTROL,
+					() -> albumService.buscarPorId(id, true, tamanho)
+				))
+				.orElseGet(() -> ResponseEntity.ok(albumService.buscarPorId(id, true, tamanho)));
+		}
+		return albumService.buscarVersao(id)
+			.map(versao -> RespostaCondicional.responder(
+				webRequest,
+				RespostaCondicional.etag("album", id, versao),
+				CACHE_CONTROL,
+				() -> albumService.buscarPorId(id, versao)
+			))
+			.orElseGet(() -> ResponseEntity.ok(albumService.buscarPorId(id)));
 	}
 
 	@GetMapping
 	@Operation(
 		summary = "Listar álbuns",
-		description = "Lista álbuns com paginação, filtros opcionais e ordenação asc/desc."
+		description = "Lista álbuns com paginação, filtros opcionais e ordenação asc/desc. "
+			+ "Com facetas=true inclui as contagens por tipo de artista, por capa e os artistas mais frequentes do filtro atual. "
+			+ "contagem=exata|aproximada|nenhuma controla o total: aproximada reaproveita um total recente do mesmo filtro e nenhuma não conta. "
+			+ "Com incluirCapa=true cada álbum traz capaUrl, a URL pré-assinada da capa mais recente, resolvida para a página inteira de uma vez; "
+			+ "tamanhoCapa=thumb|medio|original escolhe a variante (padrão original)."
 	)
-	public Page<AlbumResponse> listar(
+	public ResponseEntity<Slice<AlbumResponse>> listar(
 		@RequestParam(name = "titulo", required = false) String titulo,
 		@RequestParam(name = "artistaNome", required = false) String artistaNome,
 		@RequestParam(name = "artistaId", required = false) Long artistaId,
@@ -69,9 +156,97 @@ public class AlbumController {
 		@RequestParam(name = "temBanda", required = false) Boolean temBanda,
 		@RequestParam(name = "ordem", required = false) String ordem,
 		@RequestParam(name = "pagina", defaultValue = "0") int pagina,
-		@RequestParam(name = "tamanho", defaultValue = "20") int tamanho
+		@RequestParam(name = "tamanho", defaultValue = "20") int tamanho,
+		@RequestParam(name = "facetas", defaultValue = "false") boolean facetas,
+		@RequestParam(name = "contagem", required = false) String contagem,
+		@RequestParam(name = "incluirCapa", defaultValue = "false") boolean incluirCapa,
+		@RequestParam(name = "tamanhoCapa", required = false) String tamanhoCapa,
+		WebRequest webRequest
+	) {
+		TamanhoCapa capa = incluirCapa ? capaAlbumService.parseTamanho(tamanhoCapa) : null;
+		long geracao = albumService.versaoListagem();
+		String etag = incluirCapa
+			? RespostaCondicional.etag("albuns", geracao, "capa", capa, capaAlbumService.janelaUrlAtual())
+			: RespostaCondicional.etag("albuns", geracao);
+		return RespostaCondicional.responder(
+			webRequest,
+			etag,
+			CACHE_CONTROL,
+			() -> albumService.listar(
+				geracao, titulo, artistaNome, artistaId, temCantor, temBanda, ordem, pagina, tamanho, facetas, contagem, incluirCapa, capa
+			)
+		);
+	}
+
+	@GetMapping(params = "cursor")
+	@Operation(
+		summary = "Listar álbuns por cursor",
+		description = "Lista álbuns ordenados por título usando paginação por cursor (keyset). "
+			+ "Envie cursor vazio na primeira página e o proximoCursor retornado nas seguintes."
+	)
+	public ResponseEntity<PaginaCursorResponse<AlbumResponse>> listarPorCursor(
+		@RequestParam(name = "titulo", required = false) String titulo,
+		@RequestParam(name = "artistaNome", required = false) String artistaNome,
+		@RequestParam(name = "artistaId", required = false) Long artistaId,
+		@RequestParam(name = "temCantor", required = false) Boolean temCantor,
+		@RequestParam(name = "temBanda", required = false) Boolean temBanda,
+		@RequestParam(name = "ordem", required = false) String ordem,
+		@RequestParam(name = "cursor") String cursor,
+		@RequestParam(name = "tamanho", defaultValue = "20") int tamanho,
+		WebRequest webRequest
+	) {
+		return RespostaCondicional.responder(
+			webRequest,
+			RespostaCondicional.etag("albuns", albumService.versaoListagem()),
+			CACHE_CONTROL,
+			() -> albumService.listarPorCursor(titulo, artistaNome, artistaId, temCantor, temBanda, ordem, cursor, tamanho)
+		);
+	}
+
+	@GetMapping("/sugestoes")
+	@Operation(
+		summary = "Sugerir álbuns",
+		description = "Autocompletar: retorna álbuns com alguma palavra do título iniciando pelo prefixo, ignorando maiúsculas e acentos. "
+			+ "Atendido por índice em memória, sem consultar o banco."
+	)
+	public List<SugestaoResponse> sugerir(
+		@RequestParam(name = "prefixo", required = false) String prefixo,
+		@RequestParam(name = "limite", defaultValue = "10") int limite
+	) {
+		return sugestoesService.sugerirAlbuns(prefixo, limite);
+	}
+
+	@GetMapping("/{id}/relacionados")
+	@Operation(
+		summary = "Álbuns relacionados",
+		description = "Retorna álbuns que compartilham artistas com o álbum informado, ordenados pela quantidade de artistas em comum. "
+			+ "Atendido pelo grafo de colaborações em memória."
+	)
+	public List<AlbumRelacionadoResponse> relacionados(
+		@PathVariable Long id,
+		@RequestParam(name = "limite", defaultValue = "10") int limite
 	) {
-		return albumService.listar(titulo, artistaNome, artistaId, temCantor, temBanda, ordem, pagina, tamanho);
+		return grafoColaboracaoService.albunsRelacionados(id, limite);
+	}
+
+	@GetMapping("/export")
+	@Operation(
+		summary = "Exportar álbuns (NDJSON)",
+		description = "Transmite todos os álbuns que atendem aos filtros, um JSON por linha, ordenados por id. "
+			+ "Compactado com gzip quando o cliente envia Accept-Encoding: gzip."
+	)
+	public ResponseEntity<StreamingResponseBody> exportar(
+		@RequestParam(name = "titulo", required = false) String titulo,
+		@RequestParam(name = "artistaNome", required = false) String artistaNome,
+		@RequestParam(name = "artistaId", required = false) Long artistaId,
+		@RequestParam(name = "temCantor", required = false) Boolean temCantor,
+		@RequestParam(name = "temBanda", required = false) Boolean temBanda,
+		@RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+	) {
+		return RespostaNdjson.responder(
+			acceptEncoding,
+			saida -> exportacaoCatalogoService.exportarAlbuns(titulo, artistaNome, artistaId, temCantor, temBanda, saida)
+		);
 	}
 
 	@PostMapping(value = "/{id}/capa", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -92,19 +267,40 @@ public class AlbumController {
 	@GetMapping("/{id}/capa/url")
 	@Operation(
 		summary = "Obter URL pré-assinada da capa",
-		description = "Gera um link pré-assinado com expiração para baixar a última capa enviada do álbum."
+		description = "Gera um link pré-assinado com expiração para baixar a última capa enviada do álbum. "
+			+ "tamanho=thumb|medio|original escolhe a variante; enquanto a variante não existe, devolve a original."
 	)
-	public CapaUrlResponse obterUrlCapa(@PathVariable Long id) {
-		return new CapaUrlResponse(capaAlbumService.gerarUrlPorAlbumId(id));
+	public CapaUrlResponse obterUrlCapa(
+		@PathVariable Long id,
+		@RequestParam(name = "tamanho", required = false) String tamanho
+	) {
+		return new CapaUrlResponse(capaAlbumService.gerarUrlPorAlbumId(id, tamanho));
 	}
 
 	@GetMapping("/{id}/capa/urls")
 	@Operation(
 		summary = "Obter URLs pré-assinadas das capas",
-		description = "Gera links pré-assinados com expiração para baixar as capas do álbum."
+		description = "Gera links pré-assinados com expiração para baixar as capas do álbum. "
+			+ "tamanho=thumb|medio|original escolhe a variante."
 	)
-	public CapaUrlsResponse obterUrlsCapas(@PathVariable Long id) {
-		return new CapaUrlsResponse(capaAlbumService.gerarUrlsPorAlbumId(id));
+	public CapaUrlsResponse obterUrlsCapas(
+		@PathVariable Long id,
+		@RequestParam(name = "tamanho", required = false) String tamanho
+	) {
+		return new CapaUrlsResponse(capaAlbumService.gerarUrlsPorAlbumId(id, tamanho));
+	}
+
+	@PostMapping("/capas/urls")
+	@Operation(
+		summary = "Obter URLs pré-assinadas das capas de vários álbuns",
+		description = "Recebe até 100 ids de álbuns e retorna a URL da capa mais recente de cada um. "
+			+ "Álbuns sem capa ou inexistentes ficam de fora da resposta. tamanho=thumb|medio|original escolhe a variante."
+	)
+	public CapasAlbunsResponse obterUrlsCapasDosAlbuns(
+		@RequestBody CapasAlbunsRequest request,
+		@RequestParam(name = "tamanho", required = false) String tamanho
+	) {
+		return new CapasAlbunsResponse(capaAlbumService.gerarUrlsPorAlbumIds(request.getAlbumIds(), tamanho));
 	}
 }
 
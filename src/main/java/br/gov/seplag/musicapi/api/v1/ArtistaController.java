@@ -1,32 +1,71 @@
 package br.gov.seplag.musicapi.api.v1;
 
+import br.gov.seplag.musicapi.api.v1.dto.AlbumResponse;
 import br.gov.seplag.musicapi.api.v1.dto.ArtistaRequest;
 import br.gov.seplag.musicapi.api.v1.dto.ArtistaResponse;
+import br.gov.seplag.musicapi.api.v1.dto.ArtistaSimilarResponse;
+import br.gov.seplag.musicapi.api.v1.dto.CaminhoArtistasResponse;
+import br.gov.seplag.musicapi.api.v1.dto.ColaboradorResponse;
+import br.gov.seplag.musicapi.api.v1.dto.LoteJobResponse;
+import br.gov.seplag.musicapi.api.v1.dto.PaginaCursorResponse;
+import br.gov.seplag.musicapi.api.v1.dto.SugestaoResponse;
 import br.gov.seplag.musicapi.service.ArtistaService;
+import br.gov.seplag.musicapi.service.ArtistasSimilaresService;
+import br.gov.seplag.musicapi.service.ExportacaoCatalogoService;
+import br.gov.seplag.musicapi.service.GrafoColaboracaoService;
+import br.gov.seplag.musicapi.service.ProcessamentoLoteService;
+import br.gov.seplag.musicapi.service.SugestoesService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
-import org.springframework.data.domain.Page;
+import java.net.URI;
+import java.util.List;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/v1/artistas")
 @SecurityRequirement(name = "bearerAuth")
 @Tag(name = "Artistas", description = "Operações de cadastro e consulta de artistas.")
 public class ArtistaController {
+	private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
 	private final ArtistaService artistaService;
+	private final ExportacaoCatalogoService exportacaoCatalogoService;
+	private final ProcessamentoLoteService processamentoLoteService;
+	private final SugestoesService sugestoesService;
+	private final ArtistasSimilaresService artistasSimilaresService;
+	private final GrafoColaboracaoService grafoColaboracaoService;
 
-	public ArtistaController(ArtistaService artistaService) {
+	public ArtistaController(
+		ArtistaService artistaService,
+		ExportacaoCatalogoService exportacaoCatalogoService,
+		ProcessamentoLoteService processamentoLoteService,
+		SugestoesService sugestoesService,
+		ArtistasSimilaresService artistasSimilaresService,
+		GrafoColaboracaoService grafoColaboracaoService
+	) {
 		this.artistaService = artistaService;
+		this.exportacaoCatalogoService = exportacaoCatalogoService;
+		this.processamentoLoteService = processamentoLoteService;
+		this.sugestoesService = sugestoesService;
+		this.artistasSimilaresService = artistasSimilaresService;
+		this.grafoColaboracaoService = grafoColaboracaoService;
 	}
 
 	@PostMapping
@@ -36,6 +75,24 @@ public class ArtistaController {
 		return artistaService.criar(request);
 	}
 
+	@PostMapping("/lote")
+	@Operation(
+		summary = "Criar artistas em lote",
+		description = "Cria vários artistas e retorna o resultado de cada item. "
+			+ "Com assincrono=true o lote é processado em segundo plano e a situação é consultada em /v1/lotes/{id} "
+			+ "na mesma instância; com a fila de lotes cheia retorna 503. Apenas cadastro: atualização em lote não é suportada."
+	)
+	public ResponseEntity<?> criarEmLote(
+		@RequestBody List<ArtistaRequest> requests,
+		@RequestParam(name = "assincrono", defaultValue = "false") boolean assincrono
+	) {
+		if (assincrono) {
+			LoteJobResponse job = processamentoLoteService.agendarArtistas(requests);
+			return ResponseEntity.accepted().location(URI.create("/v1/lotes/" + job.getId())).body(job);
+		}
+		return ResponseEntity.ok(processamentoLoteService.processarArtistas(requests));
+	}
+
 	@PutMapping("/{id}")
 	@Operation(summary = "Atualizar artista", description = "Atualiza os dados de um artista pelo id.")
 	public ArtistaResponse atualizar(@PathVariable Long id, @RequestBody ArtistaRequest request) {
@@ -44,21 +101,119 @@ public class ArtistaController {
 
 	@GetMapping("/{id}")
 	@Operation(summary = "Buscar artista por id", description = "Retorna um artista pelo id.")
-	public ArtistaResponse buscarPorId(@PathVariable Long id) {
-		return artistaService.buscarPorId(id);
+	public ResponseEntity<ArtistaResponse> buscarPorId(@PathVariable Long id, WebRequest webRequest) {
+		return artistaService.buscarVersao(id)
+			.map(versao -> RespostaCondicional.responder(
+				webRequest,
+				RespostaCondicional.etag("artista", id, versao),
+				CACHE_CONTROL,
+				() -> artistaService.buscarPorId(id, versao)
+			))
+			.orElseGet(() -> ResponseEntity.ok(artistaService.buscarPorId(id)));
 	}
 
 	@GetMapping
 	@Operation(
 		summary = "Listar artistas",
-		description = "Lista artistas com paginação, filtro opcional por nome e ordenação asc/desc."
+		description = "Lista artistas com paginação, filtro opcional por nome e ordenação asc/desc. "
+			+ "Com ordenacao=quantidadeAlbuns ordena pela quantidade de álbuns do artista. "
+			+ "contagem=exata|aproximada|nenhuma controla o total: aproximada reaproveita um total recente do mesmo filtro e nenhuma não conta. "
+			+ "Quando a primeira página filtrada por nome vem vazia, a resposta traz em sugestoes os artistas com nome parecido."
 	)
-	public Page<ArtistaResponse> listar(
+	public ResponseEntity<Slice<ArtistaResponse>> listar(
 		@RequestParam(name = "nome", required = false) String nome,
 		@RequestParam(name = "ordem", required = false) String ordem,
+		@RequestParam(name = "ordenacao", required = false) String ordenacao,
+		@RequestParam(name = "contagem", required = false) String contagem,
 		@RequestParam(name = "pagina", defaultValue = "0") int pagina,
+		@RequestParam(name = "tamanho", defaultValue = "20") int tamanho,
+		WebRequest webRequest
+	) {
+		return RespostaCondicional.responder(
+			webRequest,
+			RespostaCondicional.etag("artistas", artistaService.versaoListagem()),
+			CACHE_CONTROL,
+			() -> artistaService.listar(nome, ordem, ordenacao, contagem, pagina, tamanho)
+		);
+	}
+
+	@GetMapping("/sugestoes")
+	@Operation(
+		summary = "Sugerir artistas",
+		description = "Autocompletar: retorna artistas com alguma palavra do nome iniciando pelo prefixo, ignorando maiúsculas e acentos. "
+			+ "Atendido por índice em memória, sem consultar o banco."
+	)
+	public List<SugestaoResponse> sugerir(
+		@RequestParam(name = "prefixo", required = false) String prefixo,
+		@RequestParam(name = "limite", defaultValue = "10") int limite
+	) {
+		return sugestoesService.sugerirArtistas(prefixo, limite);
+	}
+
+	@GetMapping("/similares")
+	@Operation(
+		summary = "Artistas com nome parecido",
+		description = "Você quis dizer: tolera erros de digitação combinando sobreposição de trigramas e distância de edição. "
+			+ "É o mesmo resultado enviado em sugestoes pela listagem por nome sem resultados. Atendido por índice em memória."
+	)
+	public List<ArtistaSimilarResponse> similares(
+		@RequestParam(name = "nome", required = false) String nome,
+		@RequestParam(name = "limite", defaultValue = "5") int limite
+	) {
+		return artistasSimilaresService.buscar(nome, limite);
+	}
+
+	@GetMapping("/{id}/albuns")
+	@Operation(
+		summary = "Discografia do artista",
+		description = "Lista os álbuns do artista por cursor (keyset sobre artista_album), ordenados por id do álbum. "
+			+ "A primeira página usa cursor vazio; as seguintes usam o proximoCursor retornado."
+	)
+	public PaginaCursorResponse<AlbumResponse> albuns(
+		@PathVariable Long id,
+		@RequestParam(name = "cursor", required = false) String cursor,
 		@RequestParam(name = "tamanho", defaultValue = "20") int tamanho
 	) {
-		return artistaService.listar(nome, ordem, pagina, tamanho);
+		return artistaService.listarAlbuns(id, cursor, tamanho);
+	}
+
+	@GetMapping("/{id}/colaboradores")
+	@Operation(
+		summary = "Colaboradores do artista",
+		description = "Retorna os artistas que dividem álbuns com o artista informado e quantos álbuns têm em comum. "
+			+ "Atendido pelo grafo de colaborações em memória."
+	)
+	public List<ColaboradorResponse> colaboradores(
+		@PathVariable Long id,
+		@RequestParam(name = "limite", defaultValue = "10") int limite
+	) {
+		return grafoColaboracaoService.colaboradores(id, limite);
+	}
+
+	@GetMapping("/{id}/caminho")
+	@Operation(
+		summary = "Graus de separação entre artistas",
+		description = "Busca em largura no grafo de colaborações: retorna a menor cadeia de artistas e álbuns que liga os dois artistas, "
+			+ "limitada a grauMaximo álbuns."
+	)
+	public CaminhoArtistasResponse caminho(
+		@PathVariable Long id,
+		@RequestParam(name = "ate", required = false) Long ate,
+		@RequestParam(name = "grauMaximo", defaultValue = "6") int grauMaximo
+	) {
+		return grafoColaboracaoService.caminho(id, ate, grauMaximo);
+	}
+
+	@GetMapping("/export")
+	@Operation(
+		summary = "Exportar artistas (NDJSON)",
+		description = "Transmite todos os artistas, com filtro opcional por nome, um JSON por linha, ordenados por id. "
+			+ "Compactado com gzip quando o cliente envia Accept-Encoding: gzip."
+	)
+	public ResponseEntity<StreamingResponseBody> exportar(
+		@RequestParam(name = "nome", required = false) String nome,
+		@RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+	) {
+		return RespostaNdjson.responder(acceptEncoding, saida -> exportacaoCatalogoService.exportarArtistas(nome, saida));
 	}
 }
@@ -0,0 +1,37 @@
+package br.gov.seplag.musicapi.api.v1;
+
+import br.gov.seplag.musicapi.api.v1.dto.ResultadoBuscaResponse;
+import br.gov.seplag.musicapi.service.BuscaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/v1/busca")
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Busca", description = "Busca textual sem acentos em álbuns e artistas.")
+public class BuscaController {
+	private final BuscaService buscaService;
+
+	public BuscaController(BuscaService buscaService) {
+		this.buscaService = buscaService;
+	}
+
+	@GetMapping
+	@Operation(
+		summary = "Buscar álbuns e artistas",
+		description = "Busca por trecho do nome do artista ou do título do álbum, ignorando maiúsculas e acentos. "
+			+ "Resultados que começam com o termo vêm primeiro, seguidos pela similaridade de trigramas."
+	)
+	public List<ResultadoBuscaResponse> buscar(
+		@RequestParam(name = "q", required = false) String q,
+		@RequestParam(name = "limite", defaultValue = "20") int limite
+	) {
+		return buscaService.buscar(q, limite);
+	}
+}
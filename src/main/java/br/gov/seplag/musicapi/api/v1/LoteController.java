@@ -0,0 +1,33 @@
+package br.gov.seplag.musicapi.api.v1;
+
+import br.gov.seplag.musicapi.api.v1.dto.LoteJobResponse;
+import br.gov.seplag.musicapi.service.ProcessamentoLoteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/v1/lotes")
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Lotes", description = "Acompanhamento de cadastros em lote processados de forma assíncrona.")
+public class LoteController {
+	private final ProcessamentoLoteService processamentoLoteService;
+
+	public LoteController(ProcessamentoLoteService processamentoLoteService) {
+		this.processamentoLoteService = processamentoLoteService;
+	}
+
+	@GetMapping("/{id}")
+	@Operation(
+		summary = "Consultar lote",
+		description = "Retorna a situação e, quando concluído, o resultado por item do lote. "
+			+ "A situação fica em memória na instância que recebeu o lote."
+	)
+	public LoteJobResponse buscar(@PathVariable String id) {
+		return processamentoLoteService.buscar(id);
+	}
+}
@@ -6,18 +6,24 @@ import br.gov.seplag.musicapi.service.RegionalService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.Duration;
 import java.util.List;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/v1/regionais")
 @SecurityRequirement(name = "bearerAuth")
 @Tag(name = "Regionais", description = "Operações de sincronização e consulta de regionais.")
 public class RegionalController {
+	private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(30)).cachePrivate();
+
 	private final RegionalService regionalService;
 
 	public RegionalController(RegionalService regionalService) {
@@ -26,11 +32,17 @@ public class RegionalController {
 
 	@GetMapping
 	@Operation(summary = "Listar regionais", description = "Lista regionais ativas (padrão) ou inativas, com filtro por nome.")
-	public List<RegionalResponse> listar(
+	public ResponseEntity<List<RegionalResponse>> listar(
 		@RequestParam(name = "ativo", required = false) Boolean ativo,
-		@RequestParam(name = "nome", required = false) String nome
+		@RequestParam(name = "nome", required = false) String nome,
+		WebRequest webRequest
 	) {
-		return regionalService.listar(ativo, nome);
+		return RespostaCondicional.responder(
+			webRequest,
+			RespostaCondicional.etag("regionais", regionalService.versaoListagem()),
+			CACHE_CONTROL,
+			() -> regionalService.listar(ativo, nome)
+		);
 	}
 
 	@PostMapping("/sincronizar")
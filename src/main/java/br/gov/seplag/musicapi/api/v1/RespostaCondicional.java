@@ -0,0 +1,50 @@
+package br.gov.seplag.musicapi.api.v1;
+
+import java.util.function.Supplier;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+final class RespostaCondicional {
+	private RespostaCondicional() {
+	}
+
+	static String etag(Object... partes) {
+		StringBuilder valor = new StringBuilder();
+		for (Object parte : partes) {
+			if (!valor.isEmpty()) {
+				valor.append('-');
+			}
+			valor.append(parte);
+		}
+		return ETag.create(valor.toString()).formattedTag();
+	}
+
+	static <T> ResponseEntity<T> responder(
+		WebRequest request,
+		String etag,
+		CacheControl cacheControl,
+		Supplier<T> corpo
+	) {
+		if (naoModificado(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+		}
+		return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(corpo.get());
+	}
+
+	private static boolean naoModificado(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+			return false;
+		}
+		ETag atual = ETag.create(etag);
+		for (ETag candidato : ETag.parse(ifNoneMatch)) {
+			if (candidato.isWildcard() || candidato.compare(atual, false)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,53 @@
+package br.gov.seplag.musicapi.api.v1;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+final class RespostaNdjson {
+	private static final int TAMANHO_BUFFER = 64 * 1024;
+
+	private RespostaNdjson() {
+	}
+
+	static ResponseEntity<StreamingResponseBody> responder(String acceptEncoding, Consumer<OutputStream> escritor) {
+		boolean gzip = aceitaGzip(acceptEncoding);
+		StreamingResponseBody corpo = saida -> {
+			if (gzip) {
+				GZIPOutputStream compactada = new GZIPOutputStream(saida, TAMANHO_BUFFER);
+				escritor.accept(compactada);
+				compactada.finish();
+				return;
+			}
+			BufferedOutputStream bufferizada = new BufferedOutputStream(saida, TAMANHO_BUFFER);
+			escritor.accept(bufferizada);
+			bufferizada.flush();
+		};
+
+		ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+			.contentType(MediaType.APPLICATION_NDJSON)
+			.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if (gzip) {
+			resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		return resposta.body(corpo);
+	}
+
+	private static boolean aceitaGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+		for (String valor : acceptEncoding.split(",")) {
+			String[] partes = valor.trim().split(";");
+			if (partes[0].trim().equalsIgnoreCase("gzip")) {
+				return partes.length < 2 || !partes[1].replace(" ", "").matches("q=0(\\.0*)?");
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,25 @@
+package br.gov.seplag.musicapi.api.v1.dto;
+
+public class AlbumRelacionadoResponse {
+	private Long id;
+	private String titulo;
+	private int artistasEmComum;
+
+	public AlbumRelacionadoResponse(Long id, String titulo, int artistasEmComum) {
+		this.id = id;
+		this.titulo = titulo;
+		this.artistasEmComum = artistasEmComum;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getTitulo() {
+		return titulo;
+	}
+
+	public int getArtistasEmComum() {
+		return artistasEmComum;
+	}
+}
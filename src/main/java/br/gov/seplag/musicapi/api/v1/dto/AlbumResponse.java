@@ -1,5 +1,6 @@
 package br.gov.seplag.musicapi.api.v1.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 
 public class AlbumResponse {
@@ -7,10 +8,22 @@ public class AlbumResponse {
 	private String titulo;
 	private List<ArtistaResumoResponse> artistas;
 
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private String capaUrl;
+
 	public AlbumResponse(Long id, String titulo, List<ArtistaResumoResponse> artistas) {
+		this(id, titulo, artistas, null);
+	}
+
+	public AlbumResponse(Long id, String titulo, List<ArtistaResumoResponse> artistas, String capaUrl) {
 		this.id = id;
 		this.titulo = titulo;
 		this.artistas = artistas;
+		this.capaUrl = capaUrl;
+	}
+
+	public AlbumResponse comCapaUrl(String capaUrl) {
+		return new AlbumResponse(id, titulo, artistas, capaUrl);
 	}
 
 	public Long getId() {
@@ -24,5 +37,8 @@ public class AlbumResponse {
 	public List<ArtistaResumoResponse> getArtistas() {
 		return artistas;
 	}
-}
 
+	public String getCapaUrl() {
+		return capaUrl;
+	}
+}
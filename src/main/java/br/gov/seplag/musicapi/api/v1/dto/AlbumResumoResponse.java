@@ -0,0 +1,19 @@
+package br.gov.seplag.musicapi.api.v1.dto;
+
+public class AlbumResumoResponse {
+	private Long id;
+	private String titulo;
+
+	public AlbumResumoResponse(Long id, String titulo) {
+		this.id = id;
+		this.titulo = titulo;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getTitulo() {
+		return titulo;
+	}
+}
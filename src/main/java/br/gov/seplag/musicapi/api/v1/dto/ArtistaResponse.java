@@ -6,11 +6,13 @@ public class ArtistaResponse {
 	private Long id;
 	private String nome;
 	private ArtistaTipo tipo;
+	private int quantidadeAlbuns;
 
-	public ArtistaResponse(Long id, String nome, ArtistaTipo tipo) {
+	public ArtistaResponse(Long id, String nome, ArtistaTipo tipo, int quantidadeAlbuns) {
 		this.id = id;
 		this.nome = nome;
 		this.tipo = tipo;
+		this.quantidadeAlbuns = quantidadeAlbuns;
 	}
 
 	public Long getId() {
@@ -24,5 +26,9 @@ public class ArtistaResponse {
 	public ArtistaTipo getTipo() {
 		return tipo;
 	}
+
+	public int getQuantidadeAlbuns() {
+		return quantidadeAlbuns;
+	}
 }
 
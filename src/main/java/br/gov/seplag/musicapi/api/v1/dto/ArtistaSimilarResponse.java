@@ -0,0 +1,25 @@
+package br.gov.seplag.musicapi.api.v1.dto;
+
+public class ArtistaSimilarResponse {
+	private Long id;
+	private String nome;
+	private double pontuacao;
+
+	public ArtistaSimilarResponse(Long id, String nome, double pontuacao) {
+		this.id = id;
+		this.nome = nome;
+		this.pontuacao = pontuacao;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getNome() {
+		return nome;
+	}
+
+	public double getPontuacao() {
+		return pontuacao;
+	}
+}
@@ -0,0 +1,27 @@
+package br.gov.seplag.musicapi.api.v1.dto;
+
+import java.util.List;
+
+public class CaminhoArtistasResponse {
+	private int grau;
+	private List<ArtistaResumoResponse> artistas;
+	private List<AlbumResumoResponse> albuns;
+
+	public CaminhoArtistasResponse(int grau, List<ArtistaResumoResponse> artistas, List<AlbumResumoResponse> albuns) {
+		this.grau = grau;
+		this.artistas = artistas;
+		this.albuns = albuns;
+	}
+
+	public int getGrau() {
+		return grau;
+	}
+
+	public List<ArtistaResumoResponse> getArtistas() {
+		return artistas;
+	}
+
+	public List<AlbumResumoResponse> getAlbuns() {
+		return albuns;
+	}
+}
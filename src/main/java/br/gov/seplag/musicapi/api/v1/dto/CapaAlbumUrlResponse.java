@@ -0,0 +1,19 @@
+package br.gov.seplag.musicapi.api.v1.dto;
+
+public class CapaAlbumUrlResponse {
+	private Long albumId;
+	private String url;
+
+	public CapaAlbumUrlResponse(Long albumId, String url) {
+		this.albumId = albumId;
+		this.url = url;
+	}
+
+	public Long getAlbumId() {
+		return albumId;
+	}
+
+	public String getUrl() {
+		return url;
+	}
+}
@@ -0,0 +1,15 @@
+package br.gov.seplag.musicapi.api.v1.dto;
+
+import java.util.List;
+
+public class CapasAlbunsRequest {
+	private List<Long> albumIds;
+
+	public List<Long> getAlbumIds() {
+		return albumIds;
+	}
+
+	public void setAlbumIds(List<Long> albumIds) {
+		this.albumIds = albumIds;
+	}
+}
@@ -0,0 +1,15 @@
+package br.gov.seplag.musicapi.api.v1.dto;
+
+import java.util.List;
+
+public class CapasAlbunsResponse {
+	private List<CapaAlbumUrlResponse> capas;
+
+	public CapasAlbunsResponse(List<CapaAlbumUrlResponse> capas) {
+		this.capas = capas;
+	}
+
+	public List<CapaAlbumUrlResponse> getCapas() {
+		return capas;
+	}
+}
@@ -0,0 +1,25 @@
+package br.gov.seplag.musicapi.api.v1.dto;
+
+public class ColaboradorResponse {
+	private Long id;
+	private String nome;
+	private int albunsEmComum;
+
+	public ColaboradorResponse(Long id, String nome, int albunsEmComum) {
+		this.id = id;
+		this.nome = nome;
+		this.albunsEmComum = albunsEmComum;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getNome() {
+		return nome;
+	}
+
+	public int getAlbunsEmComum() {
+		return albunsEmComum;
+	}
+}
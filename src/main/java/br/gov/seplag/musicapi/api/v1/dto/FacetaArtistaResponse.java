@@ -0,0 +1,25 @@
+package br.gov.seplag.musicapi.api.v1.dto;
+
+public class FacetaArtistaResponse {
+	private Long id;
+	private String nome;
+	private long quantidade;
+
+	public FacetaArtistaResponse(Long id, String nome, long quantidade) {
+		this.id = id;
+		this.nome = nome;
+		this.quantidade = quantidade;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getNome() {
+		return nome;
+	}
+
+	public long getQuantidade() {
+		return quantidade;
+	}
+}
@@ -0,0 +1,39 @@
+package br.gov.seplag.musicapi.api.v1.dto;
+
+import java.util.List;
+
+public class FacetasAlbunsResponse {
+	private long cantores;
+	private long bandas;
+	private long comCapa;
+	private long semCapa;
+	private List<FacetaArtistaResponse> artistas;
+
+	public FacetasAlbunsResponse(long cantores, long bandas, long comCapa, long semCapa, List<FacetaArtistaResponse> artistas) {
+		this.cantores = cantores;
+		this.bandas = bandas;
+		this.comCapa = comCapa;
+		this.semCapa = semCapa;
+		this.artistas = artistas;
+	}
+
+	public long getCantores() {
+		return cantores;
+	}
+
+	public long getBandas() {
+		return bandas;
+	}
+
+	public long getComCapa() {
+		return comCapa;
+	}
+
+	public long getSemCapa() {
+		return semCapa;
+	}
+
+	public List<FacetaArtistaResponse> getArtistas() {
+		return artistas;
+	}
+}
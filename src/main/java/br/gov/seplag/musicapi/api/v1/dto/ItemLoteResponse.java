@@ -0,0 +1,39 @@
+package br.gov.seplag.musicapi.api.v1.dto;
+
+public class ItemLoteResponse {
+	private int indice;
+	private boolean sucesso;
+	private Long id;
+	private String erro;
+
+	public ItemLoteResponse(int indice, boolean sucesso, Long id, String erro) {
+		this.indice = indice;
+		this.sucesso = sucesso;
+		this.id = id;
+		this.erro = erro;
+	}
+
+	public static ItemLoteResponse sucesso(int indice, Long id) {
+		return new ItemLoteResponse(indice, true, id, null);
+	}
+
+	public static ItemLoteResponse falha(int indice, String erro) {
+		return new ItemLoteResponse(indice, false, null, erro);
+	}
+
+	public int getIndice() {
+		return indice;
+	}
+
+	public boolean isSucesso() {
+		return sucesso;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getErro() {
+		return erro;
+	}
+}
@@ -0,0 +1,39 @@
+package br.gov.seplag.musicapi.api.v1.dto;
+
+import br.gov.seplag.musicapi.domain.StatusLote;
+
+public class LoteJobResponse {
+	private String id;
+	private StatusLote status;
+	private int total;
+	private ResultadoLoteResponse resultado;
+	private String erro;
+
+	public LoteJobResponse(String id, StatusLote status, int total, ResultadoLoteResponse resultado, String erro) {
+		this.id = id;
+		this.status = status;
+		this.total = total;
+		this.resultado = resultado;
+		this.erro = erro;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public StatusLote getStatus() {
+		return status;
+	}
+
+	public int getTotal() {
+		return total;
+	}
+
+	public ResultadoLoteResponse getResultado() {
+		return resultado;
+	}
+
+	public String getErro() {
+		return erro;
+	}
+}
@@ -0,0 +1,18 @@
+package br.gov.seplag.musicapi.api.v1.dto;
+
+import java.util.List;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+public class PaginaComSugestoesResponse<T> extends PageImpl<T> {
+	private final List<ArtistaSimilarResponse> sugestoes;
+
+	public PaginaComSugestoesResponse(Pageable pageable, List<ArtistaSimilarResponse> sugestoes) {
+		super(List.of(), pageable, 0);
+		this.sugestoes = sugestoes;
+	}
+
+	public List<ArtistaSimilarResponse> getSugestoes() {
+		return sugestoes;
+	}
+}
@@ -0,0 +1,31 @@
+package br.gov.seplag.musicapi.api.v1.dto;
+
+import java.util.List;
+
+public class PaginaCursorResponse<T> {
+	private List<T> conteudo;
+	private int tamanho;
+	private String proximoCursor;
+
+	public PaginaCursorResponse(List<T> conteudo, int tamanho, String proximoCursor) {
+		this.conteudo = conteudo;
+		this.tamanho = tamanho;
+		this.proximoCursor = proximoCursor;
+	}
+
+	public List<T> getConteudo() {
+		return conteudo;
+	}
+
+	public int getTamanho() {
+		return tamanho;
+	}
+
+	public String getProximoCursor() {
+		return proximoCursor;
+	}
+
+	public boolean isTemProximo() {
+		return proximoCursor != null;
+	}
+}
@@ -0,0 +1,17 @@
+package br.gov.seplag.musicapi.api.v1.dto;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+public class PaginaFacetadaResponse<T> extends PageImpl<T> {
+	private final FacetasAlbunsResponse facetas;
+
+	public PaginaFacetadaResponse(Page<T> pagina, FacetasAlbunsResponse facetas) {
+		super(pagina.getContent(), pagina.getPageable(), pagina.getTotalElements());
+		this.facetas = facetas;
+	}
+
+	public FacetasAlbunsResponse getFacetas() {
+		return facetas;
+	}
+}
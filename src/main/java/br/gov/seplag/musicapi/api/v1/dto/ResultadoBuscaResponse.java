@@ -0,0 +1,31 @@
+package br.gov.seplag.musicapi.api.v1.dto;
+
+public class ResultadoBuscaResponse {
+	private String tipo;
+	private Long id;
+	private String nome;
+	private double relevancia;
+
+	public ResultadoBuscaResponse(String tipo, Long id, String nome, double relevancia) {
+		this.tipo = tipo;
+		this.id = id;
+		this.nome = nome;
+		this.relevancia = relevancia;
+	}
+
+	public String getTipo() {
+		return tipo;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getNome() {
+		return nome;
+	}
+
+	public double getRelevancia() {
+		return relevancia;
+	}
+}
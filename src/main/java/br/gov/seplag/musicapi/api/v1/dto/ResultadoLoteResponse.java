@@ -0,0 +1,33 @@
+package br.gov.seplag.musicapi.api.v1.dto;
+
+import java.util.List;
+
+public class ResultadoLoteResponse {
+	private int total;
+	private int sucessos;
+	private int falhas;
+	private List<ItemLoteResponse> itens;
+
+	public ResultadoLoteResponse(List<ItemLoteResponse> itens) {
+		this.itens = itens;
+		this.total = itens.size();
+		this.sucessos = (int) itens.stream().filter(ItemLoteResponse::isSucesso).count();
+		this.falhas = total - sucessos;
+	}
+
+	public int getTotal() {
+		return total;
+	}
+
+	public int getSucessos() {
+		return sucessos;
+	}
+
+	public int getFalhas() {
+		return falhas;
+	}
+
+	public List<ItemLoteResponse> getItens() {
+		return itens;
+	}
+}
@@ -0,0 +1,19 @@
+package br.gov.seplag.musicapi.api.v1.dto;
+
+public class SugestaoResponse {
+	private Long id;
+	private String nome;
+
+	public SugestaoResponse(Long id, String nome) {
+		this.id = id;
+		this.nome = nome;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getNome() {
+		return nome;
+	}
+}
@@ -11,11 +11,13 @@ public class MinioConfig {
 	public MinioClient minioClient(
 		@Value("${app.minio.endpoint}") String endpoint,
 		@Value("${app.minio.access-key}") String accessKey,
-		@Value("${app.minio.secret-key}") String secretKey
+		@Value("${app.minio.secret-key}") String secretKey,
+		@Value("${app.minio.region:us-east-1}") String region
 	) {
 		return MinioClient.builder()
 			.endpoint(endpoint)
 			.credentials(accessKey, secretKey)
+			.region(region)
 			.build();
 	}
 }
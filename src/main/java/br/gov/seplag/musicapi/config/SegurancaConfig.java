@@ -52,7 +52,8 @@ public class SegurancaConfig {
 		http.headers(headers -> headers.frameOptions(frame -> frame.sameOrigin()));
 
 		http.authorizeHttpRequests(auth -> auth
-			.requestMatchers("/actuator/**").permitAll()
+			.requestMatchers("/actuator/health/**", "/actuator/info").permitAll()
+			.requestMatchers("/actuator/**").authenticated()
 			.requestMatchers("/v3/api-docs/**").permitAll()
 			.requestMatchers("/swagger-ui/**").permitAll()
 			.requestMatchers("/v1/ping").permitAll()
@@ -6,6 +6,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.util.HashSet;
 import java.util.Set;
@@ -14,12 +15,16 @@ import java.util.Set;
 @Table(name = "album")
 public class Album {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "album_seq")
+	@SequenceGenerator(name = "album_seq", sequenceName = "album_seq", allocationSize = 50)
 	private Long id;
 
 	@Column(name = "titulo", nullable = false, length = 200)
 	private String titulo;
 
+	@Column(name = "versao", nullable = false, insertable = false, updatable = false)
+	private long versao;
+
 	@ManyToMany(mappedBy = "albuns")
 	private Set<Artista> artistas = new HashSet<>();
 
@@ -27,6 +32,10 @@ public class Album {
 		return id;
 	}
 
+	public long getVersao() {
+		return versao;
+	}
+
 	public void setId(Long id) {
 		this.id = id;
 	}
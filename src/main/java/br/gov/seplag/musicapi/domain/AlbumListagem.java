@@ -0,0 +1,114 @@
+package br.gov.seplag.musicapi.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Table(name = "album_listagem")
+public class AlbumListagem implements Persistable<Long> {
+	@Id
+	@Column(name = "album_id")
+	private Long albumId;
+
+	@Column(name = "titulo", nullable = false, length = 200)
+	private String titulo;
+
+	@Column(name = "titulo_normalizado", nullable = false, length = 200)
+	private String tituloNormalizado;
+
+	@Column(name = "tem_cantor", nullable = false)
+	private boolean temCantor;
+
+	@Column(name = "tem_banda", nullable = false)
+	private boolean temBanda;
+
+	@Column(name = "quantidade_artistas", nullable = false)
+	private int quantidadeArtistas;
+
+	@Column(name = "tem_capa", nullable = false, insertable = false, updatable = false)
+	private boolean temCapa;
+
+	@Transient
+	private boolean novo;
+
+	public static AlbumListagem nova(Long albumId) {
+		AlbumListagem listagem = new AlbumListagem();
+		listagem.setAlbumId(albumId);
+		listagem.novo = true;
+		return listagem;
+	}
+
+	@Override
+	public Long getId() {
+		return albumId;
+	}
+
+	@Override
+	public boolean isNew() {
+		return novo;
+	}
+
+	@PostLoad
+	@PostPersist
+	void marcarPersistida() {
+		novo = false;
+	}
+
+	public Long getAlbumId() {
+		return albumId;
+	}
+
+	public void setAlbumId(Long albumId) {
+		this.albumId = albumId;
+	}
+
+	public String getTitulo() {
+		return titulo;
+	}
+
+	public void setTitulo(String titulo) {
+		this.titulo = titulo;
+	}
+
+	public String getTituloNormalizado() {
+		return tituloNormalizado;
+	}
+
+	public void setTituloNormalizado(String tituloNormalizado) {
+		this.tituloNormalizado = tituloNormalizado;
+	}
+
+	public boolean isTemCantor() {
+		return temCantor;
+	}
+
+	public void setTemCantor(boolean temCantor) {
+		this.temCantor = temCantor;
+	}
+
+	public boolean isTemBanda() {
+		return temBanda;
+	}
+
+	public void setTemBanda(boolean temBanda) {
+		this.temBanda = temBanda;
+	}
+
+	public int getQuantidadeArtistas() {
+		return quantidadeArtistas;
+	}
+
+	public void setQuantidadeArtistas(int quantidadeArtistas) {
+		this.quantidadeArtistas = quantidadeArtistas;
+	}
+
+	public boolean isTemCapa() {
+		return temCapa;
+	}
+}
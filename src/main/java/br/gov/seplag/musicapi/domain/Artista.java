@@ -1,5 +1,6 @@
 package br.gov.seplag.musicapi.domain;
 
+import br.gov.seplag.musicapi.service.NormalizadorTexto;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -10,6 +11,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.util.HashSet;
 import java.util.Set;
@@ -18,16 +20,26 @@ import java.util.Set;
 @Table(name = "artista")
 public class Artista {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "artista_seq")
+	@SequenceGenerator(name = "artista_seq", sequenceName = "artista_seq", allocationSize = 50)
 	private Long id;
 
 	@Column(name = "nome", nullable = false, length = 200)
 	private String nome;
 
+	@Column(name = "nome_normalizado", length = 200)
+	private String nomeNormalizado;
+
 	@Enumerated(EnumType.STRING)
 	@Column(name = "tipo", nullable = false, length = 20)
 	private ArtistaTipo tipo;
 
+	@Column(name = "versao", nullable = false, insertable = false, updatable = false)
+	private long versao;
+
+	@Column(name = "quantidade_albuns", nullable = false, insertable = false, updatable = false)
+	private int quantidadeAlbuns;
+
 	@ManyToMany
 	@JoinTable(
 		name = "artista_album",
@@ -40,6 +52,14 @@ public class Artista {
 		return id;
 	}
 
+	public long getVersao() {
+		return versao;
+	}
+
+	public int getQuantidadeAlbuns() {
+		return quantidadeAlbuns;
+	}
+
 	public void setId(Long id) {
 		this.id = id;
 	}
@@ -50,6 +70,11 @@ public class Artista {
 
 	public void setNome(String nome) {
 		this.nome = nome;
+		this.nomeNormalizado = NormalizadorTexto.normalizar(nome);
+	}
+
+	public String getNomeNormalizado() {
+		return nomeNormalizado;
 	}
 
 	public ArtistaTipo getTipo() {
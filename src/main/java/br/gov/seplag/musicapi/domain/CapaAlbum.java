@@ -2,16 +2,21 @@ package br.gov.seplag.musicapi.domain;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import java.time.Instant;
 
 @Entity
 @Table(name = "album_capa")
 public class CapaAlbum {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "album_capa_seq")
+	@SequenceGenerator(name = "album_capa_seq", sequenceName = "album_capa_seq", allocationSize = 50)
 	private Long id;
 
 	@Column(name = "album_id", nullable = false)
@@ -35,6 +40,23 @@ public class CapaAlbum {
 	@Column(name = "nome_original", length = 500)
 	private String nomeOriginal;
 
+	@Enumerated(EnumType.STRING)
+	@Column(name = "situacao", nullable = false, length = 20)
+	private SituacaoCapa situacao = SituacaoCapa.CONFIRMADA;
+
+	@Column(name = "largura")
+	private Integer largura;
+
+	@Column(name = "altura")
+	private Integer altura;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "situacao_variantes", nullable = false, length = 20)
+	private SituacaoVariantes situacaoVariantes = SituacaoVariantes.PENDENTE;
+
+	@Column(name = "criado_em", nullable = false, insertable = false, updatable = false)
+	private Instant criadoEm;
+
 	public Long getId() {
 		return id;
 	}
@@ -98,4 +120,40 @@ public class CapaAlbum {
 	public void setNomeOriginal(String nomeOriginal) {
 		this.nomeOriginal = nomeOriginal;
 	}
+
+	public SituacaoCapa getSituacao() {
+		return situacao;
+	}
+
+	public void setSituacao(SituacaoCapa situacao) {
+		this.situacao = situacao;
+	}
+
+	public Integer getLargura() {
+		return largura;
+	}
+
+	public void setLargura(Integer largura) {
+		this.largura = largura;
+	}
+
+	public Integer getAltura() {
+		return altura;
+	}
+
+	public void setAltura(Integer altura) {
+		this.altura = altura;
+	}
+
+	public SituacaoVariantes getSituacaoVariantes() {
+		return situacaoVariantes;
+	}
+
+	public void setSituacaoVariantes(SituacaoVariantes situacaoVariantes) {
+		this.situacaoVariantes = situacaoVariantes;
+	}
+
+	public Instant getCriadoEm() {
+		return criadoEm;
+	}
 }
@@ -5,13 +5,15 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "regional")
 public class Regional {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "regional_seq")
+	@SequenceGenerator(name = "regional_seq", sequenceName = "regional_seq", allocationSize = 50)
 	private Long id;
 
 	@Column(name = "id_integrador", nullable = false)
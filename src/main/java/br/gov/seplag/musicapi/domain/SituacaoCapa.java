@@ -0,0 +1,6 @@
+package br.gov.seplag.musicapi.domain;
+
+public enum SituacaoCapa {
+	PENDENTE,
+	CONFIRMADA
+}
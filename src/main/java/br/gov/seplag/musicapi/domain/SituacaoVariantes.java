@@ -0,0 +1,7 @@
+package br.gov.seplag.musicapi.domain;
+
+public enum SituacaoVariantes {
+	PENDENTE,
+	GERADAS,
+	FALHA
+}
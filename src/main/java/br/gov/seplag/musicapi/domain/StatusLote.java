@@ -0,0 +1,8 @@
+package br.gov.seplag.musicapi.domain;
+
+public enum StatusLote {
+	PENDENTE,
+	PROCESSANDO,
+	CONCLUIDO,
+	FALHOU
+}
@@ -0,0 +1,17 @@
+package br.gov.seplag.musicapi.domain;
+
+public enum TamanhoCapa {
+	THUMB(240),
+	MEDIO(800),
+	ORIGINAL(0);
+
+	private final int ladoMaximo;
+
+	TamanhoCapa(int ladoMaximo) {
+		this.ladoMaximo = ladoMaximo;
+	}
+
+	public int getLadoMaximo() {
+		return ladoMaximo;
+	}
+}
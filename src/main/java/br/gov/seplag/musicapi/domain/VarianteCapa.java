@@ -0,0 +1,106 @@
+package br.gov.seplag.musicapi.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "album_capa_variante")
+public class VarianteCapa {
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "album_capa_variante_seq")
+	@SequenceGenerator(name = "album_capa_variante_seq", sequenceName = "album_capa_variante_seq", allocationSize = 50)
+	private Long id;
+
+	@Column(name = "capa_id", nullable = false)
+	private Long capaId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "tamanho", nullable = false, length = 20)
+	private TamanhoCapa tamanho;
+
+	@Column(name = "objeto", nullable = false, length = 500)
+	private String objeto;
+
+	@Column(name = "content_type", nullable = false, length = 100)
+	private String contentType;
+
+	@Column(name = "largura", nullable = false)
+	private Integer largura;
+
+	@Column(name = "altura", nullable = false)
+	private Integer altura;
+
+	@Column(name = "bytes", nullable = false)
+	private Long bytes;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getCapaId() {
+		return capaId;
+	}
+
+	public void setCapaId(Long capaId) {
+		this.capaId = capaId;
+	}
+
+	public TamanhoCapa getTamanho() {
+		return tamanho;
+	}
+
+	public void setTamanho(TamanhoCapa tamanho) {
+		this.tamanho = tamanho;
+	}
+
+	public String getObjeto() {
+		return objeto;
+	}
+
+	public void setObjeto(String objeto) {
+		this.objeto = objeto;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public void setContentType(String contentType) {
+		this.contentType = contentType;
+	}
+
+	public Integer getLargura() {
+		return largura;
+	}
+
+	public void setLargura(Integer largura) {
+		this.largura = largura;
+	}
+
+	public Integer getAltura() {
+		return altura;
+	}
+
+	public void setAltura(Integer altura) {
+		this.altura = altura;
+	}
+
+	public Long getBytes() {
+		return bytes;
+	}
+
+	public void setBytes(Long bytes) {
+		this.bytes = bytes;
+	}
+}
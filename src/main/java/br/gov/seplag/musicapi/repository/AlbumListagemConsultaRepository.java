@@ -0,0 +1,34 @@
+package br.gov.seplag.musicapi.repository;
+
+import br.gov.seplag.musicapi.domain.AlbumListagem;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort.Direction;
+
+public interface AlbumListagemConsultaRepository {
+	Page<AlbumListagem> buscar(FiltroAlbuns filtro, Pageable pageable);
+
+	Slice<AlbumListagem> buscarFatia(FiltroAlbuns filtro, Pageable pageable);
+
+	long contar(FiltroAlbuns filtro);
+
+	Slice<AlbumListagem> buscarAposCursor(
+		FiltroAlbuns filtro,
+		Direction direcao,
+		String cursorTitulo,
+		Long cursorId,
+		int tamanho
+	);
+
+	ContagemFacetas contarFacetas(FiltroAlbuns filtro);
+
+	List<ArtistaFaceta> buscarArtistasMaisFrequentes(FiltroAlbuns filtro, int limite);
+
+	record ContagemFacetas(long total, long cantores, long bandas, long comCapa) {
+	}
+
+	record ArtistaFaceta(Long id, String nome, long quantidade) {
+	}
+}
@@ -0,0 +1,164 @@
+package br.gov.seplag.musicapi.repository;
+
+import br.gov.seplag.musicapi.domain.AlbumListagem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.support.PageableExecutionUtils;
+
+public class AlbumListagemConsultaRepositoryImpl implements AlbumListagemConsultaRepository {
+	private static final Map<String, String> COLUNAS = Map.of("titulo", "titulo_normalizado", "albumId", "album_id");
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public Page<AlbumListagem> buscar(FiltroAlbuns filtro, Pageable pageable) {
+		List<AlbumListagem> conteudo = listar(filtro, pageable, pageable.getPageSize());
+		return PageableExecutionUtils.getPage(conteudo, pageable, () -> contar(filtro));
+	}
+
+	@Override
+	public Slice<AlbumListagem> buscarFatia(FiltroAlbuns filtro, Pageable pageable) {
+		List<AlbumListagem> conteudo = listar(filtro, pageable, pageable.getPageSize() + 1);
+		return fatia(conteudo, pageable);
+	}
+
+	@Override
+	public long contar(FiltroAlbuns filtro) {
+		Query query = entityManager.createNativeQuery(
+			"select count(*) from album_listagem al" + filtro.condicoes("al")
+		);
+		vincular(query, filtro.parametros());
+		return ((Number) query.getSingleResult()).longValue();
+	}
+
+	@Override
+	public Slice<AlbumListagem> buscarAposCursor(
+		FiltroAlbuns filtro,
+		Direction direcao,
+		String cursorTitulo,
+		Long cursorId,
+		int tamanho
+	) {
+		String comparacao = direcao.isAscending() ? ">" : "<";
+		String sql = cursorTitulo == null
+			? "select al.* from album_listagem al" + filtro.condicoes("al")
+			: "select al.* from album_listagem al" + filtro.condicoes(
+				"al",
+				"(al.titulo_normalizado " + comparacao + " :cursorTitulo"
+					+ " or (al.titulo_normalizado = :cursorTitulo and al.album_id " + comparacao + " :cursorId))"
+			);
+		String ordem = direcao.isAscending() ? " asc" : " desc";
+		Query query = entityManager.createNativeQuery(
+			sql + " order by al.titulo_normalizado" + ordem + ", al.album_id" + ordem,
+			AlbumListagem.class
+		);
+		vincular(query, filtro.parametros());
+		if (cursorTitulo != null) {
+			query.setParameter("cursorTitulo", cursorTitulo);
+			query.setParameter("cursorId", cursorId);
+		}
+		query.setMaxResults(tamanho + 1);
+		return fatia(resultado(query), Pageable.ofSize(tamanho));
+	}
+
+	@Override
+	public ContagemFacetas contarFacetas(FiltroAlbuns filtro) {
+		Query query = entityManager.createNativeQuery("""
+			select count(*),
+				coalesce(sum(case when al.tem_cantor = true then 1 else 0 end), 0),
+				coalesce(sum(case when al.tem_banda = true then 1 else 0 end), 0),
+				coalesce(sum(case when al.tem_capa = true then 1 else 0 end), 0)
+			from album_listagem al""" + filtro.condicoes("al"));
+		vincular(query, filtro.parametros());
+		Object[] linha = (Object[]) query.getSingleResult();
+		return new ContagemFacetas(
+			((Number) linha[0]).longValue(),
+			((Number) linha[1]).longValue(),
+			((Number) linha[2]).longValue(),
+			((Number) linha[3]).longValue()
+		);
+	}
+
+	@Override
+	public List<ArtistaFaceta> buscarArtistasMaisFrequentes(FiltroAlbuns filtro, int limite) {
+		Query query = entityManager.createNativeQuery("""
+			select a.id, a.nome, f.quantidade
+			from (
+				select aa.artista_id, count(*) as quantidade
+				from album_listagem al
+				join artista_album aa on aa.album_id = al.album_id""" + filtro.condicoes("al") + """
+
+				group by aa.artista_id
+				order by quantidade desc, aa.artista_id asc
+				limit :limite
+			) f
+			join artista a on a.id = f.artista_id
+			order by f.quantidade desc, a.id asc
+			""");
+		vincular(query, filtro.parametros());
+		query.setParameter("limite", limite);
+		List<ArtistaFaceta> facetas = new ArrayList<>();
+		for (Object registro : query.getResultList()) {
+			Object[] linha = (Object[]) registro;
+			facetas.add(new ArtistaFaceta(
+				((Number) linha[0]).longValue(),
+				(String) linha[1],
+				((Number) linha[2]).longValue()
+			));
+		}
+		return facetas;
+	}
+
+	private List<AlbumListagem> listar(FiltroAlbuns filtro, Pageable pageable, int limite) {
+		Query query = entityManager.createNativeQuery(
+			"select al.* from album_listagem al" + filtro.condicoes("al") + ordenacao(pageable.getSort()),
+			AlbumListagem.class
+		);
+		vincular(query, filtro.parametros());
+		query.setFirstResult((int) pageable.getOffset());
+		query.setMaxResults(limite);
+		return resultado(query);
+	}
+
+	private static String ordenacao(Sort sort) {
+		if (sort.isUnsorted()) {
+			return " order by al.album_id";
+		}
+		return sort.stream()
+			.map(ordem -> {
+				String coluna = COLUNAS.get(ordem.getProperty());
+				if (coluna == null) {
+					throw new IllegalArgumentException("ordenação não suportada: " + ordem.getProperty());
+				}
+				return "al." + coluna + (ordem.isAscending() ? " asc" : " desc");
+			})
+			.collect(Collectors.joining(", ", " order by ", ""));
+	}
+
+	private static void vincular(Query query, Map<String, Object> parametros) {
+		parametros.forEach(query::setParameter);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<AlbumListagem> resultado(Query query) {
+		return query.getResultList();
+	}
+
+	private static Slice<AlbumListagem> fatia(List<AlbumListagem> conteudo, Pageable pageable) {
+		boolean temProxima = conteudo.size() > pageable.getPageSize();
+		List<AlbumListagem> pagina = temProxima ? conteudo.subList(0, pageable.getPageSize()) : conteudo;
+		return new SliceImpl<>(pagina, pageable, temProxima);
+	}
+}
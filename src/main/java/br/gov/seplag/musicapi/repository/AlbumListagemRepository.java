@@ -0,0 +1,13 @@
+package br.gov.seplag.musicapi.repository;
+
+import br.gov.seplag.musicapi.domain.AlbumListagem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface AlbumListagemRepository extends JpaRepository<AlbumListagem, Long>, AlbumListagemConsultaRepository {
+	@Modifying
+	@Query(value = "update album_listagem set tem_capa = true where album_id = :albumId", nativeQuery = true)
+	int marcarComCapa(@Param("albumId") Long albumId);
+}
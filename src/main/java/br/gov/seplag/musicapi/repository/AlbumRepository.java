@@ -1,9 +1,12 @@
 package br.gov.seplag.musicapi.repository;
 
 import br.gov.seplag.musicapi.domain.Album;
-import org.springframework.data.domain.Page;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -11,44 +14,39 @@ public interface AlbumRepository extends JpaRepository<Album, Long> {
 	@Query("""
 		select distinct al
 		from Album al
-		left join al.artistas ar
-		where (:titulo = '' or upper(al.titulo) like upper(concat('%', :titulo, '%')))
-		  and (:artistaNome = '' or upper(ar.nome) like upper(concat('%', :artistaNome, '%')))
-		  and (:artistaId is null or ar.id = :artistaId)
-		  and (
-		  	:temCantor is null
-		  	or :temCantor = false
-		  	or exists (
-		  		select 1
-		  		from al.artistas a2
-		  		where a2.tipo = br.gov.seplag.musicapi.domain.ArtistaTipo.CANTOR
-		  	)
-		  )
-		  and (
-		  	:temBanda is null
-		  	or :temBanda = false
-		  	or exists (
-		  		select 1
-		  		from al.artistas a3
-		  		where a3.tipo = br.gov.seplag.musicapi.domain.ArtistaTipo.BANDA
-		  	)
-		  )
+		left join fetch al.artistas ar
+		where al.id = :id
 		""")
-	Page<Album> buscar(
-		@Param("titulo") String titulo,
-		@Param("artistaNome") String artistaNome,
-		@Param("artistaId") Long artistaId,
-		@Param("temCantor") Boolean temCantor,
-		@Param("temBanda") Boolean temBanda,
-		Pageable pageable
-	);
+	Album buscarComArtistasPorId(@Param("id") Long id);
 
 	@Query("""
 		select distinct al
 		from Album al
 		left join fetch al.artistas ar
-		where al.id = :id
+		where al.id in :ids
 		""")
-	Album buscarComArtistasPorId(@Param("id") Long id);
-}
+	List<Album> buscarComArtistasPorIds(@Param("ids") Collection<Long> ids);
 
+	@Query("""
+		select al.id
+		from Album al
+		where al.id > :ultimoId
+		order by al.id
+		""")
+	List<Long> buscarIdsAposId(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+	@Query("""
+		select al.id
+		from Artista a
+		join a.albuns al
+		where a.id = :artistaId
+		""")
+	List<Long> buscarIdsPorArtistaId(@Param("artistaId") Long artistaId);
+
+	@Query("select al.versao from Album al where al.id = :id")
+	Optional<Long> buscarVersao(@Param("id") Long id);
+
+	@Modifying
+	@Query("update Album al set al.versao = al.versao + 1 where al.id in :ids")
+	int incrementarVersoes(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,117 @@
+package br.gov.seplag.musicapi.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class ArtistaAlbumRepository {
+	private static final int TAMANHO_LOTE = 500;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public ArtistaAlbumRepository(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	public List<Long> buscarArtistaIds(Long albumId) {
+		return jdbcTemplate.queryForList(
+			"select artista_id from artista_album where album_id = ?",
+			Long.class,
+			albumId
+		);
+	}
+
+	public void inserir(Collection<Vinculo> vinculos) {
+		if (vinculos.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate(
+			"insert into artista_album (artista_id, album_id) values (?, ?)",
+			List.copyOf(vinculos),
+			TAMANHO_LOTE,
+			(ps, vinculo) -> {
+				ps.setLong(1, vinculo.artistaId());
+				ps.setLong(2, vinculo.albumId());
+			}
+		);
+		ajustarQuantidadeAlbuns(vinculos, 1);
+	}
+
+	public void remover(Collection<Vinculo> vinculos) {
+		if (vinculos.isEmpty()) {
+			return;
+		}
+		List<Vinculo> pedidos = List.copyOf(vinculos);
+		int[][] contagens = jdbcTemplate.batchUpdate(
+			"delete from artista_album where artista_id = ? and album_id = ?",
+			pedidos,
+			TAMANHO_LOTE,
+			(ps, vinculo) -> {
+				ps.setLong(1, vinculo.artistaId());
+				ps.setLong(2, vinculo.albumId());
+			}
+		);
+		List<Vinculo> removidos = new ArrayList<>();
+		int indice = 0;
+		for (int[] lote : contagens) {
+			for (int contagem : lote) {
+				if (contagem > 0) {
+					removidos.add(pedidos.get(indice));
+				}
+				indice++;
+			}
+		}
+		ajustarQuantidadeAlbuns(removidos, -1);
+	}
+
+	public List<AlbumDoArtista> buscarAlbunsDoArtista(Long artistaId, Long aposAlbumId, int limite) {
+		return jdbcTemplate.query(
+			"""
+				select aa.album_id, al.titulo
+				from (
+					select album_id
+					from artista_album
+					where artista_id = ? and album_id > ?
+					order by album_id
+					limit ?
+				) aa
+				join album al on al.id = aa.album_id
+				order by aa.album_id
+				""",
+			(rs, rowNum) -> new AlbumDoArtista(rs.getLong("album_id"), rs.getString("titulo")),
+			artistaId,
+			aposAlbumId == null ? 0L : aposAlbumId,
+			limite
+		);
+	}
+
+	private void ajustarQuantidadeAlbuns(Collection<Vinculo> vinculos, int sinal) {
+		Map<Long, Integer> quantidades = new TreeMap<>();
+		for (Vinculo vinculo : vinculos) {
+			quantidades.merge(vinculo.artistaId(), 1, Integer::sum);
+		}
+		if (quantidades.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate(
+			"update artista set quantidade_albuns = quantidade_albuns + ? where id = ?",
+			List.copyOf(quantidades.entrySet()),
+			TAMANHO_LOTE,
+			(ps, quantidade) -> {
+				ps.setInt(1, sinal * quantidade.getValue());
+				ps.setLong(2, quantidade.getKey());
+			}
+		);
+	}
+
+	public record AlbumDoArtista(Long id, String titulo) {
+	}
+
+	public record Vinculo(Long artistaId, Long albumId) {
+	}
+}
@@ -1,22 +1,66 @@
 package br.gov.seplag.musicapi.repository;
 
 import br.gov.seplag.musicapi.domain.Artista;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface ArtistaRepository extends JpaRepository<Artista, Long> {
-	Page<Artista> findByNomeContainingIgnoreCase(String nome, Pageable pageable);
+	@Query(
+		value = "select * from artista a where a.nome_normalizado like :padrao escape '\\'",
+		countQuery = "select count(*) from artista a where a.nome_normalizado like :padrao escape '\\'",
+		nativeQuery = true
+	)
+	Page<Artista> buscarPorNomeNormalizado(@Param("padrao") String padrao, Pageable pageable);
+
+	@Query(
+		value = "select * from artista a where a.nome_normalizado like :padrao escape '\\'",
+		nativeQuery = true
+	)
+	Slice<Artista> buscarFatiaPorNomeNormalizado(@Param("padrao") String padrao, Pageable pageable);
+
+	@Query(
+		value = "select count(*) from artista a where a.nome_normalizado like :padrao escape '\\'",
+		nativeQuery = true
+	)
+	long contarPorNomeNormalizado(@Param("padrao") String padrao);
+
+	@Query("select a from Artista a where a.nomeNormalizado is null order by a.id")
+	List<Artista> buscarSemNomeNormalizado(Pageable pageable);
+
+	Slice<Artista> findAllBy(Pageable pageable);
 
 	@Query("""
-		select a
+		select al.id as albumId, a.id as id, a.nome as nome
 		from Artista a
 		join a.albuns al
-		where al.id = :albumId
+		where al.id in :albumIds
 		""")
-	List<Artista> buscarPorAlbumId(@Param("albumId") Long albumId);
+	List<ArtistaDeAlbum> buscarResumosPorAlbumIds(@Param("albumIds") Collection<Long> albumIds);
+
+	@Query("select a.nome from Artista a where a.nome in :nomes")
+	List<String> buscarNomesExistentes(@Param("nomes") Collection<String> nomes);
+
+	@Query("select a.versao from Artista a where a.id = :id")
+	Optional<Long> buscarVersao(@Param("id") Long id);
+
+	@Modifying
+	@Query("update Artista a set a.versao = a.versao + 1 where a.id in :ids")
+	int incrementarVersoes(@Param("ids") Collection<Long> ids);
+
+	interface ArtistaDeAlbum {
+		Long getAlbumId();
+
+		Long getId();
+
+		String getNome();
+	}
 }
 
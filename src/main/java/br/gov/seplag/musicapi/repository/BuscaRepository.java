@@ -0,0 +1,52 @@
+package br.gov.seplag.musicapi.repository;
+
+import java.util.List;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class BuscaRepository {
+	private static final String SQL_BUSCA = """
+		select r.tipo, r.id, r.nome, r.relevancia
+		from (
+			select 'ARTISTA' as tipo, a.id as id, a.nome as nome,
+				similarity(a.nome_normalizado, :termo) as relevancia,
+				case when a.nome_normalizado like :prefixo escape '\\' then 1 else 0 end as prefixo
+			from artista a
+			where a.nome_normalizado like :padrao escape '\\'
+			union all
+			select 'ALBUM' as tipo, l.album_id as id, l.titulo as nome,
+				similarity(l.titulo_normalizado, :termo) as relevancia,
+				case when l.titulo_normalizado like :prefixo escape '\\' then 1 else 0 end as prefixo
+			from album_listagem l
+			where l.titulo_normalizado like :padrao escape '\\'
+		) r
+		order by r.prefixo desc, r.relevancia desc, r.nome asc, r.id asc
+		limit :limite
+		""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	public BuscaRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	public List<Resultado> buscar(String termoNormalizado, int limite) {
+		MapSqlParameterSource params = new MapSqlParameterSource()
+			.addValue("termo", termoNormalizado)
+			.addValue("padrao", PadraoLike.contendo(termoNormalizado))
+			.addValue("prefixo", PadraoLike.iniciandoCom(termoNormalizado))
+			.addValue("limite", limite);
+
+		return jdbcTemplate.query(SQL_BUSCA, params, (rs, rowNum) -> new Resultado(
+			rs.getString("tipo"),
+			rs.getLong("id"),
+			rs.getString("nome"),
+			rs.getDouble("relevancia")
+		));
+	}
+
+	public record Resultado(String tipo, Long id, String nome, double relevancia) {
+	}
+}
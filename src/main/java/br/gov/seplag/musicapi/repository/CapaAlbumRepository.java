@@ -1,12 +1,61 @@
 package br.gov.seplag.musicapi.repository;
 
 import br.gov.seplag.musicapi.domain.CapaAlbum;
+import br.gov.seplag.musicapi.domain.SituacaoCapa;
+import br.gov.seplag.musicapi.domain.SituacaoVariantes;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CapaAlbumRepository extends JpaRepository<CapaAlbum, Long> {
-	List<CapaAlbum> findAllByAlbumIdOrderByIdDesc(Long albumId);
+	List<CapaAlbum> findAllByAlbumIdAndSituacaoOrderByIdDesc(Long albumId, SituacaoCapa situacao);
 
-	Optional<CapaAlbum> findTopByAlbumIdOrderByIdDesc(Long albumId);
+	Optional<CapaAlbum> findTopByAlbumIdAndSituacaoOrderByIdDesc(Long albumId, SituacaoCapa situacao);
+
+	@Query("""
+		select c
+		from CapaAlbum c
+		where c.id in (
+			select max(m.id)
+			from CapaAlbum m
+			where m.albumId in :albumIds
+			  and m.situacao = :situacao
+			group by m.albumId
+		)
+		""")
+	List<CapaAlbum> buscarMaisRecentesPorAlbumIds(
+		@Param("albumIds") Collection<Long> albumIds,
+		@Param("situacao") SituacaoCapa situacao
+	);
+
+	List<CapaAlbum> findTop100BySituacaoAndCriadoEmBeforeOrderByCriadoEmAsc(SituacaoCapa situacao, Instant limite);
+
+	List<CapaAlbum> findBySituacaoAndSituacaoVariantesOrderByIdAsc(
+		SituacaoCapa situacao,
+		SituacaoVariantes situacaoVariantes,
+		Limit limite
+	);
+
+	@Modifying
+	@Query("""
+		update CapaAlbum c
+		set c.situacaoVariantes = :situacaoVariantes, c.largura = :largura, c.altura = :altura
+		where c.id = :id
+		""")
+	int registrarVariantes(
+		@Param("id") Long id,
+		@Param("situacaoVariantes") SituacaoVariantes situacaoVariantes,
+		@Param("largura") Integer largura,
+		@Param("altura") Integer altura
+	);
+
+	@Modifying
+	@Query("update CapaAlbum c set c.situacao = :situacao, c.etag = :etag where c.id = :id")
+	int atualizarSituacao(@Param("id") Long id, @Param("situacao") SituacaoCapa situacao, @Param("etag") String etag);
 }
@@ -0,0 +1,143 @@
+package br.gov.seplag.musicapi.repository;
+
+import br.gov.seplag.musicapi.domain.ArtistaTipo;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class CatalogoMemoriaRepository {
+	private static final RowMapper<LinhaArtista> ARTISTA = (rs, rowNum) -> new LinhaArtista(
+		rs.getLong("id"),
+		rs.getString("nome"),
+		ArtistaTipo.valueOf(rs.getString("tipo"))
+	);
+	private static final RowMapper<LinhaAlbum> ALBUM = (rs, rowNum) -> new LinhaAlbum(
+		rs.getLong("id"),
+		rs.getString("titulo"),
+		rs.getLong("versao")
+	);
+	private static final RowMapper<ArtistaAlbumRepository.Vinculo> VINCULO = (rs, rowNum) -> new ArtistaAlbumRepository.Vinculo(
+		rs.getLong("artista_id"),
+		rs.getLong("album_id")
+	);
+
+	private static final RowMapper<Alteracao> ALTERACAO = (rs, rowNum) -> new Alteracao(
+		rs.getLong("id"),
+		rs.getObject("album_id", Long.class),
+		rs.getObject("artista_id", Long.class)
+	);
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	public CatalogoMemoriaRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	public List<LinhaArtista> listarArtistas() {
+		return jdbcTemplate.query("select id, nome, tipo from artista", ARTISTA);
+	}
+
+	public List<LinhaAlbum> listarAlbuns() {
+		return jdbcTemplate.query("select id, titulo, versao from album", ALBUM);
+	}
+
+	public List<ArtistaAlbumRepository.Vinculo> listarVinculos() {
+		return jdbcTemplate.query("select artista_id, album_id from artista_album", VINCULO);
+	}
+
+	public List<LinhaArtista> buscarArtistas(Collection<Long> ids) {
+		return jdbcTemplate.query(
+			"select id, nome, tipo from artista where id in (:ids)",
+			new MapSqlParameterSource("ids", ids),
+			ARTISTA
+		);
+	}
+
+	public List<LinhaAlbum> buscarAlbuns(Collection<Long> ids) {
+		return jdbcTemplate.query(
+			"select id, titulo, versao from album where id in (:ids)",
+			new MapSqlParameterSource("ids", ids),
+			ALBUM
+		);
+	}
+
+	public List<ArtistaAlbumRepository.Vinculo> buscarVinculosDosAlbuns(Collection<Long> albumIds) {
+		return jdbcTemplate.query(
+			"select artista_id, album_id from artista_album where album_id in (:ids)",
+			new MapSqlParameterSource("ids", albumIds),
+			VINCULO
+		);
+	}
+
+	public void registrarAlteracoes(Collection<Long> albumIds, Collection<Long> artistaIds) {
+		List<MapSqlParameterSource> linhas = new ArrayList<>(albumIds.size() + artistaIds.size());
+		for (Long albumId : albumIds) {
+			linhas.add(new MapSqlParameterSource("albumId", albumId).addValue("artistaId", null));
+		}
+		for (Long artistaId : artistaIds) {
+			linhas.add(new MapSqlParameterSource("albumId", null).addValue("artistaId", artistaId));
+		}
+		if (!linhas.isEmpty()) {
+			jdbcTemplate.batchUpdate(
+				"insert into catalogo_alteracao (album_id, artista_id) values (:albumId, :artistaId)",
+				linhas.toArray(MapSqlParameterSource[]::new)
+			);
+		}
+	}
+
+	public long buscarMarcaAte(Instant limite) {
+		Long marca = jdbcTemplate.queryForObject(
+			"select coalesce(max(id), 0) from catalogo_alteracao where registrado_em < :limite",
+			new MapSqlParameterSource("limite", Timestamp.from(limite)),
+			Long.class
+		);
+		return marca == null ? 0 : marca;
+	}
+
+	public MarcasPorTipo buscarMarcasPorTipoAte(long marca) {
+		return jdbcTemplate.queryForObject(
+			"""
+				select coalesce(max(case when album_id is not null then id end), 0) as albuns,
+					coalesce(max(case when artista_id is not null then id end), 0) as artistas
+				from catalogo_alteracao
+				where id <= :marca
+				""",
+			new MapSqlParameterSource("marca", marca),
+			(rs, rowNum) -> new MarcasPorTipo(rs.getLong("albuns"), rs.getLong("artistas"))
+		);
+	}
+
+	public List<Alteracao> listarAlteracoesApos(long marca) {
+		return jdbcTemplate.query(
+			"select id, album_id, artista_id from catalogo_alteracao where id > :marca order by id",
+			new MapSqlParameterSource("marca", marca),
+			ALTERACAO
+		);
+	}
+
+	public int removerAlteracoesAntesDe(Instant limite) {
+		return jdbcTemplate.update(
+			"delete from catalogo_alteracao where registrado_em < :limite",
+			new MapSqlParameterSource("limite", Timestamp.from(limite))
+		);
+	}
+
+	public record LinhaArtista(long id, String nome, ArtistaTipo tipo) {
+	}
+
+	public record LinhaAlbum(long id, String titulo, long versao) {
+	}
+
+	public record Alteracao(long id, Long albumId, Long artistaId) {
+	}
+
+	public record MarcasPorTipo(long albuns, long artistas) {
+	}
+}
@@ -0,0 +1,50 @@
+package br.gov.seplag.musicapi.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public record FiltroAlbuns(String titulo, String artistaNome, Long artistaId, boolean temCantor, boolean temBanda) {
+	public FiltroAlbuns {
+		titulo = titulo == null ? "" : titulo;
+		artistaNome = artistaNome == null ? "" : artistaNome;
+	}
+
+	public String condicoes(String alias, String... adicionais) {
+		List<String> condicoes = new ArrayList<>();
+		if (!titulo.isEmpty()) {
+			condicoes.add(alias + ".titulo_normalizado like :tituloPadrao escape '\\'");
+		}
+		if (!artistaNome.isEmpty()) {
+			condicoes.add(alias + ".album_id in ("
+				+ "select aa.album_id from artista_album aa join artista a on a.id = aa.artista_id"
+				+ " where a.nome_normalizado like :artistaNomePadrao escape '\\')");
+		}
+		if (artistaId != null) {
+			condicoes.add(alias + ".album_id in (select aa.album_id from artista_album aa where aa.artista_id = :artistaId)");
+		}
+		if (temCantor) {
+			condicoes.add(alias + ".tem_cantor = true");
+		}
+		if (temBanda) {
+			condicoes.add(alias + ".tem_banda = true");
+		}
+		condicoes.addAll(List.of(adicionais));
+		return condicoes.isEmpty() ? "" : " where " + String.join(" and ", condicoes);
+	}
+
+	public Map<String, Object> parametros() {
+		Map<String, Object> parametros = new HashMap<>();
+		if (!titulo.isEmpty()) {
+			parametros.put("tituloPadrao", PadraoLike.contendo(titulo));
+		}
+		if (!artistaNome.isEmpty()) {
+			parametros.put("artistaNomePadrao", PadraoLike.contendo(artistaNome));
+		}
+		if (artistaId != null) {
+			parametros.put("artistaId", artistaId);
+		}
+		return parametros;
+	}
+}
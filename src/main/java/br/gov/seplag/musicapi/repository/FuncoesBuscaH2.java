@@ -0,0 +1,12 @@
+package br.gov.seplag.musicapi.repository;
+
+import br.gov.seplag.musicapi.service.Trigramas;
+
+public final class FuncoesBuscaH2 {
+	private FuncoesBuscaH2() {
+	}
+
+	public static double similaridade(String a, String b) {
+		return Trigramas.similaridade(a, b);
+	}
+}
@@ -0,0 +1,18 @@
+package br.gov.seplag.musicapi.repository;
+
+public final class PadraoLike {
+	private PadraoLike() {
+	}
+
+	public static String contendo(String termo) {
+		return "%" + escapar(termo) + "%";
+	}
+
+	public static String iniciandoCom(String termo) {
+		return escapar(termo) + "%";
+	}
+
+	static String escapar(String termo) {
+		return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+}
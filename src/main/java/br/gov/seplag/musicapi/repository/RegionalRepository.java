@@ -1,19 +1,27 @@
 package br.gov.seplag.musicapi.repository;
 
 import br.gov.seplag.musicapi.domain.Regional;
-import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface RegionalRepository extends JpaRepository<Regional, Long> {
-	Optional<Regional> findFirstByIdIntegradorAndAtivoTrue(Integer idIntegrador);
-
 	List<Regional> findByAtivoTrue();
 
 	List<Regional> findByAtivoFalse();
 
 	List<Regional> findByAtivoAndNomeContainingIgnoreCase(boolean ativo, String nome);
 
-	List<Regional> findByAtivoTrueAndIdIntegradorNotIn(Collection<Integer> idsIntegrador);
+	@Query("""
+		select coalesce(max(r.id), 0) as ultimoId,
+			coalesce(sum(case when r.ativo = true then 1 else 0 end), 0) as ativos
+		from Regional r
+		""")
+	ResumoRegionais buscarResumo();
+
+	interface ResumoRegionais {
+		Long getUltimoId();
+
+		Long getAtivos();
+	}
 }
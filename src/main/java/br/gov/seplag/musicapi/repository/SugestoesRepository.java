@@ -0,0 +1,41 @@
+package br.gov.seplag.musicapi.repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class SugestoesRepository {
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	public SugestoesRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	public Map<Long, String> listarNomesArtistas() {
+		return buscar("select id, nome from artista", new MapSqlParameterSource());
+	}
+
+	public Map<Long, String> listarTitulosAlbuns() {
+		return buscar("select id, titulo as nome from album", new MapSqlParameterSource());
+	}
+
+	public Map<Long, String> buscarNomesArtistas(Collection<Long> ids) {
+		return buscar("select id, nome from artista where id in (:ids)", new MapSqlParameterSource("ids", ids));
+	}
+
+	public Map<Long, String> buscarTitulosAlbuns(Collection<Long> ids) {
+		return buscar("select id, titulo as nome from album where id in (:ids)", new MapSqlParameterSource("ids", ids));
+	}
+
+	private Map<Long, String> buscar(String sql, MapSqlParameterSource params) {
+		Map<Long, String> nomes = new HashMap<>();
+		jdbcTemplate.query(sql, params, rs -> {
+			nomes.put(rs.getLong("id"), rs.getString("nome"));
+		});
+		return nomes;
+	}
+}
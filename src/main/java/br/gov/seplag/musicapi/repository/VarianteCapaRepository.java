@@ -0,0 +1,10 @@
+package br.gov.seplag.musicapi.repository;
+
+import br.gov.seplag.musicapi.domain.VarianteCapa;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface VarianteCapaRepository extends JpaRepository<VarianteCapa, Long> {
+	List<VarianteCapa> findAllByCapaIdIn(Collection<Long> capaIds);
+}
@@ -0,0 +1,62 @@
+package br.gov.seplag.musicapi.service;
+
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository;
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository.Alteracao;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public final class AcompanhamentoAlteracoes {
+	private final CatalogoMemoriaRepository catalogoMemoriaRepository;
+	private final Duration margem;
+
+	private long marca = -1;
+	private Set<Long> vistas = Set.of();
+
+	public AcompanhamentoAlteracoes(CatalogoMemoriaRepository catalogoMemoriaRepository, Duration margem) {
+		this.catalogoMemoriaRepository = catalogoMemoriaRepository;
+		this.margem = margem;
+	}
+
+	public synchronized long marca() {
+		return marca;
+	}
+
+	public synchronized void iniciarEm(long marca) {
+		this.marca = marca;
+		this.vistas = Set.of();
+	}
+
+	public synchronized void reiniciar(Runnable carga) {
+		marca = -1;
+		acompanhar(alteracoes -> carga.run());
+	}
+
+	public synchronized void acompanhar(Consumer<CatalogoAlteradoEvent> aplicacao) {
+		boolean primeira = marca < 0;
+		long novaMarca = Math.max(marca, catalogoMemoriaRepository.buscarMarcaAte(Instant.now().minus(margem)));
+		List<Alteracao> alteracoes = catalogoMemoriaRepository.listarAlteracoesApos(primeira ? novaMarca : marca);
+		Set<Long> ids = new HashSet<>();
+		Set<Long> albumIds = new LinkedHashSet<>();
+		Set<Long> artistaIds = new LinkedHashSet<>();
+		for (Alteracao alteracao : alteracoes) {
+			ids.add(alteracao.id());
+			if (primeira || vistas.contains(alteracao.id())) {
+				continue;
+			}
+			if (alteracao.albumId() != null) {
+				albumIds.add(alteracao.albumId());
+			}
+			if (alteracao.artistaId() != null) {
+				artistaIds.add(alteracao.artistaId());
+			}
+		}
+		aplicacao.accept(new CatalogoAlteradoEvent(albumIds, artistaIds));
+		vistas = ids;
+		marca = novaMarca;
+	}
+}
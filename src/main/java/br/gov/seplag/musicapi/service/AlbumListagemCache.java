@@ -0,0 +1,49 @@
+package br.gov.seplag.musicapi.service;
+
+import br.gov.seplag.musicapi.api.v1.dto.AlbumResponse;
+import br.gov.seplag.musicapi.repository.FiltroAlbuns;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AlbumListagemCache {
+	public static final String NOME = "albunsListagem";
+
+	private final Cache<Chave, Slice<AlbumResponse>> cache;
+
+	public AlbumListagemCache(
+		MeterRegistry meterRegistry,
+		@Value("${app.albuns.listagem.cache.itens-maximos:20000}") long itensMaximos,
+		@Value("${app.albuns.listagem.cache.expiracao:10m}") Duration expiracao
+	) {
+		this.cache = Caffeine.newBuilder()
+			.maximumWeight(itensMaximos)
+			.weigher((Chave chave, Slice<AlbumResponse> pagina) -> 1 + pagina.getNumberOfElements())
+			.expireAfterWrite(expiracao)
+			.recordStats()
+			.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, NOME);
+	}
+
+	public Slice<AlbumResponse> obter(Chave chave, Supplier<Slice<AlbumResponse>> carregar) {
+		return cache.get(chave, ignorada -> carregar.get());
+	}
+
+	public record Chave(
+		long geracao,
+		FiltroAlbuns filtro,
+		Direction direcao,
+		int pagina,
+		int tamanho,
+		boolean contagemExata
+	) {
+	}
+}
@@ -0,0 +1,135 @@
+package br.gov.seplag.musicapi.service;
+
+import br.gov.seplag.musicapi.domain.Album;
+import br.gov.seplag.musicapi.domain.AlbumListagem;
+import br.gov.seplag.musicapi.domain.Artista;
+import br.gov.seplag.musicapi.domain.ArtistaTipo;
+import br.gov.seplag.musicapi.repository.AlbumListagemRepository;
+import br.gov.seplag.musicapi.repository.AlbumRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class AlbumListagemService {
+	private static final Logger logger = LoggerFactory.getLogger(AlbumListagemService.class);
+	private static final int TAMANHO_LOTE_RECONSTRUCAO = 500;
+
+	private final AlbumRepository albumRepository;
+	private final AlbumListagemRepository albumListagemRepository;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${app.albuns.listagem.reconstruir-ao-iniciar:false}")
+	private boolean reconstruirAoIniciar;
+
+	public AlbumListagemService(
+		AlbumRepository albumRepository,
+		AlbumListagemRepository albumListagemRepository,
+		ApplicationEventPublisher eventPublisher,
+		PlatformTransactionManager transactionManager
+	) {
+		this.albumRepository = albumRepository;
+		this.albumListagemRepository = albumListagemRepository;
+		this.eventPublisher = eventPublisher;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@Transactional
+	public void atualizar(Album album) {
+		AlbumListagem listagem = albumListagemRepository.findById(album.getId())
+			.orElseGet(() -> AlbumListagem.nova(album.getId()));
+		preencher(listagem, album);
+		albumListagemRepository.save(listagem);
+	}
+
+	@Transactional
+	public void registrarNovos(Collection<Album> albuns) {
+		List<AlbumListagem> listagens = new ArrayList<>(albuns.size());
+		for (Album album : albuns) {
+			AlbumListagem listagem = AlbumListagem.nova(album.getId());
+			preencher(listagem, album);
+			listagens.add(listagem);
+		}
+		albumListagemRepository.saveAll(listagens);
+	}
+
+	@Transactional
+	public List<Long> atualizarPorArtista(Long artistaId) {
+		List<Long> albumIds = albumRepository.buscarIdsPorArtistaId(artistaId);
+		atualizarAlbuns(albumIds);
+		return albumIds;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void reconstruirAoIniciar() {
+		if (!reconstruirAoIniciar && albumListagemRepository.count() == albumRepository.count()) {
+			return;
+		}
+		int total = reconstruir();
+		logger.info("Projeção de listagem de álbuns reconstruída: albuns={}", total);
+	}
+
+	public int reconstruir() {
+		long ultimoId = 0;
+		int total = 0;
+		while (true) {
+			long aposId = ultimoId;
+			List<Long> ids = transactionTemplate.execute(status -> {
+				List<Long> lote = albumRepository.buscarIdsAposId(aposId, PageRequest.of(0, TAMANHO_LOTE_RECONSTRUCAO));
+				atualizarAlbuns(lote);
+				if (!lote.isEmpty()) {
+					eventPublisher.publishEvent(new CatalogoAlteradoEvent(Set.copyOf(lote), Set.of()));
+				}
+				return lote;
+			});
+			if (ids == null || ids.isEmpty()) {
+				return total;
+			}
+			total += ids.size();
+			ultimoId = ids.getLast();
+		}
+	}
+
+	private void atualizarAlbuns(List<Long> albumIds) {
+		if (albumIds.isEmpty()) {
+			return;
+		}
+
+		Map<Long, AlbumListagem> existentes = albumListagemRepository.findAllById(albumIds).stream()
+			.collect(Collectors.toMap(AlbumListagem::getAlbumId, Function.identity()));
+
+		List<AlbumListagem> listagens = new ArrayList<>(albumIds.size());
+		for (Album album : albumRepository.buscarComArtistasPorIds(albumIds)) {
+			AlbumListagem listagem = existentes.getOrDefault(album.getId(), AlbumListagem.nova(album.getId()));
+			preencher(listagem, album);
+			listagens.add(listagem);
+		}
+		albumListagemRepository.saveAll(listagens);
+	}
+
+	private void preencher(AlbumListagem listagem, Album album) {
+		Set<Artista> artistas = album.getArtistas();
+
+		listagem.setTitulo(album.getTitulo());
+		listagem.setTituloNormalizado(NormalizadorTexto.normalizar(album.getTitulo()));
+		listagem.setTemCantor(artistas.stream().anyMatch(a -> a.getTipo() == ArtistaTipo.CANTOR));
+		listagem.setTemBanda(artistas.stream().anyMatch(a -> a.getTipo() == ArtistaTipo.BANDA));
+		listagem.setQuantidadeArtistas(artistas.size());
+	}
+}
@@ -3,40 +3,115 @@ package br.gov.seplag.musicapi.service;
 import br.gov.seplag.musicapi.api.v1.dto.AlbumRequest;
 import br.gov.seplag.musicapi.api.v1.dto.AlbumResponse;
 import br.gov.seplag.musicapi.api.v1.dto.ArtistaResumoResponse;
+import br.gov.seplag.musicapi.api.v1.dto.FacetaArtistaResponse;
+import br.gov.seplag.musicapi.api.v1.dto.FacetasAlbunsResponse;
+import br.gov.seplag.musicapi.api.v1.dto.ItemLoteResponse;
+import br.gov.seplag.musicapi.api.v1.dto.PaginaCursorResponse;
+import br.gov.seplag.musicapi.api.v1.dto.PaginaFacetadaResponse;
+import br.gov.seplag.musicapi.api.v1.dto.ResultadoLoteResponse;
 import br.gov.seplag.musicapi.domain.Album;
+import br.gov.seplag.musicapi.domain.AlbumListagem;
 import br.gov.seplag.musicapi.domain.Artista;
+import br.gov.seplag.musicapi.domain.TamanhoCapa;
+import br.gov.seplag.musicapi.repository.AlbumListagemRepository;
+import br.gov.seplag.musicapi.repository.AlbumListagemConsultaRepository.ContagemFacetas;
 import br.gov.seplag.musicapi.repository.AlbumRepository;
+import br.gov.seplag.musicapi.repository.ArtistaAlbumRepository;
 import br.gov.seplag.musicapi.repository.ArtistaRepository;
+import br.gov.seplag.musicapi.repository.ArtistaRepository.ArtistaDeAlbum;
+import br.gov.seplag.musicapi.repository.FiltroAlbuns;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.http.HttpStatus;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public class AlbumService {
+	public static final String CACHE_ALBUNS = "albuns";
+	private static final Logger logger = LoggerFactory.getLogger(AlbumService.class);
+	private static final int TAMANHO_MAXIMO_PAGINA = 100;
+	private static final int TAMANHO_TRANSACAO_LOTE = 500;
+	private static final int LIMITE_FACETA_ARTISTAS = 10;
+	private static final int TAMANHO_CONSULTA_ARTISTAS = 1000;
+	private static final Comparator<ArtistaResumoResponse> ORDEM_ARTISTAS = Comparator.comparing(
+		ArtistaResumoResponse::getNome,
+		Comparator.nullsLast(String::compareToIgnoreCase)
+	);
+
 	private final AlbumRepository albumRepository;
+	private final AlbumListagemRepository albumListagemRepository;
 	private final ArtistaRepository artistaRepository;
+	private final ArtistaAlbumRepository artistaAlbumRepository;
+	private final AlbumListagemService albumListagemService;
+	private final AlbumListagemCache albumListagemCache;
+	private final ContagemListagemCache contagemListagemCache;
+	private final CatalogoGeracaoService catalogoGeracaoService;
 	private final SimpMessagingTemplate messagingTemplate;
+	private final ApplicationEventPublisher eventPublisher;
+	private final CatalogoMemoriaService catalogoMemoriaService;
+	private final CapaAlbumService capaAlbumService;
+	private final TransactionTemplate transactionTemplate;
+	private final TransactionTemplate transacaoLeitura;
 
 	public AlbumService(
 		AlbumRepository albumRepository,
+		AlbumListagemRepository albumListagemRepository,
 		ArtistaRepository artistaRepository,
-		SimpMessagingTemplate messagingTemplate
+		ArtistaAlbumRepository artistaAlbumRepository,
+		AlbumListagemService albumListagemService,
+		AlbumListagemCache albumListagemCache,
+		ContagemListagemCache contagemListagemCache,
+		CatalogoGeracaoService catalogoGeracaoService,
+		SimpMessagingTemplate messagingTemplate,
+		ApplicationEventPublisher eventPublisher,
+		CatalogoMemoriaService catalogoMemoriaService,
+		CapaAlbumService capaAlbumService,
+		PlatformTransactionManager transactionManager
 	) {
 		this.albumRepository = albumRepository;
+		this.albumListagemRepository = albumListagemRepository;
 		this.artistaRepository = artistaRepository;
+		this.artistaAlbumRepository = artistaAlbumRepository;
+		this.albumListagemService = albumListagemService;
+		this.albumListagemCache = albumListagemCache;
+		this.contagemListagemCache = contagemListagemCache;
+		this.catalogoGeracaoService = catalogoGeracaoService;
 		this.messagingTemplate = messagingTemplate;
+		this.eventPublisher = eventPublisher;
+		this.catalogoMemoriaService = catalogoMemoriaService;
+		this.capaAlbumService = capaAlbumService;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transacaoLeitura = new TransactionTemplate(transactionManager);
+		this.transacaoLeitura.setReadOnly(true);
 	}
 
 	@Transactional
@@ -46,25 +121,145 @@ public class AlbumService {
 			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "titulo é obrigatório");
 		}
 
+		List<Artista> artistas = List.of();
+		if (request != null && request.getArtistaIds() != null) {
+			artistas = buscarArtistasValidos(request.getArtistaIds());
+		}
+
 		Album album = new Album();
 		album.setTitulo(titulo);
-		album = albumRepository.save(album);
+		album = albumRepository.saveAndFlush(album);
 
-		if (request != null && request.getArtistaIds() != null) {
-			List<Artista> artistas = buscarArtistasValidos(request.getArtistaIds());
-			for (Artista artista : artistas) {
-				artista.getAlbuns().add(album);
-			}
-			artistaRepository.saveAll(artistas);
-			album.getArtistas().clear();
-			album.getArtistas().addAll(artistas);
-		}
+		album.getArtistas().addAll(artistas);
+		artistaAlbumRepository.inserir(vinculos(album.getId(), idsDosArtistas(artistas)));
+		albumListagemService.atualizar(album);
+		eventPublisher.publishEvent(CatalogoAlteradoEvent.deAlbum(album.getId(), idsDosArtistas(artistas)));
 
-		AlbumResponse response = buscarPorId(album.getId());
+		AlbumResponse response = toResponse(album);
 		messagingTemplate.convertAndSend("/topic/albuns", response);
 		return response;
 	}
 
+	public ResultadoLoteResponse criarEmLote(List<AlbumRequest> requests) {
+		ItemLoteResponse[] resultados = new ItemLoteResponse[requests.size()];
+		Map<Long, Artista> artistas = buscarArtistasDoLote(requests);
+
+		List<Integer> validos = new ArrayList<>();
+		for (int i = 0; i < requests.size(); i++) {
+			String erro = validarItemLote(requests.get(i), artistas);
+			if (erro == null) {
+				validos.add(i);
+			} else {
+				resultados[i] = ItemLoteResponse.falha(i, erro);
+			}
+		}
+
+		for (int inicio = 0; inicio < validos.size(); inicio += TAMANHO_TRANSACAO_LOTE) {
+			List<Integer> bloco = validos.subList(inicio, Math.min(inicio + TAMANHO_TRANSACAO_LOTE, validos.size()));
+			gravarBlocoLote(requests, bloco, artistas, resultados);
+		}
+		return new ResultadoLoteResponse(Arrays.asList(resultados));
+	}
+
+	private Map<Long, Artista> buscarArtistasDoLote(List<AlbumRequest> requests) {
+		Set<Long> ids = new LinkedHashSet<>();
+		for (AlbumRequest request : requests) {
+			if (request != null && request.getArtistaIds() != null) {
+				for (Long id : request.getArtistaIds()) {
+					if (id != null) {
+						ids.add(id);
+					}
+				}
+			}
+		}
+
+		List<Long> distintos = new ArrayList<>(ids);
+		Map<Long, Artista> artistas = new HashMap<>();
+		for (int inicio = 0; inicio < distintos.size(); inicio += TAMANHO_CONSULTA_ARTISTAS) {
+			List<Long> bloco = distintos.subList(inicio, Math.min(inicio + TAMANHO_CONSULTA_ARTISTAS, distintos.size()));
+			for (Artista artista : artistaRepository.findAllById(bloco)) {
+				artistas.put(artista.getId(), artista);
+			}
+		}
+		return artistas;
+	}
+
+	private String validarItemLote(AlbumRequest request, Map<Long, Artista> artistas) {
+		if (normalizarTitulo(request) == null) {
+			return "titulo é obrigatório";
+		}
+		if (request.getArtistaIds() == null) {
+			return null;
+		}
+
+		Set<Long> idsNaoEncontrados = new LinkedHashSet<>();
+		for (Long id : request.getArtistaIds()) {
+			if (id == null) {
+				return "artistaIds não pode conter null";
+			}
+			if (!artistas.containsKey(id)) {
+				idsNaoEncontrados.add(id);
+			}
+		}
+		return idsNaoEncontrados.isEmpty() ? null : "artistas não encontrados: " + idsNaoEncontrados;
+	}
+
+	private void gravarBlocoLote(
+		List<AlbumRequest> requests,
+		List<Integer> bloco,
+		Map<Long, Artista> artistas,
+		ItemLoteResponse[] resultados
+	) {
+		List<Album> albuns;
+		try {
+			albuns = transactionTemplate.execute(status -> {
+				List<Album> novos = new ArrayList<>(bloco.size());
+				for (Integer indice : bloco) {
+					Album album = new Album();
+					album.setTitulo(normalizarTitulo(requests.get(indice)));
+					novos.add(album);
+				}
+				novos = albumRepository.saveAllAndFlush(novos);
+
+				List<ArtistaAlbumRepository.Vinculo> vinculos = new ArrayList<>();
+				Set<Long> artistaIds = new LinkedHashSet<>();
+				for (int k = 0; k < bloco.size(); k++) {
+					Album album = novos.get(k);
+					List<Long> ids = requests.get(bloco.get(k)).getArtistaIds();
+					if (ids == null) {
+						continue;
+					}
+					for (Long artistaId : new LinkedHashSet<>(ids)) {
+						album.getArtistas().add(artistas.get(artistaId));
+						vinculos.add(new ArtistaAlbumRepository.Vinculo(artistaId, album.getId()));
+						artistaIds.add(artistaId);
+					}
+				}
+				artistaAlbumRepository.inserir(vinculos);
+				albumListagemService.registrarNovos(novos);
+
+				Set<Long> albumIds = new LinkedHashSet<>();
+				for (Album album : novos) {
+					albumIds.add(album.getId());
+				}
+				eventPublisher.publishEvent(new CatalogoAlteradoEvent(albumIds, artistaIds));
+				return novos;
+			});
+		} catch (DataAccessException ex) {
+			logger.warn("Falha ao gravar bloco de {} álbuns do lote", bloco.size(), ex);
+			for (Integer indice : bloco) {
+				resultados[indice] = ItemLoteResponse.falha(indice, "erro ao gravar álbum");
+			}
+			return;
+		}
+
+		for (int k = 0; k < bloco.size(); k++) {
+			Album album = albuns.get(k);
+			resultados[bloco.get(k)] = ItemLoteResponse.sucesso(bloco.get(k), album.getId());
+			messagingTemplate.convertAndSend("/topic/albuns", toResponse(album));
+		}
+	}
+
 	@Transactional
 	public AlbumResponse atualizar(Long id, AlbumRequest request) {
 		Album album = albumRepository.findById(id)
@@ -79,36 +274,69 @@ public class AlbumService {
 		}
 		albumRepository.save(album);
 
+		Set<Long> artistaIdsAfetados = new LinkedHashSet<>();
 		if (request != null && request.getArtistaIds() != null) {
-			List<Artista> artistasAntigos = artistaRepository.buscarPorAlbumId(id);
-			for (Artista artista : artistasAntigos) {
-				artista.getAlbuns().removeIf(a -> id.equals(a.getId()));
-			}
-			artistaRepository.saveAll(artistasAntigos);
-
 			List<Artista> novosArtistas = buscarArtistasValidos(request.getArtistaIds());
-			for (Artista artista : novosArtistas) {
-				artista.getAlbuns().add(album);
-			}
-			artistaRepository.saveAll(novosArtistas);
-			album.getArtistas().clear();
-			album.getArtistas().addAll(novosArtistas);
+			Set<Long> idsAtuais = new LinkedHashSet<>(artistaAlbumRepository.buscarArtistaIds(id));
+			Set<Long> idsNovos = idsDosArtistas(novosArtistas);
+
+			Set<Long> idsRemovidos = new LinkedHashSet<>(idsAtuais);
+			idsRemovidos.removeAll(idsNovos);
+			Set<Long> idsAdicionados = new LinkedHashSet<>(idsNovos);
+			idsAdicionados.removeAll(idsAtuais);
+
+			artistaAlbumRepository.remover(vinculos(id, idsRemovidos));
+			artistaAlbumRepository.inserir(vinculos(id, idsAdicionados));
+			artistaIdsAfetados.addAll(idsRemovidos);
+			artistaIdsAfetados.addAll(idsAdicionados);
+
+			album.setArtistas(new HashSet<>(novosArtistas));
 		}
+		albumListagemService.atualizar(album);
+		eventPublisher.publishEvent(CatalogoAlteradoEvent.deAlbum(id, artistaIdsAfetados));
+
+		return toResponse(album);
+	}
 
+	@Cacheable(cacheNames = CACHE_ALBUNS, key = "{#id, #versao}")
+	public AlbumResponse buscarPorId(Long id, long versao) {
 		return buscarPorId(id);
 	}
 
-	@Transactional(readOnly = true)
 	public AlbumResponse buscarPorId(Long id) {
-		Album album = albumRepository.buscarComArtistasPorId(id);
-		if (album == null) {
+		Optional<AlbumResponse> emMemoria = catalogoMemoriaService.buscarAlbum(id);
+		if (emMemoria.isPresent()) {
+			return emMemoria.get();
+		}
+		AlbumResponse response = transacaoLeitura.execute(status -> {
+			Album album = albumRepository.buscarComArtistasPorId(id);
+			return album == null ? null : toResponse(album);
+		});
+		if (response == null) {
 			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "álbum não encontrado");
 		}
-		return toResponse(album);
+		return response;
 	}
 
-	@Transactional(readOnly = true)
-	public Page<AlbumResponse> listar(
+	public AlbumResponse buscarPorId(Long id, boolean incluirCapa, TamanhoCapa tamanhoCapa) {
+		AlbumResponse album = buscarPorId(id);
+		return incluirCapa ? incluirCapas(List.of(album), tamanhoCapa).getFirst() : album;
+	}
+
+	public Optional<Long> buscarVersao(Long id) {
+		Optional<Long> emMemoria = catalogoMemoriaService.buscarVersao(id);
+		if (emMemoria.isPresent()) {
+			return emMemoria;
+		}
+		return transacaoLeitura.execute(status -> albumRepository.buscarVersao(id));
+	}
+
+	public long versaoListagem() {
+		return catalogoGeracaoService.albuns();
+	}
+
+	public Slice<AlbumResponse> listar(
+		long geracao,
 		String titulo,
 		String artistaNome,
 		Long artistaId,
@@ -116,16 +344,190 @@ public class AlbumService {
 		Boolean temBanda,
 		String ordem,
 		int pagina,
+		int tamanho,
+		boolean comFacetas,
+		String contagem,
+		boolean incluirCapa,
+		TamanhoCapa tamanhoCapa
+	) {
+		Direction direction = parseDirection(ordem);
+		Sort sort = Sort.by(direction, "titulo").and(Sort.by(direction, "albumId"));
+		Pageable pageable = PageRequest.of(pagina, normalizarTamanho(tamanho), sort);
+		ModoContagem modo = comFacetas ? ModoContagem.NENHUMA : ModoContagem.de(contagem);
+
+		Optional<Page<AlbumResponse>> emMemoria = catalogoMemoriaService.listar(
+			normalizarFiltro(titulo),
+			normalizarFiltro(artistaNome),
+			artistaId,
+			Boolean.TRUE.equals(temCantor),
+			Boolean.TRUE.equals(temBanda),
+			pageable
+		);
+		Slice<AlbumResponse> resultado = emMemoria.isPresent()
+			? emMemoria.get()
+			: transacaoLeitura.execute(
+				status -> listarNoBanco(geracao, titulo, artistaNome, artistaId, temCantor, temBanda, direction, pageable, modo)
+			);
+		if (incluirCapa) {
+			List<AlbumResponse> comCapas = incluirCapas(resultado.getContent(), tamanhoCapa);
+			resultado = resultado instanceof Page<AlbumResponse> paginaAtual
+				? new PageImpl<>(comCapas, pageable, paginaAtual.getTotalElements())
+				: new SliceImpl<>(comCapas, pageable, resultado.hasNext());
+		}
+		if (comFacetas) {
+			FacetasAlbunsResponse facetas = transacaoLeitura.execute(
+				status -> contarFacetas(titulo, artistaNome, artistaId, temCantor, temBanda)
+			);
+			long total = facetas.getComCapa() + facetas.getSemCapa();
+			return new PaginaFacetadaResponse<>(new PageImpl<>(resultado.getContent(), pageable, total), facetas);
+		}
+		if (modo == ModoContagem.NENHUMA && resultado instanceof Page<AlbumResponse>) {
+			return new SliceImpl<>(resultado.getContent(), pageable, resultado.hasNext());
+		}
+		return resultado;
+	}
+
+	private List<AlbumResponse> incluirCapas(List<AlbumResponse> albuns, TamanhoCapa tamanhoCapa) {
+		if (albuns.isEmpty()) {
+			return albuns;
+		}
+		Map<Long, String> urls = capaAlbumService.gerarUrlsMaisRecentes(
+			albuns.stream().map(AlbumResponse::getId).toList(),
+			tamanhoCapa
+		);
+		return albuns.stream()
+			.map(album -> urls.containsKey(album.getId()) ? album.comCapaUrl(urls.get(album.getId())) : album)
+			.toList();
+	}
+
+	private FacetasAlbunsResponse contarFacetas(
+		String titulo,
+		String artistaNome,
+		Long artistaId,
+		Boolean temCantor,
+		Boolean temBanda
+	) {
+		FiltroAlbuns filtro = filtro(titulo, artistaNome, artistaId, temCantor, temBanda);
+
+		ContagemFacetas contagem = albumListagemRepository.contarFacetas(filtro);
+		List<FacetaArtistaResponse> artistas = albumListagemRepository.buscarArtistasMaisFrequentes(
+				filtro, LIMITE_FACETA_ARTISTAS
+			).stream()
+			.map(artista -> new FacetaArtistaResponse(artista.id(), artista.nome(), artista.quantidade()))
+			.toList();
+		return new FacetasAlbunsResponse(
+			contagem.cantores(),
+			contagem.bandas(),
+			contagem.comCapa(),
+			contagem.total() - contagem.comCapa(),
+			artistas
+		);
+	}
+
+	private Slice<AlbumResponse> listarNoBanco(
+		long geracao,
+		String titulo,
+		String artistaNome,
+		Long artistaId,
+		Boolean temCantor,
+		Boolean temBanda,
+		Direction direction,
+		Pageable pageable,
+		ModoContagem modo
+	) {
+		AlbumListagemCache.Chave chave = new AlbumListagemCache.Chave(
+			geracao,
+			filtro(titulo, artistaNome, artistaId, temCantor, temBanda),
+			direction,
+			pageable.getPageNumber(),
+			pageable.getPageSize(),
+			modo == ModoContagem.EXATA
+		);
+		Slice<AlbumResponse> fatia = albumListagemCache.obter(
+			chave,
+			() -> chave.contagemExata() ? carregarPagina(chave, pageable) : carregarFatia(chave, pageable)
+		);
+		if (modo != ModoContagem.APROXIMADA) {
+			return fatia;
+		}
+		long total = contagemListagemCache.obter(
+			List.of("albuns", chave.filtro()),
+			() -> albumListagemRepository.contar(chave.filtro())
+		);
+		return new PageImpl<>(fatia.getContent(), pageable, total);
+	}
+
+	private Page<AlbumResponse> carregarPagina(AlbumListagemCache.Chave chave, Pageable pageable) {
+		Page<AlbumListagem> albuns = albumListagemRepository.buscar(chave.filtro(), pageable);
+		Map<Long, List<ArtistaResumoResponse>> artistasPorAlbum = buscarArtistasPorAlbum(albuns.getContent());
+		return albuns.map(album -> toResponse(album, artistasPorAlbum));
+	}
+
+	private Slice<AlbumResponse> carregarFatia(AlbumListagemCache.Chave chave, Pageable pageable) {
+		Slice<AlbumListagem> albuns = albumListagemRepository.buscarFatia(chave.filtro(), pageable);
+		Map<Long, List<ArtistaResumoResponse>> artistasPorAlbum = buscarArtistasPorAlbum(albuns.getContent());
+		return albuns.map(album -> toResponse(album, artistasPorAlbum));
+	}
+
+	@Transactional(readOnly = true)
+	public PaginaCursorResponse<AlbumResponse> listarPorCursor(
+		String titulo,
+		String artistaNome,
+		Long artistaId,
+		Boolean temCantor,
+		Boolean temBanda,
+		String ordem,
+		String cursor,
 		int tamanho
 	) {
-		Sort sort = Sort.by(parseDirection(ordem), "titulo");
-		Pageable pageable = PageRequest.of(pagina, tamanho, sort);
+		int tamanhoPagina = normalizarTamanho(tamanho);
+		CursorAlbum posicao = decodificarCursor(cursor);
+		Slice<AlbumListagem> albuns = albumListagemRepository.buscarAposCursor(
+			filtro(titulo, artistaNome, artistaId, temCantor, temBanda),
+			parseDirection(ordem),
+			posicao == null ? null : posicao.titulo(),
+			posicao == null ? null : posicao.id(),
+			tamanhoPagina
+		);
 
-		String tituloParam = Optional.ofNullable(normalizarFiltro(titulo)).orElse("");
-		String artistaNomeParam = Optional.ofNullable(normalizarFiltro(artistaNome)).orElse("");
+		String proximoCursor = null;
+		if (albuns.hasNext() && albuns.hasContent()) {
+			proximoCursor = codificarCursor(albuns.getContent().getLast());
+		}
 
-		return albumRepository.buscar(tituloParam, artistaNomeParam, artistaId, temCantor, temBanda, pageable)
-			.map(this::toResponse);
+		Map<Long, List<ArtistaResumoResponse>> artistasPorAlbum = buscarArtistasPorAlbum(albuns.getContent());
+		List<AlbumResponse> conteudo = albuns.getContent().stream()
+			.map(album -> toResponse(album, artistasPorAlbum))
+			.toList();
+		return new PaginaCursorResponse<>(conteudo, tamanhoPagina, proximoCursor);
+	}
+
+	private int normalizarTamanho(int tamanho) {
+		if (tamanho < 1) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "tamanho deve ser maior que zero");
+		}
+		return Math.min(tamanho, TAMANHO_MAXIMO_PAGINA);
+	}
+
+	private String codificarCursor(AlbumListagem album) {
+		String valor = album.getAlbumId() + ":" + album.getTituloNormalizado();
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private CursorAlbum decodificarCursor(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return null;
+		}
+		try {
+			String valor = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+			int separador = valor.indexOf(':');
+			if (separador <= 0) {
+				throw new IllegalArgumentException("separador ausente");
+			}
+			return new CursorAlbum(valor.substring(separador + 1), Long.valueOf(valor.substring(0, separador)));
+		} catch (IllegalArgumentException ex) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "cursor inválido");
+		}
 	}
 
 	private Direction parseDirection(String ordem) {
@@ -150,12 +552,43 @@ public class AlbumService {
 		return titulo.isBlank() ? null : titulo;
 	}
 
+	private FiltroAlbuns filtro(
+		String titulo,
+		String artistaNome,
+		Long artistaId,
+		Boolean temCantor,
+		Boolean temBanda
+	) {
+		return new FiltroAlbuns(
+			normalizarFiltro(titulo),
+			normalizarFiltro(artistaNome),
+			artistaId,
+			Boolean.TRUE.equals(temCantor),
+			Boolean.TRUE.equals(temBanda)
+		);
+	}
+
 	private String normalizarFiltro(String valor) {
-		if (valor == null) {
-			return null;
+		if (valor == null || valor.isBlank()) {
+			return "";
 		}
-		String normalizado = valor.trim();
-		return normalizado.isBlank() ? null : normalizado;
+		return NormalizadorTexto.normalizar(valor);
+	}
+
+	private List<ArtistaAlbumRepository.Vinculo> vinculos(Long albumId, Collection<Long> artistaIds) {
+		List<ArtistaAlbumRepository.Vinculo> vinculos = new ArrayList<>(artistaIds.size());
+		for (Long artistaId : artistaIds) {
+			vinculos.add(new ArtistaAlbumRepository.Vinculo(artistaId, albumId));
+		}
+		return vinculos;
+	}
+
+	private Set<Long> idsDosArtistas(Collection<Artista> artistas) {
+		Set<Long> ids = new LinkedHashSet<>();
+		for (Artista artista : artistas) {
+			ids.add(artista.getId());
+		}
+		return ids;
 	}
 
 	private List<Artista> buscarArtistasValidos(List<Long> artistaIds) {
@@ -194,12 +627,37 @@ public class AlbumService {
 		return artistas;
 	}
 
+	private Map<Long, List<ArtistaResumoResponse>> buscarArtistasPorAlbum(List<AlbumListagem> albuns) {
+		if (albuns.isEmpty()) {
+			return Map.of();
+		}
+
+		List<Long> albumIds = albuns.stream().map(AlbumListagem::getAlbumId).toList();
+		Map<Long, List<ArtistaResumoResponse>> artistasPorAlbum = new HashMap<>();
+		for (ArtistaDeAlbum artista : artistaRepository.buscarResumosPorAlbumIds(albumIds)) {
+			artistasPorAlbum.computeIfAbsent(artista.getAlbumId(), id -> new ArrayList<>())
+				.add(new ArtistaResumoResponse(artista.getId(), artista.getNome()));
+		}
+		return artistasPorAlbum;
+	}
+
+	private AlbumResponse toResponse(AlbumListagem album, Map<Long, List<ArtistaResumoResponse>> artistasPorAlbum) {
+		List<ArtistaResumoResponse> artistas = artistasPorAlbum.getOrDefault(album.getAlbumId(), List.of()).stream()
+			.sorted(ORDEM_ARTISTAS)
+			.toList();
+
+		return new AlbumResponse(album.getAlbumId(), album.getTitulo(), artistas);
+	}
+
 	private AlbumResponse toResponse(Album album) {
 		List<ArtistaResumoResponse> artistas = album.getArtistas().stream()
-			.sorted(Comparator.comparing(Artista::getNome, Comparator.nullsLast(String::compareToIgnoreCase)))
 			.map(a -> new ArtistaResumoResponse(a.getId(), a.getNome()))
+			.sorted(ORDEM_ARTISTAS)
 			.toList();
 
 		return new AlbumResponse(album.getId(), album.getTitulo(), artistas);
 	}
+
+	private record CursorAlbum(String titulo, Long id) {
+	}
 }
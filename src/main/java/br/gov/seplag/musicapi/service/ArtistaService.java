@@ -1,25 +1,117 @@
 package br.gov.seplag.musicapi.service;
 
+import br.gov.seplag.musicapi.api.v1.dto.AlbumResponse;
 import br.gov.seplag.musicapi.api.v1.dto.ArtistaRequest;
 import br.gov.seplag.musicapi.api.v1.dto.ArtistaResponse;
+import br.gov.seplag.musicapi.api.v1.dto.ArtistaResumoResponse;
+import br.gov.seplag.musicapi.api.v1.dto.ItemLoteResponse;
+import br.gov.seplag.musicapi.api.v1.dto.PaginaComSugestoesResponse;
+import br.gov.seplag.musicapi.api.v1.dto.PaginaCursorResponse;
+import br.gov.seplag.musicapi.api.v1.dto.ResultadoLoteResponse;
 import br.gov.seplag.musicapi.domain.Artista;
 import br.gov.seplag.musicapi.domain.ArtistaTipo;
+import br.gov.seplag.musicapi.repository.ArtistaAlbumRepository;
+import br.gov.seplag.musicapi.repository.ArtistaAlbumRepository.AlbumDoArtista;
 import br.gov.seplag.musicapi.repository.ArtistaRepository;
+import br.gov.seplag.musicapi.repository.ArtistaRepository.ArtistaDeAlbum;
+import br.gov.seplag.musicapi.repository.PadraoLike;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public class ArtistaService {
+	public static final String CACHE_ARTISTAS = "artistas";
+	private static final Logger logger = LoggerFactory.getLogger(ArtistaService.class);
+	private static final int TAMANHO_TRANSACAO_LOTE = 500;
+	private static final int TAMANHO_MAXIMO_PAGINA = 100;
+	private static final int TAMANHO_CONSULTA_NOMES = 1000;
+	private static final String ORDENACAO_QUANTIDADE_ALBUNS = "quantidadeAlbuns";
+	private static final int LIMITE_SUGESTOES = 5;
+	private static final Comparator<ArtistaResumoResponse> ORDEM_ARTISTAS = Comparator.comparing(
+		ArtistaResumoResponse::getNome,
+		Comparator.nullsLast(String::compareToIgnoreCase)
+	);
+
 	private final ArtistaRepository artistaRepository;
+	private final ArtistaAlbumRepository artistaAlbumRepository;
+	private final ContagemListagemCache contagemListagemCache;
+	private final AlbumListagemService albumListagemService;
+	private final CatalogoGeracaoService catalogoGeracaoService;
+	private final ArtistasSimilaresService artistasSimilaresService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate transactionTemplate;
 
-	public ArtistaService(ArtistaRepository artistaRepository) {
+	public ArtistaService(
+		ArtistaRepository artistaRepository,
+		ArtistaAlbumRepository artistaAlbumRepository,
+		ContagemListagemCache contagemListagemCache,
+		AlbumListagemService albumListagemService,
+		CatalogoGeracaoService catalogoGeracaoService,
+		ArtistasSimilaresService artistasSimilaresService,
+		ApplicationEventPublisher eventPublisher,
+		PlatformTransactionManager transactionManager
+	) {
 		this.artistaRepository = artistaRepository;
+		this.artistaAlbumRepository = artistaAlbumRepository;
+		this.contagemListagemCache = contagemListagemCache;
+		this.albumListagemService = albumListagemService;
+		this.catalogoGeracaoService = catalogoGeracaoService;
+		this.artistasSimilaresService = artistasSimilaresService;
+		this.eventPublisher = eventPublisher;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void preencherNomesNormalizados() {
+		int total = 0;
+		while (true) {
+			List<Artista> artistas = transactionTemplate.execute(status -> {
+				List<Artista> lote = artistaRepository.buscarSemNomeNormalizado(PageRequest.of(0, TAMANHO_TRANSACAO_LOTE));
+				lote.forEach(artista -> artista.setNome(artista.getNome()));
+				return lote;
+			});
+			if (artistas == null || artistas.isEmpty()) {
+				break;
+			}
+			total += artistas.size();
+		}
+		if (total > 0) {
+			logger.info("Nomes normalizados de artistas preenchidos: artistas={}", total);
+		}
 	}
 
 	@Transactional
@@ -28,20 +120,117 @@ public class ArtistaService {
 		artista.setNome(normalizarNome(request));
 		artista.setTipo(normalizarTipoParaCriacao(request));
 		artista = artistaRepository.save(artista);
+		eventPublisher.publishEvent(CatalogoAlteradoEvent.deArtista(artista.getId(), List.of()));
 		return toResponse(artista);
 	}
 
+	public ResultadoLoteResponse criarEmLote(List<ArtistaRequest> requests) {
+		ItemLoteResponse[] resultados = new ItemLoteResponse[requests.size()];
+		Map<String, Integer> primeiroPorNome = new LinkedHashMap<>();
+		for (int i = 0; i < requests.size(); i++) {
+			String nome = normalizarNome(requests.get(i));
+			if (nome == null || nome.isEmpty()) {
+				resultados[i] = ItemLoteResponse.falha(i, "nome é obrigatório");
+			} else if (primeiroPorNome.putIfAbsent(nome, i) != null) {
+				resultados[i] = ItemLoteResponse.falha(i, "nome repetido no lote");
+			}
+		}
+
+		Set<String> existentes = buscarNomesExistentes(primeiroPorNome.keySet());
+		List<Integer> validos = new ArrayList<>();
+		primeiroPorNome.forEach((nome, indice) -> {
+			if (existentes.contains(nome)) {
+				resultados[indice] = ItemLoteResponse.falha(indice, "já existe artista com este nome");
+			} else {
+				validos.add(indice);
+			}
+		});
+
+		for (int inicio = 0; inicio < validos.size(); inicio += TAMANHO_TRANSACAO_LOTE) {
+			List<Integer> bloco = validos.subList(inicio, Math.min(inicio + TAMANHO_TRANSACAO_LOTE, validos.size()));
+			gravarBlocoLote(requests, bloco, resultados);
+		}
+		return new ResultadoLoteResponse(Arrays.asList(resultados));
+	}
+
+	private Set<String> buscarNomesExistentes(Collection<String> nomes) {
+		List<String> distintos = new ArrayList<>(nomes);
+		Set<String> existentes = new HashSet<>();
+		for (int inicio = 0; inicio < distintos.size(); inicio += TAMANHO_CONSULTA_NOMES) {
+			List<String> bloco = distintos.subList(inicio, Math.min(inicio + TAMANHO_CONSULTA_NOMES, distintos.size()));
+			existentes.addAll(artistaRepository.buscarNomesExistentes(bloco));
+		}
+		return existentes;
+	}
+
+	private void gravarBlocoLote(List<ArtistaRequest> requests, List<Integer> bloco, ItemLoteResponse[] resultados) {
+		List<Artista> artistas;
+		try {
+			artistas = transactionTemplate.execute(status -> {
+				List<Artista> novos = new ArrayList<>(bloco.size());
+				for (Integer indice : bloco) {
+					Artista artista = new Artista();
+					artista.setNome(normalizarNome(requests.get(indice)));
+					artista.setTipo(normalizarTipoParaCriacao(requests.get(indice)));
+					novos.add(artista);
+				}
+				novos = artistaRepository.saveAll(novos);
+
+				Set<Long> ids = new LinkedHashSet<>();
+				for (Artista artista : novos) {
+					ids.add(artista.getId());
+				}
+				eventPublisher.publishEvent(new CatalogoAlteradoEvent(Set.of(), ids));
+				return novos;
+			});
+		} catch (DataIntegrityViolationException ex) {
+			if (bloco.size() > 1) {
+				for (Integer indice : bloco) {
+					gravarBlocoLote(requests, List.of(indice), resultados);
+				}
+			} else {
+				resultados[bloco.getFirst()] = ItemLoteResponse.falha(bloco.getFirst(), "já existe artista com este nome");
+			}
+			return;
+		} catch (DataAccessException ex) {
+			logger.warn("Falha ao gravar bloco de {} artistas do lote", bloco.size(), ex);
+			for (Integer indice : bloco) {
+				resultados[indice] = ItemLoteResponse.falha(indice, "erro ao gravar artista");
+			}
+			return;
+		}
+
+		for (int k = 0; k < bloco.size(); k++) {
+			resultados[bloco.get(k)] = ItemLoteResponse.sucesso(bloco.get(k), artistas.get(k).getId());
+		}
+	}
+
 	@Transactional
 	public ArtistaResponse atualizar(Long id, ArtistaRequest request) {
 		Artista artista = artistaRepository.findById(id).orElseThrow();
+		String nomeAnterior = artista.getNome();
+		ArtistaTipo tipoAnterior = artista.getTipo();
+
 		artista.setNome(normalizarNome(request));
 		if (request != null && request.getTipo() != null) {
 			artista.setTipo(request.getTipo());
 		}
 		artista = artistaRepository.save(artista);
+
+		List<Long> albumIdsAfetados = List.of();
+		if (!Objects.equals(nomeAnterior, artista.getNome()) || tipoAnterior != artista.getTipo()) {
+			albumIdsAfetados = albumListagemService.atualizarPorArtista(artista.getId());
+		}
+		eventPublisher.publishEvent(CatalogoAlteradoEvent.deArtista(artista.getId(), albumIdsAfetados));
 		return toResponse(artista);
 	}
 
+	@Cacheable(cacheNames = CACHE_ARTISTAS, key = "{#id, #versao}")
+	@Transactional(readOnly = true)
+	public ArtistaResponse buscarPorId(Long id, long versao) {
+		return buscarPorId(id);
+	}
+
 	@Transactional(readOnly = true)
 	public ArtistaResponse buscarPorId(Long id) {
 		Artista artista = artistaRepository.findById(id).orElseThrow();
@@ -49,14 +238,116 @@ public class ArtistaService {
 	}
 
 	@Transactional(readOnly = true)
-	public Page<ArtistaResponse> listar(String nome, String ordem, int pagina, int tamanho) {
-		Sort sort = Sort.by(parseDirection(ordem), "nome");
-		Pageable pageable = PageRequest.of(pagina, tamanho, sort);
+	public Optional<Long> buscarVersao(Long id) {
+		return artistaRepository.buscarVersao(id);
+	}
+
+	public long versaoListagem() {
+		return catalogoGeracaoService.artistas();
+	}
+
+	@Transactional(readOnly = true)
+	public Slice<ArtistaResponse> listar(String nome, String ordem, String ordenacao, String contagem, int pagina, int tamanho) {
+		Direction direction = parseDirection(ordem);
+		boolean porQuantidade = ORDENACAO_QUANTIDADE_ALBUNS.equalsIgnoreCase(Optional.ofNullable(ordenacao).map(String::trim).orElse(""));
+		ModoContagem modo = ModoContagem.de(contagem);
 
 		if (nome == null || nome.isBlank()) {
-			return artistaRepository.findAll(pageable).map(this::toResponse);
+			Sort sort = porQuantidade ? Sort.by(direction, "quantidadeAlbuns", "id") : Sort.by(direction, "nome");
+			Pageable pageable = PageRequest.of(pagina, tamanho, sort);
+			if (modo == ModoContagem.EXATA) {
+				return artistaRepository.findAll(pageable).map(this::toResponse);
+			}
+			return comContagem(
+				artistaRepository.findAllBy(pageable).map(this::toResponse),
+				modo,
+				List.of("artistas"),
+				artistaRepository::count
+			);
+		}
+
+		String nomeNormalizado = NormalizadorTexto.normalizar(nome);
+		String padrao = PadraoLike.contendo(nomeNormalizado);
+		Sort sort = porQuantidade ? Sort.by(direction, "quantidade_albuns", "id") : Sort.by(direction, "nome");
+		Pageable pageable = PageRequest.of(pagina, tamanho, sort);
+		Slice<ArtistaResponse> resultado;
+		if (modo == ModoContagem.EXATA) {
+			resultado = artistaRepository.buscarPorNomeNormalizado(padrao, pageable).map(this::toResponse);
+		} else {
+			resultado = comContagem(
+				artistaRepository.buscarFatiaPorNomeNormalizado(padrao, pageable).map(this::toResponse),
+				modo,
+				List.of("artistas", nomeNormalizado),
+				() -> artistaRepository.contarPorNomeNormalizado(padrao)
+			);
+		}
+		if (pagina == 0 && !resultado.hasContent() && !nomeNormalizado.isEmpty()) {
+			return new PaginaComSugestoesResponse<>(pageable, artistasSimilaresService.buscar(nome, LIMITE_SUGESTOES));
+		}
+		return resultado;
+	}
+
+	private Slice<ArtistaResponse> comContagem(
+		Slice<ArtistaResponse> fatia,
+		ModoContagem modo,
+		List<Object> chave,
+		Supplier<Long> contar
+	) {
+		if (modo == ModoContagem.NENHUMA) {
+			return fatia;
+		}
+		return new PageImpl<>(fatia.getContent(), fatia.getPageable(), contagemListagemCache.obter(chave, contar));
+	}
+
+	@Transactional(readOnly = true)
+	public PaginaCursorResponse<AlbumResponse> listarAlbuns(Long id, String cursor, int tamanho) {
+		if (tamanho < 1) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "tamanho deve ser maior que zero");
+		}
+		int tamanhoPagina = Math.min(tamanho, TAMANHO_MAXIMO_PAGINA);
+		Long aposAlbumId = decodificarCursor(cursor);
+		if (!artistaRepository.existsById(id)) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "artista não encontrado");
+		}
+
+		List<AlbumDoArtista> albuns = artistaAlbumRepository.buscarAlbunsDoArtista(id, aposAlbumId, tamanhoPagina + 1);
+		String proximoCursor = null;
+		if (albuns.size() > tamanhoPagina) {
+			albuns = albuns.subList(0, tamanhoPagina);
+			proximoCursor = codificarCursor(albuns.getLast().id());
+		}
+
+		Map<Long, List<ArtistaResumoResponse>> artistasPorAlbum = new HashMap<>();
+		if (!albuns.isEmpty()) {
+			List<Long> albumIds = albuns.stream().map(AlbumDoArtista::id).toList();
+			for (ArtistaDeAlbum artista : artistaRepository.buscarResumosPorAlbumIds(albumIds)) {
+				artistasPorAlbum.computeIfAbsent(artista.getAlbumId(), albumId -> new ArrayList<>())
+					.add(new ArtistaResumoResponse(artista.getId(), artista.getNome()));
+			}
+		}
+		List<AlbumResponse> conteudo = albuns.stream()
+			.map(album -> new AlbumResponse(
+				album.id(),
+				album.titulo(),
+				artistasPorAlbum.getOrDefault(album.id(), List.of()).stream().sorted(ORDEM_ARTISTAS).toList()
+			))
+			.toList();
+		return new PaginaCursorResponse<>(conteudo, tamanhoPagina, proximoCursor);
+	}
+
+	private String codificarCursor(Long albumId) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(albumId.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private Long decodificarCursor(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return null;
+		}
+		try {
+			return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8));
+		} catch (IllegalArgumentException ex) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "cursor inválido");
 		}
-		return artistaRepository.findByNomeContainingIgnoreCase(nome.trim(), pageable).map(this::toResponse);
 	}
 
 	private Direction parseDirection(String ordem) {
@@ -88,6 +379,6 @@ public class ArtistaService {
 	}
 
 	private ArtistaResponse toResponse(Artista artista) {
-		return new ArtistaResponse(artista.getId(), artista.getNome(), artista.getTipo());
+		return new ArtistaResponse(artista.getId(), artista.getNome(), artista.getTipo(), artista.getQuantidadeAlbuns());
 	}
 }
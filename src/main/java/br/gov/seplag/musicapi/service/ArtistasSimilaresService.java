@@ -0,0 +1,117 @@
+package br.gov.seplag.musicapi.service;
+
+import br.gov.seplag.musicapi.api.v1.dto.ArtistaSimilarResponse;
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository;
+import br.gov.seplag.musicapi.repository.SugestoesRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class ArtistasSimilaresService {
+	private static final Logger logger = LoggerFactory.getLogger(ArtistasSimilaresService.class);
+	private static final int LIMITE_MAXIMO = 20;
+
+	private final SugestoesRepository sugestoesRepository;
+	private final AcompanhamentoAlteracoes acompanhamento;
+	private final IndiceTrigramas indice = new IndiceTrigramas();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public ArtistasSimilaresService(
+		SugestoesRepository sugestoesRepository,
+		CatalogoMemoriaRepository catalogoMemoriaRepository,
+		MeterRegistry meterRegistry,
+		@Value("${app.catalogo.alteracoes.margem:1m}") Duration margem
+	) {
+		this.sugestoesRepository = sugestoesRepository;
+		this.acompanhamento = new AcompanhamentoAlteracoes(catalogoMemoriaRepository, margem);
+		Gauge.builder("catalogo.similares.memoria", this, s -> s.ler(s.indice::memoriaEstimadaBytes))
+			.baseUnit("bytes")
+			.description("Memória estimada do índice de trigramas de artistas")
+			.register(meterRegistry);
+		Gauge.builder("catalogo.similares.artistas", this, s -> s.ler(s.indice::quantidade))
+			.register(meterRegistry);
+		Gauge.builder("catalogo.similares.trigramas", this, s -> s.ler(s.indice::quantidadeTrigramas))
+			.register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void carregar() {
+		acompanhamento.reiniciar(() -> {
+			Map<Long, String> nomes = sugestoesRepository.listarNomesArtistas();
+			lock.writeLock().lock();
+			try {
+				indice.limpar();
+				nomes.forEach(indice::atualizar);
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	@Scheduled(fixedDelayString = "${app.catalogo.alteracoes.acompanhamento:5s}")
+	public void acompanharAlteracoes() {
+		try {
+			acompanhamento.acompanhar(this::aplicar);
+		} catch (DataAccessException ex) {
+			logger.warn("Falha ao acompanhar alterações do catálogo; os artistas parecidos seguem com o índice atual", ex);
+		}
+	}
+
+	public List<ArtistaSimilarResponse> buscar(String nome, int limite) {
+		String termo = NormalizadorTexto.normalizar(nome);
+		if (termo == null || termo.isEmpty()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "nome é obrigatório");
+		}
+		if (limite < 1 || limite > LIMITE_MAXIMO) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limite deve estar entre 1 e " + LIMITE_MAXIMO);
+		}
+		return ler(() -> indice.buscar(termo, limite)).stream()
+			.map(c -> new ArtistaSimilarResponse(c.id(), c.nome(), c.pontuacao()))
+			.toList();
+	}
+
+	private void aplicar(CatalogoAlteradoEvent alteracoes) {
+		if (alteracoes.artistaIds().isEmpty()) {
+			return;
+		}
+		Map<Long, String> nomes = sugestoesRepository.buscarNomesArtistas(alteracoes.artistaIds());
+		lock.writeLock().lock();
+		try {
+			for (Long id : alteracoes.artistaIds()) {
+				String nome = nomes.get(id);
+				if (nome == null) {
+					indice.remover(id);
+				} else {
+					indice.atualizar(id, nome);
+				}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private <T> T ler(Supplier<T> leitura) {
+		lock.readLock().lock();
+		try {
+			return leitura.get();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+}
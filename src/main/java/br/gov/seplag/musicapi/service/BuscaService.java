@@ -0,0 +1,35 @@
+package br.gov.seplag.musicapi.service;
+
+import br.gov.seplag.musicapi.api.v1.dto.ResultadoBuscaResponse;
+import br.gov.seplag.musicapi.repository.BuscaRepository;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class BuscaService {
+	private static final int LIMITE_MAXIMO = 100;
+
+	private final BuscaRepository buscaRepository;
+
+	public BuscaService(BuscaRepository buscaRepository) {
+		this.buscaRepository = buscaRepository;
+	}
+
+	@Transactional(readOnly = true)
+	public List<ResultadoBuscaResponse> buscar(String q, int limite) {
+		String termo = NormalizadorTexto.normalizar(q);
+		if (termo == null || termo.isEmpty()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "termo de busca é obrigatório");
+		}
+		if (limite < 1 || limite > LIMITE_MAXIMO) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limite deve estar entre 1 e " + LIMITE_MAXIMO);
+		}
+
+		return buscaRepository.buscar(termo, limite).stream()
+			.map(r -> new ResultadoBuscaResponse(r.tipo(), r.id(), r.nome(), r.relevancia()))
+			.toList();
+	}
+}
@@ -1,8 +1,16 @@
 package br.gov.seplag.musicapi.service;
 
+import br.gov.seplag.musicapi.api.v1.dto.CapaAlbumUrlResponse;
 import br.gov.seplag.musicapi.domain.CapaAlbum;
+import br.gov.seplag.musicapi.domain.SituacaoCapa;
+import br.gov.seplag.musicapi.domain.SituacaoVariantes;
+import br.gov.seplag.musicapi.domain.TamanhoCapa;
+import br.gov.seplag.musicapi.domain.VarianteCapa;
+import br.gov.seplag.musicapi.repository.AlbumListagemRepository;
 import br.gov.seplag.musicapi.repository.AlbumRepository;
 import br.gov.seplag.musicapi.repository.CapaAlbumRepository;
+import br.gov.seplag.musicapi.repository.VarianteCapaRepository;
+import br.gov.seplag.musicapi.service.UrlCapaCache.ObjetoCapa;
 import io.minio.BucketExistsArgs;
 import io.minio.GetPresignedObjectUrlArgs;
 import io.minio.MakeBucketArgs;
@@ -10,44 +18,114 @@ import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
 import io.minio.RemoveObjectArgs;
 import io.minio.http.Method;
+import jakarta.annotation.PreDestroy;
 import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public class CapaAlbumService {
+	private static final Logger logger = LoggerFactory.getLogger(CapaAlbumService.class);
+	private static final int LIMITE_ALBUNS_POR_LOTE = 100;
+
 	private final AlbumRepository albumRepository;
 	private final CapaAlbumRepository capaAlbumRepository;
+	private final AlbumListagemRepository albumListagemRepository;
+	private final ApplicationEventPublisher eventPublisher;
+	private final UrlCapaCache urlCapaCache;
+	private final VarianteCapaRepository varianteCapaRepository;
+	private final VariantesCapaService variantesCapaService;
+	private final TransactionTemplate transactionTemplate;
 	private final MinioClient minioClient;
 	private final String bucket;
+	private final int paralelismoPorRequisicao;
+	private final Duration retencaoPendentes;
+	private final Semaphore vagasGlobais;
+	private final ExecutorService executor;
+
+	private volatile boolean bucketVerificado;
 
 	public CapaAlbumService(
 		AlbumRepository albumRepository,
 		CapaAlbumRepository capaAlbumRepository,
+		AlbumListagemRepository albumListagemRepository,
+		ApplicationEventPublisher eventPublisher,
+		UrlCapaCache urlCapaCache,
+		VarianteCapaRepository varianteCapaRepository,
+		VariantesCapaService variantesCapaService,
+		PlatformTransactionManager transactionManager,
 		MinioClient minioClient,
-		@Value("${app.minio.bucket}") String bucket
+		@Value("${app.minio.bucket}") String bucket,
+		@Value("${app.capas.envio.paralelismo-por-requisicao:4}") int paralelismoPorRequisicao,
+		@Value("${app.capas.envio.paralelismo-global:32}") int paralelismoGlobal,
+		@Value("${app.capas.pendentes.retencao:1h}") Duration retencaoPendentes
 	) {
 		this.albumRepository = albumRepository;
 		this.capaAlbumRepository = capaAlbumRepository;
+		this.albumListagemRepository = albumListagemRepository;
+		this.eventPublisher = eventPublisher;
+		this.urlCapaCache = urlCapaCache;
+		this.varianteCapaRepository = varianteCapaRepository;
+		this.variantesCapaService = variantesCapaService;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
 		this.minioClient = minioClient;
 		this.bucket = bucket;
+		this.paralelismoPorRequisicao = paralelismoPorRequisicao;
+		this.retencaoPendentes = retencaoPendentes;
+		this.vagasGlobais = new Semaphore(paralelismoGlobal);
+		this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("capa-", 1).factory());
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void verificarBucket() {
+		try {
+			garantirBucket();
+		} catch (Exception ex) {
+			logger.warn("Bucket {} não verificado na inicialização; nova tentativa no próximo envio", bucket, ex);
+		}
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdownNow();
 	}
 
-	@Transactional
 	public void enviar(Long albumId, MultipartFile arquivo) {
 		enviar(albumId, arquivo == null ? null : new MultipartFile[] { arquivo });
 	}
 
-	@Transactional
 	public void enviar(Long albumId, MultipartFile[] arquivos) {
 		if (!albumRepository.existsById(albumId)) {
 			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "álbum não encontrado");
@@ -57,98 +135,293 @@ public class CapaAlbumService {
 			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "arquivo é obrigatório");
 		}
 
-		try {
-			garantirBucket();
+		List<ArquivoCapa> pendentes = new ArrayList<>(arquivos.length);
+		for (MultipartFile arquivo : arquivos) {
+			if (arquivo == null || arquivo.isEmpty()) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "arquivo é obrigatório");
+			}
 
-			for (MultipartFile arquivo : arquivos) {
-				if (arquivo == null || arquivo.isEmpty()) {
-					throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "arquivo é obrigatório");
-				}
+			String contentType = Optional.ofNullable(arquivo.getContentType()).map(String::trim).orElse(null);
+			String extensao = mapearExtensao(contentType);
+			if (extensao == null) {
+				throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "tipo de arquivo não suportado");
+			}
 
-				String contentType = Optional.ofNullable(arquivo.getContentType()).map(String::trim).orElse(null);
-				String extensao = mapearExtensao(contentType);
-				if (extensao == null) {
-					throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "tipo de arquivo não suportado");
-				}
+			CapaAlbum capa = new CapaAlbum();
+			capa.setAlbumId(albumId);
+			capa.setBucket(bucket);
+			capa.setObjeto("albuns/" + albumId + "/capa-" + UUID.randomUUID() + "." + extensao);
+			capa.setContentType(contentType);
+			capa.setTamanho(arquivo.getSize());
+			capa.setNomeOriginal(arquivo.getOriginalFilename());
+			capa.setSituacao(SituacaoCapa.PENDENTE);
+			pendentes.add(new ArquivoCapa(arquivo, capa));
+		}
+
+		if (!bucketVerificado) {
+			try {
+				garantirBucket();
+			} catch (Exception ex) {
+				throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "falha ao enviar capa do álbum", ex);
+			}
+		}
+
+		transactionTemplate.executeWithoutResult(status -> {
+			for (ArquivoCapa arquivo : pendentes) {
+				capaAlbumRepository.save(arquivo.capa());
+			}
+		});
 
-				String objeto = "albuns/" + albumId + "/capa-" + UUID.randomUUID() + "." + extensao;
-				try (InputStream inputStream = arquivo.getInputStream()) {
-					var resposta = minioClient.putObject(
-						PutObjectArgs.builder()
-							.bucket(bucket)
-							.object(objeto)
-							.stream(inputStream, arquivo.getSize(), -1)
-							.contentType(contentType)
-							.build()
-					);
-
-					CapaAlbum capa = new CapaAlbum();
-					capa.setAlbumId(albumId);
-					capa.setBucket(bucket);
-					capa.setObjeto(objeto);
-					capa.setContentType(contentType);
-					capa.setTamanho(arquivo.getSize());
-					capa.setEtag(resposta.etag());
-					capa.setNomeOriginal(arquivo.getOriginalFilename());
-					capaAlbumRepository.save(capa);
+		List<CapaAlbum> capas = enviarEmParalelo(pendentes);
+
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				for (CapaAlbum capa : capas) {
+					capaAlbumRepository.atualizarSituacao(capa.getId(), SituacaoCapa.CONFIRMADA, capa.getEtag());
 				}
+				albumListagemRepository.marcarComCapa(albumId);
+				eventPublisher.publishEvent(CatalogoAlteradoEvent.deAlbum(albumId, List.of()));
+			});
+		} catch (RuntimeException ex) {
+			descartar(capas);
+			throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "falha ao registrar capa do álbum", ex);
+		}
+		urlCapaCache.removerAlbum(albumId);
+		variantesCapaService.agendar(capas);
+	}
+
+	@Scheduled(fixedDelayString = "${app.capas.pendentes.limpeza:10m}")
+	public void removerPendentesAbandonadas() {
+		try {
+			List<CapaAlbum> abandonadas = capaAlbumRepository.findTop100BySituacaoAndCriadoEmBeforeOrderByCriadoEmAsc(
+				SituacaoCapa.PENDENTE,
+				Instant.now().minus(retencaoPendentes)
+			);
+			if (!abandonadas.isEmpty()) {
+				descartar(abandonadas);
 			}
-		} catch (ResponseStatusException ex) {
-			throw ex;
-		} catch (Exception ex) {
-			throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "falha ao enviar capa do álbum", ex);
+		} catch (DataAccessException ex) {
+			logger.warn("Falha ao remover capas pendentes abandonadas", ex);
 		}
 	}
 
-	@Transactional(readOnly = true)
-	public String gerarUrlPorAlbumId(Long albumId) {
-		if (!albumRepository.existsById(albumId)) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "álbum não encontrado");
+	public String gerarUrlPorAlbumId(Long albumId, String tamanho) {
+		TamanhoCapa tamanhoCapa = parseTamanho(tamanho);
+		return gerarUrl(capasConfirmadas(albumId).getFirst(), tamanhoCapa);
+	}
+
+	public List<String> gerarUrlsPorAlbumId(Long albumId, String tamanho) {
+		TamanhoCapa tamanhoCapa = parseTamanho(tamanho);
+		return capasConfirmadas(albumId).stream().map(capa -> gerarUrl(capa, tamanhoCapa)).toList();
+	}
+
+	public long janelaUrlAtual() {
+		return urlCapaCache.janelaAtual();
+	}
+
+	public Map<Long, String> gerarUrlsMaisRecentes(Collection<Long> albumIds, TamanhoCapa tamanho) {
+		Map<Long, ObjetoCapa> maisRecentes = new HashMap<>();
+		List<Long> semCache = new ArrayList<>();
+		for (Long albumId : albumIds) {
+			List<ObjetoCapa> emCache = urlCapaCache.capasEmCache(albumId);
+			if (emCache != null) {
+				maisRecentes.put(albumId, emCache.getFirst());
+			} else {
+				semCache.add(albumId);
+			}
+		}
+		if (!semCache.isEmpty()) {
+			for (ObjetoCapa capa : comVariantes(capaAlbumRepository.buscarMaisRecentesPorAlbumIds(semCache, SituacaoCapa.CONFIRMADA))) {
+				maisRecentes.put(capa.albumId(), capa);
+			}
 		}
 
-		CapaAlbum capa = capaAlbumRepository.findTopByAlbumIdOrderByIdDesc(albumId)
-			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "capa não encontrada"));
+		Map<Long, String> urls = new LinkedHashMap<>();
+		for (Long albumId : albumIds) {
+			ObjetoCapa capa = maisRecentes.get(albumId);
+			if (capa != null) {
+				urls.put(albumId, gerarUrl(capa, tamanho));
+			}
+		}
+		return urls;
+	}
 
-		try {
-			return minioClient.getPresignedObjectUrl(
-				GetPresignedObjectUrlArgs.builder()
-					.method(Method.GET)
-					.bucket(capa.getBucket())
-					.object(capa.getObjeto())
-					.expiry(30, TimeUnit.MINUTES)
-					.build()
+	public List<CapaAlbumUrlResponse> gerarUrlsPorAlbumIds(List<Long> albumIds, String tamanho) {
+		TamanhoCapa tamanhoCapa = parseTamanho(tamanho);
+		if (albumIds == null || albumIds.isEmpty()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "albumIds é obrigatório");
+		}
+		Set<Long> distintos = new LinkedHashSet<>();
+		for (Long albumId : albumIds) {
+			if (albumId == null) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "albumIds não pode conter valores nulos");
+			}
+			distintos.add(albumId);
+		}
+		if (distintos.size() > LIMITE_ALBUNS_POR_LOTE) {
+			throw new ResponseStatusException(
+				HttpStatus.BAD_REQUEST,
+				"albumIds excede o limite de " + LIMITE_ALBUNS_POR_LOTE + " itens"
 			);
-		} catch (Exception ex) {
-			throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "falha ao gerar url da capa", ex);
 		}
+		return gerarUrlsMaisRecentes(distintos, tamanhoCapa).entrySet().stream()
+			.map(entrada -> new CapaAlbumUrlResponse(entrada.getKey(), entrada.getValue()))
+			.toList();
 	}
 
-	@Transactional(readOnly = true)
-	public List<String> gerarUrlsPorAlbumId(Long albumId) {
-		if (!albumRepository.existsById(albumId)) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "álbum não encontrado");
+	public TamanhoCapa parseTamanho(String tamanho) {
+		if (tamanho == null || tamanho.isBlank()) {
+			return TamanhoCapa.ORIGINAL;
+		}
+		try {
+			return TamanhoCapa.valueOf(tamanho.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException ex) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "tamanho deve ser thumb, medio ou original");
 		}
+	}
+
+	private List<ObjetoCapa> capasConfirmadas(Long albumId) {
+		return urlCapaCache.obterCapas(albumId, () -> {
+			List<CapaAlbum> capas = capaAlbumRepository.findAllByAlbumIdAndSituacaoOrderByIdDesc(albumId, SituacaoCapa.CONFIRMADA);
+			if (capas.isEmpty()) {
+				if (!albumRepository.existsById(albumId)) {
+					throw new ResponseStatusException(HttpStatus.NOT_FOUND, "álbum não encontrado");
+				}
+				throw new ResponseStatusException(HttpStatus.NOT_FOUND, "capa não encontrada");
+			}
+			return comVariantes(capas);
+		});
+	}
 
-		List<CapaAlbum> capas = capaAlbumRepository.findAllByAlbumIdOrderByIdDesc(albumId);
+	private List<ObjetoCapa> comVariantes(List<CapaAlbum> capas) {
 		if (capas.isEmpty()) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "capa não encontrada");
+			return List.of();
 		}
+		Map<Long, Map<TamanhoCapa, String>> variantes = new HashMap<>();
+		List<Long> comVariantes = capas.stream()
+			.filter(capa -> capa.getSituacaoVariantes() == SituacaoVariantes.GERADAS)
+			.map(CapaAlbum::getId)
+			.toList();
+		if (!comVariantes.isEmpty()) {
+			for (VarianteCapa variante : varianteCapaRepository.findAllByCapaIdIn(comVariantes)) {
+				variantes.computeIfAbsent(variante.getCapaId(), id -> new EnumMap<>(TamanhoCapa.class))
+					.put(variante.getTamanho(), variante.getObjeto());
+			}
+		}
+		return capas.stream()
+			.map(capa -> new ObjetoCapa(
+				capa.getId(),
+				capa.getAlbumId(),
+				capa.getBucket(),
+				capa.getObjeto(),
+				variantes.getOrDefault(capa.getId(), Map.of())
+			))
+			.toList();
+	}
 
-		try {
-			List<String> urls = new ArrayList<>(capas.size());
-			for (CapaAlbum capa : capas) {
-				urls.add(minioClient.getPresignedObjectUrl(
+	private String gerarUrl(ObjetoCapa capa, TamanhoCapa tamanho) {
+		return urlCapaCache.obterUrl(capa, tamanho, (bucketObjeto, objeto) -> {
+			try {
+				return minioClient.getPresignedObjectUrl(
 					GetPresignedObjectUrlArgs.builder()
 						.method(Method.GET)
-						.bucket(capa.getBucket())
-						.object(capa.getObjeto())
-						.expiry(30, TimeUnit.MINUTES)
+						.bucket(bucketObjeto)
+						.object(objeto)
+						.expiry((int) urlCapaCache.validade().toSeconds(), TimeUnit.SECONDS)
 						.build()
-				));
+				);
+			} catch (Exception ex) {
+				throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "falha ao gerar url da capa", ex);
+			}
+		});
+	}
+
+	private List<CapaAlbum> enviarEmParalelo(List<ArquivoCapa> arquivos) {
+		Semaphore vagas = new Semaphore(paralelismoPorRequisicao);
+		List<Future<CapaAlbum>> envios = new ArrayList<>(arquivos.size());
+		for (ArquivoCapa arquivo : arquivos) {
+			vagas.acquireUninterruptibly();
+			envios.add(executor.submit(() -> {
+				try {
+					return enviarComVagaGlobal(arquivo);
+				} finally {
+					vagas.release();
+				}
+			}));
+		}
+
+		List<CapaAlbum> enviadas = new ArrayList<>(envios.size());
+		Throwable falha = null;
+		boolean interrompido = false;
+		for (Future<CapaAlbum> envio : envios) {
+			while (true) {
+				try {
+					enviadas.add(envio.get());
+					break;
+				} catch (InterruptedException ex) {
+					interrompido = true;
+				} catch (ExecutionException ex) {
+					falha = falha == null ? ex.getCause() : falha;
+					break;
+				}
 			}
-			return urls;
-		} catch (Exception ex) {
-			throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "falha ao gerar url da capa", ex);
+		}
+		if (interrompido) {
+			Thread.currentThread().interrupt();
+		}
+
+		if (falha != null) {
+			descartar(arquivos.stream().map(ArquivoCapa::capa).toList());
+			if (falha instanceof ResponseStatusException ex) {
+				throw ex;
+			}
+			throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "falha ao enviar capa do álbum", falha);
+		}
+		return enviadas;
+	}
+
+	private CapaAlbum enviarComVagaGlobal(ArquivoCapa arquivo) throws Exception {
+		vagasGlobais.acquire();
+		try {
+			return enviarArquivo(arquivo);
+		} finally {
+			vagasGlobais.release();
+		}
+	}
+
+	private CapaAlbum enviarArquivo(ArquivoCapa arquivo) throws Exception {
+		CapaAlbum capa = arquivo.capa();
+		try (InputStream inputStream = arquivo.arquivo().getInputStream()) {
+			var resposta = minioClient.putObject(
+				PutObjectArgs.builder()
+					.bucket(capa.getBucket())
+					.object(capa.getObjeto())
+					.stream(inputStream, capa.getTamanho(), -1)
+					.contentType(capa.getContentType())
+					.build()
+			);
+			capa.setEtag(resposta.etag());
+			return capa;
+		}
+	}
+
+	private void descartar(List<CapaAlbum> capas) {
+		List<Long> removidas = new ArrayList<>(capas.size());
+		for (CapaAlbum capa : capas) {
+			try {
+				removerObjeto(capa.getBucket(), capa.getObjeto());
+				removidas.add(capa.getId());
+			} catch (Exception ex) {
+				logger.warn("Falha ao remover objeto órfão {} do bucket {}", capa.getObjeto(), capa.getBucket(), ex);
+			}
+		}
+		if (removidas.isEmpty()) {
+			return;
+		}
+		try {
+			capaAlbumRepository.deleteAllByIdInBatch(removidas);
+		} catch (DataAccessException ex) {
+			logger.warn("Falha ao remover capas pendentes {}; a limpeza agendada tenta novamente", removidas, ex);
 		}
 	}
 
@@ -157,6 +430,7 @@ public class CapaAlbumService {
 		if (!existe) {
 			minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucket).build());
 		}
+		bucketVerificado = true;
 	}
 
 	private void removerObjeto(String bucket, String objeto) throws Exception {
@@ -174,4 +448,7 @@ public class CapaAlbumService {
 			default -> null;
 		};
 	}
+
+	private record ArquivoCapa(MultipartFile arquivo, CapaAlbum capa) {
+	}
 }
@@ -0,0 +1,19 @@
+package br.gov.seplag.musicapi.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+public record CatalogoAlteradoEvent(Set<Long> albumIds, Set<Long> artistaIds) {
+	public CatalogoAlteradoEvent {
+		albumIds = Set.copyOf(albumIds);
+		artistaIds = Set.copyOf(artistaIds);
+	}
+
+	public static CatalogoAlteradoEvent deAlbum(Long albumId, Collection<Long> artistaIds) {
+		return new CatalogoAlteradoEvent(Set.of(albumId), Set.copyOf(artistaIds));
+	}
+
+	public static CatalogoAlteradoEvent deArtista(Long artistaId, Collection<Long> albumIds) {
+		return new CatalogoAlteradoEvent(Set.copyOf(albumIds), Set.of(artistaId));
+	}
+}
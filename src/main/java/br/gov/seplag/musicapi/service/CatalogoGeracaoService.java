@@ -0,0 +1,103 @@
+package br.gov.seplag.musicapi.service;
+
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository;
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository.Alteracao;
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository.MarcasPorTipo;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Service
+public class CatalogoGeracaoService {
+	private static final Logger logger = LoggerFactory.getLogger(CatalogoGeracaoService.class);
+
+	private final CatalogoMemoriaRepository catalogoMemoriaRepository;
+	private final Duration margem;
+
+	private long marca = -1;
+	private long marcaAlbuns;
+	private long marcaArtistas;
+	private volatile long albuns;
+	private volatile long artistas;
+
+	public CatalogoGeracaoService(
+		CatalogoMemoriaRepository catalogoMemoriaRepository,
+		@Value("${app.catalogo.alteracoes.margem:1m}") Duration margem
+	) {
+		this.catalogoMemoriaRepository = catalogoMemoriaRepository;
+		this.margem = margem;
+	}
+
+	public long albuns() {
+		return albuns;
+	}
+
+	public long artistas() {
+		return artistas;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void aoAlterarCatalogo(CatalogoAlteradoEvent event) {
+		acompanharAlteracoes();
+	}
+
+	@Scheduled(fixedDelayString = "${app.catalogo.alteracoes.acompanhamento:5s}")
+	public void acompanharAlteracoes() {
+		try {
+			atualizar();
+		} catch (DataAccessException ex) {
+			logger.warn("Falha ao acompanhar alterações do catálogo; a geração atual segue valendo", ex);
+		}
+	}
+
+	private synchronized void atualizar() {
+		long novaMarca = catalogoMemoriaRepository.buscarMarcaAte(Instant.now().minus(margem));
+		long novaMarcaAlbuns = marcaAlbuns;
+		long novaMarcaArtistas = marcaArtistas;
+		long apos = marca;
+		if (marca < 0) {
+			MarcasPorTipo marcas = catalogoMemoriaRepository.buscarMarcasPorTipoAte(novaMarca);
+			novaMarcaAlbuns = marcas.albuns();
+			novaMarcaArtistas = marcas.artistas();
+			apos = novaMarca;
+		}
+		novaMarca = Math.max(apos, novaMarca);
+		List<Alteracao> alteracoes = catalogoMemoriaRepository.listarAlteracoesApos(apos);
+		for (Alteracao alteracao : alteracoes) {
+			if (alteracao.id() > novaMarca) {
+				break;
+			}
+			if (alteracao.albumId() != null) {
+				novaMarcaAlbuns = Math.max(novaMarcaAlbuns, alteracao.id());
+			}
+			if (alteracao.artistaId() != null) {
+				novaMarcaArtistas = Math.max(novaMarcaArtistas, alteracao.id());
+			}
+		}
+		long geracaoAlbuns = novaMarcaAlbuns;
+		long geracaoArtistas = novaMarcaArtistas;
+		for (Alteracao alteracao : alteracoes) {
+			if (alteracao.id() <= novaMarca) {
+				continue;
+			}
+			if (alteracao.albumId() != null) {
+				geracaoAlbuns = geracaoAlbuns * 31 + alteracao.id();
+			}
+			if (alteracao.artistaId() != null) {
+				geracaoArtistas = geracaoArtistas * 31 + alteracao.id();
+			}
+		}
+		marca = novaMarca;
+		marcaAlbuns = novaMarcaAlbuns;
+		marcaArtistas = novaMarcaArtistas;
+		albuns = geracaoAlbuns;
+		artistas = geracaoArtistas;
+	}
+}
@@ -0,0 +1,333 @@
+package br.gov.seplag.musicapi.service;
+
+import br.gov.seplag.musicapi.api.v1.dto.AlbumResponse;
+import br.gov.seplag.musicapi.repository.ArtistaAlbumRepository.Vinculo;
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository;
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository.LinhaAlbum;
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository.LinhaArtista;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Service
+public class CatalogoMemoriaService {
+	private static final Logger logger = LoggerFactory.getLogger(CatalogoMemoriaService.class);
+
+	private final CatalogoMemoriaRepository catalogoMemoriaRepository;
+	private final boolean habilitado;
+	private final Path arquivoSnapshot;
+	private final Duration margem;
+	private final Duration retencao;
+	private final AcompanhamentoAlteracoes acompanhamento;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Object escrita = new Object();
+
+	private ReplicaCatalogo replica;
+	private volatile boolean disponivel;
+
+	public CatalogoMemoriaService(
+		CatalogoMemoriaRepository catalogoMemoriaRepository,
+		MeterRegistry meterRegistry,
+		@Value("${app.catalogo.memoria.enabled:false}") boolean habilitado,
+		@Value("${app.catalogo.snapshot.arquivo:}") String arquivoSnapshot,
+		@Value("${app.catalogo.alteracoes.margem:1m}") Duration margem,
+		@Value("${app.catalogo.alteracoes.retencao:1d}") Duration retencao
+	) {
+		this.catalogoMemoriaRepository = catalogoMemoriaRepository;
+		this.habilitado = habilitado;
+		this.arquivoSnapshot = arquivoSnapshot == null || arquivoSnapshot.isBlank() ? null : Path.of(arquivoSnapshot.trim());
+		this.margem = margem;
+		this.retencao = retencao;
+		this.acompanhamento = new AcompanhamentoAlteracoes(catalogoMemoriaRepository, margem);
+		if (habilitado) {
+			Gauge.builder("catalogo.memoria.albuns", this, s -> s.ler(r -> r.quantidadeAlbuns(), 0))
+				.register(meterRegistry);
+			Gauge.builder("catalogo.memoria.artistas", this, s -> s.ler(r -> r.quantidadeArtistas(), 0))
+				.register(meterRegistry);
+		}
+	}
+
+	public boolean disponivel() {
+		return habilitado && disponivel;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void carregarAoIniciar() {
+		if (!habilitado) {
+			return;
+		}
+		if (carregarSnapshot()) {
+			acompanharAlteracoes();
+		} else {
+			recarregar();
+		}
+	}
+
+	@Scheduled(
+		fixedDelayString = "${app.catalogo.memoria.recarga:10m}",
+		initialDelayString = "${app.catalogo.memoria.recarga:10m}"
+	)
+	public void recarregarAgendado() {
+		if (habilitado) {
+			recarregar();
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.catalogo.memoria.acompanhamento:5s}")
+	public void acompanharAlteracoes() {
+		if (!disponivel()) {
+			return;
+		}
+		synchronized (escrita) {
+			try {
+				acompanhamento.acompanhar(alteracoes -> aplicar(alteracoes.albumIds(), alteracoes.artistaIds()));
+			} catch (DataAccessException ex) {
+				logger.warn("Falha ao acompanhar alterações do catálogo; as alterações pendentes serão aplicadas na próxima execução", ex);
+			}
+		}
+	}
+
+	@Scheduled(
+		fixedDelayString = "${app.catalogo.snapshot.intervalo:5m}",
+		initialDelayString = "${app.catalogo.snapshot.intervalo:5m}"
+	)
+	public void gravarSnapshot() {
+		if (arquivoSnapshot == null || !disponivel()) {
+			return;
+		}
+		byte[] conteudo;
+		synchronized (escrita) {
+			conteudo = SnapshotCatalogo.serializar(replica, acompanhamento.marca(), Instant.now());
+		}
+		try {
+			SnapshotCatalogo.gravar(arquivoSnapshot, conteudo);
+		} catch (IOException ex) {
+			logger.warn("Falha ao gravar o snapshot do catálogo em {}", arquivoSnapshot, ex);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.catalogo.alteracoes.limpeza:1h}")
+	public void removerAlteracoesAntigas() {
+		try {
+			catalogoMemoriaRepository.removerAlteracoesAntesDe(Instant.now().minus(retencao));
+		} catch (DataAccessException ex) {
+			logger.warn("Falha ao remover alterações antigas do catálogo", ex);
+		}
+	}
+
+	public void recarregar() {
+		synchronized (escrita) {
+			try {
+				acompanhamento.reiniciar(this::carregarDoBanco);
+			} catch (DataAccessException ex) {
+				logger.warn("Falha ao carregar o catálogo em memória; leituras seguem pelo banco", ex);
+				disponivel = false;
+			}
+		}
+	}
+
+	@EventListener
+	public void registrarAlteracao(CatalogoAlteradoEvent event) {
+		catalogoMemoriaRepository.registrarAlteracoes(event.albumIds(), event.artistaIds());
+	}
+
+	@TransactionalEventListener
+	public void aoAlterarCatalogo(CatalogoAlteradoEvent event) {
+		if (!disponivel()) {
+			return;
+		}
+		synchronized (escrita) {
+			try {
+				aplicar(event.albumIds(), event.artistaIds());
+			} catch (DataAccessException ex) {
+				logger.warn("Falha ao atualizar o catálogo em memória; a alteração será aplicada pelo acompanhamento do log", ex);
+			}
+		}
+	}
+
+	public Optional<AlbumResponse> buscarAlbum(Long id) {
+		if (!disponivel()) {
+			return Optional.empty();
+		}
+		return ler(r -> r.buscarAlbum(id), Optional.empty());
+	}
+
+	public Optional<Long> buscarVersao(Long id) {
+		if (!disponivel()) {
+			return Optional.empty();
+		}
+		return ler(r -> r.buscarVersao(id), Optional.empty());
+	}
+
+	public Optional<Page<AlbumResponse>> listar(
+		String titulo,
+		String artistaNome,
+		Long artistaId,
+		boolean temCantor,
+		boolean temBanda,
+		Pageable pageable
+	) {
+		if (!disponivel()) {
+			return Optional.empty();
+		}
+		Sort.Order ordem = pageable.getSort().getOrderFor("titulo");
+		boolean decrescente = ordem != null && ordem.isDescending();
+		return ler(r -> {
+			ReplicaCatalogo.Pagina pagina = r.listar(
+				titulo,
+				artistaNome,
+				artistaId,
+				temCantor,
+				temBanda,
+				decrescente,
+				pageable.getPageNumber(),
+				pageable.getPageSize()
+			);
+			return Optional.<Page<AlbumResponse>>of(new PageImpl<>(pagina.conteudo(), pageable, pagina.total()));
+		}, Optional.empty());
+	}
+
+	private boolean carregarSnapshot() {
+		if (arquivoSnapshot == null) {
+			return false;
+		}
+		try {
+			Optional<SnapshotCatalogo.Carregado> carregado = SnapshotCatalogo.carregar(arquivoSnapshot);
+			if (carregado.isEmpty()) {
+				logger.info("Snapshot do catálogo ausente ou inválido em {}; carregando do banco", arquivoSnapshot);
+				return false;
+			}
+			if (carregado.get().geradoEm().minus(margem).isBefore(Instant.now().minus(retencao))) {
+				logger.info("Snapshot do catálogo gerado em {} é anterior à retenção de alterações; carregando do banco", carregado.get().geradoEm());
+				return false;
+			}
+			synchronized (escrita) {
+				lock.writeLock().lock();
+				try {
+					replica = carregado.get().replica();
+					disponivel = true;
+				} finally {
+					lock.writeLock().unlock();
+				}
+				acompanhamento.iniciarEm(carregado.get().marca());
+			}
+			return true;
+		} catch (IOException ex) {
+			logger.warn("Falha ao ler o snapshot do catálogo em {}; carregando do banco", arquivoSnapshot, ex);
+			return false;
+		}
+	}
+
+	private void carregarDoBanco() {
+		List<LinhaArtista> artistas = catalogoMemoriaRepository.listarArtistas();
+		List<LinhaAlbum> albuns = catalogoMemoriaRepository.listarAlbuns();
+		Map<Long, List<Long>> artistasPorAlbum = agruparPorAlbum(catalogoMemoriaRepository.listarVinculos());
+
+		ReplicaCatalogo nova = new ReplicaCatalogo(albuns.size(), artistas.size());
+		for (LinhaArtista artista : artistas) {
+			nova.salvarArtista(artista.id(), artista.nome(), artista.tipo());
+		}
+		for (LinhaAlbum album : albuns) {
+			nova.salvarAlbum(album.id(), album.titulo(), album.versao(), artistasPorAlbum.getOrDefault(album.id(), List.of()));
+		}
+		nova.concluirAlteracoes();
+
+		lock.writeLock().lock();
+		try {
+			replica = nova;
+			disponivel = true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void aplicar(Collection<Long> albumIds, Collection<Long> artistaIdsAlterados) {
+		if (albumIds.isEmpty() && artistaIdsAlterados.isEmpty()) {
+			return;
+		}
+		List<LinhaAlbum> albuns = albumIds.isEmpty() ? List.of() : catalogoMemoriaRepository.buscarAlbuns(albumIds);
+		List<Vinculo> vinculos = albumIds.isEmpty()
+			? List.of()
+			: catalogoMemoriaRepository.buscarVinculosDosAlbuns(albumIds);
+
+		Set<Long> artistaIds = new LinkedHashSet<>(artistaIdsAlterados);
+		for (Vinculo vinculo : vinculos) {
+			artistaIds.add(vinculo.artistaId());
+		}
+		List<LinhaArtista> artistas = artistaIds.isEmpty() ? List.of() : catalogoMemoriaRepository.buscarArtistas(artistaIds);
+		Map<Long, List<Long>> artistasPorAlbum = agruparPorAlbum(vinculos);
+
+		lock.writeLock().lock();
+		try {
+			Set<Long> artistasEncontrados = new HashSet<>();
+			for (LinhaArtista artista : artistas) {
+				replica.salvarArtista(artista.id(), artista.nome(), artista.tipo());
+				artistasEncontrados.add(artista.id());
+			}
+			for (Long id : artistaIdsAlterados) {
+				if (!artistasEncontrados.contains(id)) {
+					replica.removerArtista(id);
+				}
+			}
+
+			Set<Long> albunsEncontrados = new HashSet<>();
+			for (LinhaAlbum album : albuns) {
+				replica.salvarAlbum(album.id(), album.titulo(), album.versao(), artistasPorAlbum.getOrDefault(album.id(), List.of()));
+				albunsEncontrados.add(album.id());
+			}
+			for (Long id : albumIds) {
+				if (!albunsEncontrados.contains(id)) {
+					replica.removerAlbum(id);
+				}
+			}
+			replica.concluirAlteracoes();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private <T> T ler(Function<ReplicaCatalogo, T> leitura, T padrao) {
+		lock.readLock().lock();
+		try {
+			return replica == null ? padrao : leitura.apply(replica);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private static Map<Long, List<Long>> agruparPorAlbum(List<Vinculo> vinculos) {
+		Map<Long, List<Long>> artistasPorAlbum = new HashMap<>();
+		for (Vinculo vinculo : vinculos) {
+			artistasPorAlbum.computeIfAbsent(vinculo.albumId(), id -> new ArrayList<>(2)).add(vinculo.artistaId());
+		}
+		return artistasPorAlbum;
+	}
+}
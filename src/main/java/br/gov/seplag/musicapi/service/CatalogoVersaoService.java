@@ -0,0 +1,27 @@
+package br.gov.seplag.musicapi.service;
+
+import br.gov.seplag.musicapi.repository.AlbumRepository;
+import br.gov.seplag.musicapi.repository.ArtistaRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CatalogoVersaoService {
+	private final AlbumRepository albumRepository;
+	private final ArtistaRepository artistaRepository;
+
+	public CatalogoVersaoService(AlbumRepository albumRepository, ArtistaRepository artistaRepository) {
+		this.albumRepository = albumRepository;
+		this.artistaRepository = artistaRepository;
+	}
+
+	@EventListener
+	public void aoAlterarCatalogo(CatalogoAlteradoEvent event) {
+		if (!event.albumIds().isEmpty()) {
+			albumRepository.incrementarVersoes(event.albumIds());
+		}
+		if (!event.artistaIds().isEmpty()) {
+			artistaRepository.incrementarVersoes(event.artistaIds());
+		}
+	}
+}
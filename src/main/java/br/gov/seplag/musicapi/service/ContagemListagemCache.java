@@ -0,0 +1,35 @@
+package br.gov.seplag.musicapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ContagemListagemCache {
+	public static final String NOME = "contagemListagem";
+
+	private final Cache<List<Object>, Long> cache;
+
+	public ContagemListagemCache(
+		MeterRegistry meterRegistry,
+		@Value("${app.listagem.contagem.itens-maximos:10000}") long itensMaximos,
+		@Value("${app.listagem.contagem.expiracao:30s}") Duration expiracao
+	) {
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(itensMaximos)
+			.expireAfterWrite(expiracao)
+			.recordStats()
+			.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, NOME);
+	}
+
+	public long obter(List<Object> chave, Supplier<Long> contar) {
+		return cache.get(chave, ignorada -> contar.get());
+	}
+}
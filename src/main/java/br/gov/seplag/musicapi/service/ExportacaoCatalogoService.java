@@ -0,0 +1,155 @@
+package br.gov.seplag.musicapi.service;
+
+import br.gov.seplag.musicapi.api.v1.dto.AlbumResponse;
+import br.gov.seplag.musicapi.api.v1.dto.ArtistaResponse;
+import br.gov.seplag.musicapi.api.v1.dto.ArtistaResumoResponse;
+import br.gov.seplag.musicapi.domain.ArtistaTipo;
+import br.gov.seplag.musicapi.repository.FiltroAlbuns;
+import br.gov.seplag.musicapi.repository.PadraoLike;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class ExportacaoCatalogoService {
+	private static final Comparator<ArtistaResumoResponse> ORDEM_ARTISTAS = Comparator.comparing(
+		ArtistaResumoResponse::getNome,
+		Comparator.nullsLast(String::compareToIgnoreCase)
+	);
+
+	private static final String SQL_ALBUNS = """
+		select l.album_id, l.titulo, ar.id as artista_id, ar.nome as artista_nome
+		from album_listagem l
+		left join artista_album aa on aa.album_id = l.album_id
+		left join artista ar on ar.id = aa.artista_id%s
+		order by l.album_id
+		""";
+
+	private static final String SQL_ARTISTAS = """
+		select a.id, a.nome, a.tipo, a.quantidade_albuns
+		from artista a
+		where (:nome = '' or a.nome_normalizado like :nomePadrao escape '\\')
+		order by a.id
+		""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectMapper objectMapper;
+
+	public ExportacaoCatalogoService(
+		DataSource dataSource,
+		PlatformTransactionManager transactionManager,
+		ObjectMapper objectMapper,
+		@Value("${app.exportacao.fetch-size:500}") int fetchSize
+	) {
+		JdbcTemplate template = new JdbcTemplate(dataSource);
+		template.setFetchSize(fetchSize);
+		this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.objectMapper = objectMapper;
+	}
+
+	public void exportarAlbuns(
+		String titulo,
+		String artistaNome,
+		Long artistaId,
+		Boolean temCantor,
+		Boolean temBanda,
+		OutputStream saida
+	) {
+		FiltroAlbuns filtro = new FiltroAlbuns(
+			normalizarFiltro(titulo),
+			normalizarFiltro(artistaNome),
+			artistaId,
+			Boolean.TRUE.equals(temCantor),
+			Boolean.TRUE.equals(temBanda)
+		);
+		String sql = SQL_ALBUNS.formatted(filtro.condicoes("l"));
+		MapSqlParameterSource params = new MapSqlParameterSource(filtro.parametros());
+
+		AgrupadorAlbuns agrupador = new AgrupadorAlbuns(saida);
+		transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql, params, agrupador::processar));
+		agrupador.finalizar();
+	}
+
+	public void exportarArtistas(String nome, OutputStream saida) {
+		String nomeParam = normalizarFiltro(nome);
+		MapSqlParameterSource params = new MapSqlParameterSource()
+			.addValue("nome", nomeParam)
+			.addValue("nomePadrao", PadraoLike.contendo(nomeParam));
+
+		transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(SQL_ARTISTAS, params, rs -> {
+			escreverLinha(saida, new ArtistaResponse(
+				rs.getLong("id"),
+				rs.getString("nome"),
+				ArtistaTipo.valueOf(rs.getString("tipo")),
+				rs.getInt("quantidade_albuns")
+			));
+		}));
+	}
+
+	private String normalizarFiltro(String valor) {
+		if (valor == null || valor.isBlank()) {
+			return "";
+		}
+		return NormalizadorTexto.normalizar(valor);
+	}
+
+	private void escreverLinha(OutputStream saida, Object valor) {
+		try {
+			saida.write(objectMapper.writeValueAsBytes(valor));
+			saida.write('\n');
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private final class AgrupadorAlbuns {
+		private final OutputStream saida;
+		private Long albumId;
+		private String titulo;
+		private final List<ArtistaResumoResponse> artistas = new ArrayList<>();
+
+		private AgrupadorAlbuns(OutputStream saida) {
+			this.saida = saida;
+		}
+
+		private void processar(ResultSet rs) throws SQLException {
+			long id = rs.getLong("album_id");
+			if (albumId == null || albumId != id) {
+				finalizar();
+				albumId = id;
+				titulo = rs.getString("titulo");
+			}
+			long artistaId = rs.getLong("artista_id");
+			if (!rs.wasNull()) {
+				artistas.add(new ArtistaResumoResponse(artistaId, rs.getString("artista_nome")));
+			}
+		}
+
+		private void finalizar() {
+			if (albumId == null) {
+				return;
+			}
+			List<ArtistaResumoResponse> ordenados = artistas.stream().sorted(ORDEM_ARTISTAS).toList();
+			escreverLinha(saida, new AlbumResponse(albumId, titulo, ordenados));
+			albumId = null;
+			artistas.clear();
+		}
+	}
+}
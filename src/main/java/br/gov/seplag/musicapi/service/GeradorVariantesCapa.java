@@ -0,0 +1,136 @@
+package br.gov.seplag.musicapi.service;
+
+import br.gov.seplag.musicapi.domain.TamanhoCapa;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+public final class GeradorVariantesCapa {
+	private static final List<TamanhoCapa> TAMANHOS = List.of(TamanhoCapa.MEDIO, TamanhoCapa.THUMB);
+	private static final float QUALIDADE_JPEG = 0.85f;
+
+	private final long pixelsMaximos;
+
+	public GeradorVariantesCapa(long pixelsMaximos) {
+		this.pixelsMaximos = pixelsMaximos;
+	}
+
+	public Resultado gerar(InputStream entrada) throws IOException {
+		try (ImageInputStream imagem = ImageIO.createImageInputStream(entrada)) {
+			Iterator<ImageReader> leitores = imagem == null ? null : ImageIO.getImageReaders(imagem);
+			if (leitores == null || !leitores.hasNext()) {
+				throw new ImagemNaoSuportadaException("formato de imagem não suportado");
+			}
+			ImageReader leitor = leitores.next();
+			try {
+				leitor.setInput(imagem, true, true);
+				int largura = leitor.getWidth(0);
+				int altura = leitor.getHeight(0);
+				if ((long) largura * altura > pixelsMaximos) {
+					throw new ImagemNaoSuportadaException("imagem excede o limite de " + pixelsMaximos + " pixels");
+				}
+
+				int maiorLado = Math.max(largura, altura);
+				if (maiorLado <= TamanhoCapa.THUMB.getLadoMaximo()) {
+					return new Resultado(largura, altura, List.of());
+				}
+
+				ImageReadParam parametros = leitor.getDefaultReadParam();
+				int amostragem = Math.max(1, maiorLado / (TamanhoCapa.MEDIO.getLadoMaximo() * 2));
+				parametros.setSourceSubsampling(amostragem, amostragem, 0, 0);
+				BufferedImage origem = leitor.read(0, parametros);
+
+				List<Variante> variantes = new ArrayList<>(TAMANHOS.size());
+				BufferedImage atual = origem;
+				for (TamanhoCapa tamanho : TAMANHOS) {
+					int lado = tamanho.getLadoMaximo();
+					if (maiorLado <= lado) {
+						continue;
+					}
+					double escala = (double) lado / maiorLado;
+					int larguraAlvo = Math.max(1, (int) Math.round(largura * escala));
+					int alturaAlvo = Math.max(1, (int) Math.round(altura * escala));
+					atual = redimensionar(atual, larguraAlvo, alturaAlvo);
+					variantes.add(codificar(tamanho, atual));
+				}
+				return new Resultado(largura, altura, variantes);
+			} finally {
+				leitor.dispose();
+			}
+		}
+	}
+
+	private static BufferedImage redimensionar(BufferedImage origem, int larguraAlvo, int alturaAlvo) {
+		int tipo = origem.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+		BufferedImage atual = origem;
+		int largura = origem.getWidth();
+		int altura = origem.getHeight();
+		do {
+			largura = Math.max(larguraAlvo, largura / 2);
+			altura = Math.max(alturaAlvo, altura / 2);
+			BufferedImage reduzida = new BufferedImage(largura, altura, tipo);
+			Graphics2D grafico = reduzida.createGraphics();
+			try {
+				grafico.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+				grafico.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+				grafico.drawImage(atual, 0, 0, largura, altura, null);
+			} finally {
+				grafico.dispose();
+			}
+			atual = reduzida;
+		} while (largura != larguraAlvo || altura != alturaAlvo);
+		return atual;
+	}
+
+	private static Variante codificar(TamanhoCapa tamanho, BufferedImage imagem) throws IOException {
+		boolean transparente = imagem.getColorModel().hasAlpha();
+		String formato = transparente ? "png" : "jpeg";
+		ImageWriter escritor = ImageIO.getImageWritersByFormatName(formato).next();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ImageOutputStream saida = ImageIO.createImageOutputStream(bytes)) {
+			escritor.setOutput(saida);
+			ImageWriteParam parametros = escritor.getDefaultWriteParam();
+			if (!transparente) {
+				parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+				parametros.setCompressionQuality(QUALIDADE_JPEG);
+			}
+			escritor.write(null, new IIOImage(imagem, null, null), parametros);
+		} finally {
+			escritor.dispose();
+		}
+		return new Variante(
+			tamanho,
+			imagem.getWidth(),
+			imagem.getHeight(),
+			transparente ? "image/png" : "image/jpeg",
+			transparente ? "png" : "jpg",
+			bytes.toByteArray()
+		);
+	}
+
+	public record Resultado(int largura, int altura, List<Variante> variantes) {
+	}
+
+	public record Variante(TamanhoCapa tamanho, int largura, int altura, String contentType, String extensao, byte[] bytes) {
+	}
+
+	public static class ImagemNaoSuportadaException extends IOException {
+		public ImagemNaoSuportadaException(String mensagem) {
+			super(mensagem);
+		}
+	}
+}
@@ -0,0 +1,254 @@
+package br.gov.seplag.musicapi.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public final class GrafoColaboracao {
+	public static final GrafoColaboracao VAZIO = construir(new long[0], new long[0]);
+
+	private final long[] artistaIds;
+	private final int[] inicioAlbunsDoArtista;
+	private final int[] albunsDoArtista;
+	private final long[] albumIds;
+	private final int[] inicioArtistasDoAlbum;
+	private final int[] artistasDoAlbum;
+
+	private GrafoColaboracao(
+		long[] artistaIds,
+		int[] inicioAlbunsDoArtista,
+		int[] albunsDoArtista,
+		long[] albumIds,
+		int[] inicioArtistasDoAlbum,
+		int[] artistasDoAlbum
+	) {
+		this.artistaIds = artistaIds;
+		this.inicioAlbunsDoArtista = inicioAlbunsDoArtista;
+		this.albunsDoArtista = albunsDoArtista;
+		this.albumIds = albumIds;
+		this.inicioArtistasDoAlbum = inicioArtistasDoAlbum;
+		this.artistasDoAlbum = artistasDoAlbum;
+	}
+
+	public static GrafoColaboracao construir(long[] artistaIdsVinculos, long[] albumIdsVinculos) {
+		long[] artistas = distintosOrdenados(artistaIdsVinculos);
+		long[] albuns = distintosOrdenados(albumIdsVinculos);
+		int quantidade = artistaIdsVinculos.length;
+		int[] artistaDoVinculo = new int[quantidade];
+		int[] albumDoVinculo = new int[quantidade];
+		for (int i = 0; i < quantidade; i++) {
+			artistaDoVinculo[i] = Arrays.binarySearch(artistas, artistaIdsVinculos[i]);
+			albumDoVinculo[i] = Arrays.binarySearch(albuns, albumIdsVinculos[i]);
+		}
+		int[] inicioAlbuns = new int[artistas.length + 1];
+		int[] vizinhosAlbuns = agrupar(artistaDoVinculo, albumDoVinculo, inicioAlbuns);
+		int[] inicioArtistas = new int[albuns.length + 1];
+		int[] vizinhosArtistas = agrupar(albumDoVinculo, artistaDoVinculo, inicioArtistas);
+		return new GrafoColaboracao(artistas, inicioAlbuns, vizinhosAlbuns, albuns, inicioArtistas, vizinhosArtistas);
+	}
+
+	public GrafoColaboracao atualizar(Map<Long, long[]> artistasPorAlbum) {
+		if (artistasPorAlbum.isEmpty()) {
+			return this;
+		}
+		int quantidade = artistasDoAlbum.length;
+		for (long[] artistas : artistasPorAlbum.values()) {
+			quantidade += artistas.length;
+		}
+		long[] artistasVinculos = new long[quantidade];
+		long[] albunsVinculos = new long[quantidade];
+		int n = 0;
+		for (int album = 0; album < albumIds.length; album++) {
+			if (artistasPorAlbum.containsKey(albumIds[album])) {
+				continue;
+			}
+			for (int i = inicioArtistasDoAlbum[album]; i < inicioArtistasDoAlbum[album + 1]; i++) {
+				artistasVinculos[n] = artistaIds[artistasDoAlbum[i]];
+				albunsVinculos[n++] = albumIds[album];
+			}
+		}
+		for (Map.Entry<Long, long[]> entrada : artistasPorAlbum.entrySet()) {
+			for (long artistaId : entrada.getValue()) {
+				artistasVinculos[n] = artistaId;
+				albunsVinculos[n++] = entrada.getKey();
+			}
+		}
+		return construir(Arrays.copyOf(artistasVinculos, n), Arrays.copyOf(albunsVinculos, n));
+	}
+
+	public boolean contemAlbum(long id) {
+		return Arrays.binarySearch(albumIds, id) >= 0;
+	}
+
+	public boolean contemArtista(long id) {
+		return Arrays.binarySearch(artistaIds, id) >= 0;
+	}
+
+	public List<Relacao> albunsRelacionados(long albumId, int limite) {
+		int album = Arrays.binarySearch(albumIds, albumId);
+		if (album < 0) {
+			return List.of();
+		}
+		return contarVizinhosDeSegundoGrau(
+			album,
+			inicioArtistasDoAlbum,
+			artistasDoAlbum,
+			inicioAlbunsDoArtista,
+			albunsDoArtista,
+			albumIds,
+			limite
+		);
+	}
+
+	public List<Relacao> colaboradores(long artistaId, int limite) {
+		int artista = Arrays.binarySearch(artistaIds, artistaId);
+		if (artista < 0) {
+			return List.of();
+		}
+		return contarVizinhosDeSegundoGrau(
+			artista,
+			inicioAlbunsDoArtista,
+			albunsDoArtista,
+			inicioArtistasDoAlbum,
+			artistasDoAlbum,
+			artistaIds,
+			limite
+		);
+	}
+
+	public Optional<Caminho> caminho(long origemId, long destinoId, int grauMaximo) {
+		int origem = Arrays.binarySearch(artistaIds, origemId);
+		int destino = Arrays.binarySearch(artistaIds, destinoId);
+		if (origem < 0 || destino < 0) {
+			return Optional.empty();
+		}
+		if (origem == destino) {
+			return Optional.of(new Caminho(List.of(origemId), List.of()));
+		}
+
+		int[] artistaAnterior = new int[artistaIds.length];
+		int[] albumAnterior = new int[artistaIds.length];
+		boolean[] albumVisitado = new boolean[albumIds.length];
+		Arrays.fill(artistaAnterior, -1);
+		artistaAnterior[origem] = origem;
+
+		int[] fronteira = {origem};
+		for (int grau = 1; grau <= grauMaximo && fronteira.length > 0; grau++) {
+			int[] proxima = new int[16];
+			int tamanhoProxima = 0;
+			for (int artista : fronteira) {
+				for (int i = inicioAlbunsDoArtista[artista]; i < inicioAlbunsDoArtista[artista + 1]; i++) {
+					int album = albunsDoArtista[i];
+					if (albumVisitado[album]) {
+						continue;
+					}
+					albumVisitado[album] = true;
+					for (int j = inicioArtistasDoAlbum[album]; j < inicioArtistasDoAlbum[album + 1]; j++) {
+						int vizinho = artistasDoAlbum[j];
+						if (artistaAnterior[vizinho] != -1) {
+							continue;
+						}
+						artistaAnterior[vizinho] = artista;
+						albumAnterior[vizinho] = album;
+						if (vizinho == destino) {
+							return Optional.of(reconstruir(origem, destino, artistaAnterior, albumAnterior));
+						}
+						if (tamanhoProxima == proxima.length) {
+							proxima = Arrays.copyOf(proxima, proxima.length * 2);
+						}
+						proxima[tamanhoProxima++] = vizinho;
+					}
+				}
+			}
+			fronteira = Arrays.copyOf(proxima, tamanhoProxima);
+		}
+		return Optional.empty();
+	}
+
+	public int quantidadeVinculos() {
+		return albunsDoArtista.length;
+	}
+
+	private Caminho reconstruir(int origem, int destino, int[] artistaAnterior, int[] albumAnterior) {
+		List<Long> artistas = new ArrayList<>();
+		List<Long> albuns = new ArrayList<>();
+		for (int artista = destino; artista != origem; artista = artistaAnterior[artista]) {
+			artistas.add(artistaIds[artista]);
+			albuns.add(albumIds[albumAnterior[artista]]);
+		}
+		artistas.add(artistaIds[origem]);
+		return new Caminho(artistas.reversed(), albuns.reversed());
+	}
+
+	private static List<Relacao> contarVizinhosDeSegundoGrau(
+		int no,
+		int[] inicioIntermediarios,
+		int[] intermediarios,
+		int[] inicioVizinhos,
+		int[] vizinhos,
+		long[] idsVizinhos,
+		int limite
+	) {
+		int[] contagem = new int[idsVizinhos.length];
+		int[] tocados = new int[16];
+		int quantidadeTocados = 0;
+		for (int i = inicioIntermediarios[no]; i < inicioIntermediarios[no + 1]; i++) {
+			int intermediario = intermediarios[i];
+			for (int j = inicioVizinhos[intermediario]; j < inicioVizinhos[intermediario + 1]; j++) {
+				int vizinho = vizinhos[j];
+				if (vizinho == no) {
+					continue;
+				}
+				if (contagem[vizinho]++ == 0) {
+					if (quantidadeTocados == tocados.length) {
+						tocados = Arrays.copyOf(tocados, tocados.length * 2);
+					}
+					tocados[quantidadeTocados++] = vizinho;
+				}
+			}
+		}
+
+		List<Relacao> relacoes = new ArrayList<>(quantidadeTocados);
+		for (int i = 0; i < quantidadeTocados; i++) {
+			relacoes.add(new Relacao(idsVizinhos[tocados[i]], contagem[tocados[i]]));
+		}
+		relacoes.sort(Comparator.comparingInt(Relacao::emComum).reversed().thenComparingLong(Relacao::id));
+		return relacoes.size() > limite ? List.copyOf(relacoes.subList(0, limite)) : relacoes;
+	}
+
+	private static int[] agrupar(int[] origens, int[] destinos, int[] inicio) {
+		for (int origem : origens) {
+			inicio[origem + 1]++;
+		}
+		for (int i = 1; i < inicio.length; i++) {
+			inicio[i] += inicio[i - 1];
+		}
+		int[] proximo = Arrays.copyOf(inicio, inicio.length - 1);
+		int[] adjacencia = new int[origens.length];
+		for (int i = 0; i < origens.length; i++) {
+			adjacencia[proximo[origens[i]]++] = destinos[i];
+		}
+		return adjacencia;
+	}
+
+	private static long[] distintosOrdenados(long[] valores) {
+		long[] ordenados = valores.clone();
+		Arrays.sort(ordenados);
+		int n = 0;
+		for (int i = 0; i < ordenados.length; i++) {
+			if (i == 0 || ordenados[i] != ordenados[i - 1]) {
+				ordenados[n++] = ordenados[i];
+			}
+		}
+		return Arrays.copyOf(ordenados, n);
+	}
+
+	public record Relacao(long id, int emComum) {
+	}
+
+	public record Caminho(List<Long> artistaIds, List<Long> albumIds) {
+	}
+}
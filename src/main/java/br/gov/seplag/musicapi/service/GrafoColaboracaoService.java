@@ -0,0 +1,173 @@
+package br.gov.seplag.musicapi.service;
+
+import br.gov.seplag.musicapi.api.v1.dto.AlbumRelacionadoResponse;
+import br.gov.seplag.musicapi.api.v1.dto.AlbumResumoResponse;
+import br.gov.seplag.musicapi.api.v1.dto.ArtistaResumoResponse;
+import br.gov.seplag.musicapi.api.v1.dto.CaminhoArtistasResponse;
+import br.gov.seplag.musicapi.api.v1.dto.ColaboradorResponse;
+import br.gov.seplag.musicapi.repository.ArtistaAlbumRepository.Vinculo;
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository;
+import br.gov.seplag.musicapi.repository.SugestoesRepository;
+import br.gov.seplag.musicapi.service.GrafoColaboracao.Caminho;
+import br.gov.seplag.musicapi.service.GrafoColaboracao.Relacao;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class GrafoColaboracaoService {
+	private static final Logger logger = LoggerFactory.getLogger(GrafoColaboracaoService.class);
+	private static final int LIMITE_MAXIMO = 50;
+	private static final int GRAU_MAXIMO = 6;
+
+	private final CatalogoMemoriaRepository catalogoMemoriaRepository;
+	private final SugestoesRepository sugestoesRepository;
+	private final AcompanhamentoAlteracoes acompanhamento;
+
+	private volatile GrafoColaboracao grafo = GrafoColaboracao.VAZIO;
+
+	public GrafoColaboracaoService(
+		CatalogoMemoriaRepository catalogoMemoriaRepository,
+		SugestoesRepository sugestoesRepository,
+		MeterRegistry meterRegistry,
+		@Value("${app.catalogo.alteracoes.margem:1m}") Duration margem
+	) {
+		this.catalogoMemoriaRepository = catalogoMemoriaRepository;
+		this.sugestoesRepository = sugestoesRepository;
+		this.acompanhamento = new AcompanhamentoAlteracoes(catalogoMemoriaRepository, margem);
+		Gauge.builder("catalogo.grafo.vinculos", this, s -> s.grafo.quantidadeVinculos())
+			.register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void carregar() {
+		acompanhamento.reiniciar(() -> {
+			List<Vinculo> vinculos = catalogoMemoriaRepository.listarVinculos();
+			long[] artistaIds = new long[vinculos.size()];
+			long[] albumIds = new long[vinculos.size()];
+			for (int i = 0; i < vinculos.size(); i++) {
+				artistaIds[i] = vinculos.get(i).artistaId();
+				albumIds[i] = vinculos.get(i).albumId();
+			}
+			grafo = GrafoColaboracao.construir(artistaIds, albumIds);
+		});
+	}
+
+	@Scheduled(fixedDelayString = "${app.catalogo.alteracoes.acompanhamento:5s}")
+	public void acompanharAlteracoes() {
+		try {
+			acompanhamento.acompanhar(this::aplicar);
+		} catch (DataAccessException ex) {
+			logger.warn("Falha ao acompanhar alterações do catálogo; o grafo de colaborações segue com a versão atual", ex);
+		}
+	}
+
+	public List<AlbumRelacionadoResponse> albunsRelacionados(Long albumId, int limite) {
+		validarLimite(limite);
+		GrafoColaboracao atual = grafo;
+		if (!atual.contemAlbum(albumId) && sugestoesRepository.buscarTitulosAlbuns(Set.of(albumId)).isEmpty()) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "álbum não encontrado");
+		}
+		List<Relacao> relacoes = atual.albunsRelacionados(albumId, limite);
+		Map<Long, String> titulos = relacoes.isEmpty() ? Map.of() : sugestoesRepository.buscarTitulosAlbuns(ids(relacoes));
+		return relacoes.stream()
+			.filter(relacao -> titulos.containsKey(relacao.id()))
+			.map(relacao -> new AlbumRelacionadoResponse(relacao.id(), titulos.get(relacao.id()), relacao.emComum()))
+			.toList();
+	}
+
+	public List<ColaboradorResponse> colaboradores(Long artistaId, int limite) {
+		validarLimite(limite);
+		GrafoColaboracao atual = grafo;
+		if (!atual.contemArtista(artistaId) && sugestoesRepository.buscarNomesArtistas(Set.of(artistaId)).isEmpty()) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "artista não encontrado");
+		}
+		List<Relacao> relacoes = atual.colaboradores(artistaId, limite);
+		Map<Long, String> nomes = relacoes.isEmpty() ? Map.of() : sugestoesRepository.buscarNomesArtistas(ids(relacoes));
+		return relacoes.stream()
+			.filter(relacao -> nomes.containsKey(relacao.id()))
+			.map(relacao -> new ColaboradorResponse(relacao.id(), nomes.get(relacao.id()), relacao.emComum()))
+			.toList();
+	}
+
+	public CaminhoArtistasResponse caminho(Long origemId, Long destinoId, int grauMaximo) {
+		if (destinoId == null) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ate é obrigatório");
+		}
+		if (grauMaximo < 1 || grauMaximo > GRAU_MAXIMO) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "grauMaximo deve estar entre 1 e " + GRAU_MAXIMO);
+		}
+		Map<Long, String> extremos = sugestoesRepository.buscarNomesArtistas(Set.of(origemId, destinoId));
+		if (!extremos.containsKey(origemId) || !extremos.containsKey(destinoId)) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "artista não encontrado");
+		}
+
+		Caminho caminho = origemId.equals(destinoId)
+			? new Caminho(List.of(origemId), List.of())
+			: grafo.caminho(origemId, destinoId, grauMaximo).orElseThrow(() -> new ResponseStatusException(
+				HttpStatus.NOT_FOUND,
+				"nenhum caminho entre os artistas em até " + grauMaximo + " graus"
+			));
+
+		Map<Long, String> nomes = sugestoesRepository.buscarNomesArtistas(caminho.artistaIds());
+		Map<Long, String> titulos = caminho.albumIds().isEmpty()
+			? Map.of()
+			: sugestoesRepository.buscarTitulosAlbuns(caminho.albumIds());
+		List<ArtistaResumoResponse> artistas = caminho.artistaIds().stream()
+			.map(id -> new ArtistaResumoResponse(id, nomes.get(id)))
+			.toList();
+		List<AlbumResumoResponse> albuns = caminho.albumIds().stream()
+			.map(id -> new AlbumResumoResponse(id, titulos.get(id)))
+			.toList();
+		return new CaminhoArtistasResponse(albuns.size(), artistas, albuns);
+	}
+
+	private void aplicar(CatalogoAlteradoEvent alteracoes) {
+		if (alteracoes.albumIds().isEmpty()) {
+			return;
+		}
+		Map<Long, List<Long>> agrupados = new HashMap<>();
+		for (Long albumId : alteracoes.albumIds()) {
+			agrupados.put(albumId, new ArrayList<>(2));
+		}
+		for (Vinculo vinculo : catalogoMemoriaRepository.buscarVinculosDosAlbuns(alteracoes.albumIds())) {
+			agrupados.get(vinculo.albumId()).add(vinculo.artistaId());
+		}
+		Map<Long, long[]> artistasPorAlbum = new HashMap<>();
+		agrupados.forEach((albumId, artistaIds) -> artistasPorAlbum.put(
+			albumId,
+			artistaIds.stream().mapToLong(Long::longValue).toArray()
+		));
+		grafo = grafo.atualizar(artistasPorAlbum);
+	}
+
+	private void validarLimite(int limite) {
+		if (limite < 1 || limite > LIMITE_MAXIMO) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limite deve estar entre 1 e " + LIMITE_MAXIMO);
+		}
+	}
+
+	private static Set<Long> ids(List<Relacao> relacoes) {
+		Set<Long> ids = new LinkedHashSet<>();
+		for (Relacao relacao : relacoes) {
+			ids.add(relacao.id());
+		}
+		return ids;
+	}
+}
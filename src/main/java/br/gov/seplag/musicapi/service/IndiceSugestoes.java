@@ -0,0 +1,133 @@
+package br.gov.seplag.musicapi.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public final class IndiceSugestoes {
+	public static final IndiceSugestoes VAZIO = new IndiceSugestoes(new String[0], new long[0], new String[0], 0);
+
+	private static final Comparator<Entrada> ORDEM = Comparator.comparing(Entrada::chave).thenComparingLong(Entrada::id);
+
+	private final String[] chaves;
+	private final long[] ids;
+	private final String[] nomes;
+	private final int quantidadeNomes;
+
+	private IndiceSugestoes(String[] chaves, long[] ids, String[] nomes, int quantidadeNomes) {
+		this.chaves = chaves;
+		this.ids = ids;
+		this.nomes = nomes;
+		this.quantidadeNomes = quantidadeNomes;
+	}
+
+	public static IndiceSugestoes construir(Map<Long, String> nomesPorId) {
+		List<Entrada> entradas = entradas(nomesPorId);
+		entradas.sort(ORDEM);
+		return deEntradas(entradas, nomesPorId.size());
+	}
+
+	public IndiceSugestoes atualizar(Map<Long, String> atualizados, Collection<Long> removidos) {
+		Set<Long> alterados = new HashSet<>(removidos);
+		alterados.addAll(atualizados.keySet());
+		if (alterados.isEmpty()) {
+			return this;
+		}
+
+		List<Entrada> novas = entradas(atualizados);
+		novas.sort(ORDEM);
+
+		List<Entrada> mescladas = new ArrayList<>(chaves.length + novas.size());
+		Set<Long> idsMantidos = new HashSet<>();
+		int j = 0;
+		for (int i = 0; i < chaves.length; i++) {
+			if (alterados.contains(ids[i])) {
+				continue;
+			}
+			Entrada atual = new Entrada(chaves[i], ids[i], nomes[i]);
+			while (j < novas.size() && ORDEM.compare(novas.get(j), atual) < 0) {
+				mescladas.add(novas.get(j++));
+			}
+			mescladas.add(atual);
+			idsMantidos.add(ids[i]);
+		}
+		while (j < novas.size()) {
+			mescladas.add(novas.get(j++));
+		}
+		return deEntradas(mescladas, idsMantidos.size() + atualizados.size());
+	}
+
+	public List<Sugestao> buscar(String prefixoNormalizado, int limite) {
+		List<Sugestao> resultado = new ArrayList<>(Math.min(limite, 16));
+		if (prefixoNormalizado == null || prefixoNormalizado.isEmpty()) {
+			return resultado;
+		}
+		Set<Long> vistos = new HashSet<>();
+		for (int i = primeiraPosicao(prefixoNormalizado); i < chaves.length && resultado.size() < limite; i++) {
+			if (!chaves[i].startsWith(prefixoNormalizado)) {
+				break;
+			}
+			if (vistos.add(ids[i])) {
+				resultado.add(new Sugestao(ids[i], nomes[i]));
+			}
+		}
+		return resultado;
+	}
+
+	public int quantidade() {
+		return quantidadeNomes;
+	}
+
+	private int primeiraPosicao(String prefixo) {
+		int inicio = 0;
+		int fim = chaves.length;
+		while (inicio < fim) {
+			int meio = (inicio + fim) >>> 1;
+			if (chaves[meio].compareTo(prefixo) < 0) {
+				inicio = meio + 1;
+			} else {
+				fim = meio;
+			}
+		}
+		return inicio;
+	}
+
+	private static List<Entrada> entradas(Map<Long, String> nomesPorId) {
+		List<Entrada> entradas = new ArrayList<>(nomesPorId.size() * 2);
+		for (Map.Entry<Long, String> item : nomesPorId.entrySet()) {
+			String normalizado = NormalizadorTexto.normalizar(item.getValue());
+			if (normalizado == null || normalizado.isEmpty()) {
+				continue;
+			}
+			for (int i = 0; i < normalizado.length(); i++) {
+				if (i == 0 || normalizado.charAt(i - 1) == ' ') {
+					entradas.add(new Entrada(normalizado.substring(i), item.getKey(), item.getValue()));
+				}
+			}
+		}
+		return entradas;
+	}
+
+	private static IndiceSugestoes deEntradas(List<Entrada> entradas, int quantidadeNomes) {
+		String[] chaves = new String[entradas.size()];
+		long[] ids = new long[entradas.size()];
+		String[] nomes = new String[entradas.size()];
+		for (int i = 0; i < entradas.size(); i++) {
+			Entrada entrada = entradas.get(i);
+			chaves[i] = entrada.chave();
+			ids[i] = entrada.id();
+			nomes[i] = entrada.nome();
+		}
+		return new IndiceSugestoes(chaves, ids, nomes, quantidadeNomes);
+	}
+
+	public record Sugestao(long id, String nome) {
+	}
+
+	private record Entrada(String chave, long id, String nome) {
+	}
+}
@@ -0,0 +1,222 @@
+package br.gov.seplag.musicapi.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+public final class IndiceTrigramas {
+	private static final double SIMILARIDADE_MINIMA = 0.3;
+	private static final int CANDIDATOS_POR_RESULTADO = 10;
+	private static final int REMOVIDOS_PARA_COMPACTAR = 1024;
+	private static final long BYTES_CABECALHO = 16;
+	private static final long BYTES_ENTRADA_MAPA = 48;
+	private static final long BYTES_STRING = 40;
+
+	private final Map<String, ListaPostagem> postagens = new HashMap<>();
+	private final Map<Long, Integer> posicaoPorId = new HashMap<>();
+
+	private long[] ids = new long[16];
+	private String[] nomes = new String[16];
+	private String[] normalizados = new String[16];
+	private int[] quantidadeTrigramas = new int[16];
+	private int tamanho;
+	private int removidos;
+
+	public void atualizar(long id, String nome) {
+		String normalizado = NormalizadorTexto.normalizar(nome);
+		Integer posicao = posicaoPorId.get(id);
+		if (posicao != null) {
+			if (normalizado != null && normalizado.equals(normalizados[posicao])) {
+				nomes[posicao] = nome;
+				return;
+			}
+			descartar(posicao);
+		}
+		if (normalizado == null || normalizado.isEmpty()) {
+			return;
+		}
+		adicionar(id, nome, normalizado);
+	}
+
+	public void remover(long id) {
+		Integer posicao = posicaoPorId.get(id);
+		if (posicao != null) {
+			descartar(posicao);
+		}
+	}
+
+	public void limpar() {
+		postagens.clear();
+		posicaoPorId.clear();
+		ids = new long[16];
+		nomes = new String[16];
+		normalizados = new String[16];
+		quantidadeTrigramas = new int[16];
+		tamanho = 0;
+		removidos = 0;
+	}
+
+	public List<Candidato> buscar(String termo, int limite) {
+		String termoNormalizado = NormalizadorTexto.normalizar(termo);
+		Set<String> trigramasTermo = Trigramas.extrair(termoNormalizado);
+		if (trigramasTermo.isEmpty()) {
+			return List.of();
+		}
+
+		int[] contagem = new int[tamanho];
+		int[] tocados = new int[16];
+		int quantidadeTocados = 0;
+		for (String trigrama : trigramasTermo) {
+			ListaPostagem lista = postagens.get(trigrama);
+			if (lista == null) {
+				continue;
+			}
+			for (int i = 0; i < lista.tamanho; i++) {
+				int posicao = lista.posicoes[i];
+				if (contagem[posicao]++ == 0) {
+					if (quantidadeTocados == tocados.length) {
+						tocados = Arrays.copyOf(tocados, tocados.length * 2);
+					}
+					tocados[quantidadeTocados++] = posicao;
+				}
+			}
+		}
+
+		int maximoCandidatos = limite * CANDIDATOS_POR_RESULTADO;
+		PriorityQueue<Previa> melhores = new PriorityQueue<>(Comparator.comparingDouble(Previa::jaccard));
+		for (int i = 0; i < quantidadeTocados; i++) {
+			int posicao = tocados[i];
+			if (nomes[posicao] == null) {
+				continue;
+			}
+			int comuns = contagem[posicao];
+			double jaccard = (double) comuns / (trigramasTermo.size() + quantidadeTrigramas[posicao] - comuns);
+			if (jaccard < SIMILARIDADE_MINIMA) {
+				continue;
+			}
+			melhores.add(new Previa(posicao, jaccard));
+			if (melhores.size() > maximoCandidatos) {
+				melhores.poll();
+			}
+		}
+
+		List<Candidato> candidatos = new ArrayList<>(melhores.size());
+		for (Previa previa : melhores) {
+			int posicao = previa.posicao();
+			String normalizado = normalizados[posicao];
+			int distancia = distanciaEdicao(termoNormalizado, normalizado);
+			double similaridadeEdicao = 1.0 - (double) distancia / Math.max(termoNormalizado.length(), normalizado.length());
+			double pontuacao = (previa.jaccard() + similaridadeEdicao) / 2;
+			candidatos.add(new Candidato(ids[posicao], nomes[posicao], pontuacao, distancia));
+		}
+		candidatos.sort(Comparator.comparingDouble(Candidato::pontuacao).reversed()
+			.thenComparing(Candidato::nome, String.CASE_INSENSITIVE_ORDER));
+		return candidatos.size() > limite ? List.copyOf(candidatos.subList(0, limite)) : candidatos;
+	}
+
+	public int quantidade() {
+		return posicaoPorId.size();
+	}
+
+	public int quantidadeTrigramas() {
+		return postagens.size();
+	}
+
+	public long memoriaEstimadaBytes() {
+		long bytes = 4 * BYTES_CABECALHO + ids.length * 8L + nomes.length * 8L + normalizados.length * 8L
+			+ quantidadeTrigramas.length * 4L;
+		for (ListaPostagem lista : postagens.values()) {
+			bytes += BYTES_ENTRADA_MAPA + BYTES_STRING + 2 * BYTES_CABECALHO + lista.posicoes.length * 4L;
+		}
+		for (int i = 0; i < tamanho; i++) {
+			if (nomes[i] != null) {
+				bytes += 2 * BYTES_STRING + nomes[i].length() + normalizados[i].length();
+			}
+		}
+		return bytes + posicaoPorId.size() * (BYTES_ENTRADA_MAPA + 2 * BYTES_CABECALHO);
+	}
+
+	private void adicionar(long id, String nome, String normalizado) {
+		if (tamanho == ids.length) {
+			int novaCapacidade = ids.length * 2;
+			ids = Arrays.copyOf(ids, novaCapacidade);
+			nomes = Arrays.copyOf(nomes, novaCapacidade);
+			normalizados = Arrays.copyOf(normalizados, novaCapacidade);
+			quantidadeTrigramas = Arrays.copyOf(quantidadeTrigramas, novaCapacidade);
+		}
+		int posicao = tamanho++;
+		Set<String> trigramas = Trigramas.extrair(normalizado);
+		ids[posicao] = id;
+		nomes[posicao] = nome;
+		normalizados[posicao] = normalizado;
+		quantidadeTrigramas[posicao] = trigramas.size();
+		posicaoPorId.put(id, posicao);
+		for (String trigrama : trigramas) {
+			postagens.computeIfAbsent(trigrama, ignorado -> new ListaPostagem()).adicionar(posicao);
+		}
+	}
+
+	private void descartar(int posicao) {
+		posicaoPorId.remove(ids[posicao]);
+		nomes[posicao] = null;
+		normalizados[posicao] = null;
+		removidos++;
+		if (removidos >= REMOVIDOS_PARA_COMPACTAR && removidos * 2 >= tamanho) {
+			compactar();
+		}
+	}
+
+	private void compactar() {
+		long[] idsAtuais = ids;
+		String[] nomesAtuais = nomes;
+		int tamanhoAtual = tamanho;
+		limpar();
+		for (int i = 0; i < tamanhoAtual; i++) {
+			if (nomesAtuais[i] != null) {
+				atualizar(idsAtuais[i], nomesAtuais[i]);
+			}
+		}
+	}
+
+	private static int distanciaEdicao(String a, String b) {
+		int[] anterior = new int[b.length() + 1];
+		int[] atual = new int[b.length() + 1];
+		for (int j = 0; j <= b.length(); j++) {
+			anterior[j] = j;
+		}
+		for (int i = 1; i <= a.length(); i++) {
+			atual[0] = i;
+			for (int j = 1; j <= b.length(); j++) {
+				int custo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+				atual[j] = Math.min(Math.min(atual[j - 1] + 1, anterior[j] + 1), anterior[j - 1] + custo);
+			}
+			int[] troca = anterior;
+			anterior = atual;
+			atual = troca;
+		}
+		return anterior[b.length()];
+	}
+
+	public record Candidato(long id, String nome, double pontuacao, int distancia) {
+	}
+
+	private record Previa(int posicao, double jaccard) {
+	}
+
+	private static final class ListaPostagem {
+		private int[] posicoes = new int[4];
+		private int tamanho;
+
+		private void adicionar(int posicao) {
+			if (tamanho == posicoes.length) {
+				posicoes = Arrays.copyOf(posicoes, posicoes.length * 2);
+			}
+			posicoes[tamanho++] = posicao;
+		}
+	}
+}
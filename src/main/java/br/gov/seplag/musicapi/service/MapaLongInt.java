@@ -0,0 +1,107 @@
+package br.gov.seplag.musicapi.service;
+
+import java.util.Arrays;
+
+public final class MapaLongInt {
+	public static final int AUSENTE = -1;
+
+	private static final long VAZIA = Long.MIN_VALUE;
+
+	private long[] chaves;
+	private int[] valores;
+	private int tamanho;
+
+	public MapaLongInt() {
+		this(16);
+	}
+
+	public MapaLongInt(int capacidadeEsperada) {
+		int capacidade = Integer.highestOneBit(Math.max(4, capacidadeEsperada * 2 - 1)) << 1;
+		chaves = new long[capacidade];
+		valores = new int[capacidade];
+		Arrays.fill(chaves, VAZIA);
+	}
+
+	public int get(long chave) {
+		int mascara = chaves.length - 1;
+		for (int i = indice(chave, mascara); chaves[i] != VAZIA; i = (i + 1) & mascara) {
+			if (chaves[i] == chave) {
+				return valores[i];
+			}
+		}
+		return AUSENTE;
+	}
+
+	public void put(long chave, int valor) {
+		if (chave == VAZIA) {
+			throw new IllegalArgumentException("chave reservada");
+		}
+		if ((tamanho + 1) * 4L > chaves.length * 3L) {
+			redimensionar(chaves.length * 2);
+		}
+		int mascara = chaves.length - 1;
+		int i = indice(chave, mascara);
+		while (chaves[i] != VAZIA) {
+			if (chaves[i] == chave) {
+				valores[i] = valor;
+				return;
+			}
+			i = (i + 1) & mascara;
+		}
+		chaves[i] = chave;
+		valores[i] = valor;
+		tamanho++;
+	}
+
+	public void remove(long chave) {
+		int mascara = chaves.length - 1;
+		int i = indice(chave, mascara);
+		while (chaves[i] != chave) {
+			if (chaves[i] == VAZIA) {
+				return;
+			}
+			i = (i + 1) & mascara;
+		}
+		chaves[i] = VAZIA;
+		tamanho--;
+
+		int j = (i + 1) & mascara;
+		while (chaves[j] != VAZIA) {
+			int ideal = indice(chaves[j], mascara);
+			if (((j - ideal) & mascara) >= ((j - i) & mascara)) {
+				chaves[i] = chaves[j];
+				valores[i] = valores[j];
+				chaves[j] = VAZIA;
+				i = j;
+			}
+			j = (j + 1) & mascara;
+		}
+	}
+
+	public int size() {
+		return tamanho;
+	}
+
+	public long memoriaEstimadaBytes() {
+		return chaves.length * 12L;
+	}
+
+	private void redimensionar(int capacidade) {
+		long[] chavesAtuais = chaves;
+		int[] valoresAtuais = valores;
+		chaves = new long[capacidade];
+		valores = new int[capacidade];
+		Arrays.fill(chaves, VAZIA);
+		tamanho = 0;
+		for (int i = 0; i < chavesAtuais.length; i++) {
+			if (chavesAtuais[i] != VAZIA) {
+				put(chavesAtuais[i], valoresAtuais[i]);
+			}
+		}
+	}
+
+	private static int indice(long chave, int mascara) {
+		long h = chave * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & mascara;
+	}
+}
@@ -0,0 +1,24 @@
+package br.gov.seplag.musicapi.service;
+
+import java.util.Locale;
+import java.util.Optional;
+
+public enum ModoContagem {
+	EXATA,
+	APROXIMADA,
+	NENHUMA;
+
+	public static ModoContagem de(String valor) {
+		return Optional.ofNullable(valor)
+			.map(String::trim)
+			.map(v -> v.toUpperCase(Locale.ROOT))
+			.flatMap(v -> {
+				try {
+					return Optional.of(ModoContagem.valueOf(v));
+				} catch (IllegalArgumentException ex) {
+					return Optional.empty();
+				}
+			})
+			.orElse(EXATA);
+	}
+}
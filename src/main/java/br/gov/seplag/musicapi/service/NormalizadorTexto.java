@@ -0,0 +1,21 @@
+package br.gov.seplag.musicapi.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public final class NormalizadorTexto {
+	private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+	private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+	private NormalizadorTexto() {
+	}
+
+	public static String normalizar(String valor) {
+		if (valor == null) {
+			return null;
+		}
+		String semAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(valor, Normalizer.Form.NFD)).replaceAll("");
+		return ESPACOS.matcher(semAcentos.trim()).replaceAll(" ").toUpperCase(Locale.ROOT);
+	}
+}
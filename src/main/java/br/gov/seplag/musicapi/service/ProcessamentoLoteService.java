@@ -0,0 +1,131 @@
+package br.gov.seplag.musicapi.service;
+
+import br.gov.seplag.musicapi.api.v1.dto.AlbumRequest;
+import br.gov.seplag.musicapi.api.v1.dto.ArtistaRequest;
+import br.gov.seplag.musicapi.api.v1.dto.LoteJobResponse;
+import br.gov.seplag.musicapi.api.v1.dto.ResultadoLoteResponse;
+import br.gov.seplag.musicapi.domain.StatusLote;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class ProcessamentoLoteService {
+	private static final Logger logger = LoggerFactory.getLogger(ProcessamentoLoteService.class);
+
+	private final AlbumService albumService;
+	private final ArtistaService artistaService;
+	private final int tamanhoMaximoSincrono;
+	private final int tamanhoMaximo;
+	private final Cache<String, LoteJobResponse> jobs;
+	private final ExecutorService executor;
+
+	public ProcessamentoLoteService(
+		AlbumService albumService,
+		ArtistaService artistaService,
+		@Value("${app.lote.tamanho-maximo-sincrono:1000}") int tamanhoMaximoSincrono,
+		@Value("${app.lote.tamanho-maximo:50000}") int tamanhoMaximo,
+		@Value("${app.lote.retencao:1h}") Duration retencao,
+		@Value("${app.lote.threads:2}") int threads,
+		@Value("${app.lote.fila:8}") int fila
+	) {
+		this.albumService = albumService;
+		this.artistaService = artistaService;
+		this.tamanhoMaximoSincrono = tamanhoMaximoSincrono;
+		this.tamanhoMaximo = tamanhoMaximo;
+		this.jobs = Caffeine.newBuilder().expireAfterWrite(retencao).build();
+		this.executor = new ThreadPoolExecutor(
+			threads,
+			threads,
+			0,
+			TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(fila),
+			Thread.ofPlatform().name("lote-", 1).factory()
+		);
+	}
+
+	public ResultadoLoteResponse processarArtistas(List<ArtistaRequest> requests) {
+		validarTamanho(requests, tamanhoMaximoSincrono);
+		return artistaService.criarEmLote(requests);
+	}
+
+	public ResultadoLoteResponse processarAlbuns(List<AlbumRequest> requests) {
+		validarTamanho(requests, tamanhoMaximoSincrono);
+		return albumService.criarEmLote(requests);
+	}
+
+	public LoteJobResponse agendarArtistas(List<ArtistaRequest> requests) {
+		validarTamanho(requests, tamanhoMaximo);
+		return agendar(requests.size(), () -> artistaService.criarEmLote(requests));
+	}
+
+	public LoteJobResponse agendarAlbuns(List<AlbumRequest> requests) {
+		validarTamanho(requests, tamanhoMaximo);
+		return agendar(requests.size(), () -> albumService.criarEmLote(requests));
+	}
+
+	public LoteJobResponse buscar(String id) {
+		LoteJobResponse job = jobs.getIfPresent(id);
+		if (job == null) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "lote não encontrado");
+		}
+		return job;
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdownNow();
+	}
+
+	private LoteJobResponse agendar(int total, Supplier<ResultadoLoteResponse> processamento) {
+		String id = UUID.randomUUID().toString();
+		LoteJobResponse pendente = new LoteJobResponse(id, StatusLote.PENDENTE, total, null, null);
+		jobs.put(id, pendente);
+		try {
+			executor.execute(() -> executar(id, total, processamento));
+		} catch (RejectedExecutionException ex) {
+			jobs.invalidate(id);
+			throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "fila de lotes cheia, tente novamente mais tarde");
+		}
+		return pendente;
+	}
+
+	private void executar(String id, int total, Supplier<ResultadoLoteResponse> processamento) {
+		jobs.put(id, new LoteJobResponse(id, StatusLote.PROCESSANDO, total, null, null));
+		try {
+			ResultadoLoteResponse resultado = processamento.get();
+			jobs.put(id, new LoteJobResponse(id, StatusLote.CONCLUIDO, total, resultado, null));
+			logger.info("Lote {} concluído: sucessos={}, falhas={}", id, resultado.getSucessos(), resultado.getFalhas());
+		} catch (RuntimeException ex) {
+			logger.warn("Falha no processamento do lote {}", id, ex);
+			jobs.put(id, new LoteJobResponse(id, StatusLote.FALHOU, total, null, "erro ao processar lote"));
+		}
+	}
+
+	private void validarTamanho(List<?> requests, int limite) {
+		if (requests == null || requests.isEmpty()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "lote vazio");
+		}
+		if (requests.size() > limite) {
+			throw new ResponseStatusException(
+				HttpStatus.BAD_REQUEST,
+				"lote excede o limite de " + limite + " itens"
+			);
+		}
+	}
+}
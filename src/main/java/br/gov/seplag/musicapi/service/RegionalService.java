@@ -4,10 +4,14 @@ import br.gov.seplag.musicapi.api.v1.dto.RegionalResponse;
 import br.gov.seplag.musicapi.api.v1.dto.SincronizarRegionaisResponse;
 import br.gov.seplag.musicapi.domain.Regional;
 import br.gov.seplag.musicapi.repository.RegionalRepository;
+import br.gov.seplag.musicapi.repository.RegionalRepository.ResumoRegionais;
 import br.gov.seplag.musicapi.service.RegionaisIntegradorClient.RegionalIntegradorResponse;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import org.slf4j.Logger;
@@ -63,6 +67,12 @@ public class RegionalService {
 		}
 	}
 
+	@Transactional(readOnly = true)
+	public String versaoListagem() {
+		ResumoRegionais resumo = regionalRepository.buscarResumo();
+		return resumo.getUltimoId() + "-" + resumo.getAtivos();
+	}
+
 	@Transactional(readOnly = true)
 	public List<RegionalResponse> listar(Boolean ativo, String nome) {
 		boolean filtroAtivo = Optional.ofNullable(ativo).orElse(true);
@@ -89,10 +99,15 @@ public class RegionalService {
 			throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "falha ao consultar integrador de regionais", ex);
 		}
 
-		Set<Integer> idsNoEndpoint = new HashSet<>();
+		List<Regional> ativos = regionalRepository.findByAtivoTrue();
+		Map<Integer, Regional> ativosPorIntegrador = new HashMap<>();
+		for (Regional r : ativos) {
+			ativosPorIntegrador.putIfAbsent(r.getIdIntegrador(), r);
+		}
 
-		int inseridos = 0;
-		int inativados = 0;
+		Set<Integer> idsNoEndpoint = new HashSet<>();
+		List<Regional> novas = new ArrayList<>();
+		List<Regional> paraInativar = new ArrayList<>();
 
 		for (RegionalIntegradorResponse item : integrador) {
 			if (item == null || item.getId() == null || item.getNome() == null) {
@@ -101,42 +116,36 @@ public class RegionalService {
 
 			Integer idIntegrador = item.getId();
 			String nome = item.getNome().trim();
-			idsNoEndpoint.add(idIntegrador);
+			if (!idsNoEndpoint.add(idIntegrador)) {
+				continue;
+			}
 
-			Optional<Regional> ativoAtual = regionalRepository.findFirstByIdIntegradorAndAtivoTrue(idIntegrador);
-			if (ativoAtual.isEmpty()) {
-				regionalRepository.save(novaRegionalAtiva(idIntegrador, nome));
-				inseridos++;
+			Regional existente = ativosPorIntegrador.get(idIntegrador);
+			if (existente == null) {
+				novas.add(novaRegionalAtiva(idIntegrador, nome));
 				continue;
 			}
 
-			Regional existente = ativoAtual.get();
 			if (!nome.equals(existente.getNome())) {
 				existente.setAtivo(false);
-				regionalRepository.save(existente);
-				inativados++;
-
-				regionalRepository.save(novaRegionalAtiva(idIntegrador, nome));
-				inseridos++;
+				paraInativar.add(existente);
+				novas.add(novaRegionalAtiva(idIntegrador, nome));
 			}
 		}
 
-		if (idsNoEndpoint.isEmpty()) {
-			List<Regional> ativos = regionalRepository.findByAtivoTrue();
-			for (Regional r : ativos) {
+		for (Regional r : ativos) {
+			if (r.isAtivo() && !idsNoEndpoint.contains(r.getIdIntegrador())) {
 				r.setAtivo(false);
+				paraInativar.add(r);
 			}
-			inativados += ativos.size();
-			regionalRepository.saveAll(ativos);
-		} else {
-			List<Regional> paraInativar = regionalRepository.findByAtivoTrueAndIdIntegradorNotIn(idsNoEndpoint);
-			for (Regional r : paraInativar) {
-				r.setAtivo(false);
-			}
-			inativados += paraInativar.size();
-			regionalRepository.saveAll(paraInativar);
 		}
 
+		regionalRepository.saveAll(paraInativar);
+		regionalRepository.saveAll(novas);
+
+		int inseridos = novas.size();
+		int inativados = paraInativar.size();
+
 		return new SincronizarRegionaisResponse(inseridos, inativados);
 	}
 
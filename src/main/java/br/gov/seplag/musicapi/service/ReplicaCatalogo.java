@@ -0,0 +1,383 @@
+package br.gov.seplag.musicapi.service;
+
+import br.gov.seplag.musicapi.api.v1.dto.AlbumResponse;
+import br.gov.seplag.musicapi.api.v1.dto.ArtistaResumoResponse;
+import br.gov.seplag.musicapi.domain.ArtistaTipo;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public final class ReplicaCatalogo {
+	private static final Comparator<ArtistaResumoResponse> ORDEM_ARTISTAS = Comparator.comparing(
+		ArtistaResumoResponse::getNome,
+		Comparator.nullsLast(String::compareToIgnoreCase)
+	);
+	private static final int[] SEM_ARTISTAS = new int[0];
+
+	private final MapaLongInt posicaoAlbum;
+	private final MapaLongInt posicaoArtista;
+	private final BitSet albunsAtivos = new BitSet();
+	private final Map<ArtistaTipo, BitSet> albunsPorTipo = new EnumMap<>(ArtistaTipo.class);
+	private final BitSet ordemPendente = new BitSet();
+
+	private long[] albumIds;
+	private String[] titulos;
+	private String[] titulosNormalizados;
+	private long[] versoes;
+	private int[][] artistasDoAlbum;
+	private int quantidadeAlbuns;
+
+	private long[] artistaIds;
+	private String[] artistaNomes;
+	private String[] artistaNomesNormalizados;
+	private ArtistaTipo[] artistaTipos;
+	private BitSet[] albunsDoArtista;
+	private int quantidadeArtistas;
+
+	private int[] ordemPorTitulo = new int[0];
+
+	public ReplicaCatalogo(int albunsEsperados, int artistasEsperados) {
+		int capacidadeAlbuns = Math.max(16, albunsEsperados);
+		int capacidadeArtistas = Math.max(16, artistasEsperados);
+		posicaoAlbum = new MapaLongInt(capacidadeAlbuns);
+		posicaoArtista = new MapaLongInt(capacidadeArtistas);
+		albumIds = new long[capacidadeAlbuns];
+		titulos = new String[capacidadeAlbuns];
+		titulosNormalizados = new String[capacidadeAlbuns];
+		versoes = new long[capacidadeAlbuns];
+		artistasDoAlbum = new int[capacidadeAlbuns][];
+		artistaIds = new long[capacidadeArtistas];
+		artistaNomes = new String[capacidadeArtistas];
+		artistaNomesNormalizados = new String[capacidadeArtistas];
+		artistaTipos = new ArtistaTipo[capacidadeArtistas];
+		albunsDoArtista = new BitSet[capacidadeArtistas];
+		for (ArtistaTipo tipo : ArtistaTipo.values()) {
+			albunsPorTipo.put(tipo, new BitSet());
+		}
+	}
+
+	public void salvarArtista(long id, String nome, ArtistaTipo tipo) {
+		salvarArtista(id, nome, NormalizadorTexto.normalizar(nome), tipo);
+	}
+
+	void salvarArtista(long id, String nome, String nomeNormalizado, ArtistaTipo tipo) {
+		int posicao = posicaoArtista.get(id);
+		if (posicao == MapaLongInt.AUSENTE) {
+			posicao = novaPosicaoArtista();
+			artistaIds[posicao] = id;
+			albunsDoArtista[posicao] = new BitSet();
+			posicaoArtista.put(id, posicao);
+		}
+		ArtistaTipo tipoAnterior = artistaTipos[posicao];
+		artistaNomes[posicao] = nome;
+		artistaNomesNormalizados[posicao] = nomeNormalizado;
+		artistaTipos[posicao] = tipo;
+		if (tipoAnterior != null && tipoAnterior != tipo) {
+			recalcularTipos(albunsDoArtista[posicao]);
+		}
+	}
+
+	public void removerArtista(long id) {
+		int posicao = posicaoArtista.get(id);
+		if (posicao == MapaLongInt.AUSENTE) {
+			return;
+		}
+		posicaoArtista.remove(id);
+		artistaNomes[posicao] = null;
+		artistaNomesNormalizados[posicao] = null;
+		artistaTipos[posicao] = null;
+		BitSet albuns = albunsDoArtista[posicao];
+		albunsDoArtista[posicao] = new BitSet();
+		for (int album = albuns.nextSetBit(0); album >= 0; album = albuns.nextSetBit(album + 1)) {
+			artistasDoAlbum[album] = semArtista(artistasDoAlbum[album], posicao);
+		}
+		recalcularTipos(albuns);
+	}
+
+	public void salvarAlbum(long id, String titulo, long versao, Collection<Long> idsArtistas) {
+		salvarAlbum(id, titulo, NormalizadorTexto.normalizar(titulo), versao, idsArtistas);
+	}
+
+	void salvarAlbum(long id, String titulo, String tituloNormalizado, long versao, Collection<Long> idsArtistas) {
+		int posicao = posicaoAlbum.get(id);
+		if (posicao == MapaLongInt.AUSENTE) {
+			posicao = novaPosicaoAlbum();
+			albumIds[posicao] = id;
+			posicaoAlbum.put(id, posicao);
+			albunsAtivos.set(posicao);
+		} else {
+			desvincular(posicao);
+		}
+		if (!titulo.equals(titulos[posicao])) {
+			ordemPendente.set(posicao);
+		}
+		titulos[posicao] = titulo;
+		titulosNormalizados[posicao] = tituloNormalizado;
+		versoes[posicao] = versao;
+
+		int[] artistas = new int[idsArtistas.size()];
+		int quantidade = 0;
+		for (Long artistaId : idsArtistas) {
+			int artista = posicaoArtista.get(artistaId);
+			if (artista != MapaLongInt.AUSENTE) {
+				artistas[quantidade++] = artista;
+				albunsDoArtista[artista].set(posicao);
+			}
+		}
+		artistasDoAlbum[posicao] = quantidade == 0 ? SEM_ARTISTAS : Arrays.copyOf(artistas, quantidade);
+		recalcularTipos(posicao);
+	}
+
+	public void removerAlbum(long id) {
+		int posicao = posicaoAlbum.get(id);
+		if (posicao == MapaLongInt.AUSENTE) {
+			return;
+		}
+		posicaoAlbum.remove(id);
+		desvincular(posicao);
+		albunsAtivos.clear(posicao);
+		for (BitSet albuns : albunsPorTipo.values()) {
+			albuns.clear(posicao);
+		}
+		artistasDoAlbum[posicao] = SEM_ARTISTAS;
+		titulos[posicao] = null;
+		titulosNormalizados[posicao] = null;
+		ordemPendente.set(posicao);
+	}
+
+	public void concluirAlteracoes() {
+		if (ordemPendente.isEmpty()) {
+			return;
+		}
+		int[] alterados = ordemPendente.stream().filter(albunsAtivos::get).toArray();
+		Integer[] alteradosOrdenados = Arrays.stream(alterados).boxed().sorted(this::compararTitulo).toArray(Integer[]::new);
+
+		int[] nova = new int[albunsAtivos.cardinality()];
+		int n = 0;
+		int j = 0;
+		for (int posicao : ordemPorTitulo) {
+			if (ordemPendente.get(posicao)) {
+				continue;
+			}
+			while (j < alteradosOrdenados.length && compararTitulo(alteradosOrdenados[j], posicao) < 0) {
+				nova[n++] = alteradosOrdenados[j++];
+			}
+			nova[n++] = posicao;
+		}
+		while (j < alteradosOrdenados.length) {
+			nova[n++] = alteradosOrdenados[j++];
+		}
+		ordemPorTitulo = nova;
+		ordemPendente.clear();
+	}
+
+	public Optional<AlbumResponse> buscarAlbum(long id) {
+		int posicao = posicaoAlbum.get(id);
+		return posicao == MapaLongInt.AUSENTE ? Optional.empty() : Optional.of(toResponse(posicao));
+	}
+
+	public Optional<Long> buscarVersao(long id) {
+		int posicao = posicaoAlbum.get(id);
+		return posicao == MapaLongInt.AUSENTE ? Optional.empty() : Optional.of(versoes[posicao]);
+	}
+
+	public Pagina listar(
+		String titulo,
+		String artistaNome,
+		Long artistaId,
+		boolean temCantor,
+		boolean temBanda,
+		boolean decrescente,
+		int pagina,
+		int tamanho
+	) {
+		BitSet filtro = (BitSet) albunsAtivos.clone();
+		if (temCantor) {
+			filtro.and(albunsPorTipo.get(ArtistaTipo.CANTOR));
+		}
+		if (temBanda) {
+			filtro.and(albunsPorTipo.get(ArtistaTipo.BANDA));
+		}
+		if (artistaId != null) {
+			int artista = posicaoArtista.get(artistaId);
+			if (artista == MapaLongInt.AUSENTE) {
+				filtro.clear();
+			} else {
+				filtro.and(albunsDoArtista[artista]);
+			}
+		}
+		if (artistaNome != null && !artistaNome.isEmpty()) {
+			BitSet porNome = new BitSet();
+			for (int artista = 0; artista < quantidadeArtistas; artista++) {
+				String nome = artistaNomesNormalizados[artista];
+				if (nome != null && nome.contains(artistaNome)) {
+					porNome.or(albunsDoArtista[artista]);
+				}
+			}
+			filtro.and(porNome);
+		}
+		if (titulo != null && !titulo.isEmpty()) {
+			for (int album = filtro.nextSetBit(0); album >= 0; album = filtro.nextSetBit(album + 1)) {
+				if (!titulosNormalizados[album].contains(titulo)) {
+					filtro.clear(album);
+				}
+			}
+		}
+
+		int total = filtro.cardinality();
+		long inicio = (long) pagina * tamanho;
+		List<AlbumResponse> conteudo = new ArrayList<>(Math.min(tamanho, Math.max(0, total)));
+		if (inicio < total) {
+			int ignorados = 0;
+			for (int i = 0; i < ordemPorTitulo.length && conteudo.size() < tamanho; i++) {
+				int album = ordemPorTitulo[decrescente ? ordemPorTitulo.length - 1 - i : i];
+				if (!filtro.get(album)) {
+					continue;
+				}
+				if (ignorados < inicio) {
+					ignorados++;
+					continue;
+				}
+				conteudo.add(toResponse(album));
+			}
+		}
+		return new Pagina(conteudo, total);
+	}
+
+	void percorrerArtistas(VisitanteArtista visitante) {
+		for (int artista = 0; artista < quantidadeArtistas; artista++) {
+			if (artistaTipos[artista] != null) {
+				visitante.visitar(artistaIds[artista], artistaNomes[artista], artistaNomesNormalizados[artista], artistaTipos[artista]);
+			}
+		}
+	}
+
+	void percorrerAlbuns(VisitanteAlbum visitante) {
+		for (int album = albunsAtivos.nextSetBit(0); album >= 0; album = albunsAtivos.nextSetBit(album + 1)) {
+			int[] artistas = artistasDoAlbum[album];
+			long[] ids = new long[artistas.length];
+			for (int i = 0; i < artistas.length; i++) {
+				ids[i] = artistaIds[artistas[i]];
+			}
+			visitante.visitar(albumIds[album], titulos[album], titulosNormalizados[album], versoes[album], ids);
+		}
+	}
+
+	public int quantidadeAlbuns() {
+		return posicaoAlbum.size();
+	}
+
+	public int quantidadeArtistas() {
+		return posicaoArtista.size();
+	}
+
+	private AlbumResponse toResponse(int album) {
+		int[] artistas = artistasDoAlbum[album];
+		List<ArtistaResumoResponse> resumos = new ArrayList<>(artistas.length);
+		for (int artista : artistas) {
+			resumos.add(new ArtistaResumoResponse(artistaIds[artista], artistaNomes[artista]));
+		}
+		resumos.sort(ORDEM_ARTISTAS);
+		return new AlbumResponse(albumIds[album], titulos[album], resumos);
+	}
+
+	private int compararTitulo(int a, int b) {
+		int comparacao = compararPontosDeCodigo(titulosNormalizados[a], titulosNormalizados[b]);
+		return comparacao != 0 ? comparacao : Long.compare(albumIds[a], albumIds[b]);
+	}
+
+	private static int compararPontosDeCodigo(String a, String b) {
+		int i = 0;
+		int j = 0;
+		while (i < a.length() && j < b.length()) {
+			int pontoA = a.codePointAt(i);
+			int pontoB = b.codePointAt(j);
+			if (pontoA != pontoB) {
+				return Integer.compare(pontoA, pontoB);
+			}
+			i += Character.charCount(pontoA);
+			j += Character.charCount(pontoB);
+		}
+		return Boolean.compare(i < a.length(), j < b.length());
+	}
+
+	private void desvincular(int album) {
+		int[] artistas = artistasDoAlbum[album];
+		if (artistas == null) {
+			return;
+		}
+		for (int artista : artistas) {
+			albunsDoArtista[artista].clear(album);
+		}
+	}
+
+	private void recalcularTipos(BitSet albuns) {
+		for (int album = albuns.nextSetBit(0); album >= 0; album = albuns.nextSetBit(album + 1)) {
+			recalcularTipos(album);
+		}
+	}
+
+	private void recalcularTipos(int album) {
+		for (BitSet albuns : albunsPorTipo.values()) {
+			albuns.clear(album);
+		}
+		for (int artista : artistasDoAlbum[album]) {
+			ArtistaTipo tipo = artistaTipos[artista];
+			if (tipo != null) {
+				albunsPorTipo.get(tipo).set(album);
+			}
+		}
+	}
+
+	private static int[] semArtista(int[] artistas, int artista) {
+		int[] restantes = new int[artistas.length];
+		int quantidade = 0;
+		for (int atual : artistas) {
+			if (atual != artista) {
+				restantes[quantidade++] = atual;
+			}
+		}
+		return quantidade == 0 ? SEM_ARTISTAS : Arrays.copyOf(restantes, quantidade);
+	}
+
+	private int novaPosicaoAlbum() {
+		if (quantidadeAlbuns == albumIds.length) {
+			int capacidade = albumIds.length * 2;
+			albumIds = Arrays.copyOf(albumIds, capacidade);
+			titulos = Arrays.copyOf(titulos, capacidade);
+			titulosNormalizados = Arrays.copyOf(titulosNormalizados, capacidade);
+			versoes = Arrays.copyOf(versoes, capacidade);
+			artistasDoAlbum = Arrays.copyOf(artistasDoAlbum, capacidade);
+		}
+		return quantidadeAlbuns++;
+	}
+
+	private int novaPosicaoArtista() {
+		if (quantidadeArtistas == artistaIds.length) {
+			int capacidade = artistaIds.length * 2;
+			artistaIds = Arrays.copyOf(artistaIds, capacidade);
+			artistaNomes = Arrays.copyOf(artistaNomes, capacidade);
+			artistaNomesNormalizados = Arrays.copyOf(artistaNomesNormalizados, capacidade);
+			artistaTipos = Arrays.copyOf(artistaTipos, capacidade);
+			albunsDoArtista = Arrays.copyOf(albunsDoArtista, capacidade);
+		}
+		return quantidadeArtistas++;
+	}
+
+	public record Pagina(List<AlbumResponse> conteudo, long total) {
+	}
+
+	interface VisitanteArtista {
+		void visitar(long id, String nome, String nomeNormalizado, ArtistaTipo tipo);
+	}
+
+	interface VisitanteAlbum {
+		void visitar(long id, String titulo, String tituloNormalizado, long versao, long[] artistaIds);
+	}
+}
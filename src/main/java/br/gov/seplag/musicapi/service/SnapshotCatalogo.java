@@ -0,0 +1,176 @@
+package br.gov.seplag.musicapi.service;
+
+import br.gov.seplag.musicapi.domain.ArtistaTipo;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+public final class SnapshotCatalogo {
+	private static final int ASSINATURA = 0x4D434154;
+	private static final int VERSAO_FORMATO = 1;
+	private static final int BYTES_CABECALHO = 32;
+	private static final ArtistaTipo[] TIPOS = ArtistaTipo.values();
+
+	private SnapshotCatalogo() {
+	}
+
+	public static byte[] serializar(ReplicaCatalogo replica, long marca, Instant geradoEm) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+			BYTES_CABECALHO + replica.quantidadeAlbuns() * 64 + replica.quantidadeArtistas() * 48
+		);
+		DataOutputStream saida = new DataOutputStream(bytes);
+		try {
+			saida.writeInt(ASSINATURA);
+			saida.writeInt(VERSAO_FORMATO);
+			saida.writeLong(marca);
+			saida.writeLong(geradoEm.toEpochMilli());
+			saida.writeInt(replica.quantidadeArtistas());
+			saida.writeInt(replica.quantidadeAlbuns());
+
+			replica.percorrerArtistas((id, nome, nomeNormalizado, tipo) -> escrever(() -> {
+				saida.writeLong(id);
+				saida.writeByte(tipo.ordinal());
+				escreverTexto(saida, nome);
+				escreverTexto(saida, nomeNormalizado);
+			}));
+			replica.percorrerAlbuns((id, titulo, tituloNormalizado, versao, artistaIds) -> escrever(() -> {
+				saida.writeLong(id);
+				saida.writeLong(versao);
+				escreverTexto(saida, titulo);
+				escreverTexto(saida, tituloNormalizado);
+				saida.writeInt(artistaIds.length);
+				for (long artistaId : artistaIds) {
+					saida.writeLong(artistaId);
+				}
+			}));
+
+			CRC32 crc = new CRC32();
+			crc.update(bytes.toByteArray());
+			saida.writeInt((int) crc.getValue());
+			saida.flush();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		return bytes.toByteArray();
+	}
+
+	public static void gravar(Path arquivo, byte[] conteudo) throws IOException {
+		Path diretorio = arquivo.toAbsolutePath().getParent();
+		Files.createDirectories(diretorio);
+		Path temporario = Files.createTempFile(diretorio, arquivo.getFileName().toString(), ".tmp");
+		try {
+			try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.WRITE)) {
+				ByteBuffer buffer = ByteBuffer.wrap(conteudo);
+				while (buffer.hasRemaining()) {
+					canal.write(buffer);
+				}
+				canal.force(true);
+			}
+			Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporario);
+		}
+	}
+
+	public static Optional<Carregado> carregar(Path arquivo) throws IOException {
+		try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+			long tamanho = canal.size();
+			if (tamanho < BYTES_CABECALHO + 4 || tamanho > Integer.MAX_VALUE) {
+				return Optional.empty();
+			}
+			MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+			return ler(buffer);
+		} catch (NoSuchFileException ex) {
+			return Optional.empty();
+		}
+	}
+
+	static Optional<Carregado> ler(ByteBuffer buffer) {
+		int limiteDados = buffer.limit() - 4;
+		CRC32 crc = new CRC32();
+		crc.update(buffer.slice(0, limiteDados));
+		if ((int) crc.getValue() != buffer.getInt(limiteDados)) {
+			return Optional.empty();
+		}
+
+		try {
+			ByteBuffer dados = buffer.slice(0, limiteDados);
+			if (dados.getInt() != ASSINATURA || dados.getInt() != VERSAO_FORMATO) {
+				return Optional.empty();
+			}
+			long marca = dados.getLong();
+			Instant geradoEm = Instant.ofEpochMilli(dados.getLong());
+			int quantidadeArtistas = dados.getInt();
+			int quantidadeAlbuns = dados.getInt();
+
+			ReplicaCatalogo replica = new ReplicaCatalogo(quantidadeAlbuns, quantidadeArtistas);
+			for (int i = 0; i < quantidadeArtistas; i++) {
+				long id = dados.getLong();
+				ArtistaTipo tipo = TIPOS[dados.get()];
+				replica.salvarArtista(id, lerTexto(dados), lerTexto(dados), tipo);
+			}
+			for (int i = 0; i < quantidadeAlbuns; i++) {
+				long id = dados.getLong();
+				long versao = dados.getLong();
+				String titulo = lerTexto(dados);
+				String tituloNormalizado = lerTexto(dados);
+				int quantidade = dados.getInt();
+				List<Long> artistaIds = new ArrayList<>(quantidade);
+				for (int j = 0; j < quantidade; j++) {
+					artistaIds.add(dados.getLong());
+				}
+				replica.salvarAlbum(id, titulo, tituloNormalizado, versao, artistaIds);
+			}
+			if (dados.hasRemaining()) {
+				return Optional.empty();
+			}
+			replica.concluirAlteracoes();
+			return Optional.of(new Carregado(replica, marca, geradoEm));
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | NegativeArraySizeException ex) {
+			return Optional.empty();
+		}
+	}
+
+	private static void escreverTexto(DataOutputStream saida, String texto) throws IOException {
+		byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+		saida.writeInt(bytes.length);
+		saida.write(bytes);
+	}
+
+	private static String lerTexto(ByteBuffer dados) {
+		byte[] bytes = new byte[dados.getInt()];
+		dados.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void escrever(Escrita escrita) {
+		try {
+			escrita.executar();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	public record Carregado(ReplicaCatalogo replica, long marca, Instant geradoEm) {
+	}
+
+	private interface Escrita {
+		void executar() throws IOException;
+	}
+}
@@ -0,0 +1,107 @@
+package br.gov.seplag.musicapi.service;
+
+import br.gov.seplag.musicapi.api.v1.dto.SugestaoResponse;
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository;
+import br.gov.seplag.musicapi.repository.SugestoesRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class SugestoesService {
+	private static final Logger logger = LoggerFactory.getLogger(SugestoesService.class);
+	private static final int LIMITE_MAXIMO = 50;
+
+	private final SugestoesRepository sugestoesRepository;
+	private final AcompanhamentoAlteracoes acompanhamento;
+
+	private volatile IndiceSugestoes artistas = IndiceSugestoes.VAZIO;
+	private volatile IndiceSugestoes albuns = IndiceSugestoes.VAZIO;
+
+	public SugestoesService(
+		SugestoesRepository sugestoesRepository,
+		CatalogoMemoriaRepository catalogoMemoriaRepository,
+		MeterRegistry meterRegistry,
+		@Value("${app.catalogo.alteracoes.margem:1m}") Duration margem
+	) {
+		this.sugestoesRepository = sugestoesRepository;
+		this.acompanhamento = new AcompanhamentoAlteracoes(catalogoMemoriaRepository, margem);
+		Gauge.builder("catalogo.sugestoes.nomes", this, s -> s.artistas.quantidade())
+			.tag("tipo", "artista")
+			.register(meterRegistry);
+		Gauge.builder("catalogo.sugestoes.nomes", this, s -> s.albuns.quantidade())
+			.tag("tipo", "album")
+			.register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void carregar() {
+		acompanhamento.reiniciar(() -> {
+			artistas = IndiceSugestoes.construir(sugestoesRepository.listarNomesArtistas());
+			albuns = IndiceSugestoes.construir(sugestoesRepository.listarTitulosAlbuns());
+		});
+	}
+
+	@Scheduled(fixedDelayString = "${app.catalogo.alteracoes.acompanhamento:5s}")
+	public void acompanharAlteracoes() {
+		try {
+			acompanhamento.acompanhar(alteracoes -> {
+				artistas = atualizar(artistas, alteracoes.artistaIds(), sugestoesRepository::buscarNomesArtistas);
+				albuns = atualizar(albuns, alteracoes.albumIds(), sugestoesRepository::buscarTitulosAlbuns);
+			});
+		} catch (DataAccessException ex) {
+			logger.warn("Falha ao acompanhar alterações do catálogo; as sugestões seguem com o índice atual", ex);
+		}
+	}
+
+	public List<SugestaoResponse> sugerirArtistas(String prefixo, int limite) {
+		return sugerir(artistas, prefixo, limite);
+	}
+
+	public List<SugestaoResponse> sugerirAlbuns(String prefixo, int limite) {
+		return sugerir(albuns, prefixo, limite);
+	}
+
+	private List<SugestaoResponse> sugerir(IndiceSugestoes indice, String prefixo, int limite) {
+		String prefixoNormalizado = NormalizadorTexto.normalizar(prefixo);
+		if (prefixoNormalizado == null || prefixoNormalizado.isEmpty()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "prefixo é obrigatório");
+		}
+		if (limite < 1 || limite > LIMITE_MAXIMO) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limite deve estar entre 1 e " + LIMITE_MAXIMO);
+		}
+		return indice.buscar(prefixoNormalizado, limite).stream()
+			.map(s -> new SugestaoResponse(s.id(), s.nome()))
+			.toList();
+	}
+
+	private IndiceSugestoes atualizar(
+		IndiceSugestoes indice,
+		Collection<Long> ids,
+		Function<Collection<Long>, Map<Long, String>> buscarNomes
+	) {
+		if (ids.isEmpty()) {
+			return indice;
+		}
+		Map<Long, String> atualizados = buscarNomes.apply(ids);
+		Set<Long> removidos = new HashSet<>(ids);
+		removidos.removeAll(atualizados.keySet());
+		return indice.atualizar(atualizados, removidos);
+	}
+}
@@ -0,0 +1,48 @@
+package br.gov.seplag.musicapi.service;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class Trigramas {
+	private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	private Trigramas() {
+	}
+
+	public static Set<String> extrair(String valor) {
+		Set<String> trigramas = new LinkedHashSet<>();
+		if (valor == null) {
+			return trigramas;
+		}
+		for (String palavra : SEPARADORES.split(valor.toLowerCase(Locale.ROOT))) {
+			if (palavra.isEmpty()) {
+				continue;
+			}
+			String ajustada = "  " + palavra + " ";
+			for (int i = 0; i + 3 <= ajustada.length(); i++) {
+				trigramas.add(ajustada.substring(i, i + 3));
+			}
+		}
+		return trigramas;
+	}
+
+	public static double similaridade(String a, String b) {
+		if (a == null || b == null) {
+			return 0;
+		}
+		Set<String> trigramasA = extrair(a);
+		Set<String> trigramasB = extrair(b);
+		if (trigramasA.isEmpty() || trigramasB.isEmpty()) {
+			return 0;
+		}
+		int comuns = 0;
+		for (String trigrama : trigramasA) {
+			if (trigramasB.contains(trigrama)) {
+				comuns++;
+			}
+		}
+		return (double) comuns / (trigramasA.size() + trigramasB.size() - comuns);
+	}
+}
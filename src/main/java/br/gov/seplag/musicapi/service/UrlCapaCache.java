@@ -0,0 +1,111 @@
+package br.gov.seplag.musicapi.service;
+
+import br.gov.seplag.musicapi.domain.TamanhoCapa;
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UrlCapaCache {
+	private static final Logger logger = LoggerFactory.getLogger(UrlCapaCache.class);
+
+	public static final String NOME_URLS = "urlsCapas";
+	public static final String NOME_CAPAS = "capasAlbum";
+
+	private final Cache<String, UrlAssinada> urls;
+	private final Cache<Long, List<ObjetoCapa>> capas;
+	private final Duration janela;
+	private final Duration validade;
+	private final AcompanhamentoAlteracoes acompanhamento;
+
+	public UrlCapaCache(
+		MeterRegistry meterRegistry,
+		CatalogoMemoriaRepository catalogoMemoriaRepository,
+		@Value("${app.capas.url.itens-maximos:50000}") long itensMaximos,
+		@Value("${app.capas.url.janela:20m}") Duration janela,
+		@Value("${app.capas.url.validade:30m}") Duration validade,
+		@Value("${app.catalogo.alteracoes.margem:1m}") Duration margem
+	) {
+		if (janela.compareTo(validade) >= 0) {
+			throw new IllegalArgumentException("app.capas.url.janela deve ser menor que app.capas.url.validade");
+		}
+		this.janela = janela;
+		this.validade = validade;
+		this.acompanhamento = new AcompanhamentoAlteracoes(catalogoMemoriaRepository, margem);
+		this.urls = Caffeine.newBuilder()
+			.maximumSize(itensMaximos)
+			.expireAfterWrite(janela)
+			.recordStats()
+			.build();
+		this.capas = Caffeine.newBuilder()
+			.maximumSize(itensMaximos)
+			.expireAfterWrite(janela)
+			.recordStats()
+			.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, urls, NOME_URLS);
+		CaffeineCacheMetrics.monitor(meterRegistry, capas, NOME_CAPAS);
+	}
+
+	public Duration validade() {
+		return validade;
+	}
+
+	public List<ObjetoCapa> obterCapas(Long albumId, Supplier<List<ObjetoCapa>> carregar) {
+		return capas.get(albumId, ignorado -> List.copyOf(carregar.get()));
+	}
+
+	public List<ObjetoCapa> capasEmCache(Long albumId) {
+		return capas.getIfPresent(albumId);
+	}
+
+	public long janelaAtual() {
+		return System.currentTimeMillis() / janela.toMillis();
+	}
+
+	public String obterUrl(ObjetoCapa capa, TamanhoCapa tamanho, BiFunction<String, String, String> assinar) {
+		String objeto = capa.objeto(tamanho);
+		long janelaAtual = janelaAtual();
+		UrlAssinada atual = urls.getIfPresent(objeto);
+		if (atual != null && atual.janela() == janelaAtual) {
+			return atual.url();
+		}
+		String url = assinar.apply(capa.bucket(), objeto);
+		urls.put(objeto, new UrlAssinada(url, janelaAtual));
+		return url;
+	}
+
+	public void removerAlbum(Long albumId) {
+		capas.invalidate(albumId);
+	}
+
+	@Scheduled(fixedDelayString = "${app.catalogo.alteracoes.acompanhamento:5s}")
+	public void acompanharAlteracoes() {
+		try {
+			acompanhamento.acompanhar(alteracoes -> capas.invalidateAll(alteracoes.albumIds()));
+		} catch (DataAccessException ex) {
+			logger.warn("Falha ao acompanhar alterações do catálogo; as capas em cache seguem até expirar", ex);
+		}
+	}
+
+	public record ObjetoCapa(Long id, Long albumId, String bucket, String objeto, Map<TamanhoCapa, String> variantes) {
+		public String objeto(TamanhoCapa tamanho) {
+			return variantes.getOrDefault(tamanho, objeto);
+		}
+	}
+
+	private record UrlAssinada(String url, long janela) {
+	}
+}
@@ -0,0 +1,210 @@
+package br.gov.seplag.musicapi.service;
+
+import br.gov.seplag.musicapi.domain.CapaAlbum;
+import br.gov.seplag.musicapi.domain.SituacaoCapa;
+import br.gov.seplag.musicapi.domain.SituacaoVariantes;
+import br.gov.seplag.musicapi.domain.VarianteCapa;
+import br.gov.seplag.musicapi.repository.CapaAlbumRepository;
+import br.gov.seplag.musicapi.repository.VarianteCapaRepository;
+import br.gov.seplag.musicapi.service.GeradorVariantesCapa.ImagemNaoSuportadaException;
+import br.gov.seplag.musicapi.service.GeradorVariantesCapa.Resultado;
+import br.gov.seplag.musicapi.service.GeradorVariantesCapa.Variante;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.minio.GetObjectArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.IIOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class VariantesCapaService {
+	private static final Logger logger = LoggerFactory.getLogger(VariantesCapaService.class);
+
+	private final CapaAlbumRepository capaAlbumRepository;
+	private final VarianteCapaRepository varianteCapaRepository;
+	private final UrlCapaCache urlCapaCache;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate transactionTemplate;
+	private final MinioClient minioClient;
+	private final GeradorVariantesCapa gerador;
+	private final ThreadPoolExecutor executor;
+	private final Set<Long> emAndamento = ConcurrentHashMap.newKeySet();
+	private final Counter adiadas;
+
+	public VariantesCapaService(
+		CapaAlbumRepository capaAlbumRepository,
+		VarianteCapaRepository varianteCapaRepository,
+		UrlCapaCache urlCapaCache,
+		ApplicationEventPublisher eventPublisher,
+		PlatformTransactionManager transactionManager,
+		MinioClient minioClient,
+		MeterRegistry meterRegistry,
+		@Value("${app.capas.variantes.threads:2}") int threads,
+		@Value("${app.capas.variantes.fila:100}") int fila,
+		@Value("${app.capas.variantes.pixels-maximos:40000000}") long pixelsMaximos
+	) {
+		this.capaAlbumRepository = capaAlbumRepository;
+		this.varianteCapaRepository = varianteCapaRepository;
+		this.urlCapaCache = urlCapaCache;
+		this.eventPublisher = eventPublisher;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.minioClient = minioClient;
+		this.gerador = new GeradorVariantesCapa(pixelsMaximos);
+		this.executor = new ThreadPoolExecutor(
+			threads,
+			threads,
+			0,
+			TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(fila),
+			Thread.ofPlatform().name("variantes-capa-", 1).factory(),
+			new ThreadPoolExecutor.AbortPolicy()
+		);
+		this.adiadas = Counter.builder("capas.variantes.adiadas").register(meterRegistry);
+		Gauge.builder("capas.variantes.fila", executor, e -> e.getQueue().size()).register(meterRegistry);
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdownNow();
+	}
+
+	public void agendar(List<CapaAlbum> capas) {
+		for (CapaAlbum capa : capas) {
+			if (!enfileirar(capa)) {
+				adiadas.increment();
+				logger.debug("Fila de variantes cheia; capa {} fica para a próxima varredura", capa.getId());
+			}
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.capas.variantes.varredura:1m}")
+	public void retomarPendentes() {
+		int vagas = executor.getQueue().remainingCapacity();
+		if (vagas == 0) {
+			return;
+		}
+		try {
+			List<CapaAlbum> pendentes = capaAlbumRepository.findBySituacaoAndSituacaoVariantesOrderByIdAsc(
+				SituacaoCapa.CONFIRMADA,
+				SituacaoVariantes.PENDENTE,
+				Limit.of(vagas + emAndamento.size())
+			);
+			for (CapaAlbum capa : pendentes) {
+				if (!emAndamento.contains(capa.getId()) && !enfileirar(capa)) {
+					break;
+				}
+			}
+		} catch (DataAccessException ex) {
+			logger.warn("Falha ao buscar capas com variantes pendentes", ex);
+		}
+	}
+
+	private boolean enfileirar(CapaAlbum capa) {
+		Tarefa tarefa = new Tarefa(capa.getId(), capa.getAlbumId(), capa.getBucket(), capa.getObjeto());
+		if (!emAndamento.add(tarefa.capaId())) {
+			return true;
+		}
+		try {
+			executor.execute(() -> processar(tarefa));
+			return true;
+		} catch (RejectedExecutionException ex) {
+			emAndamento.remove(tarefa.capaId());
+			return false;
+		}
+	}
+
+	private void processar(Tarefa tarefa) {
+		try {
+			Resultado resultado;
+			try (InputStream entrada = minioClient.getObject(
+				GetObjectArgs.builder().bucket(tarefa.bucket()).object(tarefa.objeto()).build()
+			)) {
+				resultado = gerador.gerar(entrada);
+			}
+
+			List<VarianteCapa> variantes = new ArrayList<>(resultado.variantes().size());
+			for (Variante variante : resultado.variantes()) {
+				String objeto = objetoDaVariante(tarefa.objeto(), variante);
+				minioClient.putObject(
+					PutObjectArgs.builder()
+						.bucket(tarefa.bucket())
+						.object(objeto)
+						.stream(new ByteArrayInputStream(variante.bytes()), variante.bytes().length, -1)
+						.contentType(variante.contentType())
+						.build()
+				);
+				VarianteCapa registro = new VarianteCapa();
+				registro.setCapaId(tarefa.capaId());
+				registro.setTamanho(variante.tamanho());
+				registro.setObjeto(objeto);
+				registro.setContentType(variante.contentType());
+				registro.setLargura(variante.largura());
+				registro.setAltura(variante.altura());
+				registro.setBytes((long) variante.bytes().length);
+				variantes.add(registro);
+			}
+
+			transactionTemplate.executeWithoutResult(status -> {
+				varianteCapaRepository.saveAll(variantes);
+				capaAlbumRepository.registrarVariantes(
+					tarefa.capaId(),
+					SituacaoVariantes.GERADAS,
+					resultado.largura(),
+					resultado.altura()
+				);
+				eventPublisher.publishEvent(CatalogoAlteradoEvent.deAlbum(tarefa.albumId(), List.of()));
+			});
+			urlCapaCache.removerAlbum(tarefa.albumId());
+		} catch (ImagemNaoSuportadaException | IIOException ex) {
+			logger.info("Capa {} sem variantes: {}", tarefa.capaId(), ex.getMessage());
+			marcarFalha(tarefa);
+		} catch (Exception ex) {
+			logger.warn("Falha ao gerar variantes da capa {}; a varredura tenta novamente", tarefa.capaId(), ex);
+		} finally {
+			emAndamento.remove(tarefa.capaId());
+		}
+	}
+
+	private void marcarFalha(Tarefa tarefa) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				capaAlbumRepository.registrarVariantes(tarefa.capaId(), SituacaoVariantes.FALHA, null, null);
+				eventPublisher.publishEvent(CatalogoAlteradoEvent.deAlbum(tarefa.albumId(), List.of()));
+			});
+		} catch (DataAccessException ex) {
+			logger.warn("Falha ao registrar capa {} sem variantes", tarefa.capaId(), ex);
+		}
+	}
+
+	private static String objetoDaVariante(String objeto, Variante variante) {
+		int ponto = objeto.lastIndexOf('.');
+		String base = ponto > objeto.lastIndexOf('/') ? objeto.substring(0, ponto) : objeto;
+		return base + "-" + variante.tamanho().name().toLowerCase(Locale.ROOT) + "." + variante.extensao();
+	}
+
+	private record Tarefa(Long capaId, Long albumId, String bucket, String objeto) {
+	}
+}
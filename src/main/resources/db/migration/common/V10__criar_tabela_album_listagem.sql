@@ -0,0 +1,11 @@
+CREATE TABLE album_listagem (
+	album_id BIGINT PRIMARY KEY,
+	titulo VARCHAR(200) NOT NULL,
+	titulo_normalizado VARCHAR(200) NOT NULL,
+	tem_cantor BOOLEAN NOT NULL DEFAULT FALSE,
+	tem_banda BOOLEAN NOT NULL DEFAULT FALSE,
+	quantidade_artistas INTEGER NOT NULL DEFAULT 0,
+	CONSTRAINT fk_album_listagem_album FOREIGN KEY (album_id) REFERENCES album (id) ON DELETE CASCADE
+);
+
+CREATE INDEX ix_album_listagem_titulo ON album_listagem (titulo, album_id);
@@ -0,0 +1,3 @@
+ALTER TABLE album ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE artista ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
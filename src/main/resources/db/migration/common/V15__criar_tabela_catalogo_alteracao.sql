@@ -0,0 +1,8 @@
+CREATE TABLE catalogo_alteracao (
+	id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	album_id BIGINT,
+	artista_id BIGINT,
+	registrado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX ix_catalogo_alteracao_registrado_em ON catalogo_alteracao (registrado_em);
@@ -0,0 +1,7 @@
+ALTER TABLE artista ADD COLUMN quantidade_albuns INTEGER NOT NULL DEFAULT 0;
+
+UPDATE artista SET quantidade_albuns = (
+	SELECT COUNT(*) FROM artista_album aa WHERE aa.artista_id = artista.id
+);
+
+CREATE INDEX ix_artista_quantidade_albuns ON artista (quantidade_albuns, id);
@@ -0,0 +1,3 @@
+CREATE INDEX ix_artista_album_album_id_artista_id ON artista_album (album_id, artista_id);
+
+CREATE INDEX ix_artista_tipo_id ON artista (tipo, id);
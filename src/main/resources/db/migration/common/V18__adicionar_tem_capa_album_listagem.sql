@@ -0,0 +1,4 @@
+ALTER TABLE album_listagem ADD COLUMN tem_capa BOOLEAN NOT NULL DEFAULT FALSE;
+
+UPDATE album_listagem SET tem_capa = TRUE
+WHERE EXISTS (SELECT 1 FROM album_capa c WHERE c.album_id = album_listagem.album_id);
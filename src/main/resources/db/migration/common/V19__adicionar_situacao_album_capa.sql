@@ -0,0 +1,3 @@
+ALTER TABLE album_capa ADD COLUMN situacao VARCHAR(20) NOT NULL DEFAULT 'CONFIRMADA';
+
+CREATE INDEX ix_album_capa_situacao_criado_em ON album_capa (situacao, criado_em);
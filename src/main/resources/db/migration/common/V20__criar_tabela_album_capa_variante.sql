@@ -0,0 +1,20 @@
+ALTER TABLE album_capa ADD COLUMN largura INTEGER;
+ALTER TABLE album_capa ADD COLUMN altura INTEGER;
+ALTER TABLE album_capa ADD COLUMN situacao_variantes VARCHAR(20) NOT NULL DEFAULT 'PENDENTE';
+
+CREATE INDEX ix_album_capa_situacao_variantes ON album_capa (situacao, situacao_variantes, id);
+
+CREATE SEQUENCE album_capa_variante_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE album_capa_variante (
+	id BIGINT DEFAULT nextval('album_capa_variante_seq') PRIMARY KEY,
+	capa_id BIGINT NOT NULL,
+	tamanho VARCHAR(20) NOT NULL,
+	objeto VARCHAR(500) NOT NULL,
+	content_type VARCHAR(100) NOT NULL,
+	largura INTEGER NOT NULL,
+	altura INTEGER NOT NULL,
+	bytes BIGINT NOT NULL,
+	CONSTRAINT fk_album_capa_variante_capa FOREIGN KEY (capa_id) REFERENCES album_capa (id) ON DELETE CASCADE,
+	CONSTRAINT ux_album_capa_variante_capa_tamanho UNIQUE (capa_id, tamanho)
+);
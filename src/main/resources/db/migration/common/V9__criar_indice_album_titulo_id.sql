@@ -0,0 +1,3 @@
+CREATE INDEX ix_album_titulo_id ON album (titulo, id);
+
+DROP INDEX IF EXISTS ix_album_titulo;
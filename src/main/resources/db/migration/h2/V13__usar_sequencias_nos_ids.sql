@@ -0,0 +1,29 @@
+CREATE SEQUENCE artista_seq INCREMENT BY 50;
+ALTER SEQUENCE artista_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM artista);
+ALTER TABLE artista ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE artista ALTER COLUMN id SET DEFAULT NEXT VALUE FOR artista_seq;
+
+CREATE SEQUENCE album_seq INCREMENT BY 50;
+ALTER SEQUENCE album_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM album);
+ALTER TABLE album ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE album ALTER COLUMN id SET DEFAULT NEXT VALUE FOR album_seq;
+
+CREATE SEQUENCE usuario_seq INCREMENT BY 50;
+ALTER SEQUENCE usuario_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM usuario);
+ALTER TABLE usuario ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE usuario ALTER COLUMN id SET DEFAULT NEXT VALUE FOR usuario_seq;
+
+CREATE SEQUENCE refresh_token_seq INCREMENT BY 50;
+ALTER SEQUENCE refresh_token_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM refresh_token);
+ALTER TABLE refresh_token ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE refresh_token ALTER COLUMN id SET DEFAULT NEXT VALUE FOR refresh_token_seq;
+
+CREATE SEQUENCE album_capa_seq INCREMENT BY 50;
+ALTER SEQUENCE album_capa_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM album_capa);
+ALTER TABLE album_capa ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE album_capa ALTER COLUMN id SET DEFAULT NEXT VALUE FOR album_capa_seq;
+
+CREATE SEQUENCE regional_seq INCREMENT BY 50;
+ALTER SEQUENCE regional_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM regional);
+ALTER TABLE regional ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE regional ALTER COLUMN id SET DEFAULT NEXT VALUE FOR regional_seq;
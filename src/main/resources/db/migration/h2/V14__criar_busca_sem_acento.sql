@@ -0,0 +1,3 @@
+ALTER TABLE artista ADD COLUMN nome_normalizado VARCHAR(200);
+
+CREATE ALIAS IF NOT EXISTS similarity DETERMINISTIC FOR 'br.gov.seplag.musicapi.repository.FuncoesBuscaH2.similaridade';
@@ -0,0 +1,3 @@
+CREATE INDEX ix_album_listagem_titulo_normalizado ON album_listagem (titulo_normalizado, album_id);
+
+DROP INDEX ix_album_listagem_titulo;
@@ -0,0 +1,35 @@
+CREATE SEQUENCE artista_seq INCREMENT BY 50;
+SELECT setval('artista_seq', COALESCE((SELECT MAX(id) FROM artista), 0) + 1, false);
+ALTER TABLE artista ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE artista ALTER COLUMN id SET DEFAULT nextval('artista_seq');
+ALTER SEQUENCE artista_seq OWNED BY artista.id;
+
+CREATE SEQUENCE album_seq INCREMENT BY 50;
+SELECT setval('album_seq', COALESCE((SELECT MAX(id) FROM album), 0) + 1, false);
+ALTER TABLE album ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE album ALTER COLUMN id SET DEFAULT nextval('album_seq');
+ALTER SEQUENCE album_seq OWNED BY album.id;
+
+CREATE SEQUENCE usuario_seq INCREMENT BY 50;
+SELECT setval('usuario_seq', COALESCE((SELECT MAX(id) FROM usuario), 0) + 1, false);
+ALTER TABLE usuario ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE usuario ALTER COLUMN id SET DEFAULT nextval('usuario_seq');
+ALTER SEQUENCE usuario_seq OWNED BY usuario.id;
+
+CREATE SEQUENCE refresh_token_seq INCREMENT BY 50;
+SELECT setval('refresh_token_seq', COALESCE((SELECT MAX(id) FROM refresh_token), 0) + 1, false);
+ALTER TABLE refresh_token ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE refresh_token ALTER COLUMN id SET DEFAULT nextval('refresh_token_seq');
+ALTER SEQUENCE refresh_token_seq OWNED BY refresh_token.id;
+
+CREATE SEQUENCE album_capa_seq INCREMENT BY 50;
+SELECT setval('album_capa_seq', COALESCE((SELECT MAX(id) FROM album_capa), 0) + 1, false);
+ALTER TABLE album_capa ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE album_capa ALTER COLUMN id SET DEFAULT nextval('album_capa_seq');
+ALTER SEQUENCE album_capa_seq OWNED BY album_capa.id;
+
+CREATE SEQUENCE regional_seq INCREMENT BY 50;
+SELECT setval('regional_seq', COALESCE((SELECT MAX(id) FROM regional), 0) + 1, false);
+ALTER TABLE regional ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE regional ALTER COLUMN id SET DEFAULT nextval('regional_seq');
+ALTER SEQUENCE regional_seq OWNED BY regional.id;
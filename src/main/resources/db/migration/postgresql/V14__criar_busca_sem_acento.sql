@@ -0,0 +1,6 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE artista ADD COLUMN nome_normalizado VARCHAR(200);
+
+CREATE INDEX ix_artista_nome_normalizado_trgm ON artista USING gin (nome_normalizado gin_trgm_ops);
+CREATE INDEX ix_album_listagem_titulo_normalizado_trgm ON album_listagem USING gin (titulo_normalizado gin_trgm_ops);
@@ -0,0 +1,5 @@
+ALTER TABLE album_listagem ALTER COLUMN titulo_normalizado TYPE VARCHAR(200) COLLATE "C";
+
+CREATE INDEX ix_album_listagem_titulo_normalizado ON album_listagem (titulo_normalizado, album_id);
+
+DROP INDEX ix_album_listagem_titulo;
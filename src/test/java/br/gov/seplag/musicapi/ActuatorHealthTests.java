@@ -1,5 +1,6 @@
 package br.gov.seplag.musicapi;
 
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -50,5 +51,30 @@ class ActuatorHealthTests {
 		mockMvc.perform(get("/swagger-ui/index.html"))
 			.andExpect(status().isOk());
 	}
-}
 
+	@Test
+	void cachesExigeAutenticacao() throws Exception {
+		mockMvc.perform(get("/actuator/caches"))
+			.andExpect(status().isUnauthorized());
+
+		mockMvc.perform(get("/actuator/caches").with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.cacheManagers.cacheManager.caches.albuns").exists())
+			.andExpect(jsonPath("$.cacheManagers.cacheManager.caches.artistas").exists());
+	}
+
+	@Test
+	void metricasDeCacheExpostas() throws Exception {
+		mockMvc.perform(get("/actuator/metrics/cache.gets").with(jwt()).param("tag", "cache:albuns"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.name").value("cache.gets"));
+	}
+
+	@Test
+	void memoriaDoIndiceDeArtistasSimilaresExposta() throws Exception {
+		mockMvc.perform(get("/actuator/metrics/catalogo.similares.memoria").with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.baseUnit").value("bytes"))
+			.andExpect(jsonPath("$.measurements[0].value").isNumber());
+	}
+}
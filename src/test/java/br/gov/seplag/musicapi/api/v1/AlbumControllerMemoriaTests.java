@@ -0,0 +1,256 @@
+package br.gov.seplag.musicapi.api.v1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import br.gov.seplag.musicapi.api.v1.dto.AlbumResponse;
+import br.gov.seplag.musicapi.domain.AlbumListagem;
+import br.gov.seplag.musicapi.repository.AlbumListagemRepository;
+import br.gov.seplag.musicapi.repository.AlbumRepository;
+import br.gov.seplag.musicapi.repository.ArtistaRepository;
+import br.gov.seplag.musicapi.repository.CapaAlbumRepository;
+import br.gov.seplag.musicapi.repository.FiltroAlbuns;
+import br.gov.seplag.musicapi.service.CatalogoMemoriaService;
+import com.jayway.jsonpath.JsonPath;
+import io.minio.MinioClient;
+import jakarta.persistence.EntityManagerFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = {
+	"app.ratelimit.enabled=false",
+	"spring.profiles.active=local",
+	"spring.jpa.properties.hibernate.generate_statistics=true",
+	"app.catalogo.memoria.enabled=true",
+	"app.catalogo.snapshot.arquivo=target/album-controller-memoria-tests.snapshot",
+	"app.catalogo.alteracoes.margem=0s"
+})
+@AutoConfigureMockMvc
+class AlbumControllerMemoriaTests {
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ArtistaRepository artistaRepository;
+
+	@Autowired
+	private AlbumRepository albumRepository;
+
+	@Autowired
+	private AlbumListagemRepository albumListagemRepository;
+
+	@Autowired
+	private CapaAlbumRepository capaAlbumRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private CatalogoMemoriaService catalogoMemoriaService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@MockBean
+	private MinioClient minioClient;
+
+	@MockBean
+	private SimpMessagingTemplate messagingTemplate;
+
+	@BeforeEach
+	void setup() throws Exception {
+		Files.deleteIfExists(Path.of("target/album-controller-memoria-tests.snapshot"));
+		jdbcTemplate.update("delete from catalogo_alteracao");
+		capaAlbumRepository.deleteAll();
+		jdbcTemplate.update("delete from artista_album");
+		albumRepository.deleteAll();
+		artistaRepository.deleteAll();
+		cacheManager.getCache("albuns").clear();
+		catalogoMemoriaService.recarregar();
+	}
+
+	@Test
+	void listaEFiltraAlbunsPelaReplicaEmMemoria() throws Exception {
+		long banda = criarArtista("{\"nome\":\"Linkin Park\",\"tipo\":\"BANDA\"}");
+		long cantor = criarArtista("{\"nome\":\"Mike Shinoda\",\"tipo\":\"CANTOR\"}");
+		criarAlbum("{\"titulo\":\"Meteora\",\"artistaIds\":[" + banda + "," + cantor + "]}");
+		criarAlbum("{\"titulo\":\"Hybrid Theory\",\"artistaIds\":[" + banda + "]}");
+		criarAlbum("{\"titulo\":\"Post Traumatic\",\"artistaIds\":[" + cantor + "]}");
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("temBanda", "true"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.totalElements").value(2))
+			.andExpect(jsonPath("$.content[0].titulo").value("Hybrid Theory"))
+			.andExpect(jsonPath("$.content[1].titulo").value("Meteora"));
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("temCantor", "true").param("temBanda", "true"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.totalElements").value(1))
+			.andExpect(jsonPath("$.content[0].titulo").value("Meteora"))
+			.andExpect(jsonPath("$.content[0].artistas[0].nome").value("Linkin Park"))
+			.andExpect(jsonPath("$.content[0].artistas[1].nome").value("Mike Shinoda"));
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("artistaId", String.valueOf(cantor)).param("ordem", "desc"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.totalElements").value(2))
+			.andExpect(jsonPath("$.content[0].titulo").value("Post Traumatic"))
+			.andExpect(jsonPath("$.content[1].titulo").value("Meteora"));
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("titulo", "eo").param("tamanho", "1"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.totalElements").value(2))
+			.andExpect(jsonPath("$.totalPages").value(2))
+			.andExpect(jsonPath("$.content[0].titulo").value("Hybrid Theory"));
+	}
+
+	@Test
+	void replicaOrdenaPaginasComoOBanco() throws Exception {
+		for (String titulo : List.of("Zeta", "Água Viva", "abc", "A B", "Ábaco", "AB", "agua viva", "A-C", "Azul", "zeta")) {
+			criarAlbum("{\"titulo\":\"" + titulo + "\"}");
+		}
+
+		for (Direction direcao : Direction.values()) {
+			Sort ordem = Sort.by(direcao, "titulo").and(Sort.by(direcao, "albumId"));
+			for (int pagina = 0; pagina < 3; pagina++) {
+				Pageable pageable = PageRequest.of(pagina, 4, ordem);
+				List<Long> memoria = catalogoMemoriaService.listar("", "", null, false, false, pageable).orElseThrow()
+					.map(AlbumResponse::getId)
+					.getContent();
+				List<Long> banco = albumListagemRepository.buscar(new FiltroAlbuns("", "", null, false, false), pageable)
+					.map(AlbumListagem::getAlbumId)
+					.getContent();
+				assertThat(memoria).isEqualTo(banco);
+			}
+		}
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("tamanho", "5"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content[0].titulo").value("A B"))
+			.andExpect(jsonPath("$.content[1].titulo").value("A-C"))
+			.andExpect(jsonPath("$.content[2].titulo").value("AB"))
+			.andExpect(jsonPath("$.content[3].titulo").value("Ábaco"))
+			.andExpect(jsonPath("$.content[4].titulo").value("abc"));
+	}
+
+	@Test
+	void escritasConfirmadasAtualizamReplica() throws Exception {
+		long artista = criarArtista("{\"nome\":\"Pitty\",\"tipo\":\"CANTOR\"}");
+		long album = criarAlbum("{\"titulo\":\"Admirável Chip Novo\",\"artistaIds\":[" + artista + "]}");
+
+		mockMvc.perform(put("/v1/artistas/" + artista)
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"Pitty\",\"tipo\":\"BANDA\"}"))
+			.andExpect(status().isOk());
+		mockMvc.perform(put("/v1/albuns/" + album)
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"titulo\":\"Anacrônico\"}"))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("temBanda", "true"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.totalElements").value(1))
+			.andExpect(jsonPath("$.content[0].titulo").value("Anacrônico"));
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("temCantor", "true"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.totalElements").value(0));
+		mockMvc.perform(get("/v1/albuns/" + album).with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.titulo").value("Anacrônico"));
+	}
+
+	@Test
+	void leiturasEmMemoriaNaoConsultamTabelasDoCatalogo() throws Exception {
+		long artista = criarArtista("{\"nome\":\"Serj Tankian\",\"tipo\":\"CANTOR\"}");
+		long album = criarAlbum("{\"titulo\":\"Harakiri\",\"artistaIds\":[" + artista + "]}");
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		mockMvc.perform(get("/v1/albuns/" + album).with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.artistas[0].nome").value("Serj Tankian"));
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+
+		statistics.clear();
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("temCantor", "true"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content[0].titulo").value("Harakiri"));
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+
+		mockMvc.perform(get("/v1/albuns/" + (album + 1000)).with(jwt()))
+			.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void iniciaPeloSnapshotEReaplicaSoAlteracoesPosteriores() throws Exception {
+		long artista = criarArtista("{\"nome\":\"Pitty\",\"tipo\":\"CANTOR\"}");
+		long album = criarAlbum("{\"titulo\":\"Admirável Chip Novo\",\"artistaIds\":[" + artista + "]}");
+		catalogoMemoriaService.acompanharAlteracoes();
+		catalogoMemoriaService.gravarSnapshot();
+		assertThat(Path.of("target/album-controller-memoria-tests.snapshot")).exists();
+
+		jdbcTemplate.update("update album set titulo = 'Alterado Fora do Log' where id = ?", album);
+		criarAlbum("{\"titulo\":\"Anacrônico\",\"artistaIds\":[" + artista + "]}");
+
+		catalogoMemoriaService.carregarAoIniciar();
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("artistaId", String.valueOf(artista)))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.totalElements").value(2))
+			.andExpect(jsonPath("$.content[0].titulo").value("Admirável Chip Novo"))
+			.andExpect(jsonPath("$.content[1].titulo").value("Anacrônico"));
+
+		catalogoMemoriaService.recarregar();
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("artistaId", String.valueOf(artista)))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content[0].titulo").value("Alterado Fora do Log"));
+	}
+
+	private long criarArtista(String corpo) throws Exception {
+		String resposta = mockMvc.perform(post("/v1/artistas")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(corpo))
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getContentAsString();
+		return ((Number) JsonPath.read(resposta, "$.id")).longValue();
+	}
+
+	private long criarAlbum(String corpo) throws Exception {
+		String resposta = mockMvc.perform(post("/v1/albuns")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(corpo))
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getContentAsString();
+		return ((Number) JsonPath.read(resposta, "$.id")).longValue();
+	}
+}
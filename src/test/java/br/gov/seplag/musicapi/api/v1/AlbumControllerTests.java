@@ -1,19 +1,48 @@
 package br.gov.seplag.musicapi.api.v1;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 
+import br.gov.seplag.musicapi.domain.Album;
+import br.gov.seplag.musicapi.domain.Artista;
+import br.gov.seplag.musicapi.domain.ArtistaTipo;
+import br.gov.seplag.musicapi.domain.CapaAlbum;
+import br.gov.seplag.musicapi.domain.SituacaoCapa;
+import br.gov.seplag.musicapi.domain.SituacaoVariantes;
+import br.gov.seplag.musicapi.domain.VarianteCapa;
 import br.gov.seplag.musicapi.repository.AlbumRepository;
+import br.gov.seplag.musicapi.repository.ArtistaAlbumRepository;
+import br.gov.seplag.musicapi.repository.ArtistaAlbumRepository.Vinculo;
 import br.gov.seplag.musicapi.repository.ArtistaRepository;
 import br.gov.seplag.musicapi.repository.CapaAlbumRepository;
+import br.gov.seplag.musicapi.repository.VarianteCapaRepository;
+import br.gov.seplag.musicapi.service.AlbumListagemService;
+import br.gov.seplag.musicapi.service.GrafoColaboracaoService;
+import br.gov.seplag.musicapi.service.SugestoesService;
+import io.minio.GetObjectResponse;
+import io.minio.GetPresignedObjectUrlArgs;
 import io.minio.MinioClient;
 import io.minio.ObjectWriteResponse;
+import jakarta.persistence.EntityManagerFactory;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
+import javax.imageio.ImageIO;
+import okhttp3.Headers;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -21,13 +50,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
-@SpringBootTest(properties = { "app.ratelimit.enabled=false", "spring.profiles.active=local" })
+@SpringBootTest(properties = {
+	"app.ratelimit.enabled=false",
+	"spring.profiles.active=local",
+	"spring.jpa.properties.hibernate.generate_statistics=true"
+})
 @AutoConfigureMockMvc
 class AlbumControllerTests {
 	@Autowired
@@ -36,15 +71,33 @@ class AlbumControllerTests {
 	@Autowired
 	private ArtistaRepository artistaRepository;
 
+	@Autowired
+	private ArtistaAlbumRepository artistaAlbumRepository;
+
 	@Autowired
 	private AlbumRepository albumRepository;
 
 	@Autowired
 	private CapaAlbumRepository capaAlbumRepository;
 
+	@Autowired
+	private VarianteCapaRepository varianteCapaRepository;
+
 	@Autowired
 	private JdbcTemplate jdbcTemplate;
 
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private AlbumListagemService albumListagemService;
+
+	@Autowired
+	private SugestoesService sugestoesService;
+
+	@Autowired
+	private GrafoColaboracaoService grafoColaboracaoService;
+
 	@MockBean
 	private MinioClient minioClient;
 
@@ -110,6 +163,32 @@ class AlbumControllerTests {
 			.andExpect(jsonPath("$.titulo").value("New"));
 	}
 
+	@Test
+	void sugereAlbunsPorPrefixoIncluindoCadastradosEmLote() throws Exception {
+		mockMvc.perform(post("/v1/albuns")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"titulo\":\"Óculos Escuros\"}"))
+			.andExpect(status().isCreated());
+
+		mockMvc.perform(post("/v1/albuns/lote")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"titulo\":\"Ocultismo\"},{\"titulo\":\"Vinil Oculto\"}]"))
+			.andExpect(status().isOk());
+		sugestoesService.acompanharAlteracoes();
+
+		mockMvc.perform(get("/v1/albuns/sugestoes").with(jwt()).param("prefixo", "ocul"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(3))
+			.andExpect(jsonPath("$[0].nome").value("Óculos Escuros"))
+			.andExpect(jsonPath("$[1].nome").value("Ocultismo"))
+			.andExpect(jsonPath("$[2].nome").value("Vinil Oculto"));
+
+		mockMvc.perform(get("/v1/albuns/sugestoes").with(jwt()).param("prefixo", "ocul").param("limite", "51"))
+			.andExpect(status().isBadRequest());
+	}
+
 	@Test
 	void listaAlbunsPaginados() throws Exception {
 		mockMvc.perform(post("/v1/albuns")
@@ -134,6 +213,81 @@ class AlbumControllerTests {
 			.andExpect(jsonPath("$.content[0].titulo").value("A"));
 	}
 
+	@Test
+	void listaAlbunsPorCursor() throws Exception {
+		for (String titulo : List.of("C", "A", "B")) {
+			mockMvc.perform(post("/v1/albuns")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"titulo\":\"" + titulo + "\"}")).andExpect(status().isCreated());
+		}
+
+		String resposta = mockMvc.perform(get("/v1/albuns")
+				.with(jwt())
+				.param("cursor", "")
+				.param("tamanho", "2"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.conteudo.length()").value(2))
+			.andExpect(jsonPath("$.conteudo[0].titulo").value("A"))
+			.andExpect(jsonPath("$.conteudo[1].titulo").value("B"))
+			.andExpect(jsonPath("$.temProximo").value(true))
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+
+		String proximoCursor = com.jayway.jsonpath.JsonPath.read(resposta, "$.proximoCursor");
+
+		mockMvc.perform(get("/v1/albuns")
+				.with(jwt())
+				.param("cursor", proximoCursor)
+				.param("tamanho", "2"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.conteudo.length()").value(1))
+			.andExpect(jsonPath("$.conteudo[0].titulo").value("C"))
+			.andExpect(jsonPath("$.temProximo").value(false));
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("cursor", "%%%"))
+			.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void listagemExecutaQuantidadeConstanteDeConsultasPorPagina() throws Exception {
+		Artista artista = new Artista();
+		artista.setNome("Artista Consultas");
+		artista.setTipo(ArtistaTipo.CANTOR);
+		artista = artistaRepository.save(artista);
+
+		for (int i = 0; i < 30; i++) {
+			Album album = new Album();
+			album.setTitulo("Album " + i);
+			album = albumRepository.save(album);
+			jdbcTemplate.update(
+				"insert into artista_album (artista_id, album_id) values (?, ?)",
+				artista.getId(),
+				album.getId()
+			);
+		}
+
+		albumListagemService.reconstruir();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		long consultasPaginaPequena = contarConsultasDaListagem(statistics, 5);
+		long consultasPaginaGrande = contarConsultasDaListagem(statistics, 20);
+
+		org.junit.jupiter.api.Assertions.assertEquals(consultasPaginaPequena, consultasPaginaGrande);
+		org.junit.jupiter.api.Assertions.assertTrue(consultasPaginaGrande <= 5);
+		org.junit.jupiter.api.Assertions.assertEquals(0, contarConsultasDaListagem(statistics, 20));
+	}
+
+	private long contarConsultasDaListagem(Statistics statistics, int tamanho) throws Exception {
+		statistics.clear();
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("pagina", "0").param("tamanho", String.valueOf(tamanho)))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content.length()").value(tamanho))
+			.andExpect(jsonPath("$.content[0].artistas[0].nome").value("Artista Consultas"));
+		return statistics.getPrepareStatementCount();
+	}
+
 	@Test
 	void filtraAlbunsPorNomeDoArtista() throws Exception {
 		mockMvc.perform(post("/v1/artistas")
@@ -211,6 +365,275 @@ class AlbumControllerTests {
 			.andExpect(jsonPath("$.content[0].titulo").value("Album Cantor"));
 	}
 
+	@Test
+	void listagemAcompanhaRenomeacaoDoArtista() throws Exception {
+		mockMvc.perform(post("/v1/artistas")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"Joao Gilberto\"}"))
+			.andExpect(status().isCreated());
+
+		Long artistaId = artistaRepository.findAll().getFirst().getId();
+
+		mockMvc.perform(post("/v1/albuns")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"titulo\":\"Chega de Saudade\",\"artistaIds\":[" + artistaId + "]}"))
+			.andExpect(status().isCreated());
+
+		mockMvc.perform(put("/v1/artistas/{id}", artistaId)
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"João Gilberto\",\"tipo\":\"BANDA\"}"))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("artistaNome", "joão").param("temBanda", "true"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content.length()").value(1))
+			.andExpect(jsonPath("$.content[0].titulo").value("Chega de Saudade"))
+			.andExpect(jsonPath("$.content[0].artistas[0].nome").value("João Gilberto"));
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("temCantor", "true"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content.length()").value(0));
+	}
+
+	@Test
+	void buscaPorIdRefleteAlteracoesAposCache() throws Exception {
+		mockMvc.perform(post("/v1/artistas")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"Tom Jobim\"}"))
+			.andExpect(status().isCreated());
+
+		Long artistaId = artistaRepository.findAll().getFirst().getId();
+
+		mockMvc.perform(post("/v1/albuns")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"titulo\":\"Wave\",\"artistaIds\":[" + artistaId + "]}"))
+			.andExpect(status().isCreated());
+
+		Long albumId = albumRepository.findAll().getFirst().getId();
+
+		mockMvc.perform(get("/v1/albuns/{id}", albumId).with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.artistas[0].nome").value("Tom Jobim"));
+
+		mockMvc.perform(put("/v1/albuns/{id}", albumId)
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"titulo\":\"Wave (Remaster)\"}"))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(get("/v1/albuns/{id}", albumId).with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.titulo").value("Wave (Remaster)"));
+
+		mockMvc.perform(put("/v1/artistas/{id}", artistaId)
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"Antonio Carlos Jobim\"}"))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(get("/v1/albuns/{id}", albumId).with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.artistas[0].nome").value("Antonio Carlos Jobim"));
+
+		mockMvc.perform(get("/v1/artistas/{id}", artistaId).with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.nome").value("Antonio Carlos Jobim"));
+	}
+
+	@Test
+	void listagemEmCacheRefleteNovoAlbum() throws Exception {
+		mockMvc.perform(post("/v1/albuns")
+			.with(jwt())
+			.contentType(MediaType.APPLICATION_JSON)
+			.content("{\"titulo\":\"Primeiro\"}")).andExpect(status().isCreated());
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("titulo", "primeiro"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content.length()").value(1));
+
+		mockMvc.perform(post("/v1/albuns")
+			.with(jwt())
+			.contentType(MediaType.APPLICATION_JSON)
+			.content("{\"titulo\":\"Primeiro Volume 2\"}")).andExpect(status().isCreated());
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("titulo", "primeiro"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content.length()").value(2));
+	}
+
+	@Test
+	void buscaPorIdRespondeNaoModificadoEnquantoVersaoNaoMuda() throws Exception {
+		mockMvc.perform(post("/v1/albuns")
+			.with(jwt())
+			.contentType(MediaType.APPLICATION_JSON)
+			.content("{\"titulo\":\"Elis & Tom\"}")).andExpect(status().isCreated());
+
+		Long albumId = albumRepository.findAll().getFirst().getId();
+
+		String etag = mockMvc.perform(get("/v1/albuns/{id}", albumId).with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/v1/albuns/{id}", albumId).with(jwt()).header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isNotModified())
+			.andExpect(header().string(HttpHeaders.ETAG, etag))
+			.andExpect(content().string(""));
+
+		mockMvc.perform(put("/v1/albuns/{id}", albumId)
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"titulo\":\"Elis & Tom (1974)\"}"))
+			.andExpect(status().isOk());
+
+		String novaEtag = mockMvc.perform(get("/v1/albuns/{id}", albumId).with(jwt()).header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.titulo").value("Elis & Tom (1974)"))
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		org.junit.jupiter.api.Assertions.assertNotEquals(etag, novaEtag);
+	}
+
+	@Test
+	void listagemRespondeNaoModificadoAteNovaEscrita() throws Exception {
+		mockMvc.perform(post("/v1/albuns")
+			.with(jwt())
+			.contentType(MediaType.APPLICATION_JSON)
+			.content("{\"titulo\":\"Acabou Chorare\"}")).andExpect(status().isCreated());
+
+		String etag = mockMvc.perform(get("/v1/albuns").with(jwt()).param("temBanda", "true"))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("temBanda", "true").header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isNotModified());
+
+		mockMvc.perform(post("/v1/albuns")
+			.with(jwt())
+			.contentType(MediaType.APPLICATION_JSON)
+			.content("{\"titulo\":\"Tropicália\"}")).andExpect(status().isCreated());
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("temBanda", "true").header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isOk());
+	}
+
+	@Test
+	void exportaAlbunsFiltradosEmNdjson() throws Exception {
+		mockMvc.perform(post("/v1/artistas")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"Os Mutantes\",\"tipo\":\"BANDA\"}"))
+			.andExpect(status().isCreated());
+
+		Long artistaId = artistaRepository.findAll().getFirst().getId();
+
+		mockMvc.perform(post("/v1/albuns")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"titulo\":\"Os Mutantes\",\"artistaIds\":[" + artistaId + "]}"))
+			.andExpect(status().isCreated());
+		mockMvc.perform(post("/v1/albuns")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"titulo\":\"A Divina Comédia\",\"artistaIds\":[" + artistaId + "]}"))
+			.andExpect(status().isCreated());
+		mockMvc.perform(post("/v1/albuns")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"titulo\":\"Sem Artista\"}"))
+			.andExpect(status().isCreated());
+
+		MvcResult inicio = mockMvc.perform(get("/v1/albuns/export").with(jwt()).param("temBanda", "true"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		String corpo = mockMvc.perform(asyncDispatch(inicio))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+			.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+		String[] linhas = corpo.split("\n");
+		org.junit.jupiter.api.Assertions.assertEquals(2, linhas.length);
+		org.junit.jupiter.api.Assertions.assertTrue(linhas[0].contains("\"titulo\":\"Os Mutantes\""));
+		org.junit.jupiter.api.Assertions.assertTrue(linhas[1].contains("\"titulo\":\"A Divina Comédia\""));
+		org.junit.jupiter.api.Assertions.assertTrue(linhas[1].contains("\"nome\":\"Os Mutantes\""));
+	}
+
+	@Test
+	void exportaAlbunsCompactadosComGzip() throws Exception {
+		mockMvc.perform(post("/v1/albuns")
+			.with(jwt())
+			.contentType(MediaType.APPLICATION_JSON)
+			.content("{\"titulo\":\"Clube da Esquina\"}")).andExpect(status().isCreated());
+
+		MvcResult inicio = mockMvc.perform(get("/v1/albuns/export")
+				.with(jwt())
+				.header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		byte[] compactado = mockMvc.perform(asyncDispatch(inicio))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+			.andReturn().getResponse().getContentAsByteArray();
+
+		try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(compactado))) {
+			String corpo = new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+			org.junit.jupiter.api.Assertions.assertTrue(corpo.startsWith("{\"id\":"));
+			org.junit.jupiter.api.Assertions.assertTrue(corpo.contains("\"titulo\":\"Clube da Esquina\""));
+			org.junit.jupiter.api.Assertions.assertTrue(corpo.endsWith("}\n"));
+		}
+	}
+
+	@Test
+	void criaAlbunsEmLoteAssincronoEConsultaResultado() throws Exception {
+		mockMvc.perform(post("/v1/artistas")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"Novos Baianos\",\"tipo\":\"BANDA\"}"))
+			.andExpect(status().isCreated());
+
+		Long artistaId = artistaRepository.findAll().getFirst().getId();
+
+		String conteudo = "[{\"titulo\":\"Acabou Chorare\",\"artistaIds\":[" + artistaId + "]},"
+			+ "{\"titulo\":\"Vamos Pro Mundo\",\"artistaIds\":[" + artistaId + "]},"
+			+ "{\"titulo\":\"Inválido\",\"artistaIds\":[999999]}]";
+
+		String location = mockMvc.perform(post("/v1/albuns/lote")
+				.with(jwt())
+				.param("assincrono", "true")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(conteudo))
+			.andExpect(status().isAccepted())
+			.andExpect(jsonPath("$.total").value(3))
+			.andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+		String status = "";
+		for (int tentativa = 0; tentativa < 100 && !status.contains("CONCLUIDO"); tentativa++) {
+			Thread.sleep(50);
+			status = mockMvc.perform(get(location).with(jwt()))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		}
+
+		mockMvc.perform(get(location).with(jwt()))
+			.andExpect(jsonPath("$.status").value("CONCLUIDO"))
+			.andExpect(jsonPath("$.resultado.sucessos").value(2))
+			.andExpect(jsonPath("$.resultado.itens[2].erro").value("artistas não encontrados: [999999]"));
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("artistaId", String.valueOf(artistaId)).param("temBanda", "true"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content.length()").value(2))
+			.andExpect(jsonPath("$.content[0].titulo").value("Acabou Chorare"))
+			.andExpect(jsonPath("$.content[0].artistas[0].nome").value("Novos Baianos"));
+
+		mockMvc.perform(get("/v1/lotes/{id}", "inexistente").with(jwt()))
+			.andExpect(status().isNotFound());
+	}
+
 	@Test
 	void filtraAlbunsPorTitulo() throws Exception {
 		mockMvc.perform(post("/v1/albuns")
@@ -287,7 +710,7 @@ class AlbumControllerTests {
 
 		Mockito.verify(minioClient).putObject(Mockito.any());
 		Mockito.verify(minioClient).getPresignedObjectUrl(Mockito.any());
-		org.junit.jupiter.api.Assertions.assertTrue(capaAlbumRepository.findTopByAlbumIdOrderByIdDesc(albumId).isPresent());
+		org.junit.jupiter.api.Assertions.assertTrue(capaAlbumRepository.findTopByAlbumIdAndSituacaoOrderByIdDesc(albumId, SituacaoCapa.CONFIRMADA).isPresent());
 	}
 
 	@Test
@@ -328,12 +751,304 @@ class AlbumControllerTests {
 			.andExpect(jsonPath("$.urls[0]").value("http://presigned"))
 			.andExpect(jsonPath("$.urls[1]").value("http://presigned"));
 
-		List<?> capas = capaAlbumRepository.findAllByAlbumIdOrderByIdDesc(albumId);
+		List<?> capas = capaAlbumRepository.findAllByAlbumIdAndSituacaoOrderByIdDesc(albumId, SituacaoCapa.CONFIRMADA);
 		org.junit.jupiter.api.Assertions.assertEquals(2, capas.size());
 		Mockito.verify(minioClient, Mockito.times(2)).putObject(Mockito.any());
 		Mockito.verify(minioClient, Mockito.times(2)).getPresignedObjectUrl(Mockito.any());
 	}
 
+	@Test
+	void incluiCapaNaListagemENaBuscaEObtemUrlsEmLote() throws Exception {
+		long comCapa = criar("/v1/albuns", "{\"titulo\":\"A com capa\"}");
+		long semCapa = criar("/v1/albuns", "{\"titulo\":\"B sem capa\"}");
+
+		Mockito.when(minioClient.bucketExists(Mockito.any())).thenReturn(true);
+		Mockito.when(minioClient.putObject(Mockito.any())).thenReturn(Mockito.mock(ObjectWriteResponse.class));
+		Mockito.when(minioClient.getPresignedObjectUrl(Mockito.any())).thenReturn("http://presigned");
+
+		MockMultipartFile arquivo = new MockMultipartFile("arquivo", "capa.png", "image/png", "conteudo".getBytes());
+		mockMvc.perform(multipart("/v1/albuns/{id}/capa", comCapa).file(arquivo).with(jwt()))
+			.andExpect(status().isCreated());
+
+		mockMvc.perform(get("/v1/albuns").param("incluirCapa", "true").with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content[0].id").value(comCapa))
+			.andExpect(jsonPath("$.content[0].capaUrl").value("http://presigned"))
+			.andExpect(jsonPath("$.content[1].id").value(semCapa))
+			.andExpect(jsonPath("$.content[1].capaUrl").doesNotExist());
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content[0].capaUrl").doesNotExist());
+
+		mockMvc.perform(get("/v1/albuns/{id}", comCapa).param("incluirCapa", "true").with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.capaUrl").value("http://presigned"));
+
+		mockMvc.perform(post("/v1/albuns/capas/urls")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"albumIds\":[" + semCapa + "," + comCapa + "," + comCapa + ",999999]}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.capas.length()").value(1))
+			.andExpect(jsonPath("$.capas[0].albumId").value(comCapa))
+			.andExpect(jsonPath("$.capas[0].url").value("http://presigned"));
+
+		mockMvc.perform(post("/v1/albuns/capas/urls")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"albumIds\":[]}"))
+			.andExpect(status().isBadRequest());
+
+		Mockito.verify(minioClient, Mockito.times(1)).getPresignedObjectUrl(Mockito.any());
+	}
+
+	@Test
+	void geraVariantesDaCapaEEscolheUrlPeloTamanho() throws Exception {
+		long albumId = criar("/v1/albuns", "{\"titulo\":\"Com variantes\"}");
+		ByteArrayOutputStream imagem = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(1200, 900, BufferedImage.TYPE_INT_RGB), "png", imagem);
+
+		Mockito.when(minioClient.bucketExists(Mockito.any())).thenReturn(true);
+		Mockito.when(minioClient.putObject(Mockito.any())).thenReturn(Mockito.mock(ObjectWriteResponse.class));
+		Mockito.when(minioClient.getObject(Mockito.any())).thenAnswer(invocation -> new GetObjectResponse(
+			Headers.of(), "musicapi", null, "capa", new ByteArrayInputStream(imagem.toByteArray())
+		));
+		Mockito.when(minioClient.getPresignedObjectUrl(Mockito.any())).thenAnswer(invocation ->
+			"http://presigned/" + invocation.getArgument(0, GetPresignedObjectUrlArgs.class).object()
+		);
+
+		MockMultipartFile arquivo = new MockMultipartFile("arquivo", "capa.png", "image/png", imagem.toByteArray());
+		mockMvc.perform(multipart("/v1/albuns/{id}/capa", albumId).file(arquivo).with(jwt()))
+			.andExpect(status().isCreated());
+
+		CapaAlbum capa = capaAlbumRepository.findTopByAlbumIdAndSituacaoOrderByIdDesc(albumId, SituacaoCapa.CONFIRMADA).orElseThrow();
+		for (int i = 0; i < 100 && capa.getSituacaoVariantes() == SituacaoVariantes.PENDENTE; i++) {
+			Thread.sleep(100);
+			capa = capaAlbumRepository.findById(capa.getId()).orElseThrow();
+		}
+		org.junit.jupiter.api.Assertions.assertEquals(SituacaoVariantes.GERADAS, capa.getSituacaoVariantes());
+		org.junit.jupiter.api.Assertions.assertEquals(1200, capa.getLargura());
+		org.junit.jupiter.api.Assertions.assertEquals(900, capa.getAltura());
+		List<VarianteCapa> variantes = varianteCapaRepository.findAllByCapaIdIn(List.of(capa.getId()));
+		org.junit.jupiter.api.Assertions.assertEquals(2, variantes.size());
+
+		String original = capa.getObjeto();
+		String base = original.substring(0, original.lastIndexOf('.'));
+		mockMvc.perform(get("/v1/albuns/{id}/capa/url", albumId).param("tamanho", "thumb").with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.url").value("http://presigned/" + base + "-thumb.jpg"));
+		mockMvc.perform(get("/v1/albuns/{id}/capa/urls", albumId).param("tamanho", "medio").with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.urls[0]").value("http://presigned/" + base + "-medio.jpg"));
+		mockMvc.perform(get("/v1/albuns/{id}/capa/url", albumId).with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.url").value("http://presigned/" + original));
+		mockMvc.perform(get("/v1/albuns").param("incluirCapa", "true").param("tamanhoCapa", "thumb").with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content[0].capaUrl").value("http://presigned/" + base + "-thumb.jpg"));
+		mockMvc.perform(post("/v1/albuns/capas/urls")
+				.param("tamanho", "thumb")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"albumIds\":[" + albumId + "]}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.capas[0].url").value("http://presigned/" + base + "-thumb.jpg"));
+		mockMvc.perform(get("/v1/albuns/{id}/capa/url", albumId).param("tamanho", "gigante").with(jwt()))
+			.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void navegaPeloGrafoDeColaboracoes() throws Exception {
+		long chico = criar("/v1/artistas", "{\"nome\":\"Chico Buarque\",\"tipo\":\"CANTOR\"}");
+		long caetano = criar("/v1/artistas", "{\"nome\":\"Caetano Veloso\",\"tipo\":\"CANTOR\"}");
+		long gil = criar("/v1/artistas", "{\"nome\":\"Gilberto Gil\",\"tipo\":\"CANTOR\"}");
+		long isolado = criar("/v1/artistas", "{\"nome\":\"Artista Solo\",\"tipo\":\"CANTOR\"}");
+		long juntos = criar("/v1/albuns", "{\"titulo\":\"Juntos ao Vivo\",\"artistaIds\":[" + chico + "," + caetano + "]}");
+		long tropicalia = criar("/v1/albuns", "{\"titulo\":\"Tropicália 2\",\"artistaIds\":[" + caetano + "," + gil + "]}");
+		long reencontro = criar("/v1/albuns", "{\"titulo\":\"Reencontro\",\"artistaIds\":[" + chico + "," + caetano + "]}");
+		grafoColaboracaoService.acompanharAlteracoes();
+
+		mockMvc.perform(get("/v1/albuns/{id}/relacionados", juntos).with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(2))
+			.andExpect(jsonPath("$[0].id").value(reencontro))
+			.andExpect(jsonPath("$[0].titulo").value("Reencontro"))
+			.andExpect(jsonPath("$[0].artistasEmComum").value(2))
+			.andExpect(jsonPath("$[1].id").value(tropicalia))
+			.andExpect(jsonPath("$[1].artistasEmComum").value(1));
+
+		mockMvc.perform(get("/v1/artistas/{id}/colaboradores", caetano).with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(2))
+			.andExpect(jsonPath("$[0].nome").value("Chico Buarque"))
+			.andExpect(jsonPath("$[0].albunsEmComum").value(2))
+			.andExpect(jsonPath("$[1].nome").value("Gilberto Gil"))
+			.andExpect(jsonPath("$[1].albunsEmComum").value(1));
+
+		mockMvc.perform(get("/v1/artistas/{id}/caminho", chico).with(jwt()).param("ate", String.valueOf(gil)))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.grau").value(2))
+			.andExpect(jsonPath("$.artistas[0].nome").value("Chico Buarque"))
+			.andExpect(jsonPath("$.artistas[1].nome").value("Caetano Veloso"))
+			.andExpect(jsonPath("$.artistas[2].nome").value("Gilberto Gil"))
+			.andExpect(jsonPath("$.albuns[1].titulo").value("Tropicália 2"));
+
+		mockMvc.perform(get("/v1/artistas/{id}/caminho", chico).with(jwt())
+				.param("ate", String.valueOf(gil))
+				.param("grauMaximo", "1"))
+			.andExpect(status().isNotFound());
+		mockMvc.perform(get("/v1/artistas/{id}/caminho", chico).with(jwt()).param("ate", String.valueOf(isolado)))
+			.andExpect(status().isNotFound());
+
+		mockMvc.perform(put("/v1/albuns/" + tropicalia)
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"artistaIds\":[" + gil + "," + isolado + "]}"))
+			.andExpect(status().isOk());
+		grafoColaboracaoService.acompanharAlteracoes();
+
+		mockMvc.perform(get("/v1/albuns/{id}/relacionados", juntos).with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(1));
+		mockMvc.perform(get("/v1/artistas/{id}/caminho", gil).with(jwt()).param("ate", String.valueOf(isolado)))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.grau").value(1))
+			.andExpect(jsonPath("$.albuns[0].id").value(tropicalia));
+		mockMvc.perform(get("/v1/albuns/{id}/relacionados", juntos + 100000).with(jwt()))
+			.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void paginaDiscografiaDoArtistaPorCursorEMantemQuantidadeDeAlbuns() throws Exception {
+		long djavan = criar("/v1/artistas", "{\"nome\":\"Djavan\",\"tipo\":\"CANTOR\"}");
+		long alceu = criar("/v1/artistas", "{\"nome\":\"Alceu Valença\",\"tipo\":\"CANTOR\"}");
+		long luz = criar("/v1/albuns", "{\"titulo\":\"Luz\",\"artistaIds\":[" + djavan + "]}");
+		long lilas = criar("/v1/albuns", "{\"titulo\":\"Lilás\",\"artistaIds\":[" + djavan + "," + alceu + "]}");
+		long seduzir = criar("/v1/albuns", "{\"titulo\":\"Seduzir\",\"artistaIds\":[" + djavan + "]}");
+
+		String primeira = mockMvc.perform(get("/v1/artistas/{id}/albuns", djavan).with(jwt()).param("tamanho", "2"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.conteudo.length()").value(2))
+			.andExpect(jsonPath("$.conteudo[0].id").value(luz))
+			.andExpect(jsonPath("$.conteudo[1].id").value(lilas))
+			.andExpect(jsonPath("$.conteudo[1].artistas[0].nome").value("Alceu Valença"))
+			.andExpect(jsonPath("$.conteudo[1].artistas[1].nome").value("Djavan"))
+			.andExpect(jsonPath("$.temProximo").value(true))
+			.andReturn().getResponse().getContentAsString();
+		String cursor = com.jayway.jsonpath.JsonPath.read(primeira, "$.proximoCursor");
+
+		mockMvc.perform(get("/v1/artistas/{id}/albuns", djavan).with(jwt()).param("tamanho", "2").param("cursor", cursor))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.conteudo.length()").value(1))
+			.andExpect(jsonPath("$.conteudo[0].id").value(seduzir))
+			.andExpect(jsonPath("$.conteudo[0].titulo").value("Seduzir"))
+			.andExpect(jsonPath("$.temProximo").value(false));
+
+		mockMvc.perform(get("/v1/artistas/{id}", djavan).with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.quantidadeAlbuns").value(3));
+
+		mockMvc.perform(put("/v1/albuns/" + seduzir)
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"artistaIds\":[" + alceu + "]}"))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(get("/v1/artistas").with(jwt())
+				.param("ordenacao", "quantidadeAlbuns")
+				.param("ordem", "desc"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content[0].id").value(alceu))
+			.andExpect(jsonPath("$.content[0].quantidadeAlbuns").value(2))
+			.andExpect(jsonPath("$.content[1].id").value(djavan))
+			.andExpect(jsonPath("$.content[1].quantidadeAlbuns").value(2));
+
+		artistaAlbumRepository.remover(List.of(new Vinculo(djavan, seduzir), new Vinculo(alceu, seduzir)));
+		org.junit.jupiter.api.Assertions.assertEquals(
+			2,
+			jdbcTemplate.queryForObject("select quantidade_albuns from artista where id = ?", Integer.class, djavan)
+		);
+		org.junit.jupiter.api.Assertions.assertEquals(
+			1,
+			jdbcTemplate.queryForObject("select quantidade_albuns from artista where id = ?", Integer.class, alceu)
+		);
+
+		mockMvc.perform(get("/v1/artistas/{id}/albuns", djavan).with(jwt()).param("cursor", "@@"))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/v1/artistas/{id}/albuns", djavan).with(jwt()).param("tamanho", "0"))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/v1/artistas/{id}/albuns", djavan + 100000).with(jwt()))
+			.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void listaAlbunsComFacetasDoFiltroAtual() throws Exception {
+		long elis = criar("/v1/artistas", "{\"nome\":\"Elis Regina\",\"tipo\":\"CANTOR\"}");
+		long tom = criar("/v1/artistas", "{\"nome\":\"Tom Jobim\",\"tipo\":\"CANTOR\"}");
+		long mutantes = criar("/v1/artistas", "{\"nome\":\"Os Mutantes\",\"tipo\":\"BANDA\"}");
+		long elisETom = criar("/v1/albuns", "{\"titulo\":\"Elis & Tom\",\"artistaIds\":[" + elis + "," + tom + "]}");
+		criar("/v1/albuns", "{\"titulo\":\"Falso Brilhante\",\"artistaIds\":[" + elis + "]}");
+		criar("/v1/albuns", "{\"titulo\":\"Os Mutantes\",\"artistaIds\":[" + mutantes + "]}");
+		criar("/v1/albuns", "{\"titulo\":\"Sem artistas\"}");
+
+		Mockito.when(minioClient.bucketExists(Mockito.any())).thenReturn(true);
+		ObjectWriteResponse resposta = Mockito.mock(ObjectWriteResponse.class);
+		Mockito.when(minioClient.putObject(Mockito.any())).thenReturn(resposta);
+		MockMultipartFile arquivo = new MockMultipartFile("arquivo", "capa.png", "image/png", "conteudo".getBytes());
+		mockMvc.perform(multipart("/v1/albuns/{id}/capa", elisETom).file(arquivo).with(jwt()))
+			.andExpect(status().isCreated());
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("facetas", "true").param("tamanho", "1"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.totalElements").value(4))
+			.andExpect(jsonPath("$.content.length()").value(1))
+			.andExpect(jsonPath("$.facetas.cantores").value(2))
+			.andExpect(jsonPath("$.facetas.bandas").value(1))
+			.andExpect(jsonPath("$.facetas.comCapa").value(1))
+			.andExpect(jsonPath("$.facetas.semCapa").value(3))
+			.andExpect(jsonPath("$.facetas.artistas[0].nome").value("Elis Regina"))
+			.andExpect(jsonPath("$.facetas.artistas[0].quantidade").value(2))
+			.andExpect(jsonPath("$.facetas.artistas.length()").value(3));
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("facetas", "true").param("temCantor", "true"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.totalElements").value(2))
+			.andExpect(jsonPath("$.facetas.cantores").value(2))
+			.andExpect(jsonPath("$.facetas.bandas").value(0))
+			.andExpect(jsonPath("$.facetas.comCapa").value(1))
+			.andExpect(jsonPath("$.facetas.artistas[1].nome").value("Tom Jobim"));
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.facetas").doesNotExist());
+	}
+
+	@Test
+	void listaAlbunsComContagemNenhumaOuAproximada() throws Exception {
+		criar("/v1/albuns", "{\"titulo\":\"Acabou Chorare\"}");
+		criar("/v1/albuns", "{\"titulo\":\"Araçá Azul\"}");
+		criar("/v1/albuns", "{\"titulo\":\"Clube da Esquina\"}");
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("contagem", "nenhuma").param("tamanho", "2"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.totalElements").doesNotExist())
+			.andExpect(jsonPath("$.last").value(false))
+			.andExpect(jsonPath("$.content[1].titulo").value("Araçá Azul"));
+
+		mockMvc.perform(get("/v1/albuns").with(jwt())
+				.param("titulo", "a")
+				.param("contagem", "aproximada")
+				.param("tamanho", "1"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.totalElements").value(3))
+			.andExpect(jsonPath("$.content[0].titulo").value("Acabou Chorare"));
+
+		mockMvc.perform(get("/v1/albuns").with(jwt()).param("contagem", "invalida").param("tamanho", "1"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.totalElements").value(3));
+	}
+
 	@Test
 	void rejeitaEnvioDeCapaComTipoInvalido() throws Exception {
 		mockMvc.perform(post("/v1/albuns")
@@ -354,4 +1069,14 @@ class AlbumControllerTests {
 		mockMvc.perform(multipart("/v1/albuns/{id}/capa", albumId).file(arquivo).with(jwt()))
 			.andExpect(status().isUnsupportedMediaType());
 	}
+
+	private long criar(String uri, String corpo) throws Exception {
+		String resposta = mockMvc.perform(post(uri)
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(corpo))
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getContentAsString();
+		return ((Number) com.jayway.jsonpath.JsonPath.read(resposta, "$.id")).longValue();
+	}
 }
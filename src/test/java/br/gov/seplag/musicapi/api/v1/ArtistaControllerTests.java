@@ -1,12 +1,19 @@
 package br.gov.seplag.musicapi.api.v1;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 
 import br.gov.seplag.musicapi.repository.ArtistaRepository;
+import br.gov.seplag.musicapi.service.ArtistasSimilaresService;
+import br.gov.seplag.musicapi.service.SugestoesService;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +21,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @SpringBootTest(properties = { "app.ratelimit.enabled=false", "spring.profiles.active=local" })
 @AutoConfigureMockMvc
@@ -24,6 +32,12 @@ class ArtistaControllerTests {
 	@Autowired
 	private ArtistaRepository artistaRepository;
 
+	@Autowired
+	private SugestoesService sugestoesService;
+
+	@Autowired
+	private ArtistasSimilaresService artistasSimilaresService;
+
 	@BeforeEach
 	void setup() {
 		artistaRepository.deleteAll();
@@ -83,6 +97,126 @@ class ArtistaControllerTests {
 			.andExpect(jsonPath("$.content[0].nome").value("Mike Shinoda"));
 	}
 
+	@Test
+	void filtraArtistasPorNomeIgnorandoAcentos() throws Exception {
+		mockMvc.perform(post("/v1/artistas")
+			.with(jwt())
+			.contentType(MediaType.APPLICATION_JSON)
+			.content("{\"nome\":\"Michel Teló\"}")).andExpect(status().isCreated());
+
+		mockMvc.perform(get("/v1/artistas").with(jwt()).param("nome", "telo"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content.length()").value(1))
+			.andExpect(jsonPath("$.content[0].nome").value("Michel Teló"));
+	}
+
+	@Test
+	void filtraArtistasPorNomeTratandoCuringasComoTexto() throws Exception {
+		for (String nome : List.of("Banda 100%", "Banda 1000", "Banda_X", "BandaYX")) {
+			mockMvc.perform(post("/v1/artistas")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"" + nome + "\"}")).andExpect(status().isCreated());
+		}
+
+		mockMvc.perform(get("/v1/artistas").with(jwt()).param("nome", "100%"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content.length()").value(1))
+			.andExpect(jsonPath("$.content[0].nome").value("Banda 100%"));
+		mockMvc.perform(get("/v1/artistas").with(jwt()).param("nome", "a_x"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content.length()").value(1))
+			.andExpect(jsonPath("$.content[0].nome").value("Banda_X"));
+	}
+
+	@Test
+	void sugereArtistasPorPrefixoEAcompanhaAlteracoes() throws Exception {
+		mockMvc.perform(post("/v1/artistas")
+			.with(jwt())
+			.contentType(MediaType.APPLICATION_JSON)
+			.content("{\"nome\":\"Zélia Duncan\"}")).andExpect(status().isCreated());
+
+		String resposta = mockMvc.perform(post("/v1/artistas")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"Zeca Pagodinho\"}"))
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getContentAsString();
+		long id = ((Number) com.jayway.jsonpath.JsonPath.read(resposta, "$.id")).longValue();
+		sugestoesService.acompanharAlteracoes();
+
+		mockMvc.perform(get("/v1/artistas/sugestoes").with(jwt()).param("prefixo", "ze"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(2))
+			.andExpect(jsonPath("$[0].nome").value("Zeca Pagodinho"))
+			.andExpect(jsonPath("$[1].nome").value("Zélia Duncan"));
+
+		mockMvc.perform(get("/v1/artistas/sugestoes").with(jwt()).param("prefixo", "dun"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(1))
+			.andExpect(jsonPath("$[0].nome").value("Zélia Duncan"));
+
+		mockMvc.perform(put("/v1/artistas/" + id)
+			.with(jwt())
+			.contentType(MediaType.APPLICATION_JSON)
+			.content("{\"nome\":\"Jessé Gomes\"}")).andExpect(status().isOk());
+		sugestoesService.acompanharAlteracoes();
+
+		mockMvc.perform(get("/v1/artistas/sugestoes").with(jwt()).param("prefixo", "ze").param("limite", "5"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(1))
+			.andExpect(jsonPath("$[0].nome").value("Zélia Duncan"));
+
+		mockMvc.perform(get("/v1/artistas/sugestoes").with(jwt()).param("prefixo", "jesse"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[0].id").value(id));
+
+		mockMvc.perform(get("/v1/artistas/sugestoes").with(jwt()).param("prefixo", " "))
+			.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void sugereArtistasParecidosQuandoNomeTemErroDeDigitacao() throws Exception {
+		mockMvc.perform(post("/v1/artistas")
+			.with(jwt())
+			.contentType(MediaType.APPLICATION_JSON)
+			.content("{\"nome\":\"Metallica\",\"tipo\":\"BANDA\"}")).andExpect(status().isCreated());
+
+		String resposta = mockMvc.perform(post("/v1/artistas")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"Megadeth\",\"tipo\":\"BANDA\"}"))
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getContentAsString();
+		long id = ((Number) com.jayway.jsonpath.JsonPath.read(resposta, "$.id")).longValue();
+		artistasSimilaresService.acompanharAlteracoes();
+
+		mockMvc.perform(get("/v1/artistas").with(jwt()).param("nome", "metalica"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content.length()").value(0))
+			.andExpect(jsonPath("$.sugestoes[0].nome").value("Metallica"));
+
+		mockMvc.perform(get("/v1/artistas/similares").with(jwt()).param("nome", "metalica"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[0].nome").value("Metallica"))
+			.andExpect(jsonPath("$[0].pontuacao").isNumber());
+
+		mockMvc.perform(put("/v1/artistas/" + id)
+			.with(jwt())
+			.contentType(MediaType.APPLICATION_JSON)
+			.content("{\"nome\":\"Anthrax\"}")).andExpect(status().isOk());
+		artistasSimilaresService.acompanharAlteracoes();
+
+		mockMvc.perform(get("/v1/artistas/similares").with(jwt()).param("nome", "antrax"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[0].id").value(id))
+			.andExpect(jsonPath("$[0].nome").value("Anthrax"));
+
+		mockMvc.perform(get("/v1/artistas/similares").with(jwt()).param("nome", "megadet"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(0));
+	}
+
 	@Test
 	void paginaArtistas() throws Exception {
 		mockMvc.perform(post("/v1/artistas")
@@ -106,4 +240,121 @@ class ArtistaControllerTests {
 			.andExpect(jsonPath("$.content.length()").value(1))
 			.andExpect(jsonPath("$.content[0].nome").value("A"));
 	}
+
+	@Test
+	void paginaArtistasSemContagemOuComContagemAproximada() throws Exception {
+		for (String nome : new String[] { "Nara Leão", "Nana Caymmi", "Ney Matogrosso" }) {
+			mockMvc.perform(post("/v1/artistas")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"" + nome + "\"}")).andExpect(status().isCreated());
+		}
+
+		mockMvc.perform(get("/v1/artistas")
+			.with(jwt())
+			.param("contagem", "nenhuma")
+			.param("tamanho", "2"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.totalElements").doesNotExist())
+			.andExpect(jsonPath("$.last").value(false))
+			.andExpect(jsonPath("$.content.length()").value(2))
+			.andExpect(jsonPath("$.content[0].nome").value("Nana Caymmi"));
+
+		mockMvc.perform(get("/v1/artistas")
+			.with(jwt())
+			.param("nome", "na")
+			.param("contagem", "nenhuma")
+			.param("ordem", "desc")
+			.param("tamanho", "1")
+			.param("pagina", "1"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.last").value(true))
+			.andExpect(jsonPath("$.content[0].nome").value("Nana Caymmi"));
+
+		mockMvc.perform(get("/v1/artistas")
+			.with(jwt())
+			.param("nome", "na")
+			.param("contagem", "aproximada")
+			.param("tamanho", "1"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.totalElements").value(2))
+			.andExpect(jsonPath("$.content[0].nome").value("Nana Caymmi"));
+	}
+
+	@Test
+	void exportaArtistasEmNdjson() throws Exception {
+		mockMvc.perform(post("/v1/artistas")
+			.with(jwt())
+			.contentType(MediaType.APPLICATION_JSON)
+			.content("{\"nome\":\"Gal Costa\"}")).andExpect(status().isCreated());
+
+		mockMvc.perform(post("/v1/artistas")
+			.with(jwt())
+			.contentType(MediaType.APPLICATION_JSON)
+			.content("{\"nome\":\"Secos & Molhados\",\"tipo\":\"BANDA\"}")).andExpect(status().isCreated());
+
+		Long id = artistaRepository.findAll().stream()
+			.filter(a -> a.getNome().equals("Secos & Molhados"))
+			.findFirst()
+			.orElseThrow()
+			.getId();
+
+		MvcResult inicio = mockMvc.perform(get("/v1/artistas/export").with(jwt()).param("nome", "molhados"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		mockMvc.perform(asyncDispatch(inicio))
+			.andExpect(status().isOk())
+			.andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+			.andExpect(content().string("{\"id\":" + id + ",\"nome\":\"Secos & Molhados\",\"tipo\":\"BANDA\",\"quantidadeAlbuns\":0}\n"));
+	}
+
+	@Test
+	void criaArtistasEmLoteComResultadoPorItem() throws Exception {
+		mockMvc.perform(post("/v1/artistas/lote")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"nome\":\" Djavan \"},{\"nome\":\"\"},{\"nome\":\"Legião Urbana\",\"tipo\":\"BANDA\"}]"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.total").value(3))
+			.andExpect(jsonPath("$.sucessos").value(2))
+			.andExpect(jsonPath("$.falhas").value(1))
+			.andExpect(jsonPath("$.itens[0].sucesso").value(true))
+			.andExpect(jsonPath("$.itens[0].id").isNumber())
+			.andExpect(jsonPath("$.itens[1].sucesso").value(false))
+			.andExpect(jsonPath("$.itens[1].erro").value("nome é obrigatório"))
+			.andExpect(jsonPath("$.itens[2].indice").value(2));
+
+		mockMvc.perform(get("/v1/artistas").with(jwt()).param("nome", "legião"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content[0].tipo").value("BANDA"));
+	}
+
+	@Test
+	void loteComNomesRepetidosOuJaCadastradosFalhaSoNessesItens() throws Exception {
+		mockMvc.perform(post("/v1/artistas")
+			.with(jwt())
+			.contentType(MediaType.APPLICATION_JSON)
+			.content("{\"nome\":\"Cazuza\"}")).andExpect(status().isCreated());
+
+		mockMvc.perform(post("/v1/artistas/lote")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"nome\":\"Cássia Eller\"},{\"nome\":\"Cazuza\"},{\"nome\":\" Cássia Eller \"},{\"nome\":\"Barão Vermelho\"}]"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.sucessos").value(2))
+			.andExpect(jsonPath("$.itens[0].sucesso").value(true))
+			.andExpect(jsonPath("$.itens[1].erro").value("já existe artista com este nome"))
+			.andExpect(jsonPath("$.itens[2].erro").value("nome repetido no lote"))
+			.andExpect(jsonPath("$.itens[3].sucesso").value(true));
+	}
+
+	@Test
+	void loteVazioRetorna400() throws Exception {
+		mockMvc.perform(post("/v1/artistas/lote")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("[]"))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.message").value("lote vazio"));
+	}
 }
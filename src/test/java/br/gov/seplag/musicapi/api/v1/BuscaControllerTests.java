@@ -0,0 +1,116 @@
+package br.gov.seplag.musicapi.api.v1;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import br.gov.seplag.musicapi.domain.Album;
+import br.gov.seplag.musicapi.domain.Artista;
+import br.gov.seplag.musicapi.domain.ArtistaTipo;
+import br.gov.seplag.musicapi.repository.AlbumRepository;
+import br.gov.seplag.musicapi.repository.ArtistaRepository;
+import br.gov.seplag.musicapi.repository.CapaAlbumRepository;
+import br.gov.seplag.musicapi.service.AlbumListagemService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = { "app.ratelimit.enabled=false", "spring.profiles.active=local" })
+@AutoConfigureMockMvc
+class BuscaControllerTests {
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ArtistaRepository artistaRepository;
+
+	@Autowired
+	private AlbumRepository albumRepository;
+
+	@Autowired
+	private CapaAlbumRepository capaAlbumRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private AlbumListagemService albumListagemService;
+
+	@BeforeEach
+	void setup() {
+		capaAlbumRepository.deleteAll();
+		jdbcTemplate.update("delete from artista_album");
+		albumRepository.deleteAll();
+		artistaRepository.deleteAll();
+	}
+
+	@Test
+	void buscaIgnoraAcentosEMaiusculasEmArtistasEAlbuns() throws Exception {
+		Long artistaId = artista("João Gilberto").getId();
+		Long albumId = album("Chega de Saudade").getId();
+		album("Canção do Amor Demais");
+
+		mockMvc.perform(get("/v1/busca").with(jwt()).param("q", "joao"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(1))
+			.andExpect(jsonPath("$[0].tipo").value("ARTISTA"))
+			.andExpect(jsonPath("$[0].id").value(artistaId))
+			.andExpect(jsonPath("$[0].nome").value("João Gilberto"));
+
+		mockMvc.perform(get("/v1/busca").with(jwt()).param("q", "SAUDADE"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(1))
+			.andExpect(jsonPath("$[0].tipo").value("ALBUM"))
+			.andExpect(jsonPath("$[0].id").value(albumId));
+
+		mockMvc.perform(get("/v1/busca").with(jwt()).param("q", "cancao"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[0].nome").value("Canção do Amor Demais"));
+	}
+
+	@Test
+	void buscaOrdenaPrefixoEDepoisSimilaridade() throws Exception {
+		album("Tropicália ou Panis et Circencis");
+		artista("Tropicalistas do Brasil");
+		artista("Banda Tropical de Salvador");
+		album("Tropical");
+
+		mockMvc.perform(get("/v1/busca").with(jwt()).param("q", "tropical").param("limite", "3"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(3))
+			.andExpect(jsonPath("$[0].nome").value("Tropical"))
+			.andExpect(jsonPath("$[0].tipo").value("ALBUM"))
+			.andExpect(jsonPath("$[1].nome").value("Tropicalistas do Brasil"))
+			.andExpect(jsonPath("$[2].nome").value("Tropicália ou Panis et Circencis"));
+	}
+
+	@Test
+	void buscaSemTermoRetorna400() throws Exception {
+		mockMvc.perform(get("/v1/busca").with(jwt()).param("q", "   "))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.message").value("termo de busca é obrigatório"));
+
+		mockMvc.perform(get("/v1/busca").with(jwt()).param("q", "rock").param("limite", "0"))
+			.andExpect(status().isBadRequest());
+	}
+
+	private Artista artista(String nome) {
+		Artista artista = new Artista();
+		artista.setNome(nome);
+		artista.setTipo(ArtistaTipo.CANTOR);
+		return artistaRepository.save(artista);
+	}
+
+	private Album album(String titulo) {
+		Album album = new Album();
+		album.setTitulo(titulo);
+		Album salvo = albumRepository.save(album);
+		albumListagemService.atualizar(salvo);
+		return salvo;
+	}
+}
@@ -0,0 +1,131 @@
+package br.gov.seplag.musicapi.api.v1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import br.gov.seplag.musicapi.domain.SituacaoCapa;
+import br.gov.seplag.musicapi.repository.CapaAlbumRepository;
+import com.jayway.jsonpath.JsonPath;
+import io.minio.MinioClient;
+import io.minio.ObjectWriteResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = {
+	"app.ratelimit.enabled=false",
+	"spring.profiles.active=local",
+	"spring.datasource.url=jdbc:h2:mem:envio-capa-carga;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+	"spring.datasource.hikari.maximum-pool-size=2",
+	"spring.datasource.hikari.connection-timeout=1000"
+})
+@AutoConfigureMockMvc
+class EnvioCapaCargaTests {
+	private static final int ENVIOS = 6;
+	private static final int LEITURAS = 40;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CapaAlbumRepository capaAlbumRepository;
+
+	@MockBean
+	private MinioClient minioClient;
+
+	@MockBean
+	private SimpMessagingTemplate messagingTemplate;
+
+	@Test
+	void leiturasMantemLatenciaComEnviosLentosOcupandoTodasAsVagas() throws Exception {
+		String criado = mockMvc.perform(post("/v1/albuns")
+				.with(jwt())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"titulo\":\"Carga\"}"))
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getContentAsString();
+		long albumId = ((Number) JsonPath.read(criado, "$.id")).longValue();
+
+		CountDownLatch emAndamento = new CountDownLatch(ENVIOS);
+		CountDownLatch liberar = new CountDownLatch(1);
+		ObjectWriteResponse resposta = Mockito.mock(ObjectWriteResponse.class);
+		Mockito.when(resposta.etag()).thenReturn("etag");
+		Mockito.when(minioClient.bucketExists(Mockito.any())).thenReturn(true);
+		Mockito.when(minioClient.putObject(Mockito.any())).thenAnswer(invocation -> {
+			emAndamento.countDown();
+			liberar.await(30, TimeUnit.SECONDS);
+			return resposta;
+		});
+
+		long[] semEnvios = medirLeituras("base");
+
+		ExecutorService clientes = Executors.newFixedThreadPool(ENVIOS);
+		try {
+			List<Future<Integer>> envios = new ArrayList<>();
+			for (int i = 0; i < ENVIOS; i++) {
+				MockMultipartFile arquivo = new MockMultipartFile("arquivo", "capa-" + i + ".png", "image/png", new byte[] { 1, 2, 3 });
+				envios.add(clientes.submit(() -> mockMvc.perform(multipart("/v1/albuns/{id}/capa", albumId)
+						.file(arquivo)
+						.with(jwt()))
+					.andReturn()
+					.getResponse()
+					.getStatus()));
+			}
+			assertThat(emAndamento.await(10, TimeUnit.SECONDS)).isTrue();
+
+			long[] comEnvios = medirLeituras("saturado");
+
+			liberar.countDown();
+			for (Future<Integer> envio : envios) {
+				assertThat(envio.get(30, TimeUnit.SECONDS)).isEqualTo(201);
+			}
+
+			assertThat(percentil(comEnvios, 50)).isLessThanOrEqualTo(percentil(semEnvios, 50) * 3 + Duration.ofMillis(20).toNanos());
+			assertThat(percentil(comEnvios, 100)).isLessThan(Duration.ofMillis(1000).toNanos());
+		} finally {
+			liberar.countDown();
+			clientes.shutdownNow();
+		}
+
+		assertThat(capaAlbumRepository.findAllByAlbumIdAndSituacaoOrderByIdDesc(albumId, SituacaoCapa.CONFIRMADA))
+			.hasSize(ENVIOS);
+	}
+
+	private long[] medirLeituras(String prefixo) throws Exception {
+		long[] duracoes = new long[LEITURAS];
+		for (int i = 0; i < LEITURAS; i++) {
+			long inicio = System.nanoTime();
+			mockMvc.perform(get("/v1/albuns").param("titulo", prefixo + "-" + i).with(jwt()))
+				.andExpect(status().isOk());
+			duracoes[i] = System.nanoTime() - inicio;
+		}
+		return duracoes;
+	}
+
+	private static long percentil(long[] duracoes, int percentil) {
+		long[] ordenadas = duracoes.clone();
+		Arrays.sort(ordenadas);
+		int indice = Math.max(0, (int) Math.ceil(percentil / 100.0 * ordenadas.length) - 1);
+		return ordenadas[indice];
+	}
+}
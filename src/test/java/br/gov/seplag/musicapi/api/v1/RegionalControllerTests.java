@@ -1,25 +1,36 @@
 package br.gov.seplag.musicapi.api.v1;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import br.gov.seplag.musicapi.repository.RegionalRepository;
 import br.gov.seplag.musicapi.service.RegionaisIntegradorClient;
 import br.gov.seplag.musicapi.service.RegionaisIntegradorClient.RegionalIntegradorResponse;
+import jakarta.persistence.EntityManagerFactory;
 import java.util.List;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 
-@SpringBootTest(properties = { "app.ratelimit.enabled=false", "spring.profiles.active=local" })
+@SpringBootTest(properties = {
+	"app.ratelimit.enabled=false",
+	"spring.profiles.active=local",
+	"spring.jpa.properties.hibernate.generate_statistics=true"
+})
 @AutoConfigureMockMvc
 class RegionalControllerTests {
 	@Autowired
@@ -28,6 +39,9 @@ class RegionalControllerTests {
 	@Autowired
 	private RegionalRepository regionalRepository;
 
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
 	@MockBean
 	private RegionaisIntegradorClient regionaisIntegradorClient;
 
@@ -95,6 +109,65 @@ class RegionalControllerTests {
 			.andExpect(jsonPath("$.length()").value(2));
 	}
 
+	@Test
+	void listagemUsaCacheLongoERespondeNaoModificadoAteSincronizacaoAlterar() throws Exception {
+		when(regionaisIntegradorClient.listarRegionais()).thenReturn(List.of(
+			regional(1, "Regional A"),
+			regional(2, "Regional B")
+		));
+		mockMvc.perform(post("/v1/regionais/sincronizar").with(jwt())).andExpect(status().isOk());
+
+		String etag = mockMvc.perform(get("/v1/regionais").with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=1800, private"))
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(post("/v1/regionais/sincronizar").with(jwt())).andExpect(status().isOk());
+
+		mockMvc.perform(get("/v1/regionais").with(jwt()).header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isNotModified());
+
+		when(regionaisIntegradorClient.listarRegionais()).thenReturn(List.of(
+			regional(1, "Regional A")
+		));
+		mockMvc.perform(post("/v1/regionais/sincronizar").with(jwt())).andExpect(status().isOk());
+
+		mockMvc.perform(get("/v1/regionais").with(jwt()).header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(1));
+	}
+
+	@Test
+	void sincronizacaoAgrupaEscritasEmLotesEmVezDeUmaIdaAoBancoPorRegional() throws Exception {
+		int quantidade = 200;
+		when(regionaisIntegradorClient.listarRegionais()).thenReturn(IntStream.rangeClosed(1, quantidade)
+			.mapToObj(i -> regional(i, "Regional " + i))
+			.toList());
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		mockMvc.perform(post("/v1/regionais/sincronizar").with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.inseridos").value(quantidade));
+
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(quantidade);
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(12);
+
+		when(regionaisIntegradorClient.listarRegionais()).thenReturn(IntStream.rangeClosed(1, quantidade)
+			.mapToObj(i -> regional(i, "Regional " + i + " (novo)"))
+			.toList());
+
+		statistics.clear();
+		mockMvc.perform(post("/v1/regionais/sincronizar").with(jwt()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.inseridos").value(quantidade))
+			.andExpect(jsonPath("$.inativados").value(quantidade));
+
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(quantidade);
+		assertThat(statistics.getEntityUpdateCount()).isEqualTo(quantidade);
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(20);
+	}
+
 	private RegionalIntegradorResponse regional(int id, String nome) {
 		RegionalIntegradorResponse r = new RegionalIntegradorResponse();
 		r.setId(id);
@@ -0,0 +1,111 @@
+package br.gov.seplag.musicapi.benchmark;
+
+import br.gov.seplag.musicapi.MusicApiApplication;
+import br.gov.seplag.musicapi.domain.Artista;
+import br.gov.seplag.musicapi.repository.ArtistaRepository;
+import br.gov.seplag.musicapi.repository.PadraoLike;
+import br.gov.seplag.musicapi.service.IndiceSugestoes;
+import br.gov.seplag.musicapi.service.IndiceSugestoes.Sugestao;
+import br.gov.seplag.musicapi.service.NormalizadorTexto;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SugestoesBenchmark {
+	private static final String[] PRENOMES = { "João", "Maria", "José", "Ana", "Luíz", "Mike", "Michel", "Gal", "Zé", "Elis" };
+	private static final String[] SOBRENOMES = { "Gilberto", "Bethânia", "Teló", "Costa", "Shinoda", "Regina", "Ramalho", "Gonzaga" };
+
+	@Param({ "100000" })
+	private int quantidade;
+
+	@Param({ "mi", "joao gil" })
+	private String prefixo;
+
+	private IndiceSugestoes indice;
+	private ConfigurableApplicationContext contexto;
+	private ArtistaRepository artistaRepository;
+	private String prefixoNormalizado;
+	private String padrao;
+	private Pageable pagina;
+
+	@Setup
+	public void preparar() {
+		Random random = new Random(42);
+		Map<Long, String> nomes = new HashMap<>();
+		for (long id = 1; id <= quantidade; id++) {
+			nomes.put(id, PRENOMES[random.nextInt(PRENOMES.length)] + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)] + " " + id);
+		}
+		indice = IndiceSugestoes.construir(nomes);
+		prefixoNormalizado = NormalizadorTexto.normalizar(prefixo);
+		padrao = PadraoLike.contendo(prefixoNormalizado);
+		pagina = PageRequest.of(0, 10, Sort.by("nome"));
+
+		contexto = new SpringApplicationBuilder(MusicApiApplication.class)
+			.profiles("local")
+			.properties(
+				"server.port=0",
+				"spring.datasource.url=jdbc:h2:mem:sugestoes-benchmark;MODE=PostgreSQL;DB_CLOSE_ON_EXIT=FALSE",
+				"app.catalogo.alteracoes.acompanhamento=1h"
+			)
+			.run();
+		artistaRepository = contexto.getBean(ArtistaRepository.class);
+		contexto.getBean(JdbcTemplate.class).batchUpdate(
+			"insert into artista (nome, nome_normalizado) values (?, ?)",
+			List.copyOf(nomes.values()),
+			1000,
+			(ps, nome) -> {
+				ps.setString(1, nome);
+				ps.setString(2, NormalizadorTexto.normalizar(nome));
+			}
+		);
+	}
+
+	@TearDown
+	public void encerrar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public List<Sugestao> indiceEmMemoria() {
+		return indice.buscar(prefixoNormalizado, 10);
+	}
+
+	@Benchmark
+	public Page<Artista> consultaSql() {
+		return artistaRepository.buscarPorNomeNormalizado(padrao, pagina);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(SugestoesBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,430 @@
+package br.gov.seplag.musicapi.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.gov.seplag.musicapi.domain.SituacaoCapa;
+import br.gov.seplag.musicapi.domain.SituacaoVariantes;
+import br.gov.seplag.musicapi.repository.ArtistaAlbumRepository.Vinculo;
+import io.minio.MinioClient;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = {
+	"app.ratelimit.enabled=false",
+	"spring.profiles.active=local",
+	"spring.datasource.url=jdbc:h2:mem:planos-consulta;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PlanosConsultaTests {
+	private static final int ARTISTAS = 3000;
+	private static final int ALBUNS = 6000;
+	private static final long BASE_ID = 1_000_000L;
+	private static final Pattern VARREDURA = Pattern.compile("/\\* PUBLIC\\.([A-Z_]+)\\.tableScan");
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private AlbumRepository albumRepository;
+
+	@Autowired
+	private ArtistaRepository artistaRepository;
+
+	@Autowired
+	private ArtistaAlbumRepository artistaAlbumRepository;
+
+	@Autowired
+	private AlbumListagemRepository albumListagemRepository;
+
+	@Autowired
+	private CapaAlbumRepository capaAlbumRepository;
+
+	@Autowired
+	private VarianteCapaRepository varianteCapaRepository;
+
+	@Autowired
+	private CatalogoMemoriaRepository catalogoMemoriaRepository;
+
+	@Autowired
+	private SugestoesRepository sugestoesRepository;
+
+	@Autowired
+	private BuscaRepository buscaRepository;
+
+	@Autowired
+	private RegionalRepository regionalRepository;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private RefreshTokenRepository refreshTokenRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@MockBean
+	private MinioClient minioClient;
+
+	@MockBean
+	private SimpMessagingTemplate messagingTemplate;
+
+	@BeforeAll
+	void popular() {
+		jdbcTemplate.update("""
+			insert into artista (id, nome, nome_normalizado, tipo)
+			select ? + x, 'Artista ' || x, 'ARTISTA ' || x, case when mod(x, 3) = 0 then 'BANDA' else 'CANTOR' end
+			from system_range(1, ?)
+			""", BASE_ID, ARTISTAS);
+		jdbcTemplate.update("""
+			insert into album (id, titulo)
+			select ? + x, 'Album ' || x
+			from system_range(1, ?)
+			""", BASE_ID, ALBUNS);
+		jdbcTemplate.update("""
+			insert into artista_album (artista_id, album_id)
+			select ? + mod(x, ?) + 1, ? + x
+			from system_range(1, ?)
+			""", BASE_ID, ARTISTAS, BASE_ID, ALBUNS);
+		jdbcTemplate.update("""
+			insert into artista_album (artista_id, album_id)
+			select ? + mod(x * 7, ?) + 1, ? + x
+			from system_range(1, ?)
+			where mod(x * 7, ?) <> mod(x, ?)
+			""", BASE_ID, ARTISTAS, BASE_ID, ALBUNS, ARTISTAS, ARTISTAS);
+		jdbcTemplate.update("""
+			insert into album_listagem (album_id, titulo, titulo_normalizado)
+			select ? + x, 'Album ' || x, 'ALBUM ' || x
+			from system_range(1, ?)
+			""", BASE_ID, ALBUNS);
+		jdbcTemplate.update("""
+			insert into album_capa (album_id, bucket, objeto, content_type, tamanho)
+			select ? + x, 'capas', 'album/' || x, 'image/png', 1
+			from system_range(1, ?)
+			""", BASE_ID, ALBUNS);
+		jdbcTemplate.update("""
+			insert into catalogo_alteracao (album_id, registrado_em)
+			select ? + x, dateadd('SECOND', x, timestamp '2024-01-01 00:00:00')
+			from system_range(1, ?)
+			""", BASE_ID, ALBUNS);
+		jdbcTemplate.update("""
+			insert into regional (id_integrador, nome, ativo)
+			select x, 'Regional ' || x, mod(x, 50) = 0
+			from system_range(1, ?)
+			""", ALBUNS);
+		jdbcTemplate.execute("analyze");
+	}
+
+	@Test
+	void consultasDeAlbumUsamIndices() {
+		assertarPlanos(() -> albumRepository.buscarComArtistasPorId(BASE_ID + 10));
+		assertarPlanos(() -> albumRepository.buscarComArtistasPorIds(List.of(BASE_ID + 10, BASE_ID + 20)));
+		assertarPlanos(() -> albumRepository.buscarIdsAposId(BASE_ID + 100, PageRequest.of(0, 50)));
+		assertarPlanos(() -> albumRepository.buscarIdsPorArtistaId(BASE_ID + 10));
+		assertarPlanos(() -> albumRepository.buscarVersao(BASE_ID + 10));
+		assertarPlanos(() -> emTransacaoDesfeita(() -> albumRepository.incrementarVersoes(List.of(BASE_ID + 10))));
+	}
+
+	@Test
+	void consultasDeArtistaUsamIndices() {
+		assertarPlanos(() -> artistaRepository.buscarResumosPorAlbumIds(List.of(BASE_ID + 10, BASE_ID + 20)));
+		assertarPlanos(() -> artistaRepository.buscarVersao(BASE_ID + 10));
+		assertarPlanos(() -> artistaRepository.buscarNomesExistentes(List.of("Artista 12", "Artista 13")));
+		assertarPlanos(() -> emTransacaoDesfeita(() -> artistaRepository.incrementarVersoes(List.of(BASE_ID + 10))));
+		assertarPlanos(() -> artistaRepository.findAll(PageRequest.of(0, 20, Sort.by(Direction.ASC, "nome"))));
+		assertarPlanos(() -> artistaRepository.findAllBy(PageRequest.of(0, 20, Sort.by(Direction.ASC, "nome"))));
+		assertarPlanos(() -> artistaRepository.findAll(
+			PageRequest.of(0, 20, Sort.by(Direction.DESC, "quantidadeAlbuns", "id"))
+		));
+	}
+
+	@Test
+	void buscaPorNomeContidoVarreArtistasApenasNoH2() {
+		assertarPlanos(
+			() -> artistaRepository.buscarPorNomeNormalizado("%ARTISTA 12%", PageRequest.of(0, 20, Sort.by("nome"))),
+			"ARTISTA"
+		);
+		assertarPlanos(
+			() -> artistaRepository.buscarFatiaPorNomeNormalizado("%ARTISTA 12%", PageRequest.of(0, 20, Sort.by("nome"))),
+			"ARTISTA"
+		);
+		assertarPlanos(() -> artistaRepository.contarPorNomeNormalizado("%ARTISTA 12%"), "ARTISTA");
+		assertarPlanos(() -> buscaRepository.buscar("ALBUM 12", 10), "ARTISTA", "ALBUM_LISTAGEM");
+	}
+
+	@Test
+	void consultasDeVinculosUsamIndices() {
+		assertarPlanos(() -> artistaAlbumRepository.buscarArtistaIds(BASE_ID + 10));
+		assertarPlanos(() -> artistaAlbumRepository.buscarAlbunsDoArtista(BASE_ID + 10, BASE_ID + 100, 21));
+		assertarPlanos(() -> emTransacaoDesfeita(() -> {
+			artistaAlbumRepository.remover(List.of(new Vinculo(BASE_ID + 11, BASE_ID + 10)));
+			return null;
+		}));
+		assertarPlanos(() -> emTransacaoDesfeita(() -> {
+			artistaAlbumRepository.inserir(List.of(new Vinculo(BASE_ID + 500, BASE_ID + 10)));
+			return null;
+		}));
+	}
+
+	@Test
+	void consultasDoCatalogoEmMemoriaUsamIndices() {
+		Set<Long> ids = Set.of(BASE_ID + 10, BASE_ID + 20);
+		assertarPlanos(() -> catalogoMemoriaRepository.buscarArtistas(ids));
+		assertarPlanos(() -> catalogoMemoriaRepository.buscarAlbuns(ids));
+		assertarPlanos(() -> catalogoMemoriaRepository.buscarVinculosDosAlbuns(ids));
+		assertarPlanos(() -> catalogoMemoriaRepository.listarAlteracoesApos(ALBUNS - 10));
+		assertarPlanos(() -> catalogoMemoriaRepository.buscarMarcasPorTipoAte(ALBUNS - 10));
+		assertarPlanos(() -> catalogoMemoriaRepository.buscarMarcaAte(Instant.parse("2024-01-01T00:00:10Z")));
+		assertarPlanos(() -> emTransacaoDesfeita(
+			() -> catalogoMemoriaRepository.removerAlteracoesAntesDe(Instant.parse("2024-01-01T00:00:10Z"))
+		));
+		assertarPlanos(() -> sugestoesRepository.buscarNomesArtistas(ids));
+		assertarPlanos(() -> sugestoesRepository.buscarTitulosAlbuns(ids));
+	}
+
+	@Test
+	void cargasCompletasVarremSoAsProprias() {
+		assertarPlanos(catalogoMemoriaRepository::listarArtistas, "ARTISTA");
+		assertarPlanos(catalogoMemoriaRepository::listarAlbuns, "ALBUM");
+		assertarPlanos(catalogoMemoriaRepository::listarVinculos, "ARTISTA_ALBUM");
+		assertarPlanos(sugestoesRepository::listarNomesArtistas, "ARTISTA");
+		assertarPlanos(sugestoesRepository::listarTitulosAlbuns, "ALBUM");
+	}
+
+	@Test
+	void listagemDeAlbunsUsaIndicesPorFiltro() {
+		Pageable pagina = PageRequest.of(1, 20, Sort.by("titulo", "albumId"));
+		FiltroAlbuns porArtistaId = new FiltroAlbuns("", "", BASE_ID + 10, false, false);
+		FiltroAlbuns porArtistaNome = new FiltroAlbuns("", "ARTISTA 12", null, false, false);
+		FiltroAlbuns porArtistaIdETipo = new FiltroAlbuns("", "", BASE_ID + 10, true, true);
+
+		for (FiltroAlbuns filtro : List.of(porArtistaId, porArtistaIdETipo)) {
+			assertarPlanos(() -> albumListagemRepository.buscar(filtro, pagina));
+			assertarPlanos(() -> albumListagemRepository.buscarFatia(filtro, pagina));
+			assertarPlanos(() -> albumListagemRepository.contar(filtro));
+			assertarPlanos(() -> albumListagemRepository.contarFacetas(filtro));
+			assertarPlanos(() -> albumListagemRepository.buscarArtistasMaisFrequentes(filtro, 10));
+		}
+		assertarPlanos(() -> albumListagemRepository.buscar(porArtistaNome, pagina), "ARTISTA");
+		assertarPlanos(() -> albumListagemRepository.buscarFatia(porArtistaNome, pagina), "ARTISTA");
+		assertarPlanos(() -> albumListagemRepository.contar(porArtistaNome), "ARTISTA");
+		assertarPlanos(() -> albumListagemRepository.contarFacetas(porArtistaNome), "ARTISTA");
+		assertarPlanos(() -> albumListagemRepository.buscarArtistasMaisFrequentes(porArtistaNome, 10), "ARTISTA");
+	}
+
+	@Test
+	void listagemPorTituloContidoVarreAlbumListagemApenasNoH2() {
+		Pageable pagina = PageRequest.of(0, 20, Sort.by("titulo", "albumId"));
+		FiltroAlbuns porTitulo = new FiltroAlbuns("ALBUM 12", "", null, false, false);
+
+		assertarPlanos(() -> albumListagemRepository.buscar(porTitulo, pagina), "ALBUM_LISTAGEM");
+		assertarPlanos(() -> albumListagemRepository.buscarFatia(porTitulo, pagina), "ALBUM_LISTAGEM");
+		assertarPlanos(() -> albumListagemRepository.contar(porTitulo), "ALBUM_LISTAGEM");
+		assertarPlanos(() -> albumListagemRepository.contarFacetas(porTitulo), "ALBUM_LISTAGEM");
+		assertarPlanos(() -> albumListagemRepository.buscarArtistasMaisFrequentes(porTitulo, 10), "ALBUM_LISTAGEM");
+	}
+
+	@Test
+	void consultasDeRegionaisVarremSoATabelaPequena() {
+		assertarPlanos(regionalRepository::findByAtivoTrue, "REGIONAL");
+		assertarPlanos(regionalRepository::findByAtivoFalse, "REGIONAL");
+		assertarPlanos(() -> regionalRepository.findByAtivoAndNomeContainingIgnoreCase(true, "regional 1"), "REGIONAL");
+		assertarPlanos(regionalRepository::buscarResumo, "REGIONAL");
+	}
+
+	@Test
+	void listagemECapasUsamIndices() {
+		FiltroAlbuns semFiltro = new FiltroAlbuns("", "", null, false, false);
+		assertarPlanos(() -> albumListagemRepository.buscarAposCursor(
+			semFiltro, Direction.ASC, "Album 10", BASE_ID + 10, 20
+		));
+		assertarPlanos(() -> albumListagemRepository.buscarAposCursor(
+			semFiltro, Direction.DESC, "Album 10", BASE_ID + 10, 20
+		));
+		assertarPlanos(() -> emTransacaoDesfeita(() -> albumListagemRepository.marcarComCapa(BASE_ID + 10)));
+		assertarPlanos(() -> capaAlbumRepository.findAllByAlbumIdAndSituacaoOrderByIdDesc(BASE_ID + 10, SituacaoCapa.CONFIRMADA));
+		assertarPlanos(() -> capaAlbumRepository.findTopByAlbumIdAndSituacaoOrderByIdDesc(BASE_ID + 10, SituacaoCapa.CONFIRMADA));
+		assertarPlanos(() -> capaAlbumRepository.buscarMaisRecentesPorAlbumIds(
+			List.of(BASE_ID + 10, BASE_ID + 11, BASE_ID + 12),
+			SituacaoCapa.CONFIRMADA
+		));
+		assertarPlanos(() -> capaAlbumRepository.findTop100BySituacaoAndCriadoEmBeforeOrderByCriadoEmAsc(
+			SituacaoCapa.PENDENTE,
+			Instant.now()
+		));
+		assertarPlanos(() -> capaAlbumRepository.findBySituacaoAndSituacaoVariantesOrderByIdAsc(
+			SituacaoCapa.CONFIRMADA,
+			SituacaoVariantes.PENDENTE,
+			Limit.of(100)
+		));
+		assertarPlanos(() -> varianteCapaRepository.findAllByCapaIdIn(List.of(1L, 2L, 3L)));
+		assertarPlanos(() -> emTransacaoDesfeita(
+			() -> capaAlbumRepository.atualizarSituacao(BASE_ID + 10, SituacaoCapa.CONFIRMADA, "etag")
+		));
+		assertarPlanos(() -> emTransacaoDesfeita(
+			() -> capaAlbumRepository.registrarVariantes(BASE_ID + 10, SituacaoVariantes.GERADAS, 10, 10)
+		));
+	}
+
+	@Test
+	void consultasDeAutenticacaoUsamIndices() {
+		assertarPlanos(() -> usuarioRepository.findByUsername("admin"));
+		assertarPlanos(() -> refreshTokenRepository.findByToken("token"));
+	}
+
+	private void assertarPlanos(Runnable consulta, String... varredurasPermitidas) {
+		List<ConsultaGravada> gravadas = ConsultasGravadas.gravar(consulta);
+		assertThat(gravadas).isNotEmpty();
+
+		Set<String> permitidas = Set.of(varredurasPermitidas);
+		for (ConsultaGravada gravada : gravadas) {
+			String plano = explicar(gravada);
+			Matcher matcher = VARREDURA.matcher(plano);
+			Set<String> varridas = new TreeSet<>();
+			while (matcher.find()) {
+				varridas.add(matcher.group(1));
+			}
+			varridas.removeAll(permitidas);
+			assertThat(varridas)
+				.as("varredura completa em %s%nSQL: %s%nplano: %s", varridas, gravada.sql(), plano)
+				.isEmpty();
+		}
+	}
+
+	private String explicar(ConsultaGravada gravada) {
+		return String.join("\n", jdbcTemplate.query(
+			"explain " + gravada.sql(),
+			ps -> {
+				for (Map.Entry<Integer, Object> parametro : gravada.parametros().entrySet()) {
+					ps.setObject(parametro.getKey(), parametro.getValue());
+				}
+			},
+			(rs, rowNum) -> rs.getString(1)
+		));
+	}
+
+	private void emTransacaoDesfeita(Supplier<?> escrita) {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			escrita.get();
+			status.setRollbackOnly();
+		});
+	}
+
+	record ConsultaGravada(String sql, Map<Integer, Object> parametros) {
+	}
+
+	static final class ConsultasGravadas {
+		private static final List<ConsultaGravada> GRAVADAS = new ArrayList<>();
+		private static volatile Thread gravando;
+
+		static synchronized List<ConsultaGravada> gravar(Runnable consulta) {
+			GRAVADAS.clear();
+			gravando = Thread.currentThread();
+			try {
+				consulta.run();
+			} finally {
+				gravando = null;
+			}
+			return List.copyOf(GRAVADAS);
+		}
+
+		static PreparedStatement registrar(String sql, PreparedStatement alvo) {
+			String comando = sql.stripLeading().toLowerCase(Locale.ROOT);
+			if (gravando != Thread.currentThread() || !(comando.startsWith("select") || comando.startsWith("update") || comando.startsWith("delete"))) {
+				return alvo;
+			}
+			Map<Integer, Object> parametros = new TreeMap<>();
+			GRAVADAS.add(new ConsultaGravada(sql, parametros));
+			return (PreparedStatement) Proxy.newProxyInstance(
+				PreparedStatement.class.getClassLoader(),
+				new Class<?>[] {PreparedStatement.class},
+				(proxy, metodo, args) -> {
+					if (metodo.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer indice) {
+						parametros.put(indice, metodo.getName().equals("setNull") ? null : args[1]);
+					}
+					return invocar(alvo, metodo, args);
+				}
+			);
+		}
+
+		static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+			try {
+				return metodo.invoke(alvo, args);
+			} catch (InvocationTargetException ex) {
+				throw ex.getCause();
+			}
+		}
+	}
+
+	@TestConfiguration
+	static class GravacaoConsultasConfig {
+		@Bean
+		static BeanPostProcessor gravadorDeConsultas() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if (!(bean instanceof DataSource dataSource)) {
+						return bean;
+					}
+					return Proxy.newProxyInstance(
+						DataSource.class.getClassLoader(),
+						new Class<?>[] {DataSource.class},
+						(proxy, metodo, args) -> {
+							Object resultado = ConsultasGravadas.invocar(dataSource, metodo, args);
+							return resultado instanceof Connection conexao ? conexaoGravada(conexao) : resultado;
+						}
+					);
+				}
+			};
+		}
+
+		private static Connection conexaoGravada(Connection conexao) {
+			InvocationHandler handler = (proxy, metodo, args) -> {
+				Object resultado = ConsultasGravadas.invocar(conexao, metodo, args);
+				if (metodo.getName().equals("prepareStatement") && resultado instanceof PreparedStatement ps) {
+					return ConsultasGravadas.registrar((String) args[0], ps);
+				}
+				return resultado;
+			};
+			return (Connection) Proxy.newProxyInstance(
+				Connection.class.getClassLoader(),
+				new Class<?>[] {Connection.class},
+				handler
+			);
+		}
+	}
+}
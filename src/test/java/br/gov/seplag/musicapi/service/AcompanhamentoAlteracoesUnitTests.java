@@ -0,0 +1,68 @@
+package br.gov.seplag.musicapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository;
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository.Alteracao;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+@ExtendWith(MockitoExtension.class)
+class AcompanhamentoAlteracoesUnitTests {
+	@Mock
+	private CatalogoMemoriaRepository catalogoMemoriaRepository;
+
+	private AcompanhamentoAlteracoes acompanhamento;
+
+	@BeforeEach
+	void setup() {
+		acompanhamento = new AcompanhamentoAlteracoes(catalogoMemoriaRepository, Duration.ofMinutes(1));
+	}
+
+	@Test
+	void reiniciarMarcaAlteracoesExistentesComoVistasEJuntaAsNovasNumLote() {
+		when(catalogoMemoriaRepository.buscarMarcaAte(any())).thenReturn(10L);
+		when(catalogoMemoriaRepository.listarAlteracoesApos(10L)).thenReturn(
+			List.of(new Alteracao(11L, 1L, null)),
+			List.of(new Alteracao(11L, 1L, null), new Alteracao(12L, 2L, null), new Alteracao(13L, null, 7L))
+		);
+		List<CatalogoAlteradoEvent> aplicadas = new ArrayList<>();
+
+		acompanhamento.reiniciar(() -> aplicadas.add(null));
+		acompanhamento.acompanhar(aplicadas::add);
+
+		assertThat(aplicadas).hasSize(2);
+		assertThat(aplicadas.get(1)).isEqualTo(new CatalogoAlteradoEvent(Set.of(2L), Set.of(7L)));
+	}
+
+	@Test
+	void falhaAoAplicarMantemAlteracoesPendentes() {
+		when(catalogoMemoriaRepository.buscarMarcaAte(any())).thenReturn(10L);
+		when(catalogoMemoriaRepository.listarAlteracoesApos(10L)).thenReturn(
+			List.of(),
+			List.of(new Alteracao(11L, 1L, null)),
+			List.of(new Alteracao(11L, 1L, null))
+		);
+		acompanhamento.reiniciar(() -> {
+		});
+
+		assertThatThrownBy(() -> acompanhamento.acompanhar(alteracoes -> {
+			throw new QueryTimeoutException("timeout");
+		})).isInstanceOf(QueryTimeoutException.class);
+
+		List<CatalogoAlteradoEvent> aplicadas = new ArrayList<>();
+		acompanhamento.acompanhar(aplicadas::add);
+		assertThat(aplicadas).containsExactly(new CatalogoAlteradoEvent(Set.of(1L), Set.of()));
+	}
+}
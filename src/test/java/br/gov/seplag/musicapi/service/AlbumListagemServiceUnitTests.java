@@ -0,0 +1,99 @@
+package br.gov.seplag.musicapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import br.gov.seplag.musicapi.domain.Album;
+import br.gov.seplag.musicapi.domain.AlbumListagem;
+import br.gov.seplag.musicapi.domain.Artista;
+import br.gov.seplag.musicapi.domain.ArtistaTipo;
+import br.gov.seplag.musicapi.repository.AlbumListagemRepository;
+import br.gov.seplag.musicapi.repository.AlbumRepository;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class AlbumListagemServiceUnitTests {
+	@Mock
+	private AlbumRepository albumRepository;
+
+	@Mock
+	private AlbumListagemRepository albumListagemRepository;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private AlbumListagemService albumListagemService;
+
+	@BeforeEach
+	void setup() {
+		albumListagemService = new AlbumListagemService(
+			albumRepository,
+			albumListagemRepository,
+			eventPublisher,
+			transactionManager
+		);
+	}
+
+	@Test
+	void atualizarDesnormalizaTituloETipos() {
+		Album album = new Album();
+		album.setId(7L);
+		album.setTitulo("Canções  de Amor");
+		album.getArtistas().add(artista(3L, "Banda Él", ArtistaTipo.BANDA));
+		album.getArtistas().add(artista(1L, "Cantor", ArtistaTipo.CANTOR));
+		when(albumListagemRepository.findById(7L)).thenReturn(Optional.empty());
+
+		albumListagemService.atualizar(album);
+
+		ArgumentCaptor<AlbumListagem> captor = ArgumentCaptor.forClass(AlbumListagem.class);
+		verify(albumListagemRepository).save(captor.capture());
+		AlbumListagem listagem = captor.getValue();
+		assertThat(listagem.isNew()).isTrue();
+		assertThat(listagem.getAlbumId()).isEqualTo(7L);
+		assertThat(listagem.getTitulo()).isEqualTo("Canções  de Amor");
+		assertThat(listagem.getTituloNormalizado()).isEqualTo("CANCOES DE AMOR");
+		assertThat(listagem.isTemCantor()).isTrue();
+		assertThat(listagem.isTemBanda()).isTrue();
+		assertThat(listagem.getQuantidadeArtistas()).isEqualTo(2);
+	}
+
+	@Test
+	void reconstruirPercorreAlbunsEmLotesPorId() {
+		Album album = new Album();
+		album.setId(1L);
+		album.setTitulo("Sem artistas");
+		when(albumRepository.buscarIdsAposId(any(), any())).thenReturn(List.of(1L), List.of());
+		when(albumRepository.buscarComArtistasPorIds(List.of(1L))).thenReturn(List.of(album));
+
+		int total = albumListagemService.reconstruir();
+
+		assertThat(total).isEqualTo(1);
+		verify(albumRepository, times(2)).buscarIdsAposId(any(), any());
+		verify(albumListagemRepository).saveAll(any());
+		verify(eventPublisher).publishEvent(new CatalogoAlteradoEvent(Set.of(1L), Set.of()));
+	}
+
+	private static Artista artista(Long id, String nome, ArtistaTipo tipo) {
+		Artista artista = new Artista();
+		artista.setId(id);
+		artista.setNome(nome);
+		artista.setTipo(tipo);
+		return artista;
+	}
+}
@@ -13,25 +13,42 @@ import static org.mockito.Mockito.when;
 
 import br.gov.seplag.musicapi.api.v1.dto.AlbumRequest;
 import br.gov.seplag.musicapi.api.v1.dto.AlbumResponse;
+import br.gov.seplag.musicapi.api.v1.dto.ResultadoLoteResponse;
 import br.gov.seplag.musicapi.domain.Album;
+import br.gov.seplag.musicapi.domain.AlbumListagem;
 import br.gov.seplag.musicapi.domain.Artista;
+import br.gov.seplag.musicapi.domain.TamanhoCapa;
+import br.gov.seplag.musicapi.repository.AlbumListagemRepository;
 import br.gov.seplag.musicapi.repository.AlbumRepository;
+import br.gov.seplag.musicapi.repository.ArtistaAlbumRepository;
 import br.gov.seplag.musicapi.repository.ArtistaRepository;
+import br.gov.seplag.musicapi.repository.FiltroAlbuns;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.LongStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.http.HttpStatus;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.server.ResponseStatusException;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,12 +56,50 @@ class AlbumServiceUnitTests {
 	@Mock
 	private AlbumRepository albumRepository;
 
+	@Mock
+	private AlbumListagemRepository albumListagemRepository;
+
+	@Mock
+	private AlbumListagemService albumListagemService;
+
 	@Mock
 	private ArtistaRepository artistaRepository;
 
+	@Mock
+	private ArtistaAlbumRepository artistaAlbumRepository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@Mock
+	private CatalogoGeracaoService catalogoGeracaoService;
+
+	@Mock
+	private CatalogoMemoriaService catalogoMemoriaService;
+
+	@Spy
+	private AlbumListagemCache albumListagemCache = new AlbumListagemCache(
+		new SimpleMeterRegistry(),
+		1000,
+		Duration.ofMinutes(1)
+	);
+
+	@Spy
+	private ContagemListagemCache contagemListagemCache = new ContagemListagemCache(
+		new SimpleMeterRegistry(),
+		1000,
+		Duration.ofMinutes(1)
+	);
+
 	@Mock
 	private SimpMessagingTemplate messagingTemplate;
 
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private CapaAlbumService capaAlbumService;
+
 	@InjectMocks
 	private AlbumService albumService;
 
@@ -68,54 +123,127 @@ class AlbumServiceUnitTests {
 		AlbumRequest request = new AlbumRequest();
 		request.setTitulo("  OK  ");
 
-		when(albumRepository.save(any(Album.class))).thenAnswer(invocation -> {
+		when(albumRepository.saveAndFlush(any(Album.class))).thenAnswer(invocation -> {
 			Album album = invocation.getArgument(0);
 			album.setId(1L);
 			return album;
 		});
-		when(albumRepository.buscarComArtistasPorId(1L)).thenReturn(albumComArtistas(1L, "OK", List.of()));
 
 		AlbumResponse response = albumService.criar(request);
 
 		assertThat(response.getId()).isEqualTo(1L);
 		assertThat(response.getTitulo()).isEqualTo("OK");
 		verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/albuns"), any(AlbumResponse.class));
+		verify(albumRepository, never()).buscarComArtistasPorId(any());
 		verify(artistaRepository, never()).saveAll(any());
 	}
 
 	@Test
-	void criarComArtistaIdNullRetorna400() {
+	void criarComArtistasInsereVinculosEMontaRespostaEmMemoria() {
 		AlbumRequest request = new AlbumRequest();
 		request.setTitulo("OK");
-		request.setArtistaIds(Arrays.asList(1L, null));
+		request.setArtistaIds(List.of(2L, 1L));
 
-		when(albumRepository.save(any(Album.class))).thenAnswer(invocation -> {
+		when(artistaRepository.findAllById(any())).thenReturn(List.of(
+			artista(1L, "B", Set.of()),
+			artista(2L, "A", Set.of())
+		));
+		when(albumRepository.saveAndFlush(any(Album.class))).thenAnswer(invocation -> {
 			Album album = invocation.getArgument(0);
-			album.setId(10L);
+			album.setId(7L);
 			return album;
 		});
 
+		AlbumResponse response = albumService.criar(request);
+
+		assertThat(response.getArtistas()).extracting("nome").containsExactly("A", "B");
+		verify(artistaAlbumRepository).inserir(List.of(
+			new ArtistaAlbumRepository.Vinculo(1L, 7L),
+			new ArtistaAlbumRepository.Vinculo(2L, 7L)
+		));
+		verify(albumRepository, never()).buscarComArtistasPorId(any());
+		verify(artistaRepository, never()).saveAll(any());
+	}
+
+	@Test
+	void criarComArtistaIdNullRetorna400() {
+		AlbumRequest request = new AlbumRequest();
+		request.setTitulo("OK");
+		request.setArtistaIds(Arrays.asList(1L, null));
+
 		assertThatThrownBy(() -> albumService.criar(request))
 			.isInstanceOfSatisfying(ResponseStatusException.class, ex -> {
 				assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
 				assertThat(ex.getReason()).isEqualTo("artistaIds não pode conter null");
 			});
 
-		verify(artistaRepository, never()).saveAll(any());
+		verify(albumRepository, never()).saveAndFlush(any(Album.class));
+		verify(artistaAlbumRepository, never()).inserir(any());
 		verify(messagingTemplate, never()).convertAndSend(anyString(), (Object) any());
 	}
 
+	@Test
+	void criarEmLoteValidaArtistasComUmaConsultaERetornaResultadoPorItem() {
+		Artista artista = new Artista();
+		artista.setId(1L);
+		artista.setNome("A");
+		when(artistaRepository.findAllById(List.of(1L, 9L))).thenReturn(List.of(artista));
+		when(albumRepository.saveAllAndFlush(any())).thenAnswer(invocation -> {
+			List<Album> albuns = invocation.getArgument(0);
+			long id = 100L;
+			for (Album album : albuns) {
+				album.setId(id++);
+			}
+			return albuns;
+		});
+
+		AlbumRequest valido = new AlbumRequest();
+		valido.setTitulo(" T1 ");
+		valido.setArtistaIds(List.of(1L));
+		AlbumRequest semTitulo = new AlbumRequest();
+		semTitulo.setTitulo(" ");
+		AlbumRequest artistaInexistente = new AlbumRequest();
+		artistaInexistente.setTitulo("T3");
+		artistaInexistente.setArtistaIds(List.of(1L, 9L));
+
+		ResultadoLoteResponse resultado = albumService.criarEmLote(List.of(valido, semTitulo, artistaInexistente));
+
+		assertThat(resultado.getTotal()).isEqualTo(3);
+		assertThat(resultado.getSucessos()).isEqualTo(1);
+		assertThat(resultado.getItens().get(0).getId()).isEqualTo(100L);
+		assertThat(resultado.getItens().get(1).getErro()).isEqualTo("titulo é obrigatório");
+		assertThat(resultado.getItens().get(2).getErro()).isEqualTo("artistas não encontrados: [9]");
+		verify(artistaRepository, times(1)).findAllById(any());
+		verify(artistaAlbumRepository).inserir(List.of(new ArtistaAlbumRepository.Vinculo(1L, 100L)));
+		verify(messagingTemplate).convertAndSend(eq("/topic/albuns"), any(AlbumResponse.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void criarEmLoteConsultaArtistasEmBlocosDeMilIds() {
+		AlbumRequest request = new AlbumRequest();
+		request.setTitulo("T");
+		request.setArtistaIds(LongStream.rangeClosed(1, 2500).boxed().toList());
+
+		ResultadoLoteResponse resultado = albumService.criarEmLote(List.of(request));
+
+		ArgumentCaptor<Iterable<Long>> captor = ArgumentCaptor.forClass(Iterable.class);
+		verify(artistaRepository, times(3)).findAllById(captor.capture());
+		assertThat(captor.getAllValues()).extracting(ids -> ((List<Long>) ids).size()).containsExactly(1000, 1000, 500);
+		assertThat(resultado.getSucessos()).isZero();
+	}
+
 	@Test
 	void listarNormalizaFiltrosParaVazioEOrdenaPorTitulo() {
-		when(albumRepository.buscar(eq("x"), eq("y"), eq(null), eq(null), eq(null), any(Pageable.class)))
+		when(albumListagemRepository.buscar(eq(new FiltroAlbuns("X", "Y", null, false, false)), any(Pageable.class)))
 			.thenReturn(new PageImpl<>(List.of(
-				albumComArtistas(1L, "t1", List.of())
+				listagem(1L, "t1")
 			)));
 
-		albumService.listar(" x ", " y ", null, null, null, "desc", 2, 20);
+		albumService.listar(0L, " x ", " y ", null, null, null, "desc", 2, 20, false, null, false, null);
 
 		ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
-		verify(albumRepository).buscar(eq("x"), eq("y"), eq(null), eq(null), eq(null), captor.capture());
+		verify(albumListagemRepository).buscar(eq(new FiltroAlbuns("X", "Y", null, false, false)), captor.capture());
 		Direction direction = captor.getValue().getSort().getOrderFor("titulo").getDirection();
 		assertThat(direction).isEqualTo(Direction.DESC);
 		assertThat(captor.getValue().getPageNumber()).isEqualTo(2);
@@ -123,33 +251,105 @@ class AlbumServiceUnitTests {
 	}
 
 	@Test
-	void atualizarComArtistasAtualizaRelacionamentos() {
+	void listarLimitaTamanhoMaximoDaPagina() {
+		when(albumListagemRepository.buscar(eq(new FiltroAlbuns("", "", null, false, false)), any(Pageable.class)))
+			.thenReturn(new PageImpl<>(List.of()));
+
+		albumService.listar(0L, null, null, null, null, null, null, 0, 5000, false, null, false, null);
+
+		ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+		verify(albumListagemRepository).buscar(eq(new FiltroAlbuns("", "", null, false, false)), captor.capture());
+		assertThat(captor.getValue().getPageSize()).isEqualTo(100);
+	}
+
+	@Test
+	void listarReutilizaPaginaEmCacheAteMudarGeracao() {
+		when(albumListagemRepository.buscar(eq(new FiltroAlbuns("", "", null, false, true)), any(Pageable.class)))
+			.thenReturn(new PageImpl<>(List.of(listagem(1L, "t1"))));
+
+		albumService.listar(3L, null, null, null, null, true, null, 0, 10, false, null, false, null);
+		albumService.listar(3L, "  ", null, null, false, true, "asc", 0, 10, false, null, false, null);
+		verify(albumListagemRepository, times(1))
+			.buscar(eq(new FiltroAlbuns("", "", null, false, true)), any(Pageable.class));
+
+		albumService.listar(4L, null, null, null, null, true, null, 0, 10, false, null, false, null);
+		verify(albumListagemRepository, times(2))
+			.buscar(eq(new FiltroAlbuns("", "", null, false, true)), any(Pageable.class));
+	}
+
+	@Test
+	void listarSemContagemUsaFatiaSemCount() {
+		when(albumListagemRepository.buscarFatia(eq(new FiltroAlbuns("", "", null, false, false)), any(Pageable.class)))
+			.thenReturn(new SliceImpl<>(List.of(listagem(1L, "t1")), PageRequest.of(0, 1), true));
+
+		Slice<AlbumResponse> fatia = albumService.listar(0L, null, null, null, null, null, null, 0, 1, false, "nenhuma", false, null);
+
+		assertThat(fatia).isNotInstanceOf(Page.class);
+		assertThat(fatia.hasNext()).isTrue();
+		verify(albumListagemRepository, never()).buscar(any(), any(Pageable.class));
+		verify(albumListagemRepository, never()).contar(any());
+	}
+
+	@Test
+	void listarComCapaBuscaUrlsDaPaginaInteiraDeUmaVez() {
+		when(albumListagemRepository.buscarFatia(eq(new FiltroAlbuns("", "", null, false, false)), any(Pageable.class)))
+			.thenReturn(new SliceImpl<>(List.of(listagem(1L, "t1"), listagem(2L, "t2")), PageRequest.of(0, 2), false));
+		when(capaAlbumService.gerarUrlsMaisRecentes(List.of(1L, 2L), TamanhoCapa.THUMB)).thenReturn(Map.of(1L, "http://capa-1"));
+
+		Slice<AlbumResponse> fatia = albumService.listar(0L, null, null, null, null, null, null, 0, 2, false, "nenhuma", true, TamanhoCapa.THUMB);
+
+		assertThat(fatia).isNotInstanceOf(Page.class);
+		assertThat(fatia.getContent()).extracting(AlbumResponse::getCapaUrl).containsExactly("http://capa-1", null);
+		verify(capaAlbumService, times(1)).gerarUrlsMaisRecentes(any(), any());
+	}
+
+	@Test
+	void listarComContagemAproximadaReaproveitaTotalEntrePaginas() {
+		when(albumListagemRepository.buscarFatia(eq(new FiltroAlbuns("X", "", null, false, false)), any(Pageable.class)))
+			.thenReturn(new SliceImpl<>(List.of(listagem(1L, "t1")), PageRequest.of(0, 1), true));
+		when(albumListagemRepository.contar(new FiltroAlbuns("X", "", null, false, false))).thenReturn(42L);
+
+		Slice<AlbumResponse> primeira = albumService.listar(0L, "x", null, null, null, null, null, 0, 1, false, "aproximada", false, null);
+		Slice<AlbumResponse> segunda = albumService.listar(0L, "x", null, null, null, null, null, 1, 1, false, "aproximada", false, null);
+
+		assertThat(((Page<AlbumResponse>) primeira).getTotalElements()).isEqualTo(42L);
+		assertThat(((Page<AlbumResponse>) segunda).getTotalElements()).isEqualTo(42L);
+		verify(albumListagemRepository, times(1)).contar(new FiltroAlbuns("X", "", null, false, false));
+	}
+
+	@Test
+	void listarPorCursorComCursorInvalidoRetorna400() {
+		assertThatThrownBy(() -> albumService.listarPorCursor(null, null, null, null, null, null, "invalido", 20))
+			.isInstanceOfSatisfying(ResponseStatusException.class, ex -> {
+				assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+				assertThat(ex.getReason()).isEqualTo("cursor inválido");
+			});
+	}
+
+	@Test
+	void atualizarComArtistasAplicaSomenteDiferencaDosVinculos() {
 		Album album = new Album();
 		album.setId(5L);
 		album.setTitulo("T");
 
-		Album antigoLink = new Album();
-		antigoLink.setId(5L);
-		antigoLink.setTitulo("T");
-
-		Artista antigo = artista(1L, "Old", Set.of(antigoLink));
 		when(albumRepository.findById(5L)).thenReturn(Optional.of(album));
-		when(artistaRepository.buscarPorAlbumId(5L)).thenReturn(List.of(antigo));
 		when(albumRepository.save(any(Album.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-		Artista novo = artista(2L, "New", Set.of());
-		when(artistaRepository.findAllById(any())).thenReturn(List.of(novo));
-		when(artistaRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
-		when(albumRepository.buscarComArtistasPorId(5L)).thenReturn(albumComArtistas(5L, "T", List.of(novo)));
+		when(artistaRepository.findAllById(any())).thenReturn(List.of(
+			artista(2L, "Mantido", Set.of()),
+			artista(3L, "Novo", Set.of())
+		));
+		when(artistaAlbumRepository.buscarArtistaIds(5L)).thenReturn(List.of(1L, 2L));
 
 		AlbumRequest request = new AlbumRequest();
-		request.setArtistaIds(List.of(2L));
+		request.setArtistaIds(List.of(2L, 3L));
 
 		AlbumResponse response = albumService.atualizar(5L, request);
 
-		assertThat(response.getArtistas()).extracting("id").containsExactly(2L);
-		assertThat(antigo.getAlbuns()).isEmpty();
-		verify(artistaRepository, times(2)).saveAll(any());
+		assertThat(response.getArtistas()).extracting("id").containsExactly(2L, 3L);
+		verify(artistaAlbumRepository).remover(List.of(new ArtistaAlbumRepository.Vinculo(1L, 5L)));
+		verify(artistaAlbumRepository).inserir(List.of(new ArtistaAlbumRepository.Vinculo(3L, 5L)));
+		verify(eventPublisher).publishEvent(new CatalogoAlteradoEvent(Set.of(5L), Set.of(1L, 3L)));
+		verify(artistaRepository, never()).saveAll(any());
 	}
 
 	@Test
@@ -163,15 +363,11 @@ class AlbumServiceUnitTests {
 			});
 	}
 
-	private static Album albumComArtistas(Long id, String titulo, List<Artista> artistas) {
-		Album album = new Album();
-		album.setId(id);
-		album.setTitulo(titulo);
-		album.getArtistas().addAll(artistas);
-		for (Artista artista : artistas) {
-			artista.getAlbuns().add(album);
-		}
-		return album;
+	private static AlbumListagem listagem(Long id, String titulo) {
+		AlbumListagem listagem = AlbumListagem.nova(id);
+		listagem.setTitulo(titulo);
+		listagem.setTituloNormalizado(titulo.toUpperCase());
+		return listagem;
 	}
 
 	private static Artista artista(Long id, String nome, Set<Album> albuns) {
@@ -2,24 +2,36 @@ package br.gov.seplag.musicapi.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import br.gov.seplag.musicapi.api.v1.dto.ArtistaRequest;
 import br.gov.seplag.musicapi.api.v1.dto.ArtistaResponse;
 import br.gov.seplag.musicapi.domain.Artista;
+import br.gov.seplag.musicapi.repository.ArtistaAlbumRepository;
 import br.gov.seplag.musicapi.repository.ArtistaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort.Direction;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +39,28 @@ class ArtistaServiceUnitTests {
 	@Mock
 	private ArtistaRepository artistaRepository;
 
+	@Mock
+	private ArtistaAlbumRepository artistaAlbumRepository;
+
+	@Spy
+	private ContagemListagemCache contagemListagemCache = new ContagemListagemCache(
+		new SimpleMeterRegistry(),
+		1000,
+		Duration.ofMinutes(1)
+	);
+
+	@Mock
+	private AlbumListagemService albumListagemService;
+
+	@Mock
+	private CatalogoGeracaoService catalogoGeracaoService;
+
+	@Mock
+	private ArtistasSimilaresService artistasSimilaresService;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
 	@InjectMocks
 	private ArtistaService artistaService;
 
@@ -58,11 +92,14 @@ class ArtistaServiceUnitTests {
 
 		when(artistaRepository.findById(1L)).thenReturn(Optional.of(existente));
 		when(artistaRepository.save(any(Artista.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		when(albumListagemService.atualizarPorArtista(1L)).thenReturn(List.of(5L, 6L));
 
 		ArtistaResponse response = artistaService.atualizar(1L, request);
 
 		assertThat(response.getId()).isEqualTo(1L);
 		assertThat(response.getNome()).isEqualTo("A");
+		verify(albumListagemService).atualizarPorArtista(1L);
+		verify(eventPublisher).publishEvent(new CatalogoAlteradoEvent(Set.of(5L, 6L), Set.of(1L)));
 	}
 
 	@Test
@@ -72,7 +109,7 @@ class ArtistaServiceUnitTests {
 			artista(2L, "A")
 		)));
 
-		Page<ArtistaResponse> page = artistaService.listar(null, null, 0, 10);
+		Page<ArtistaResponse> page = (Page<ArtistaResponse>) artistaService.listar(null, null, null, null, 0, 10);
 
 		assertThat(page.getTotalElements()).isEqualTo(2);
 		ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
@@ -83,24 +120,73 @@ class ArtistaServiceUnitTests {
 	}
 
 	@Test
-	void listarComNomeUsaBuscaCaseInsensitiveETrim() {
-		when(artistaRepository.findByNomeContainingIgnoreCase(any(String.class), any(Pageable.class)))
+	void listarComNomeUsaBuscaNormalizadaSemAcentos() {
+		when(artistaRepository.buscarPorNomeNormalizado(any(String.class), any(Pageable.class)))
 			.thenReturn(new PageImpl<>(List.of(artista(10L, "Teste"))));
 
-		Page<ArtistaResponse> page = artistaService.listar("  te  ", "desc", 1, 5);
+		Page<ArtistaResponse> page = (Page<ArtistaResponse>) artistaService.listar("  té  ", "desc", null, null, 1, 5);
 
 		assertThat(page.getContent()).hasSize(1);
 		ArgumentCaptor<String> nomeCaptor = ArgumentCaptor.forClass(String.class);
 		ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
-		verify(artistaRepository).findByNomeContainingIgnoreCase(nomeCaptor.capture(), pageableCaptor.capture());
+		verify(artistaRepository).buscarPorNomeNormalizado(nomeCaptor.capture(), pageableCaptor.capture());
 
-		assertThat(nomeCaptor.getValue()).isEqualTo("te");
+		assertThat(nomeCaptor.getValue()).isEqualTo("%TE%");
 		Direction direction = pageableCaptor.getValue().getSort().getOrderFor("nome").getDirection();
 		assertThat(direction).isEqualTo(Direction.DESC);
 		assertThat(pageableCaptor.getValue().getPageNumber()).isEqualTo(1);
 		assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(5);
 	}
 
+	@Test
+	void listarPorQuantidadeDeAlbunsDesempataPorId() {
+		when(artistaRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(artista(1L, "A"))));
+
+		artistaService.listar(null, "desc", "quantidadeAlbuns", null, 0, 10);
+
+		ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+		verify(artistaRepository).findAll(captor.capture());
+		assertThat(captor.getValue().getSort().getOrderFor("quantidadeAlbuns").getDirection()).isEqualTo(Direction.DESC);
+		assertThat(captor.getValue().getSort().getOrderFor("id").getDirection()).isEqualTo(Direction.DESC);
+		assertThat(captor.getValue().getSort().getOrderFor("nome")).isNull();
+	}
+
+	@Test
+	void listarSemContagemNaoExecutaCount() {
+		when(artistaRepository.findAllBy(any(Pageable.class)))
+			.thenReturn(new SliceImpl<>(List.of(artista(1L, "A")), PageRequest.of(0, 1), true));
+
+		Slice<ArtistaResponse> fatia = artistaService.listar(null, null, null, "NENHUMA", 0, 1);
+
+		assertThat(fatia).isNotInstanceOf(Page.class);
+		assertThat(fatia.hasNext()).isTrue();
+		verify(artistaRepository, never()).findAll(any(Pageable.class));
+		verify(artistaRepository, never()).count();
+	}
+
+	@Test
+	void listarComContagemAproximadaGuardaTotalPorFiltro() {
+		when(artistaRepository.buscarFatiaPorNomeNormalizado(eq("%TE%"), any(Pageable.class)))
+			.thenReturn(new SliceImpl<>(List.of(artista(10L, "Teste")), PageRequest.of(0, 1), true));
+		when(artistaRepository.contarPorNomeNormalizado("%TE%")).thenReturn(7L);
+
+		Slice<ArtistaResponse> primeira = artistaService.listar("té", null, null, "aproximada", 0, 1);
+		artistaService.listar("TE", null, null, "aproximada", 1, 1);
+
+		assertThat(((Page<ArtistaResponse>) primeira).getTotalElements()).isEqualTo(7L);
+		verify(artistaRepository, times(1)).contarPorNomeNormalizado("%TE%");
+	}
+
+	@Test
+	void listarComNomeEscapaCuringasDoLike() {
+		when(artistaRepository.buscarPorNomeNormalizado(any(String.class), any(Pageable.class)))
+			.thenReturn(new PageImpl<>(List.of()));
+
+		artistaService.listar("100%_a\\b", null, null, null, 0, 20);
+
+		verify(artistaRepository).buscarPorNomeNormalizado(eq("%100\\%\\_A\\\\B%"), any(Pageable.class));
+	}
+
 	private static Artista artista(Long id, String nome) {
 		Artista artista = new Artista();
 		artista.setId(id);
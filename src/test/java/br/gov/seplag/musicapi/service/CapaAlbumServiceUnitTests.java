@@ -4,44 +4,113 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import br.gov.seplag.musicapi.api.v1.dto.CapaAlbumUrlResponse;
 import br.gov.seplag.musicapi.domain.CapaAlbum;
+import br.gov.seplag.musicapi.domain.SituacaoCapa;
+import br.gov.seplag.musicapi.domain.SituacaoVariantes;
+import br.gov.seplag.musicapi.domain.TamanhoCapa;
+import br.gov.seplag.musicapi.domain.VarianteCapa;
+import br.gov.seplag.musicapi.repository.AlbumListagemRepository;
 import br.gov.seplag.musicapi.repository.AlbumRepository;
 import br.gov.seplag.musicapi.repository.CapaAlbumRepository;
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository;
+import br.gov.seplag.musicapi.repository.VarianteCapaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.minio.GetPresignedObjectUrlArgs;
 import io.minio.MinioClient;
 import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
 @ExtendWith(MockitoExtension.class)
 class CapaAlbumServiceUnitTests {
+	@Mock
+	private CatalogoMemoriaRepository catalogoMemoriaRepository;
+
 	@Mock
 	private AlbumRepository albumRepository;
 
 	@Mock
 	private CapaAlbumRepository capaAlbumRepository;
 
+	@Mock
+	private AlbumListagemRepository albumListagemRepository;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private VarianteCapaRepository varianteCapaRepository;
+
+	@Mock
+	private VariantesCapaService variantesCapaService;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
 	@Mock
 	private MinioClient minioClient;
 
 	private CapaAlbumService capaAlbumService;
 
+	@AfterEach
+	void encerrar() {
+		capaAlbumService.encerrar();
+	}
+
 	@BeforeEach
 	void setup() {
-		capaAlbumService = new CapaAlbumService(albumRepository, capaAlbumRepository, minioClient, "bucket-test");
+		capaAlbumService = new CapaAlbumService(
+			albumRepository,
+			capaAlbumRepository,
+			albumListagemRepository,
+			eventPublisher,
+			new UrlCapaCache(
+				new SimpleMeterRegistry(),
+				catalogoMemoriaRepository,
+				100,
+				Duration.ofMinutes(20),
+				Duration.ofMinutes(30),
+				Duration.ofMinutes(1)
+			),
+			varianteCapaRepository,
+			variantesCapaService,
+			transactionManager,
+			minioClient,
+			"bucket-test",
+			2,
+			8,
+			Duration.ofHours(1)
+		);
 	}
 
 	@Test
@@ -100,14 +169,160 @@ class CapaAlbumServiceUnitTests {
 		assertThat(captor.getValue().getEtag()).isEqualTo("etag");
 		assertThat(captor.getValue().getNomeOriginal()).isEqualTo("arquivo.png");
 		assertThat(captor.getValue().getTamanho()).isEqualTo(3L);
+		assertThat(captor.getValue().getSituacao()).isEqualTo(SituacaoCapa.PENDENTE);
+		verify(capaAlbumRepository).atualizarSituacao(any(), eq(SituacaoCapa.CONFIRMADA), eq("etag"));
+		verify(albumListagemRepository).marcarComCapa(10L);
+		verify(eventPublisher).publishEvent(CatalogoAlteradoEvent.deAlbum(10L, List.of()));
+		verify(variantesCapaService).agendar(List.of(captor.getValue()));
+	}
+
+	@Test
+	void enviarVerificaBucketApenasUmaVez() throws Exception {
+		when(albumRepository.existsById(10L)).thenReturn(true);
+		when(minioClient.bucketExists(any())).thenReturn(true);
+		ObjectWriteResponse objectWriteResponse = org.mockito.Mockito.mock(ObjectWriteResponse.class);
+		when(minioClient.putObject(any())).thenReturn(objectWriteResponse);
+
+		capaAlbumService.verificarBucket();
+		capaAlbumService.enviar(10L, arquivo("image/png", new byte[] { 1 }));
+		capaAlbumService.enviar(10L, arquivo("image/png", new byte[] { 2 }));
+
+		verify(minioClient, times(1)).bucketExists(any());
+		verify(minioClient, never()).makeBucket(any());
+		verify(minioClient, times(2)).putObject(any());
+	}
+
+	@Test
+	void enviarValidaTodosOsArquivosAntesDeEnviar() throws Exception {
+		when(albumRepository.existsById(10L)).thenReturn(true);
+
+		assertThatThrownBy(() -> capaAlbumService.enviar(10L, new MultipartFile[] {
+			arquivo("image/png", new byte[] { 1 }),
+			arquivo("application/pdf", new byte[] { 2 })
+		}))
+			.isInstanceOfSatisfying(ResponseStatusException.class, ex ->
+				assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+			);
+
+		verify(minioClient, never()).putObject(any());
+		verify(capaAlbumRepository, never()).save(any());
+	}
+
+	@Test
+	void enviarLimitaParalelismoPorRequisicao() throws Exception {
+		when(albumRepository.existsById(10L)).thenReturn(true);
+		when(minioClient.bucketExists(any())).thenReturn(true);
+		ObjectWriteResponse objectWriteResponse = org.mockito.Mockito.mock(ObjectWriteResponse.class);
+		AtomicInteger emAndamento = new AtomicInteger();
+		AtomicInteger maximo = new AtomicInteger();
+		when(minioClient.putObject(any())).thenAnswer(invocation -> {
+			maximo.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+			Thread.sleep(50);
+			emAndamento.decrementAndGet();
+			return objectWriteResponse;
+		});
+
+		MultipartFile[] arquivos = new MultipartFile[6];
+		for (int i = 0; i < arquivos.length; i++) {
+			arquivos[i] = arquivo("image/png", new byte[] { (byte) i });
+		}
+		capaAlbumService.enviar(10L, arquivos);
+
+		assertThat(maximo.get()).isEqualTo(2);
+		verify(capaAlbumRepository, times(6)).save(any(CapaAlbum.class));
+		verify(capaAlbumRepository, times(6)).atualizarSituacao(any(), eq(SituacaoCapa.CONFIRMADA), any());
+	}
+
+	@Test
+	void enviarQuandoUmArquivoFalhaDescartaPendentesENaoConfirma() throws Exception {
+		when(albumRepository.existsById(10L)).thenReturn(true);
+		when(minioClient.bucketExists(any())).thenReturn(true);
+		AtomicLong ids = new AtomicLong();
+		when(capaAlbumRepository.save(any(CapaAlbum.class))).thenAnswer(invocation -> {
+			CapaAlbum capa = invocation.getArgument(0);
+			capa.setId(ids.incrementAndGet());
+			return capa;
+		});
+		ObjectWriteResponse objectWriteResponse = org.mockito.Mockito.mock(ObjectWriteResponse.class);
+		when(minioClient.putObject(any())).thenAnswer(invocation -> {
+			PutObjectArgs args = invocation.getArgument(0);
+			if (args.object().endsWith(".jpg")) {
+				throw new IOException("falha");
+			}
+			return objectWriteResponse;
+		});
+
+		assertThatThrownBy(() -> capaAlbumService.enviar(10L, new MultipartFile[] {
+			arquivo("image/png", new byte[] { 1 }),
+			arquivo("image/jpeg", new byte[] { 2 }),
+			arquivo("image/webp", new byte[] { 3 })
+		}))
+			.isInstanceOfSatisfying(ResponseStatusException.class, ex -> {
+				assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY);
+				assertThat(ex.getReason()).isEqualTo("falha ao enviar capa do álbum");
+			});
+
+		ArgumentCaptor<RemoveObjectArgs> captor = ArgumentCaptor.forClass(RemoveObjectArgs.class);
+		verify(minioClient, times(3)).removeObject(captor.capture());
+		assertThat(captor.getAllValues()).extracting(RemoveObjectArgs::object)
+			.anyMatch(objeto -> objeto.endsWith(".png"))
+			.anyMatch(objeto -> objeto.endsWith(".webp"));
+		verify(capaAlbumRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+		verify(capaAlbumRepository, never()).atualizarSituacao(any(), any(), any());
+		verify(albumListagemRepository, never()).marcarComCapa(anyLong());
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	void enviarQuandoConfirmacaoFalhaDescartaObjetosERetorna500() throws Exception {
+		when(albumRepository.existsById(10L)).thenReturn(true);
+		when(minioClient.bucketExists(any())).thenReturn(true);
+		ObjectWriteResponse objectWriteResponse = org.mockito.Mockito.mock(ObjectWriteResponse.class);
+		when(minioClient.putObject(any())).thenReturn(objectWriteResponse);
+		when(capaAlbumRepository.atualizarSituacao(any(), any(), any()))
+			.thenThrow(new DataAccessResourceFailureException("falha"));
+
+		assertThatThrownBy(() -> capaAlbumService.enviar(10L, arquivo("image/png", new byte[] { 1 })))
+			.isInstanceOfSatisfying(ResponseStatusException.class, ex -> {
+				assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+				assertThat(ex.getReason()).isEqualTo("falha ao registrar capa do álbum");
+			});
+
+		verify(minioClient).removeObject(any());
+		verify(capaAlbumRepository).deleteAllByIdInBatch(any());
+	}
+
+	@Test
+	void removerPendentesAbandonadasMantemRegistroQuandoObjetoNaoFoiRemovido() throws Exception {
+		CapaAlbum removivel = new CapaAlbum();
+		removivel.setId(1L);
+		removivel.setBucket("bucket-test");
+		removivel.setObjeto("o1");
+		CapaAlbum presa = new CapaAlbum();
+		presa.setId(2L);
+		presa.setBucket("bucket-test");
+		presa.setObjeto("o2");
+		when(capaAlbumRepository.findTop100BySituacaoAndCriadoEmBeforeOrderByCriadoEmAsc(eq(SituacaoCapa.PENDENTE), any(Instant.class)))
+			.thenReturn(List.of(removivel, presa));
+		doAnswer(invocation -> {
+			RemoveObjectArgs args = invocation.getArgument(0);
+			if (args.object().equals("o2")) {
+				throw new IOException("falha");
+			}
+			return null;
+		}).when(minioClient).removeObject(any());
+
+		capaAlbumService.removerPendentesAbandonadas();
+
+		verify(capaAlbumRepository).deleteAllByIdInBatch(List.of(1L));
 	}
 
 	@Test
 	void gerarUrlQuandoNaoExisteCapaRetorna404() {
-		when(albumRepository.existsById(anyLong())).thenReturn(true);
-		when(capaAlbumRepository.findTopByAlbumIdOrderByIdDesc(anyLong())).thenReturn(Optional.empty());
+		when(capaAlbumRepository.findAllByAlbumIdAndSituacaoOrderByIdDesc(1L, SituacaoCapa.CONFIRMADA)).thenReturn(List.of());
+		when(albumRepository.existsById(1L)).thenReturn(true);
 
-		assertThatThrownBy(() -> capaAlbumService.gerarUrlPorAlbumId(1L))
+		assertThatThrownBy(() -> capaAlbumService.gerarUrlPorAlbumId(1L, null))
 			.isInstanceOfSatisfying(ResponseStatusException.class, ex -> {
 				assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
 				assertThat(ex.getReason()).isEqualTo("capa não encontrada");
@@ -115,31 +330,73 @@ class CapaAlbumServiceUnitTests {
 	}
 
 	@Test
-	void gerarUrlRetornaPresignedUrl() throws Exception {
-		when(albumRepository.existsById(anyLong())).thenReturn(true);
-		CapaAlbum capa = new CapaAlbum();
-		capa.setAlbumId(1L);
-		capa.setBucket("bucket-1");
-		capa.setObjeto("o1");
-		when(capaAlbumRepository.findTopByAlbumIdOrderByIdDesc(1L)).thenReturn(Optional.of(capa));
+	void gerarUrlQuandoAlbumNaoExisteRetorna404() {
+		when(capaAlbumRepository.findAllByAlbumIdAndSituacaoOrderByIdDesc(1L, SituacaoCapa.CONFIRMADA)).thenReturn(List.of());
+		when(albumRepository.existsById(1L)).thenReturn(false);
+
+		assertThatThrownBy(() -> capaAlbumService.gerarUrlPorAlbumId(1L, null))
+			.isInstanceOfSatisfying(ResponseStatusException.class, ex -> {
+				assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+				assertThat(ex.getReason()).isEqualTo("álbum não encontrado");
+			});
+	}
+
+	@Test
+	void gerarUrlRetornaPresignedUrlDaCapaMaisRecente() throws Exception {
+		when(capaAlbumRepository.findAllByAlbumIdAndSituacaoOrderByIdDesc(1L, SituacaoCapa.CONFIRMADA))
+			.thenReturn(List.of(capa(2L, "o2"), capa(1L, "o1")));
 		when(minioClient.getPresignedObjectUrl(any())).thenReturn("http://url");
 
-		String url = capaAlbumService.gerarUrlPorAlbumId(1L);
+		String url = capaAlbumService.gerarUrlPorAlbumId(1L, null);
 
 		assertThat(url).isEqualTo("http://url");
+		ArgumentCaptor<GetPresignedObjectUrlArgs> captor = ArgumentCaptor.forClass(GetPresignedObjectUrlArgs.class);
+		verify(minioClient).getPresignedObjectUrl(captor.capture());
+		assertThat(captor.getValue().object()).isEqualTo("o2");
+		assertThat(captor.getValue().expiry()).isEqualTo(1800);
+		verify(albumRepository, never()).existsById(anyLong());
+	}
+
+	@Test
+	void gerarUrlReutilizaCapasEUrlAssinadaDentroDaJanela() throws Exception {
+		when(capaAlbumRepository.findAllByAlbumIdAndSituacaoOrderByIdDesc(1L, SituacaoCapa.CONFIRMADA))
+			.thenReturn(List.of(capa(1L, "o1")));
+		when(minioClient.getPresignedObjectUrl(any())).thenReturn("http://url-1", "http://url-2");
+
+		String primeira = capaAlbumService.gerarUrlPorAlbumId(1L, null);
+		String segunda = capaAlbumService.gerarUrlPorAlbumId(1L, null);
+		List<String> todas = capaAlbumService.gerarUrlsPorAlbumId(1L, null);
+
+		assertThat(primeira).isEqualTo("http://url-1");
+		assertThat(segunda).isEqualTo("http://url-1");
+		assertThat(todas).containsExactly("http://url-1");
+		verify(capaAlbumRepository, times(1)).findAllByAlbumIdAndSituacaoOrderByIdDesc(1L, SituacaoCapa.CONFIRMADA);
+		verify(minioClient, times(1)).getPresignedObjectUrl(any());
+	}
+
+	@Test
+	void enviarInvalidaCapasEmCacheDoAlbum() throws Exception {
+		when(capaAlbumRepository.findAllByAlbumIdAndSituacaoOrderByIdDesc(10L, SituacaoCapa.CONFIRMADA))
+			.thenReturn(List.of(capa(1L, "o1")), List.of(capa(2L, "o2"), capa(1L, "o1")));
+		when(minioClient.getPresignedObjectUrl(any())).thenReturn("http://url-1", "http://url-2");
+		when(albumRepository.existsById(10L)).thenReturn(true);
+		when(minioClient.bucketExists(any())).thenReturn(true);
+		when(minioClient.putObject(any())).thenReturn(org.mockito.Mockito.mock(ObjectWriteResponse.class));
+
+		assertThat(capaAlbumService.gerarUrlsPorAlbumId(10L, null)).containsExactly("http://url-1");
+		capaAlbumService.enviar(10L, arquivo("image/png", new byte[] { 1 }));
+
+		assertThat(capaAlbumService.gerarUrlsPorAlbumId(10L, null)).containsExactly("http://url-2", "http://url-1");
+		verify(minioClient, times(2)).getPresignedObjectUrl(any());
 	}
 
 	@Test
 	void gerarUrlQuandoMinioFalhaRetorna502() throws Exception {
-		when(albumRepository.existsById(anyLong())).thenReturn(true);
-		CapaAlbum capa = new CapaAlbum();
-		capa.setAlbumId(1L);
-		capa.setBucket("bucket-1");
-		capa.setObjeto("o1");
-		when(capaAlbumRepository.findTopByAlbumIdOrderByIdDesc(1L)).thenReturn(Optional.of(capa));
+		when(capaAlbumRepository.findAllByAlbumIdAndSituacaoOrderByIdDesc(1L, SituacaoCapa.CONFIRMADA))
+			.thenReturn(List.of(capa(1L, "o1")));
 		when(minioClient.getPresignedObjectUrl(any())).thenThrow(new RuntimeException("falha"));
 
-		assertThatThrownBy(() -> capaAlbumService.gerarUrlPorAlbumId(1L))
+		assertThatThrownBy(() -> capaAlbumService.gerarUrlPorAlbumId(1L, null))
 			.isInstanceOfSatisfying(ResponseStatusException.class, ex -> {
 				assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY);
 				assertThat(ex.getReason()).isEqualTo("falha ao gerar url da capa");
@@ -148,24 +405,83 @@ class CapaAlbumServiceUnitTests {
 
 	@Test
 	void gerarUrlsRetornaListaDePresignedUrls() throws Exception {
-		when(albumRepository.existsById(anyLong())).thenReturn(true);
-		CapaAlbum capa1 = new CapaAlbum();
-		capa1.setAlbumId(1L);
-		capa1.setBucket("bucket-1");
-		capa1.setObjeto("o1");
-		CapaAlbum capa2 = new CapaAlbum();
-		capa2.setAlbumId(1L);
-		capa2.setBucket("bucket-1");
-		capa2.setObjeto("o2");
-
-		when(capaAlbumRepository.findAllByAlbumIdOrderByIdDesc(1L)).thenReturn(List.of(capa2, capa1));
+		when(capaAlbumRepository.findAllByAlbumIdAndSituacaoOrderByIdDesc(1L, SituacaoCapa.CONFIRMADA))
+			.thenReturn(List.of(capa(2L, "o2"), capa(1L, "o1")));
 		when(minioClient.getPresignedObjectUrl(any())).thenReturn("http://url");
 
-		List<String> urls = capaAlbumService.gerarUrlsPorAlbumId(1L);
+		List<String> urls = capaAlbumService.gerarUrlsPorAlbumId(1L, null);
 
 		assertThat(urls).containsExactly("http://url", "http://url");
 	}
 
+	@Test
+	void gerarUrlsPorAlbumIdsBuscaEmUmaConsultaSoOsAlbunsForaDoCache() throws Exception {
+		when(capaAlbumRepository.findAllByAlbumIdAndSituacaoOrderByIdDesc(1L, SituacaoCapa.CONFIRMADA))
+			.thenReturn(List.of(capa(1L, "o1")));
+		CapaAlbum doAlbum2 = capa(2L, "o2");
+		doAlbum2.setAlbumId(2L);
+		when(capaAlbumRepository.buscarMaisRecentesPorAlbumIds(List.of(2L, 3L), SituacaoCapa.CONFIRMADA))
+			.thenReturn(List.of(doAlbum2));
+		when(minioClient.getPresignedObjectUrl(any())).thenReturn("http://url-1", "http://url-2");
+
+		capaAlbumService.gerarUrlPorAlbumId(1L, null);
+		List<CapaAlbumUrlResponse> capas = capaAlbumService.gerarUrlsPorAlbumIds(List.of(2L, 1L, 3L, 2L), null);
+
+		assertThat(capas).extracting(CapaAlbumUrlResponse::getAlbumId).containsExactly(2L, 1L);
+		assertThat(capas).extracting(CapaAlbumUrlResponse::getUrl).containsExactly("http://url-2", "http://url-1");
+		verify(minioClient, times(2)).getPresignedObjectUrl(any());
+	}
+
+	@Test
+	void gerarUrlsPorAlbumIdsAcimaDoLimiteRetorna400() {
+		List<Long> albumIds = LongStream.rangeClosed(1, 101).boxed().toList();
+
+		assertThatThrownBy(() -> capaAlbumService.gerarUrlsPorAlbumIds(albumIds, null))
+			.isInstanceOfSatisfying(ResponseStatusException.class, ex -> {
+				assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+				assertThat(ex.getReason()).isEqualTo("albumIds excede o limite de 100 itens");
+			});
+	}
+
+	@Test
+	void gerarUrlUsaVarianteDoTamanhoPedidoEOriginalQuandoNaoHaVariante() throws Exception {
+		CapaAlbum comVariantes = capa(2L, "o2.png");
+		comVariantes.setSituacaoVariantes(SituacaoVariantes.GERADAS);
+		when(capaAlbumRepository.findAllByAlbumIdAndSituacaoOrderByIdDesc(1L, SituacaoCapa.CONFIRMADA))
+			.thenReturn(List.of(comVariantes, capa(1L, "o1.png")));
+		VarianteCapa thumb = new VarianteCapa();
+		thumb.setCapaId(2L);
+		thumb.setTamanho(TamanhoCapa.THUMB);
+		thumb.setObjeto("o2-thumb.jpg");
+		when(varianteCapaRepository.findAllByCapaIdIn(List.of(2L))).thenReturn(List.of(thumb));
+		when(minioClient.getPresignedObjectUrl(any())).thenAnswer(invocation ->
+			"http://" + invocation.getArgument(0, GetPresignedObjectUrlArgs.class).object()
+		);
+
+		assertThat(capaAlbumService.gerarUrlsPorAlbumId(1L, "thumb")).containsExactly("http://o2-thumb.jpg", "http://o1.png");
+		assertThat(capaAlbumService.gerarUrlPorAlbumId(1L, " MEDIO ")).isEqualTo("http://o2.png");
+		assertThat(capaAlbumService.gerarUrlPorAlbumId(1L, null)).isEqualTo("http://o2.png");
+		verify(minioClient, times(3)).getPresignedObjectUrl(any());
+	}
+
+	@Test
+	void gerarUrlComTamanhoInvalidoRetorna400() {
+		assertThatThrownBy(() -> capaAlbumService.gerarUrlPorAlbumId(1L, "gigante"))
+			.isInstanceOfSatisfying(ResponseStatusException.class, ex -> {
+				assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+				assertThat(ex.getReason()).isEqualTo("tamanho deve ser thumb, medio ou original");
+			});
+	}
+
+	private static CapaAlbum capa(Long id, String objeto) {
+		CapaAlbum capa = new CapaAlbum();
+		capa.setId(id);
+		capa.setAlbumId(1L);
+		capa.setBucket("bucket-1");
+		capa.setObjeto(objeto);
+		return capa;
+	}
+
 	private static MockMultipartFile arquivo(String contentType, byte[] bytes) {
 		return new MockMultipartFile("arquivo", "arquivo.png", contentType, bytes);
 	}
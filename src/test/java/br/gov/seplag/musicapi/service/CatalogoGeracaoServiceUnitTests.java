@@ -0,0 +1,88 @@
+package br.gov.seplag.musicapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository;
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository.Alteracao;
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository.MarcasPorTipo;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogoGeracaoServiceUnitTests {
+	@Mock
+	private CatalogoMemoriaRepository catalogoMemoriaRepository;
+
+	private CatalogoGeracaoService catalogoGeracaoService;
+
+	@BeforeEach
+	void setup() {
+		catalogoGeracaoService = new CatalogoGeracaoService(catalogoMemoriaRepository, Duration.ofMinutes(1));
+	}
+
+	@Test
+	void criarArtistaSemAlbunsNaoAvancaGeracaoDosAlbuns() {
+		when(catalogoMemoriaRepository.buscarMarcaAte(any())).thenReturn(10L);
+		when(catalogoMemoriaRepository.buscarMarcasPorTipoAte(10L)).thenReturn(new MarcasPorTipo(9L, 10L));
+		when(catalogoMemoriaRepository.listarAlteracoesApos(10L)).thenReturn(
+			List.of(),
+			List.of(new Alteracao(11L, null, 7L))
+		);
+		catalogoGeracaoService.acompanharAlteracoes();
+		long albuns = catalogoGeracaoService.albuns();
+		long artistas = catalogoGeracaoService.artistas();
+
+		catalogoGeracaoService.aoAlterarCatalogo(new CatalogoAlteradoEvent(Set.of(), Set.of(7L)));
+
+		assertThat(catalogoGeracaoService.albuns()).isEqualTo(albuns);
+		assertThat(catalogoGeracaoService.artistas()).isNotEqualTo(artistas);
+	}
+
+	@Test
+	void instanciasQueLeramOMesmoLogChegamNaMesmaGeracao() {
+		when(catalogoMemoriaRepository.buscarMarcaAte(any())).thenReturn(10L, 12L);
+		when(catalogoMemoriaRepository.buscarMarcasPorTipoAte(10L)).thenReturn(new MarcasPorTipo(9L, 10L));
+		when(catalogoMemoriaRepository.listarAlteracoesApos(10L)).thenReturn(List.of(
+			new Alteracao(11L, 1L, null),
+			new Alteracao(12L, 2L, null),
+			new Alteracao(13L, null, 7L)
+		));
+		catalogoGeracaoService.acompanharAlteracoes();
+		catalogoGeracaoService.acompanharAlteracoes();
+
+		CatalogoMemoriaRepository outroRepository = mock(CatalogoMemoriaRepository.class);
+		when(outroRepository.buscarMarcaAte(any())).thenReturn(12L);
+		when(outroRepository.buscarMarcasPorTipoAte(12L)).thenReturn(new MarcasPorTipo(12L, 10L));
+		when(outroRepository.listarAlteracoesApos(12L)).thenReturn(List.of(new Alteracao(13L, null, 7L)));
+		CatalogoGeracaoService outraInstancia = new CatalogoGeracaoService(outroRepository, Duration.ofMinutes(1));
+		outraInstancia.acompanharAlteracoes();
+
+		assertThat(catalogoGeracaoService.albuns()).isEqualTo(outraInstancia.albuns());
+		assertThat(catalogoGeracaoService.artistas()).isEqualTo(outraInstancia.artistas());
+	}
+
+	@Test
+	void alteracaoConfirmadaForaDeOrdemAvancaAGeracao() {
+		when(catalogoMemoriaRepository.buscarMarcaAte(any())).thenReturn(10L);
+		when(catalogoMemoriaRepository.buscarMarcasPorTipoAte(10L)).thenReturn(new MarcasPorTipo(9L, 10L));
+		when(catalogoMemoriaRepository.listarAlteracoesApos(10L)).thenReturn(
+			List.of(new Alteracao(12L, 2L, null)),
+			List.of(new Alteracao(11L, 1L, null), new Alteracao(12L, 2L, null))
+		);
+		catalogoGeracaoService.acompanharAlteracoes();
+		long albuns = catalogoGeracaoService.albuns();
+
+		catalogoGeracaoService.acompanharAlteracoes();
+
+		assertThat(catalogoGeracaoService.albuns()).isNotEqualTo(albuns);
+	}
+}
@@ -0,0 +1,62 @@
+package br.gov.seplag.musicapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import br.gov.seplag.musicapi.api.v1.dto.AlbumResponse;
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository;
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository.Alteracao;
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository.LinhaAlbum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogoMemoriaServiceUnitTests {
+	@Mock
+	private CatalogoMemoriaRepository catalogoMemoriaRepository;
+
+	private CatalogoMemoriaService catalogoMemoriaService;
+
+	@BeforeEach
+	void setup() {
+		catalogoMemoriaService = new CatalogoMemoriaService(
+			catalogoMemoriaRepository,
+			new SimpleMeterRegistry(),
+			true,
+			"",
+			Duration.ofMinutes(1),
+			Duration.ofDays(1)
+		);
+	}
+
+	@Test
+	void falhaTransitoriaNoAcompanhamentoMantemReplicaEReaplicaNaProximaExecucao() {
+		when(catalogoMemoriaRepository.buscarMarcaAte(any())).thenReturn(10L)
+			.thenThrow(new QueryTimeoutException("timeout"))
+			.thenReturn(10L);
+		when(catalogoMemoriaRepository.listarAlteracoesApos(10L)).thenReturn(
+			List.of(),
+			List.of(new Alteracao(11L, 1L, null))
+		);
+		when(catalogoMemoriaRepository.listarAlbuns()).thenReturn(List.of(new LinhaAlbum(1L, "Antigo", 1L)));
+		when(catalogoMemoriaRepository.buscarAlbuns(Set.of(1L))).thenReturn(List.of(new LinhaAlbum(1L, "Novo", 2L)));
+		catalogoMemoriaService.recarregar();
+
+		catalogoMemoriaService.acompanharAlteracoes();
+		assertThat(catalogoMemoriaService.disponivel()).isTrue();
+
+		catalogoMemoriaService.acompanharAlteracoes();
+		verify(catalogoMemoriaRepository).buscarAlbuns(Set.of(1L));
+		assertThat(catalogoMemoriaService.buscarAlbum(1L)).get().extracting(AlbumResponse::getTitulo).isEqualTo("Novo");
+	}
+}
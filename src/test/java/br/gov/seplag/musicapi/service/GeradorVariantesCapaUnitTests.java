@@ -0,0 +1,83 @@
+package br.gov.seplag.musicapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.gov.seplag.musicapi.domain.TamanhoCapa;
+import br.gov.seplag.musicapi.service.GeradorVariantesCapa.ImagemNaoSuportadaException;
+import br.gov.seplag.musicapi.service.GeradorVariantesCapa.Resultado;
+import br.gov.seplag.musicapi.service.GeradorVariantesCapa.Variante;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+class GeradorVariantesCapaUnitTests {
+	private final GeradorVariantesCapa gerador = new GeradorVariantesCapa(10_000_000);
+
+	@Test
+	void geraMedioEThumbMantendoProporcao() throws Exception {
+		Resultado resultado = gerador.gerar(png(2000, 1000, BufferedImage.TYPE_INT_RGB));
+
+		assertThat(resultado.largura()).isEqualTo(2000);
+		assertThat(resultado.altura()).isEqualTo(1000);
+		assertThat(resultado.variantes()).extracting(Variante::tamanho).containsExactly(TamanhoCapa.MEDIO, TamanhoCapa.THUMB);
+		Variante medio = resultado.variantes().get(0);
+		Variante thumb = resultado.variantes().get(1);
+		assertThat(medio.largura()).isEqualTo(800);
+		assertThat(medio.altura()).isEqualTo(400);
+		assertThat(thumb.largura()).isEqualTo(240);
+		assertThat(thumb.altura()).isEqualTo(120);
+		assertThat(thumb.contentType()).isEqualTo("image/jpeg");
+		assertThat(thumb.extensao()).isEqualTo("jpg");
+		BufferedImage lida = ImageIO.read(new ByteArrayInputStream(thumb.bytes()));
+		assertThat(lida.getWidth()).isEqualTo(240);
+		assertThat(lida.getHeight()).isEqualTo(120);
+	}
+
+	@Test
+	void mantemPngQuandoImagemTemTransparencia() throws Exception {
+		Resultado resultado = gerador.gerar(png(480, 720, BufferedImage.TYPE_INT_ARGB));
+
+		assertThat(resultado.variantes()).singleElement().satisfies(thumb -> {
+			assertThat(thumb.tamanho()).isEqualTo(TamanhoCapa.THUMB);
+			assertThat(thumb.largura()).isEqualTo(160);
+			assertThat(thumb.altura()).isEqualTo(240);
+			assertThat(thumb.contentType()).isEqualTo("image/png");
+		});
+	}
+
+	@Test
+	void naoGeraVariantesParaImagemMenorQueOThumb() throws Exception {
+		Resultado resultado = gerador.gerar(png(200, 100, BufferedImage.TYPE_INT_RGB));
+
+		assertThat(resultado.largura()).isEqualTo(200);
+		assertThat(resultado.altura()).isEqualTo(100);
+		assertThat(resultado.variantes()).isEmpty();
+	}
+
+	@Test
+	void recusaImagemAcimaDoLimiteDePixelsSemDecodificar() throws Exception {
+		GeradorVariantesCapa limitado = new GeradorVariantesCapa(1_000_000);
+
+		assertThatThrownBy(() -> limitado.gerar(png(2000, 1000, BufferedImage.TYPE_INT_RGB)))
+			.isInstanceOf(ImagemNaoSuportadaException.class)
+			.hasMessage("imagem excede o limite de 1000000 pixels");
+	}
+
+	@Test
+	void recusaFormatoSemLeitor() {
+		assertThatThrownBy(() -> gerador.gerar(new ByteArrayInputStream("RIFF0000WEBPVP8 ".getBytes())))
+			.isInstanceOf(ImagemNaoSuportadaException.class)
+			.hasMessage("formato de imagem não suportado");
+	}
+
+	private static ByteArrayInputStream png(int largura, int altura, int tipo) throws IOException {
+		BufferedImage imagem = new BufferedImage(largura, altura, tipo);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ImageIO.write(imagem, "png", bytes);
+		return new ByteArrayInputStream(bytes.toByteArray());
+	}
+}
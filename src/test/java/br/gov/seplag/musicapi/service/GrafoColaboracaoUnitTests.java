@@ -0,0 +1,63 @@
+package br.gov.seplag.musicapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.gov.seplag.musicapi.service.GrafoColaboracao.Caminho;
+import br.gov.seplag.musicapi.service.GrafoColaboracao.Relacao;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class GrafoColaboracaoUnitTests {
+	@Test
+	void contaAlbunsEArtistasEmComum() {
+		GrafoColaboracao grafo = grafo();
+
+		assertThat(grafo.albunsRelacionados(100L, 10)).containsExactly(new Relacao(102L, 2), new Relacao(101L, 1));
+		assertThat(grafo.colaboradores(2L, 10)).containsExactly(new Relacao(1L, 2), new Relacao(3L, 1));
+		assertThat(grafo.colaboradores(2L, 1)).containsExactly(new Relacao(1L, 2));
+		assertThat(grafo.colaboradores(9L, 10)).isEmpty();
+		assertThat(grafo.quantidadeVinculos()).isEqualTo(8);
+	}
+
+	@Test
+	void encontraMenorCaminhoRespeitandoGrauMaximo() {
+		GrafoColaboracao grafo = grafo();
+
+		Caminho caminho = grafo.caminho(1L, 4L, 6).orElseThrow();
+
+		assertThat(caminho.artistaIds()).containsExactly(1L, 2L, 3L, 4L);
+		assertThat(caminho.albumIds()).containsExactly(100L, 101L, 103L);
+		assertThat(grafo.caminho(1L, 4L, 2)).isEmpty();
+		assertThat(grafo.caminho(1L, 5L, 6)).isEmpty();
+		assertThat(grafo.caminho(4L, 4L, 1).orElseThrow().albumIds()).isEmpty();
+	}
+
+	@Test
+	void atualizarSubstituiVinculosDosAlbunsInformados() {
+		GrafoColaboracao grafo = grafo().atualizar(Map.of(
+			103L, new long[] {1L, 4L},
+			104L, new long[] {5L, 4L},
+			101L, new long[0]
+		));
+
+		assertThat(grafo.caminho(1L, 5L, 6).orElseThrow().artistaIds()).containsExactly(1L, 4L, 5L);
+		assertThat(grafo.colaboradores(3L, 10)).isEmpty();
+		assertThat(grafo.contemAlbum(101L)).isFalse();
+		assertThat(grafo.albunsRelacionados(100L, 10)).extracting(Relacao::id).containsExactly(102L, 103L);
+	}
+
+	private static GrafoColaboracao grafo() {
+		long[] artistas = {1L, 2L, 2L, 3L, 1L, 2L, 3L, 4L};
+		long[] albuns = {100L, 100L, 101L, 101L, 102L, 102L, 103L, 103L};
+		GrafoColaboracao grafo = GrafoColaboracao.construir(artistas, albuns);
+		assertThat(grafo.contemArtista(5L)).isFalse();
+		return grafo;
+	}
+
+	@Test
+	void grafoVazioNaoTemVizinhos() {
+		assertThat(GrafoColaboracao.VAZIO.albunsRelacionados(1L, 5)).isEqualTo(List.of());
+		assertThat(GrafoColaboracao.VAZIO.caminho(1L, 2L, 3)).isEmpty();
+	}
+}
@@ -0,0 +1,60 @@
+package br.gov.seplag.musicapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.gov.seplag.musicapi.service.IndiceSugestoes.Sugestao;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class IndiceSugestoesUnitTests {
+	@Test
+	void buscaPorPrefixoDeQualquerPalavraIgnorandoAcentos() {
+		IndiceSugestoes indice = IndiceSugestoes.construir(Map.of(
+			1L, "Mike Shinoda",
+			2L, "Michel Teló",
+			3L, "Serj Tankian"
+		));
+
+		assertThat(indice.buscar("MI", 10)).extracting(Sugestao::nome).containsExactly("Michel Teló", "Mike Shinoda");
+		assertThat(indice.buscar("TELO", 10)).extracting(Sugestao::id).containsExactly(2L);
+		assertThat(indice.buscar("MIKE SH", 10)).extracting(Sugestao::id).containsExactly(1L);
+		assertThat(indice.buscar("X", 10)).isEmpty();
+		assertThat(indice.quantidade()).isEqualTo(3);
+	}
+
+	@Test
+	void buscaRespeitaLimiteSemRepetirNome() {
+		IndiceSugestoes indice = IndiceSugestoes.construir(Map.of(
+			1L, "Samba Samba Samba",
+			2L, "Samba de Roda",
+			3L, "Sambista"
+		));
+
+		List<Sugestao> sugestoes = indice.buscar("SAMBA", 10);
+
+		assertThat(sugestoes).extracting(Sugestao::id).containsExactlyInAnyOrder(1L, 2L);
+		assertThat(indice.buscar("SAMB", 2)).hasSize(2);
+	}
+
+	@Test
+	void atualizarSubstituiNomesERemoveAusentes() {
+		IndiceSugestoes original = IndiceSugestoes.construir(Map.of(
+			1L, "Legião Urbana",
+			2L, "Capital Inicial",
+			3L, "Paralamas do Sucesso"
+		));
+
+		IndiceSugestoes atualizado = original.atualizar(Map.of(2L, "Capital Inicial Acústico", 4L, "Lulu Santos"), Set.of(3L));
+
+		assertThat(atualizado.buscar("ACUS", 10)).extracting(Sugestao::id).containsExactly(2L);
+		assertThat(atualizado.buscar("CAPITAL", 10)).extracting(Sugestao::nome).containsExactly("Capital Inicial Acústico");
+		assertThat(atualizado.buscar("LU", 10)).extracting(Sugestao::id).containsExactly(4L);
+		assertThat(atualizado.buscar("PARALAMAS", 10)).isEmpty();
+		assertThat(atualizado.buscar("LEGIAO", 10)).extracting(Sugestao::id).containsExactly(1L);
+		assertThat(atualizado.quantidade()).isEqualTo(3);
+
+		assertThat(original.buscar("PARALAMAS", 10)).hasSize(1);
+	}
+}
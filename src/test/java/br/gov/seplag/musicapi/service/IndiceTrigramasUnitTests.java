@@ -0,0 +1,60 @@
+package br.gov.seplag.musicapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.gov.seplag.musicapi.service.IndiceTrigramas.Candidato;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class IndiceTrigramasUnitTests {
+	@Test
+	void buscaToleraErrosDeDigitacaoEOrdenaPorPontuacao() {
+		IndiceTrigramas indice = new IndiceTrigramas();
+		indice.atualizar(1L, "Metallica");
+		indice.atualizar(2L, "Megadeth");
+		indice.atualizar(3L, "Legião Urbana");
+		indice.atualizar(4L, "Metal Church");
+
+		List<Candidato> candidatos = indice.buscar("metalica", 5);
+
+		assertThat(candidatos).extracting(Candidato::id).first().isEqualTo(1L);
+		assertThat(candidatos).extracting(Candidato::id).doesNotContain(3L);
+		assertThat(candidatos).isSortedAccordingTo((a, b) -> Double.compare(b.pontuacao(), a.pontuacao()));
+		assertThat(candidatos.getFirst().distancia()).isEqualTo(1);
+
+		assertThat(indice.buscar("legiao urbanna", 5)).extracting(Candidato::nome).containsExactly("Legião Urbana");
+		assertThat(indice.buscar("xyz", 5)).isEmpty();
+	}
+
+	@Test
+	void renomearERemoverAtualizamOIndice() {
+		IndiceTrigramas indice = new IndiceTrigramas();
+		indice.atualizar(1L, "Paralamas do Sucesso");
+		indice.atualizar(2L, "Titãs");
+
+		indice.atualizar(1L, "Os Paralamas do Sucesso");
+		indice.remover(2L);
+
+		assertThat(indice.quantidade()).isEqualTo(1);
+		assertThat(indice.buscar("paralamas do sucesso", 5)).extracting(Candidato::nome).containsExactly("Os Paralamas do Sucesso");
+		assertThat(indice.buscar("titas", 5)).isEmpty();
+	}
+
+	@Test
+	void compactaPosicoesDescartadasSemPerderArtistas() {
+		IndiceTrigramas indice = new IndiceTrigramas();
+		for (long id = 1; id <= 2000; id++) {
+			indice.atualizar(id, "Artista " + id);
+		}
+		long memoriaAntes = indice.memoriaEstimadaBytes();
+		for (long id = 1; id <= 1500; id++) {
+			indice.remover(id);
+		}
+		indice.atualizar(1999L, "Banda Renomeada");
+
+		assertThat(indice.quantidade()).isEqualTo(500);
+		assertThat(indice.memoriaEstimadaBytes()).isLessThan(memoriaAntes);
+		assertThat(indice.buscar("banda renomeda", 1)).extracting(Candidato::id).containsExactly(1999L);
+		assertThat(indice.buscar("artista 2000", 1)).extracting(Candidato::id).containsExactly(2000L);
+	}
+}
@@ -0,0 +1,48 @@
+package br.gov.seplag.musicapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class MapaLongIntUnitTests {
+	@Test
+	void guardaSobrescreveERemoveChaves() {
+		MapaLongInt mapa = new MapaLongInt();
+
+		mapa.put(7L, 1);
+		mapa.put(-3L, 2);
+		mapa.put(7L, 3);
+		mapa.remove(-3L);
+		mapa.remove(42L);
+
+		assertThat(mapa.get(7L)).isEqualTo(3);
+		assertThat(mapa.get(-3L)).isEqualTo(MapaLongInt.AUSENTE);
+		assertThat(mapa.size()).isEqualTo(1);
+	}
+
+	@Test
+	void mantemConsistenciaComHashMapEmOperacoesAleatorias() {
+		MapaLongInt mapa = new MapaLongInt(4);
+		Map<Long, Integer> esperado = new HashMap<>();
+		Random random = new Random(14);
+
+		for (int i = 0; i < 20_000; i++) {
+			long chave = random.nextInt(2_000);
+			if (random.nextInt(3) == 0) {
+				mapa.remove(chave);
+				esperado.remove(chave);
+			} else {
+				mapa.put(chave, i);
+				esperado.put(chave, i);
+			}
+		}
+
+		assertThat(mapa.size()).isEqualTo(esperado.size());
+		for (long chave = 0; chave < 2_000; chave++) {
+			assertThat(mapa.get(chave)).isEqualTo(esperado.getOrDefault(chave, MapaLongInt.AUSENTE));
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package br.gov.seplag.musicapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+import br.gov.seplag.musicapi.api.v1.dto.ArtistaRequest;
+import br.gov.seplag.musicapi.api.v1.dto.LoteJobResponse;
+import br.gov.seplag.musicapi.api.v1.dto.ResultadoLoteResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessamentoLoteServiceUnitTests {
+	@Mock
+	private AlbumService albumService;
+
+	@Mock
+	private ArtistaService artistaService;
+
+	private ProcessamentoLoteService processamentoLoteService;
+
+	private final CountDownLatch liberar = new CountDownLatch(1);
+
+	@BeforeEach
+	void setup() {
+		processamentoLoteService = new ProcessamentoLoteService(
+			albumService,
+			artistaService,
+			10,
+			100,
+			Duration.ofMinutes(1),
+			1,
+			1
+		);
+	}
+
+	@AfterEach
+	void encerrar() {
+		liberar.countDown();
+		processamentoLoteService.encerrar();
+	}
+
+	@Test
+	void filaCheiaRecusaNovoLoteSemRegistrarJob() throws Exception {
+		CountDownLatch iniciado = new CountDownLatch(1);
+		when(artistaService.criarEmLote(anyList())).thenAnswer(invocation -> {
+			iniciado.countDown();
+			liberar.await();
+			return new ResultadoLoteResponse(List.of());
+		});
+		List<ArtistaRequest> requests = List.of(new ArtistaRequest());
+
+		processamentoLoteService.agendarArtistas(requests);
+		assertThat(iniciado.await(5, TimeUnit.SECONDS)).isTrue();
+		LoteJobResponse enfileirado = processamentoLoteService.agendarArtistas(requests);
+
+		assertThatThrownBy(() -> processamentoLoteService.agendarArtistas(requests))
+			.isInstanceOfSatisfying(ResponseStatusException.class, ex ->
+				assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+			);
+		assertThat(processamentoLoteService.buscar(enfileirado.getId()).getId()).isEqualTo(enfileirado.getId());
+	}
+}
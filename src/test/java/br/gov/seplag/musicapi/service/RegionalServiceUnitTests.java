@@ -3,7 +3,6 @@ package br.gov.seplag.musicapi.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -15,9 +14,7 @@ import br.gov.seplag.musicapi.api.v1.dto.SincronizarRegionaisResponse;
 import br.gov.seplag.musicapi.domain.Regional;
 import br.gov.seplag.musicapi.repository.RegionalRepository;
 import br.gov.seplag.musicapi.service.RegionaisIntegradorClient.RegionalIntegradorResponse;
-import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -87,17 +84,23 @@ class RegionalServiceUnitTests {
 			integrador(1, "Regional A")
 		));
 
-		when(regionalRepository.findFirstByIdIntegradorAndAtivoTrue(1)).thenReturn(Optional.empty());
-		when(regionalRepository.findByAtivoTrueAndIdIntegradorNotIn(anyCollection())).thenReturn(List.of());
-		when(regionalRepository.save(any(Regional.class))).thenAnswer(invocation -> invocation.getArgument(0));
-		when(regionalRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+		when(regionalRepository.findByAtivoTrue()).thenReturn(List.of());
 
 		SincronizarRegionaisResponse response = regionalService.sincronizar();
 
 		assertThat(response.getInseridos()).isEqualTo(1);
 		assertThat(response.getInativados()).isEqualTo(0);
-		verify(regionalRepository, times(1)).save(any(Regional.class));
-		verify(regionalRepository, times(1)).findByAtivoTrueAndIdIntegradorNotIn(anyCollection());
+
+		ArgumentCaptor<List<Regional>> captor = ArgumentCaptor.forClass(List.class);
+		verify(regionalRepository, times(2)).saveAll(captor.capture());
+		assertThat(captor.getAllValues().getFirst()).isEmpty();
+		assertThat(captor.getAllValues().get(1)).singleElement()
+			.satisfies(r -> {
+				assertThat(r.getIdIntegrador()).isEqualTo(1);
+				assertThat(r.isAtivo()).isTrue();
+			});
+		verify(regionalRepository, times(1)).findByAtivoTrue();
+		verify(regionalRepository, never()).save(any(Regional.class));
 	}
 
 	@Test
@@ -112,7 +115,6 @@ class RegionalServiceUnitTests {
 
 		verify(regionalRepository, never()).findByAtivoTrue();
 		verify(regionalRepository, never()).findByAtivoFalse();
-		verify(regionalRepository, never()).findByAtivoTrueAndIdIntegradorNotIn(anyCollection());
 		verify(regionalRepository, never()).save(any(Regional.class));
 		verify(regionalRepository, never()).saveAll(anyList());
 	}
@@ -123,29 +125,23 @@ class RegionalServiceUnitTests {
 			integrador(1, "Regional A")
 		));
 
-		when(regionalRepository.findFirstByIdIntegradorAndAtivoTrue(1)).thenReturn(Optional.of(
-			regional(100L, 1, "Regional A", true)
-		));
-
-		List<Regional> paraInativar = List.of(
+		when(regionalRepository.findByAtivoTrue()).thenReturn(List.of(
+			regional(100L, 1, "Regional A", true),
 			regional(101L, 2, "Regional B", true)
-		);
-		when(regionalRepository.findByAtivoTrueAndIdIntegradorNotIn(anyCollection())).thenReturn(paraInativar);
-		when(regionalRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+		));
 
 		SincronizarRegionaisResponse response = regionalService.sincronizar();
 
 		assertThat(response.getInseridos()).isEqualTo(0);
 		assertThat(response.getInativados()).isEqualTo(1);
 
-		ArgumentCaptor<Collection<Integer>> captor = ArgumentCaptor.forClass(Collection.class);
-		verify(regionalRepository).findByAtivoTrueAndIdIntegradorNotIn(captor.capture());
-		assertThat(captor.getValue()).containsExactly(1);
-
-		ArgumentCaptor<List<Regional>> saveAllCaptor = ArgumentCaptor.forClass(List.class);
-		verify(regionalRepository).saveAll(saveAllCaptor.capture());
-		assertThat(saveAllCaptor.getValue()).hasSize(1);
-		assertThat(saveAllCaptor.getValue().getFirst().isAtivo()).isFalse();
+		ArgumentCaptor<List<Regional>> captor = ArgumentCaptor.forClass(List.class);
+		verify(regionalRepository, times(2)).saveAll(captor.capture());
+		List<Regional> inativados = captor.getAllValues().getFirst();
+		assertThat(inativados).hasSize(1);
+		assertThat(inativados.getFirst().getId()).isEqualTo(101L);
+		assertThat(inativados.getFirst().isAtivo()).isFalse();
+		assertThat(captor.getAllValues().get(1)).isEmpty();
 	}
 
 	@Test
@@ -155,22 +151,18 @@ class RegionalServiceUnitTests {
 		));
 
 		Regional atual = regional(200L, 1, "Regional A", true);
-		when(regionalRepository.findFirstByIdIntegradorAndAtivoTrue(1)).thenReturn(Optional.of(atual));
-		when(regionalRepository.findByAtivoTrueAndIdIntegradorNotIn(anyCollection())).thenReturn(List.of());
-		when(regionalRepository.save(any(Regional.class))).thenAnswer(invocation -> invocation.getArgument(0));
-		when(regionalRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+		when(regionalRepository.findByAtivoTrue()).thenReturn(List.of(atual));
 
 		SincronizarRegionaisResponse response = regionalService.sincronizar();
 
 		assertThat(response.getInseridos()).isEqualTo(1);
 		assertThat(response.getInativados()).isEqualTo(1);
 
-		ArgumentCaptor<Regional> saveCaptor = ArgumentCaptor.forClass(Regional.class);
-		verify(regionalRepository, times(2)).save(saveCaptor.capture());
-		List<Regional> salvos = saveCaptor.getAllValues();
+		ArgumentCaptor<List<Regional>> captor = ArgumentCaptor.forClass(List.class);
+		verify(regionalRepository, times(2)).saveAll(captor.capture());
 
-		Regional inativado = salvos.getFirst();
-		Regional novo = salvos.get(1);
+		Regional inativado = captor.getAllValues().getFirst().getFirst();
+		Regional novo = captor.getAllValues().get(1).getFirst();
 
 		assertThat(inativado.getId()).isEqualTo(200L);
 		assertThat(inativado.isAtivo()).isFalse();
@@ -190,7 +182,6 @@ class RegionalServiceUnitTests {
 			regional(301L, 2, "B", true)
 		);
 		when(regionalRepository.findByAtivoTrue()).thenReturn(ativos);
-		when(regionalRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
 		SincronizarRegionaisResponse response = regionalService.sincronizar();
 
@@ -198,9 +189,9 @@ class RegionalServiceUnitTests {
 		assertThat(response.getInativados()).isEqualTo(2);
 
 		ArgumentCaptor<List<Regional>> captor = ArgumentCaptor.forClass(List.class);
-		verify(regionalRepository).saveAll(captor.capture());
-		assertThat(captor.getValue()).allMatch(r -> !r.isAtivo());
-		verify(regionalRepository, never()).findByAtivoTrueAndIdIntegradorNotIn(anyCollection());
+		verify(regionalRepository, times(2)).saveAll(captor.capture());
+		assertThat(captor.getAllValues().getFirst()).hasSize(2).allMatch(r -> !r.isAtivo());
+		assertThat(captor.getAllValues().get(1)).isEmpty();
 		verify(regionalRepository, never()).save(any(Regional.class));
 	}
 
@@ -0,0 +1,112 @@
+package br.gov.seplag.musicapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.gov.seplag.musicapi.api.v1.dto.AlbumResponse;
+import br.gov.seplag.musicapi.api.v1.dto.ArtistaResumoResponse;
+import br.gov.seplag.musicapi.domain.ArtistaTipo;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ReplicaCatalogoUnitTests {
+	@Test
+	void filtraPorTipoEArtistaComIntersecaoDeConjuntos() {
+		ReplicaCatalogo replica = catalogo();
+
+		assertThat(titulos(replica.listar("", "", null, true, false, false, 0, 10)))
+			.containsExactly("Meteora", "Parceria", "Tropicália");
+		assertThat(titulos(replica.listar("", "", null, false, true, false, 0, 10)))
+			.containsExactly("Hybrid Theory", "Meteora", "Parceria");
+		assertThat(titulos(replica.listar("", "", null, true, true, false, 0, 10)))
+			.containsExactly("Meteora", "Parceria");
+		assertThat(titulos(replica.listar("", "", 10L, false, false, false, 0, 10)))
+			.containsExactly("Hybrid Theory", "Meteora", "Parceria");
+		assertThat(titulos(replica.listar("", "", 10L, true, false, false, 0, 10)))
+			.containsExactly("Meteora", "Parceria");
+		assertThat(titulos(replica.listar("", "", 99L, false, false, false, 0, 10))).isEmpty();
+	}
+
+	@Test
+	void filtraPorTrechoNormalizadoEOrdenaPorTitulo() {
+		ReplicaCatalogo replica = catalogo();
+
+		assertThat(titulos(replica.listar("TROPICALIA", "", null, false, false, false, 0, 10)))
+			.containsExactly("Tropicália");
+		assertThat(titulos(replica.listar("", "GIL", null, false, false, false, 0, 10)))
+			.containsExactly("Parceria", "Tropicália");
+		assertThat(titulos(replica.listar("", "", null, false, false, true, 0, 10)))
+			.containsExactly("Tropicália", "Sem Artistas", "Parceria", "Meteora", "Hybrid Theory");
+	}
+
+	@Test
+	void paginaInformaTotalFiltrado() {
+		ReplicaCatalogo replica = catalogo();
+
+		ReplicaCatalogo.Pagina pagina = replica.listar("", "", null, false, false, false, 1, 2);
+
+		assertThat(pagina.total()).isEqualTo(5);
+		assertThat(titulos(pagina)).containsExactly("Parceria", "Sem Artistas");
+		assertThat(replica.listar("", "", null, false, false, false, 3, 2).conteudo()).isEmpty();
+	}
+
+	@Test
+	void alteracoesIncrementaisAtualizamFiltrosEOrdem() {
+		ReplicaCatalogo replica = catalogo();
+
+		replica.salvarAlbum(3L, "A Parceria", 2L, List.of(20L));
+		replica.removerAlbum(1L);
+		replica.salvarArtista(21L, "Gilberto Gil", ArtistaTipo.BANDA);
+		replica.concluirAlteracoes();
+
+		assertThat(titulos(replica.listar("", "", null, false, false, false, 0, 10)))
+			.containsExactly("A Parceria", "Meteora", "Sem Artistas", "Tropicália");
+		assertThat(titulos(replica.listar("", "", null, false, true, false, 0, 10)))
+			.containsExactly("Meteora", "Tropicália");
+		assertThat(titulos(replica.listar("", "", 10L, false, false, false, 0, 10))).containsExactly("Meteora");
+		assertThat(titulos(replica.listar("", "", 21L, false, false, false, 0, 10))).containsExactly("Tropicália");
+		assertThat(replica.buscarAlbum(1L)).isEmpty();
+		assertThat(replica.buscarVersao(3L)).contains(2L);
+		assertThat(replica.quantidadeAlbuns()).isEqualTo(4);
+	}
+
+	@Test
+	void buscaAlbumComArtistasOrdenadosPorNome() {
+		ReplicaCatalogo replica = catalogo();
+
+		AlbumResponse album = replica.buscarAlbum(3L).orElseThrow();
+
+		assertThat(album.getTitulo()).isEqualTo("Parceria");
+		assertThat(album.getArtistas()).extracting(ArtistaResumoResponse::getNome)
+			.containsExactly("Gilberto Gil", "Linkin Park");
+	}
+
+	@Test
+	void removerArtistaDesfazVinculosComAlbuns() {
+		ReplicaCatalogo replica = catalogo();
+
+		replica.removerArtista(10L);
+		replica.concluirAlteracoes();
+
+		assertThat(replica.buscarAlbum(1L).orElseThrow().getArtistas()).isEmpty();
+		assertThat(titulos(replica.listar("", "", null, false, true, false, 0, 10))).isEmpty();
+		assertThat(replica.quantidadeArtistas()).isEqualTo(2);
+	}
+
+	private static ReplicaCatalogo catalogo() {
+		ReplicaCatalogo replica = new ReplicaCatalogo(0, 0);
+		replica.salvarArtista(10L, "Linkin Park", ArtistaTipo.BANDA);
+		replica.salvarArtista(20L, "Mike Shinoda", ArtistaTipo.CANTOR);
+		replica.salvarArtista(21L, "Gilberto Gil", ArtistaTipo.CANTOR);
+		replica.salvarAlbum(1L, "Hybrid Theory", 0L, List.of(10L));
+		replica.salvarAlbum(2L, "Meteora", 0L, List.of(10L, 20L));
+		replica.salvarAlbum(3L, "Parceria", 0L, List.of(21L, 10L));
+		replica.salvarAlbum(4L, "Tropicália", 0L, List.of(21L));
+		replica.salvarAlbum(5L, "Sem Artistas", 0L, List.of());
+		replica.concluirAlteracoes();
+		return replica;
+	}
+
+	private static List<String> titulos(ReplicaCatalogo.Pagina pagina) {
+		return pagina.conteudo().stream().map(AlbumResponse::getTitulo).toList();
+	}
+}
@@ -0,0 +1,69 @@
+package br.gov.seplag.musicapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.gov.seplag.musicapi.api.v1.dto.AlbumResponse;
+import br.gov.seplag.musicapi.api.v1.dto.ArtistaResumoResponse;
+import br.gov.seplag.musicapi.domain.ArtistaTipo;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SnapshotCatalogoUnitTests {
+	@TempDir
+	private Path diretorio;
+
+	@Test
+	void gravaECarregaReplicaComMarcaDeAlteracoes() throws Exception {
+		Path arquivo = diretorio.resolve("catalogo.snapshot");
+		Instant geradoEm = Instant.parse("2026-01-10T12:00:00Z");
+
+		SnapshotCatalogo.gravar(arquivo, SnapshotCatalogo.serializar(replica(), 42L, geradoEm));
+		SnapshotCatalogo.Carregado carregado = SnapshotCatalogo.carregar(arquivo).orElseThrow();
+
+		assertThat(carregado.marca()).isEqualTo(42L);
+		assertThat(carregado.geradoEm()).isEqualTo(geradoEm);
+		ReplicaCatalogo replica = carregado.replica();
+		assertThat(replica.quantidadeArtistas()).isEqualTo(2);
+		assertThat(replica.quantidadeAlbuns()).isEqualTo(2);
+		assertThat(replica.buscarVersao(2L)).contains(3L);
+		AlbumResponse meteora = replica.buscarAlbum(2L).orElseThrow();
+		assertThat(meteora.getArtistas()).extracting(ArtistaResumoResponse::getNome)
+			.containsExactly("Linkin Park", "Mike Shinoda");
+		assertThat(replica.listar("", "SHINODA", null, true, true, false, 0, 10).conteudo())
+			.extracting(AlbumResponse::getTitulo)
+			.containsExactly("Meteora");
+		assertThat(replica.listar("ACAO", "", null, false, false, false, 0, 10).conteudo())
+			.extracting(AlbumResponse::getTitulo)
+			.containsExactly("Ação");
+	}
+
+	@Test
+	void ignoraArquivoAusenteOuCorrompido() throws Exception {
+		Path arquivo = diretorio.resolve("catalogo.snapshot");
+		assertThat(SnapshotCatalogo.carregar(arquivo)).isEmpty();
+
+		byte[] conteudo = SnapshotCatalogo.serializar(replica(), 7L, Instant.now());
+		conteudo[conteudo.length / 2] ^= 0x5A;
+		Files.write(arquivo, conteudo);
+		assertThat(SnapshotCatalogo.carregar(arquivo)).isEmpty();
+
+		Files.write(arquivo, new byte[] {1, 2, 3});
+		assertThat(SnapshotCatalogo.carregar(arquivo)).isEmpty();
+	}
+
+	private static ReplicaCatalogo replica() {
+		ReplicaCatalogo replica = new ReplicaCatalogo(0, 0);
+		replica.salvarArtista(10L, "Linkin Park", ArtistaTipo.BANDA);
+		replica.salvarArtista(20L, "Mike Shinoda", ArtistaTipo.CANTOR);
+		replica.salvarAlbum(1L, "Ação", 0L, List.of());
+		replica.salvarAlbum(2L, "Meteora", 3L, List.of(20L, 10L));
+		replica.salvarArtista(30L, "Removido", ArtistaTipo.CANTOR);
+		replica.removerArtista(30L);
+		replica.concluirAlteracoes();
+		return replica;
+	}
+}
@@ -0,0 +1,59 @@
+package br.gov.seplag.musicapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository;
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository.Alteracao;
+import br.gov.seplag.musicapi.service.UrlCapaCache.ObjetoCapa;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class UrlCapaCacheUnitTests {
+	@Mock
+	private CatalogoMemoriaRepository catalogoMemoriaRepository;
+
+	private UrlCapaCache urlCapaCache;
+
+	@BeforeEach
+	void setup() {
+		urlCapaCache = new UrlCapaCache(
+			new SimpleMeterRegistry(),
+			catalogoMemoriaRepository,
+			100,
+			Duration.ofMinutes(20),
+			Duration.ofMinutes(30),
+			Duration.ofMinutes(1)
+		);
+	}
+
+	@Test
+	void alteracaoDeOutraInstanciaRemoveSoOAlbumAlterado() {
+		when(catalogoMemoriaRepository.buscarMarcaAte(any())).thenReturn(10L);
+		when(catalogoMemoriaRepository.listarAlteracoesApos(10L)).thenReturn(
+			List.of(),
+			List.of(new Alteracao(11L, 1L, null), new Alteracao(12L, null, 7L))
+		);
+		urlCapaCache.obterCapas(1L, () -> List.of(capa(1L)));
+		urlCapaCache.obterCapas(2L, () -> List.of(capa(2L)));
+
+		urlCapaCache.acompanharAlteracoes();
+		urlCapaCache.acompanharAlteracoes();
+
+		assertThat(urlCapaCache.capasEmCache(1L)).isNull();
+		assertThat(urlCapaCache.capasEmCache(2L)).hasSize(1);
+	}
+
+	private ObjetoCapa capa(Long albumId) {
+		return new ObjetoCapa(albumId * 10, albumId, "bucket-test", "albuns/" + albumId + "/capa.png", Map.of());
+	}
+}
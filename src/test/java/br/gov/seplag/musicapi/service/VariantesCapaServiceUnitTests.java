@@ -0,0 +1,189 @@
+package br.gov.seplag.musicapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import br.gov.seplag.musicapi.domain.CapaAlbum;
+import br.gov.seplag.musicapi.domain.SituacaoVariantes;
+import br.gov.seplag.musicapi.domain.TamanhoCapa;
+import br.gov.seplag.musicapi.domain.VarianteCapa;
+import br.gov.seplag.musicapi.repository.CapaAlbumRepository;
+import br.gov.seplag.musicapi.repository.CatalogoMemoriaRepository;
+import br.gov.seplag.musicapi.repository.VarianteCapaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import okhttp3.Headers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class VariantesCapaServiceUnitTests {
+	@Mock
+	private CatalogoMemoriaRepository catalogoMemoriaRepository;
+
+	@Mock
+	private CapaAlbumRepository capaAlbumRepository;
+
+	@Mock
+	private VarianteCapaRepository varianteCapaRepository;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@Mock
+	private MinioClient minioClient;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private VariantesCapaService variantesCapaService;
+
+	@AfterEach
+	void encerrar() {
+		variantesCapaService.encerrar();
+	}
+
+	@Test
+	void agendarGeraVariantesEnviaAoMinioERegistraDimensoes() throws Exception {
+		criarServico(1, 10);
+		when(minioClient.getObject(any())).thenReturn(objeto(png(1600, 1200)));
+
+		variantesCapaService.agendar(List.of(capa(7L)));
+
+		verify(capaAlbumRepository, timeout(5000)).registrarVariantes(7L, SituacaoVariantes.GERADAS, 1600, 1200);
+		ArgumentCaptor<PutObjectArgs> envios = ArgumentCaptor.forClass(PutObjectArgs.class);
+		verify(minioClient, times(2)).putObject(envios.capture());
+		assertThat(envios.getAllValues()).extracting(PutObjectArgs::object)
+			.containsExactly("albuns/3/capa-x-medio.jpg", "albuns/3/capa-x-thumb.jpg");
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<VarianteCapa>> variantes = ArgumentCaptor.forClass(List.class);
+		verify(varianteCapaRepository).saveAll(variantes.capture());
+		assertThat(variantes.getValue()).extracting(VarianteCapa::getTamanho)
+			.containsExactly(TamanhoCapa.MEDIO, TamanhoCapa.THUMB);
+		assertThat(variantes.getValue().get(1).getLargura()).isEqualTo(240);
+		assertThat(variantes.getValue().get(1).getAltura()).isEqualTo(180);
+		assertThat(variantes.getValue().get(1).getBytes()).isPositive();
+		verify(eventPublisher, timeout(5000)).publishEvent(new CatalogoAlteradoEvent(Set.of(3L), Set.of()));
+	}
+
+	@Test
+	void agendarMarcaFalhaQuandoFormatoNaoTemLeitor() throws Exception {
+		criarServico(1, 10);
+		when(minioClient.getObject(any())).thenReturn(objeto("RIFF0000WEBPVP8 ".getBytes()));
+
+		variantesCapaService.agendar(List.of(capa(7L)));
+
+		verify(capaAlbumRepository, timeout(5000)).registrarVariantes(eq(7L), eq(SituacaoVariantes.FALHA), isNull(), isNull());
+		verify(minioClient, never()).putObject(any());
+		verify(varianteCapaRepository, never()).saveAll(anyList());
+		verify(eventPublisher, timeout(5000)).publishEvent(new CatalogoAlteradoEvent(Set.of(3L), Set.of()));
+	}
+
+	@Test
+	void filaCheiaAdiaCapasParaAVarreduraSemBloquear() throws Exception {
+		criarServico(1, 1);
+		CountDownLatch iniciou = new CountDownLatch(1);
+		CountDownLatch liberar = new CountDownLatch(1);
+		byte[] imagem = png(100, 100);
+		when(minioClient.getObject(any())).thenAnswer(invocation -> {
+			iniciou.countDown();
+			liberar.await(5, TimeUnit.SECONDS);
+			return objeto(imagem);
+		});
+
+		variantesCapaService.agendar(List.of(capa(1L)));
+		assertThat(iniciou.await(5, TimeUnit.SECONDS)).isTrue();
+		variantesCapaService.agendar(List.of(capa(2L), capa(3L)));
+		variantesCapaService.retomarPendentes();
+		liberar.countDown();
+
+		verify(capaAlbumRepository, timeout(5000)).registrarVariantes(2L, SituacaoVariantes.GERADAS, 100, 100);
+		assertThat(meterRegistry.counter("capas.variantes.adiadas").count()).isEqualTo(1.0);
+		verify(capaAlbumRepository, never()).findBySituacaoAndSituacaoVariantesOrderByIdAsc(any(), any(), any());
+		verify(capaAlbumRepository, never()).registrarVariantes(eq(3L), any(), any(), any());
+	}
+
+	@Test
+	void retomarPendentesEnfileiraApenasOQueCabeNaFila() throws Exception {
+		criarServico(1, 10);
+		when(capaAlbumRepository.findBySituacaoAndSituacaoVariantesOrderByIdAsc(any(), eq(SituacaoVariantes.PENDENTE), any()))
+			.thenReturn(List.of(capa(4L)));
+		when(minioClient.getObject(any())).thenReturn(objeto(png(100, 50)));
+
+		variantesCapaService.retomarPendentes();
+
+		verify(capaAlbumRepository, timeout(5000)).registrarVariantes(4L, SituacaoVariantes.GERADAS, 100, 50);
+		ArgumentCaptor<GetObjectArgs> leitura = ArgumentCaptor.forClass(GetObjectArgs.class);
+		verify(minioClient).getObject(leitura.capture());
+		assertThat(leitura.getValue().object()).isEqualTo("albuns/3/capa-x.png");
+	}
+
+	private void criarServico(int threads, int fila) {
+		variantesCapaService = new VariantesCapaService(
+			capaAlbumRepository,
+			varianteCapaRepository,
+			new UrlCapaCache(
+				meterRegistry,
+				catalogoMemoriaRepository,
+				100,
+				Duration.ofMinutes(20),
+				Duration.ofMinutes(30),
+				Duration.ofMinutes(1)
+			),
+			eventPublisher,
+			transactionManager,
+			minioClient,
+			meterRegistry,
+			threads,
+			fila,
+			10_000_000
+		);
+	}
+
+	private static CapaAlbum capa(Long id) {
+		CapaAlbum capa = new CapaAlbum();
+		capa.setId(id);
+		capa.setAlbumId(3L);
+		capa.setBucket("bucket-1");
+		capa.setObjeto("albuns/3/capa-x.png");
+		return capa;
+	}
+
+	private static GetObjectResponse objeto(byte[] bytes) {
+		return new GetObjectResponse(Headers.of(), "bucket-1", null, "albuns/3/capa-x.png", new ByteArrayInputStream(bytes));
+	}
+
+	private static byte[] png(int largura, int altura) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB), "png", bytes);
+		return bytes.toByteArray();
+	}
+}